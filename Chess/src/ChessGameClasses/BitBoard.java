@@ -0,0 +1,257 @@
+package ChessGameClasses;
+
+import java.io.Serializable;
+
+/**
+ * The BitBoard class is a set of squares on the 10x9 board stored as bits in a pair of longs.
+ * A square is numbered row * colNum + column, squares 0 to 63 are held in low and squares 64 to 89 in high.
+ */
+public class BitBoard implements Serializable
+{
+	/**
+	 * Number of squares on the board
+	 */
+	public static final int squareNum = Board.rowNum * Board.colNum;
+
+	/**
+	 * Number of bits held in low
+	 */
+	public static final int lowBitNum = 64;
+
+	/**
+	 * Mask of the valid bits in high
+	 */
+	private static final long highMask = (1L << (squareNum - lowBitNum)) - 1;
+
+	/**
+	 * Squares 0 to 63
+	 */
+	private long low;
+
+	/**
+	 * Squares 64 to 89
+	 */
+	private long high;
+
+	/**
+	 * Class constructor. Creates an empty set.
+	 */
+	public BitBoard()
+	{
+		this.low = 0;
+		this.high = 0;
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param source - BitBoard, bit board to be copied.
+	 */
+	public BitBoard(BitBoard source)
+	{
+		this.low = source.low;
+		this.high = source.high;
+	}
+
+	/**
+	 * Method to get the square number of a row and column.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @return - int, square number.
+	 */
+	public static int toSquare(int row, int col) { return row * Board.colNum + col; }
+
+	/**
+	 * Method to get the row of a square.
+	 * @param square - int, square number.
+	 * @return - int, board row.
+	 */
+	public static int toRow(int square) { return square / Board.colNum; }
+
+	/**
+	 * Method to get the column of a square.
+	 * @param square - int, square number.
+	 * @return - int, board column.
+	 */
+	public static int toCol(int square) { return square % Board.colNum; }
+
+	/**
+	 * Method to get the low word.
+	 * @return - low - long, squares 0 to 63.
+	 */
+	public long getLow() { return low; }
+
+	/**
+	 * Method to get the high word.
+	 * @return - high - long, squares 64 to 89.
+	 */
+	public long getHigh() { return high; }
+
+	/**
+	 * Method to check whether a square is in the set.
+	 * @param square - int, square number.
+	 * @return - boolean, whether the bit of the square is set.
+	 */
+	public boolean get(int square)
+	{
+		if (square < lowBitNum)
+			return (low & (1L << square)) != 0;
+		else
+			return (high & (1L << (square - lowBitNum))) != 0;
+	}
+
+	/**
+	 * Method to add a square to the set.
+	 * @param square - int, square number.
+	 */
+	public void set(int square)
+	{
+		if (square < lowBitNum)
+			low |= 1L << square;
+		else
+			high |= 1L << (square - lowBitNum);
+	}
+
+	/**
+	 * Method to remove a square from the set.
+	 * @param square - int, square number.
+	 */
+	public void clear(int square)
+	{
+		if (square < lowBitNum)
+			low &= ~(1L << square);
+		else
+			high &= ~(1L << (square - lowBitNum));
+	}
+
+	/**
+	 * Method to remove every square from the set.
+	 */
+	public void clearAll()
+	{
+		low = 0;
+		high = 0;
+	}
+
+	/**
+	 * Method to make this set a copy of another set.
+	 * @param source - BitBoard, set to be copied.
+	 */
+	public void copy(BitBoard source)
+	{
+		low = source.low;
+		high = source.high;
+	}
+
+	/**
+	 * Method to add every square of another set to this set.
+	 * @param other - BitBoard, the other set.
+	 */
+	public void or(BitBoard other)
+	{
+		low |= other.low;
+		high |= other.high;
+	}
+
+	/**
+	 * Method to keep only the squares that are also in another set.
+	 * @param other - BitBoard, the other set.
+	 */
+	public void and(BitBoard other)
+	{
+		low &= other.low;
+		high &= other.high;
+	}
+
+	/**
+	 * Method to remove every square of another set from this set.
+	 * @param other - BitBoard, the other set.
+	 */
+	public void andNot(BitBoard other)
+	{
+		low &= ~other.low;
+		high &= ~other.high;
+	}
+
+	/**
+	 * Method to flip every square on the board.
+	 */
+	public void not()
+	{
+		low = ~low;
+		high = ~high & highMask;
+	}
+
+	/**
+	 * Method to check whether this set and another set have a square in common.
+	 * @param other - BitBoard, the other set.
+	 * @return - boolean, whether the sets intersect.
+	 */
+	public boolean intersects(BitBoard other)
+	{
+		return (low & other.low) != 0 || (high & other.high) != 0;
+	}
+
+	/**
+	 * Method to check whether the set is empty.
+	 * @return - boolean, whether no bit is set.
+	 */
+	public boolean isEmpty() { return low == 0 && high == 0; }
+
+	/**
+	 * Method to count the squares in the set.
+	 * @return - int, the number of bits set.
+	 */
+	public int count() { return Long.bitCount(low) + Long.bitCount(high); }
+
+	/**
+	 * Method to get the lowest square in the set.
+	 * @return - int, the lowest square number, or -1 if the set is empty.
+	 */
+	public int firstSquare()
+	{
+		if (low != 0)
+			return Long.numberOfTrailingZeros(low);
+		else if (high != 0)
+			return lowBitNum + Long.numberOfTrailingZeros(high);
+		else
+			return -1;
+	}
+
+	/**
+	 * Method to get the lowest square in the set that is greater than or equal to a square.
+	 * Used to loop through the set: for (int sq = set.nextSquare(0); sq != -1; sq = set.nextSquare(sq + 1))
+	 * @param from - int, the square to start from.
+	 * @return - int, the next square number, or -1 if there are no more squares.
+	 */
+	public int nextSquare(int from)
+	{
+		if (from < lowBitNum)
+		{
+			long bits = low & (-1L << from);
+			if (bits != 0)
+				return Long.numberOfTrailingZeros(bits);
+			from = lowBitNum;
+		}
+		if (from >= squareNum)
+			return -1;
+		long bits = high & (-1L << (from - lowBitNum));
+		if (bits != 0)
+			return lowBitNum + Long.numberOfTrailingZeros(bits);
+		return -1;
+	}
+
+	@Override
+	public boolean equals(Object other)
+	{
+		if (!(other instanceof BitBoard))
+			return false;
+		BitBoard bitBoard = (BitBoard) other;
+		return low == bitBoard.low && high == bitBoard.high;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Long.hashCode(low) * 31 + Long.hashCode(high);
+	}
+}
@@ -1,10 +1,16 @@
 package ChessGameClasses;
 
 import Movements.Movement;
+import Movements.MovementBuffer;
+import Movements.MovementKind;
+import Movements.RayTables;
 import ChessPieces.*;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
 
 /**
  * The Board class holds the chess game board. It contains the position board, and the control
@@ -42,6 +48,32 @@ public class Board implements Serializable
 	 */
 	public static final Character blackPieceSymbol = 'b';			
 	
+	/**
+	 * Number of chess piece types
+	 */
+	public static final int pieceTypeNum = 10;
+	
+	/**
+	 * Piece type index of the King
+	 */
+	public static final int kingTypeIndex = 3;
+	
+	/**
+	 * Piece type index of the Pawn
+	 */
+	public static final int pawnTypeIndex = 6;
+	
+	/**
+	 * Control board symbols from greatest to lowest precedence
+	 */
+	private static final Character[] controlSymbols = {Movement.moveAndCaptureSymbol, Movement.captureSymbol, Movement.moveSymbol};
+	
+	/**
+	 * Movement buffer values of the controlSymbols, see MovementKind
+	 */
+	private static final byte[] controlKinds = {(byte) MovementKind.MOVE_AND_CAPTURE.ordinal(), (byte) MovementKind.CAPTURE.ordinal(),
+			(byte) MovementKind.MOVE.ordinal()};
+	
 	/**
 	 * White chess pieces
 	 */
@@ -66,6 +98,113 @@ public class Board implements Serializable
 	 * Combination of all possible moves for black chess pieces
 	 */
 	private ArrayList<ArrayList<Character>> blackControlBoard;
+	
+	/**
+	 * Squares occupied by white chess pieces
+	 */
+	private BitBoard whiteOccupancy;
+	
+	/**
+	 * Squares occupied by black chess pieces
+	 */
+	private BitBoard blackOccupancy;
+	
+	/**
+	 * Squares occupied by any chess piece
+	 */
+	private BitBoard allOccupancy;
+	
+	/**
+	 * Squares occupied by each type of white chess piece, indexed by getPieceTypeIndex
+	 */
+	private BitBoard[] whitePieceBitBoards;
+	
+	/**
+	 * Squares occupied by each type of black chess piece, indexed by getPieceTypeIndex
+	 */
+	private BitBoard[] blackPieceBitBoards;
+
+	/**
+	 * The chess piece on each square, indexed by square number, null for an empty square. Kept with the bit boards.
+	 */
+	private ChessPiece[] squarePieces;
+	
+	/**
+	 * Squares each chess piece controls, one bit board for each of the controlSymbols
+	 */
+	private IdentityHashMap<ChessPiece, BitBoard[]> controlContributions;
+	
+	/**
+	 * Number of white chess pieces that control each square with each of the controlSymbols
+	 */
+	private int[][] whiteControlCounts;
+	
+	/**
+	 * Number of black chess pieces that control each square with each of the controlSymbols
+	 */
+	private int[][] blackControlCounts;
+	
+	/**
+	 * Color of the player to move
+	 */
+	private String sideToMove;
+	
+	/**
+	 * Zobrist key of the game state, see Zobrist
+	 */
+	private long zobristKey;
+
+	/**
+	 * Reusable movement buffer for calculating the control of a piece. Not saved with the board.
+	 */
+	private transient byte[] controlMovementBuffer;
+
+	/**
+	 * Reusable movement buffer for counting the legal moves. Kept apart from controlMovementBuffer, since checking a
+	 * move can recalculate control.
+	 */
+	private transient byte[] legalMovementBuffer;
+
+	/**
+	 * Control contributions taken off the board, reused by calculateContribution. Not saved with the board.
+	 */
+	private transient ArrayList<BitBoard[]> freeContributions;
+
+	/**
+	 * Version of the position, changed every time the pieces change. See getPositionVersion.
+	 */
+	private long positionVersion;
+
+	/**
+	 * Last version given out, so a new version is never the version of an earlier position
+	 */
+	private long versionCounter;
+
+	/**
+	 * Legal movements of the chess pieces asked for with getPossibleMovements, for the position version in
+	 * possibleMovementVersion. Not saved with the board.
+	 */
+	private transient IdentityHashMap<ChessPiece, byte[]> possibleMovementCache;
+
+	/**
+	 * Position version the cached legal movements are for
+	 */
+	private transient long possibleMovementVersion;
+
+	/**
+	 * Last result of getGameStatus, null if there is none. Not saved with the board.
+	 */
+	private transient GameStatus gameStatus;
+
+	/**
+	 * Color the last result of getGameStatus is for
+	 */
+	private transient String gameStatusColor;
+
+	/**
+	 * Position version the last result of getGameStatus is for
+	 */
+	private transient long gameStatusVersion;
 
 	/**
 	 * Class constructor.
@@ -76,10 +215,13 @@ public class Board implements Serializable
 	{
 		this.whiteChessPieces = whiteChessPieces;
 		this.blackChessPieces = blackChessPieces;
+		this.sideToMove = "White";
 		
 		this.positionBoard = createAnEmpty2DCharacterArrayList();
 		this.whiteControlBoard = createAnEmpty2DCharacterArrayList();
 		this.blackControlBoard = createAnEmpty2DCharacterArrayList();
+		createBitBoards();
+		createControlCounts();
 		
 		updatePositionBoard();
 		updateControlBoards();
@@ -96,10 +238,13 @@ public class Board implements Serializable
 		
 		copyChessPieceArrayListByValue(this.whiteChessPieces, source.whiteChessPieces);
 		copyChessPieceArrayListByValue(this.blackChessPieces, source.blackChessPieces);
+		this.sideToMove = source.sideToMove;
 		
 		this.positionBoard = createAnEmpty2DCharacterArrayList();
 		this.whiteControlBoard = createAnEmpty2DCharacterArrayList();
 		this.blackControlBoard = createAnEmpty2DCharacterArrayList();
+		createBitBoards();
+		createControlCounts();
 		
 		updatePositionBoard();
 		updateControlBoards();
@@ -135,21 +280,177 @@ public class Board implements Serializable
 	 */
 	public ArrayList<ArrayList<Character>> getBlackControlBoard() { return blackControlBoard; }
 
+	/**
+	 * Method to get the color of the player to move.
+	 * @return - sideToMove - String.
+	 */
+	public String getSideToMove() { return sideToMove; }
+
+	/**
+	 * Method to set the color of the player to move.
+	 * @param sideToMove - String, color of the player to move.
+	 */
+	public void setSideToMove(String sideToMove)
+	{
+		if (!this.sideToMove.equals(sideToMove))
+			zobristKey ^= Zobrist.blackToMoveKey;
+		this.sideToMove = sideToMove;
+	}
+
+	/**
+	 * Method to get the Zobrist key of the game state. Two boards with the same pieces, upgrades, flags and side to
+	 * move have the same key.
+	 * @return - zobristKey - long.
+	 */
+	public long getZobristKey() { return zobristKey; }
+
+	/**
+	 * Method to get the version of the position. It changes whenever the pieces change through the board: a move made,
+	 * updatePositionBoard, updateZobristKey or deepCopy. Taking a move back gives the position its old version back.
+	 * Results worked out for one position can be kept until the version changes.
+	 * @return - positionVersion - long.
+	 */
+	public long getPositionVersion() { return positionVersion; }
+
+	/**
+	 * Method to change the version of the position. Needed after the pieces were changed outside of the board, when
+	 * none of the methods that change the version is called afterwards.
+	 */
+	public void positionChanged() { positionVersion = ++versionCounter; }
+
+	/**
+	 * Method to recalculate the Zobrist key from all the pieces. Used after the pieces were changed outside of
+	 * makeMove, updatePositionBoard calls it as well.
+	 */
+	public void updateZobristKey()
+	{
+		positionChanged();
+		zobristKey = 0;
+		for (ChessPiece whitePiece : whiteChessPieces)
+			zobristKey ^= Zobrist.pieceKey(whitePiece);
+		for (ChessPiece blackPiece : blackChessPieces)
+			zobristKey ^= Zobrist.pieceKey(blackPiece);
+		if (sideToMove.equals("Black"))
+			zobristKey ^= Zobrist.blackToMoveKey;
+	}
+
 	/**
 	 * Method to create a deep copy for a board object.
 	 * @param source - Board - object to be copied.
 	 */
 	public void deepCopy(Board source)
 	{
+		positionChanged();
 		this.whiteChessPieces.clear();
 		this.blackChessPieces.clear();
 
 		copyChessPieceArrayListByValue(this.whiteChessPieces, source.whiteChessPieces);
 		copyChessPieceArrayListByValue(this.blackChessPieces, source.blackChessPieces);
 
-		this.positionBoard = source.getPositionBoard();
-		this.whiteControlBoard = source.getWhiteControlBoard();
-		this.blackControlBoard = source.getBlackControlBoard();
+		//The boards are copied cell by cell since this board changes them in place.
+		copyGrid(this.positionBoard, source.positionBoard);
+		copyGrid(this.whiteControlBoard, source.whiteControlBoard);
+		copyGrid(this.blackControlBoard, source.blackControlBoard);
+		
+		this.whiteOccupancy.copy(source.whiteOccupancy);
+		this.blackOccupancy.copy(source.blackOccupancy);
+		this.allOccupancy.copy(source.allOccupancy);
+		for (int type = 0; type < pieceTypeNum; type++)
+		{
+			this.whitePieceBitBoards[type].copy(source.whitePieceBitBoards[type]);
+			this.blackPieceBitBoards[type].copy(source.blackPieceBitBoards[type]);
+		}
+		
+		//The pieces were replaced by copies, so the square index is built again from their positions.
+		Arrays.fill(this.squarePieces, null);
+		indexChessPieces(this.whiteChessPieces);
+		indexChessPieces(this.blackChessPieces);
+		
+		this.sideToMove = source.sideToMove;
+		this.zobristKey = source.zobristKey;
+		
+		//The pieces were copied in order, so each copy takes over the control of the piece at the same index.
+		this.controlContributions.clear();
+		copyControlContributions(this.whiteChessPieces, source.whiteChessPieces, source.controlContributions);
+		copyControlContributions(this.blackChessPieces, source.blackChessPieces, source.controlContributions);
+		for (int symbol = 0; symbol < controlSymbols.length; symbol++)
+		{
+			this.whiteControlCounts[symbol] = source.whiteControlCounts[symbol].clone();
+			this.blackControlCounts[symbol] = source.blackControlCounts[symbol].clone();
+		}
+	}
+	
+	/**
+	 * Method to copy the cells of one 2D grid into another 2D grid of the same size.
+	 * @param destination - ArrayList<ArrayList<Character>>, grid to be written.
+	 * @param source - ArrayList<ArrayList<Character>>, grid to be copied.
+	 */
+	private static void copyGrid(ArrayList<ArrayList<Character>> destination, ArrayList<ArrayList<Character>> source)
+	{
+		for (int row = 0; row < rowNum; row++)
+			for (int column = 0; column < colNum; column++)
+				destination.get(row).set(column, source.get(row).get(column));
+	}
+	
+	/**
+	 * Method to give copied chess pieces the control of the pieces they were copied from.
+	 * @param destination - ArrayList<ChessPiece>, copied chess pieces.
+	 * @param source - ArrayList<ChessPiece>, original chess pieces.
+	 * @param sourceContributions - IdentityHashMap<ChessPiece, BitBoard[]>, control of the original chess pieces.
+	 */
+	private void copyControlContributions(ArrayList<ChessPiece> destination, ArrayList<ChessPiece> source,
+			IdentityHashMap<ChessPiece, BitBoard[]> sourceContributions)
+	{
+		for (int i = 0; i < source.size(); i++)
+		{
+			BitBoard[] contribution = sourceContributions.get(source.get(i));
+			if (contribution != null)
+			{
+				BitBoard[] copy = new BitBoard[controlSymbols.length];
+				for (int symbol = 0; symbol < controlSymbols.length; symbol++)
+					copy[symbol] = new BitBoard(contribution[symbol]);
+				controlContributions.put(destination.get(i), copy);
+			}
+		}
+	}
+	
+	/**
+	 * Method to put every chess piece of a list that is not captured on the square index.
+	 * @param chessPieces - ArrayList<ChessPiece>, chess pieces to index.
+	 */
+	private void indexChessPieces(ArrayList<ChessPiece> chessPieces)
+	{
+		for (ChessPiece chessPiece : chessPieces)
+			if (!chessPiece.getIsCaptured())
+				squarePieces[BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol())] = chessPiece;
+	}
+	
+	/**
+	 * Method to create the empty bit boards.
+	 */
+	private void createBitBoards()
+	{
+		this.whiteOccupancy = new BitBoard();
+		this.blackOccupancy = new BitBoard();
+		this.allOccupancy = new BitBoard();
+		this.whitePieceBitBoards = new BitBoard[pieceTypeNum];
+		this.blackPieceBitBoards = new BitBoard[pieceTypeNum];
+		for (int type = 0; type < pieceTypeNum; type++)
+		{
+			this.whitePieceBitBoards[type] = new BitBoard();
+			this.blackPieceBitBoards[type] = new BitBoard();
+		}
+		this.squarePieces = new ChessPiece[BitBoard.squareNum];
+	}
+
+	/**
+	 * Method to create the empty control contributions and counts.
+	 */
+	private void createControlCounts()
+	{
+		this.controlContributions = new IdentityHashMap<ChessPiece, BitBoard[]>();
+		this.whiteControlCounts = new int[controlSymbols.length][BitBoard.squareNum];
+		this.blackControlCounts = new int[controlSymbols.length][BitBoard.squareNum];
 	}
 
 	/**
@@ -168,6 +469,17 @@ public class Board implements Serializable
 
 			positionBoard.add(currentRow);
 		}
+		
+		//Empty the bit boards
+		whiteOccupancy.clearAll();
+		blackOccupancy.clearAll();
+		allOccupancy.clearAll();
+		for (int type = 0; type < pieceTypeNum; type++)
+		{
+			whitePieceBitBoards[type].clearAll();
+			blackPieceBitBoards[type].clearAll();
+		}
+		Arrays.fill(squarePieces, null);
 
 		//Add all the white chess pieces to the Position Board if they haven't been captured yet.
 		//And differentiate between Kings and non-King pieces.
@@ -180,6 +492,8 @@ public class Board implements Serializable
 					positionBoard.get(whitePiece.getPosRow()).set(whitePiece.getPosCol(), whiteKingPieceSymbol);
 				else
 					positionBoard.get(whitePiece.getPosRow()).set(whitePiece.getPosCol(), whitePieceSymbol);
+				
+				placeOnBitBoards(whitePiece, whiteOccupancy, whitePieceBitBoards);
 			}
 		}
 
@@ -194,105 +508,579 @@ public class Board implements Serializable
 					positionBoard.get(blackPiece.getPosRow()).set(blackPiece.getPosCol(), blackKingPieceSymbol);
 				else
 					positionBoard.get(blackPiece.getPosRow()).set(blackPiece.getPosCol(), blackPieceSymbol);
+				
+				placeOnBitBoards(blackPiece, blackOccupancy, blackPieceBitBoards);
 			}
 		}
+		
+		updateZobristKey();
+	}
+	
+	/**
+	 * Method to mark a chess piece on the bit boards. A piece that is placed on an occupied square replaces the
+	 * piece that was there, the same way it does on the position board.
+	 * @param chessPiece - ChessPiece, piece to be placed.
+	 * @param occupancy - BitBoard, occupancy of the piece color.
+	 * @param pieceBitBoards - BitBoard[], piece type bit boards of the piece color.
+	 */
+	private void placeOnBitBoards(ChessPiece chessPiece, BitBoard occupancy, BitBoard[] pieceBitBoards)
+	{
+		int square = BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol());
+		
+		//Remove the piece that was on the square.
+		if (allOccupancy.get(square))
+		{
+			whiteOccupancy.clear(square);
+			blackOccupancy.clear(square);
+			for (int type = 0; type < pieceTypeNum; type++)
+			{
+				whitePieceBitBoards[type].clear(square);
+				blackPieceBitBoards[type].clear(square);
+			}
+		}
+		
+		allOccupancy.set(square);
+		occupancy.set(square);
+		pieceBitBoards[getPieceTypeIndex(chessPiece)].set(square);
+		squarePieces[square] = chessPiece;
 	}
 
 	/**
-	 * Method that loops through all the Player's chess pieces and combines their movement boards to create a board that
-	 * knows every space a player controls.
-	 * @param chessPieces - ArrayList<ChessPiece>, Player's chess pieces.
-	 * @param controlBoard - ArrayList<ChessPiece>, current controlBoard to be updated.
+	 * Method to take a chess piece off the position board and the bit boards, leaving its square empty.
+	 * @param chessPiece - ChessPiece, piece to be removed.
 	 */
-	public void calculateControlBoard(ArrayList<ChessPiece> chessPieces, ArrayList<ArrayList<Character>> controlBoard)
+	private void liftPiece(ChessPiece chessPiece)
 	{
-		//clear controlBoard so that the Player's board control can be updated.
-		controlBoard.clear();
-		for (int row = 0; row < Board.rowNum; row++)
+		int row = chessPiece.getPosRow();
+		int col = chessPiece.getPosCol();
+		int square = BitBoard.toSquare(row, col);
+
+		positionBoard.get(row).set(col, Movement.invalidMoveSymbol);
+		allOccupancy.clear(square);
+		whiteOccupancy.clear(square);
+		blackOccupancy.clear(square);
+		for (int type = 0; type < pieceTypeNum; type++)
 		{
-			ArrayList<Character> currentRow = new ArrayList<Character>();
-			for (int column = 0; column < Board.colNum; column++)
-				currentRow.add(Movement.invalidMoveSymbol);
+			whitePieceBitBoards[type].clear(square);
+			blackPieceBitBoards[type].clear(square);
+		}
+		squarePieces[square] = null;
+	}
 
-			controlBoard.add(currentRow);
+	/**
+	 * Method to put a chess piece on the position board and the bit boards at its current position.
+	 * @param chessPiece - ChessPiece, piece to be placed.
+	 */
+	private void dropPiece(ChessPiece chessPiece)
+	{
+		int row = chessPiece.getPosRow();
+		int col = chessPiece.getPosCol();
+
+		if (chessPiece.getColor().equals("White"))
+		{
+			if (chessPiece instanceof King)
+				positionBoard.get(row).set(col, whiteKingPieceSymbol);
+			else
+				positionBoard.get(row).set(col, whitePieceSymbol);
+
+			placeOnBitBoards(chessPiece, whiteOccupancy, whitePieceBitBoards);
 		}
+		else
+		{
+			if (chessPiece instanceof King)
+				positionBoard.get(row).set(col, blackKingPieceSymbol);
+			else
+				positionBoard.get(row).set(col, blackPieceSymbol);
 
-		//Loop through all the Player's Chess Pieces.
-		for (ChessPiece chessPiece : chessPieces)
+			placeOnBitBoards(chessPiece, blackOccupancy, blackPieceBitBoards);
+		}
+	}
+
+	/**
+	 * Method to make a move directly on this board. Handles captures and the special movements (EnPassant, Castling and
+	 * Two Units Up) the same way the game does, then updates the position board, the bit boards and the control boards.
+	 * The move is not checked for legality. Everything that was changed is saved so that unmakeMove can take it back.
+	 * @param chessPiece - ChessPiece, piece to be moved. Must belong to this board.
+	 * @param moveRow - int, row clicked for the move.
+	 * @param moveCol - int, column clicked for the move.
+	 * @param movementType - Character, movement type of the move.
+	 * @return - UndoRecord, the record to pass to unmakeMove.
+	 */
+	public UndoRecord makeMove(ChessPiece chessPiece, int moveRow, int moveCol, Character movementType)
+	{
+		return makeMove(chessPiece, moveRow, moveCol, movementType, new UndoRecord());
+	}
+
+	/**
+	 * Method to make a packed move directly on this board. The move is not checked for legality.
+	 * @param move - int, board move packed as in Move. The piece on its from square is moved.
+	 * @return - UndoRecord, the record to pass to unmakeMove.
+	 */
+	public UndoRecord makeMove(int move)
+	{
+		return makeMove(move, new UndoRecord());
+	}
+
+	/**
+	 * Method to make a packed move directly on this board, reusing an existing undo record.
+	 * @param move - int, board move packed as in Move. The piece on its from square is moved.
+	 * @param undoRecord - UndoRecord, record to be filled. Anything it held before is forgotten.
+	 * @return - UndoRecord, the record to pass to unmakeMove.
+	 */
+	public UndoRecord makeMove(int move, UndoRecord undoRecord)
+	{
+		return makeMove(getChessPieceOnSquare(Move.getFromSquare(move)), Move.getToRow(move), Move.getToCol(move),
+				Move.getMovementType(move), undoRecord);
+	}
+
+	/**
+	 * Method to make a move directly on this board, reusing an existing undo record.
+	 * @param chessPiece - ChessPiece, piece to be moved. Must belong to this board.
+	 * @param moveRow - int, row clicked for the move.
+	 * @param moveCol - int, column clicked for the move.
+	 * @param movementType - Character, movement type of the move.
+	 * @param undoRecord - UndoRecord, record to be filled. Anything it held before is forgotten.
+	 * @return - UndoRecord, the record to pass to unmakeMove.
+	 */
+	public UndoRecord makeMove(ChessPiece chessPiece, int moveRow, int moveCol, Character movementType, UndoRecord undoRecord)
+	{
+		undoRecord.recordMovedPiece(chessPiece, movementType);
+		undoRecord.recordZobristKey(zobristKey, sideToMove);
+		undoRecord.recordPositionVersion(positionVersion);
+		positionChanged();
+		
+		//Squares whose occupancy or en passant history changes. Only the pieces whose movements can see one of these
+		//squares need their control recalculated.
+		BitBoard changedSquares = undoRecord.getChangedSquares();
+		changedSquares.set(BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol()));
+
+		//Determine the allyChessPieces based on color.
+		ArrayList<ChessPiece> allyChessPieces;
+		if (chessPiece.getColor().equals("White"))
+			allyChessPieces = whiteChessPieces;
+		else
+			allyChessPieces = blackChessPieces;
+
+		//A Pawn can only be captured En Passant right after it moved two units up, so the moving player's
+		//history is cleared the same way it is at the start of each turn.
+		for (ChessPiece allyPiece : allyChessPieces)
 		{
-			//If the piece wasn't captured.
-			if (!chessPiece.getIsCaptured())
+			if (allyPiece instanceof Pawn && ((Pawn) allyPiece).getMovedTwoUnitsUp())
 			{
-				ArrayList<ArrayList<Character>> currentPieceMovements = chessPiece.calculatePotentialMovements(this);
-				for (int row = 0; row < currentPieceMovements.size(); row++)
+				undoRecord.recordClearedPawn((Pawn) allyPiece);
+				((Pawn) allyPiece).setMovedTwoUnitsUp(false);
+				//A captured Pawn is off the board and not in the key.
+				if (!allyPiece.getIsCaptured())
 				{
-					for (int column = 0; column < currentPieceMovements.get(row).size(); column++)
-					{
-						Character charInAll = controlBoard.get(row).get(column);
-						Character charInCurrent = currentPieceMovements.get(row).get(column);
-
-						//Precedence Order from greatest to lowest
-						//(capture&move, capture) to move to invalid move.
-						if (charInAll.equals(Movement.moveAndCaptureSymbol) || charInCurrent.equals(Movement.moveAndCaptureSymbol))
-							controlBoard.get(row).set(column, Movement.moveAndCaptureSymbol);
-						else if (charInAll.equals(Movement.captureSymbol) || charInCurrent.equals(Movement.captureSymbol))
-							controlBoard.get(row).set(column, Movement.captureSymbol);
-						else if (charInAll.equals(Movement.moveSymbol) || charInCurrent.equals(Movement.moveSymbol))
-							controlBoard.get(row).set(column, Movement.moveSymbol);
-						else
-							controlBoard.get(row).set(column, Movement.invalidMoveSymbol);
-					}
+					zobristKey ^= Zobrist.enPassantKey((Pawn) allyPiece);
+					changedSquares.set(BitBoard.toSquare(allyPiece.getPosRow(), allyPiece.getPosCol()));
 				}
 			}
 		}
+
+		//Take the moving piece out of the key, it is put back once it has moved.
+		zobristKey ^= Zobrist.pieceKey(chessPiece);
+		liftPiece(chessPiece);
+
+		//Move the ChessPiece if it was a Move or Move&Capture movement type.
+		if (movementType.equals(Movement.moveSymbol) || movementType.equals(Movement.moveAndCaptureSymbol))
+			chessPiece.updateMove(moveRow, moveCol);
+
+		//Capture enemy piece if it was a Capture or Move&Capture.
+		if (movementType.equals(Movement.captureSymbol) || movementType.equals(Movement.moveAndCaptureSymbol))
+			captureOnSquare(moveRow, moveCol, chessPiece.getColor(), undoRecord, changedSquares);
+
+		//Castle Movement
+		if (movementType.equals(Movement.castleSymbol))
+		{
+			int kingShift = 3;
+			int rookShift = 2;
+
+			//The Rook is on the square that was clicked.
+			ChessPiece rook = squarePieces[BitBoard.toSquare(moveRow, moveCol)];
+
+			undoRecord.recordCastleRook(rook);
+			changedSquares.set(BitBoard.toSquare(rook.getPosRow(), rook.getPosCol()));
+			zobristKey ^= Zobrist.pieceKey(rook);
+			liftPiece(rook);
+
+			//Left castle
+			if (moveCol < chessPiece.getPosCol())
+			{
+				chessPiece.updateMove(chessPiece.getPosRow(), chessPiece.getPosCol() - kingShift);
+				rook.updateMove(rook.getPosRow(), rook.getPosCol() + rookShift);
+			}
+			//Right castle
+			else if (moveCol > chessPiece.getPosCol())
+			{
+				chessPiece.updateMove(chessPiece.getPosRow(), chessPiece.getPosCol() + kingShift);
+				rook.updateMove(rook.getPosRow(), rook.getPosCol() - rookShift);
+			}
+			zobristKey ^= Zobrist.pieceKey(rook);
+		}
+
+		//Two Units Up Movement
+		if (movementType.equals(Movement.twoUnitsUpSymbol))
+		{
+			chessPiece.updateMove(moveRow, moveCol);
+			((Pawn) chessPiece).setMovedTwoUnitsUp(true);
+		}
+
+		//En Passant Movement
+		if (movementType.equals(Movement.enPassantSymbol))
+		{
+			chessPiece.updateMove(moveRow, moveCol);
+
+			//Capture the enemy chess piece directly behind the movement destination.
+			int captureRow = moveRow;
+			if (chessPiece.getColor().equals("White")) captureRow++;
+			else captureRow--;
+			captureOnSquare(captureRow, moveCol, chessPiece.getColor(), undoRecord, changedSquares);
+		}
+
+		changedSquares.set(BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol()));
+		zobristKey ^= Zobrist.pieceKey(chessPiece);
+
+		//The opponent is to move next.
+		setSideToMove(getOpponentColor(chessPiece.getColor()));
+
+		//Landing on a square that is still occupied can only happen in unusual positions (for example after an item
+		//moved a piece), so the position board is rebuilt the same way it is after every turn.
+		ChessPiece castleRook = undoRecord.getCastleRook();
+		if (isOccupied(chessPiece.getPosRow(), chessPiece.getPosCol()) || (castleRook != null && isOccupied(castleRook.getPosRow(), castleRook.getPosCol())))
+		{
+			undoRecord.setPositionBoardRebuilt(true);
+			updatePositionBoard();
+		}
+		else
+		{
+			dropPiece(chessPiece);
+			if (castleRook != null)
+			{
+				dropPiece(castleRook);
+				changedSquares.set(BitBoard.toSquare(castleRook.getPosRow(), castleRook.getPosCol()));
+			}
+		}
+
+		//Recalculate the control of the pieces the move can affect. Every piece is recalculated if the position
+		//board had to be rebuilt.
+		recalculateControl(whiteChessPieces, changedSquares, undoRecord.getPositionBoardRebuilt(), undoRecord);
+		recalculateControl(blackChessPieces, changedSquares, undoRecord.getPositionBoardRebuilt(), undoRecord);
+
+		return undoRecord;
 	}
 
 	/**
-	 * Method to update both of the player's control boards.
+	 * Method to capture the opponent chess piece on a square, if there is one.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @param color - String, color of the capturing piece.
+	 * @param undoRecord - UndoRecord, record of the current move.
+	 * @param changedSquares - BitBoard, squares changed by the current move.
 	 */
-	public void updateControlBoards()
+	private void captureOnSquare(int row, int col, String color, UndoRecord undoRecord, BitBoard changedSquares)
 	{
-		calculateControlBoard(this.whiteChessPieces, this.whiteControlBoard);
-		calculateControlBoard(this.blackChessPieces, this.blackControlBoard);
+		int square = BitBoard.toSquare(row, col);
+		ChessPiece opponentPiece = squarePieces[square];
+		if (opponentPiece != null && !opponentPiece.getColor().equals(color))
+		{
+			undoRecord.recordCapturedPiece(opponentPiece);
+			changedSquares.set(square);
+			zobristKey ^= Zobrist.pieceKey(opponentPiece);
+			liftPiece(opponentPiece);
+			opponentPiece.chessPieceGetsCaptured();
+		}
 	}
 
 	/**
-	 * Method to determine whether the king is in check.
-	 * @param color - String, current player color.
-	 * @return - boolean, whether the king is in check.
+	 * Method to take back a move made with makeMove. Moves must be taken back in the reverse order they were made.
+	 * @param undoRecord - UndoRecord, the record returned by makeMove.
 	 */
-	public boolean isInCheck(String color)
+	public void unmakeMove(UndoRecord undoRecord)
 	{
-		ArrayList<ChessPiece> allyChessPieces;
-		ArrayList<ArrayList<Character>> enemyControlBoard;
-		if (color.equals("White"))
+		ChessPiece castleRook = undoRecord.getCastleRook();
+		if (undoRecord.getPositionBoardRebuilt())
 		{
-			allyChessPieces = whiteChessPieces;
-			enemyControlBoard = blackControlBoard;
+			undoRecord.restorePieces();
+			updatePositionBoard();
 		}
 		else
 		{
-			allyChessPieces = blackChessPieces;
-			enemyControlBoard = whiteControlBoard;
+			liftPiece(undoRecord.getMovedPiece());
+			if (castleRook != null)
+				liftPiece(castleRook);
+
+			undoRecord.restorePieces();
+
+			//Indexed loops, so taking back a move allocates no iterator.
+			ArrayList<ChessPiece> capturedPieces = undoRecord.getCapturedPieces();
+			for (int i = 0; i < capturedPieces.size(); i++)
+				dropPiece(capturedPieces.get(i));
+			dropPiece(undoRecord.getMovedPiece());
+			if (castleRook != null)
+				dropPiece(castleRook);
 		}
 
-		int kingRow = -1;
-		int kingCol = -1;
-		for (int i = 0; i < allyChessPieces.size(); i++)
+		//Give back the old control in the reverse order it was replaced. The control the move calculated is no longer
+		//on the board, so it is kept for the next calculation.
+		ArrayList<ChessPiece> recalculatedPieces = undoRecord.getRecalculatedPieces();
+		ArrayList<BitBoard[]> oldContributions = undoRecord.getOldContributions();
+		for (int i = recalculatedPieces.size() - 1; i >= 0; i--)
+			freeContribution(replaceContribution(recalculatedPieces.get(i), oldContributions.get(i)));
+
+		zobristKey = undoRecord.getZobristKey();
+		sideToMove = undoRecord.getSideToMove();
+		positionVersion = undoRecord.getPositionVersion();
+	}
+
+	/**
+	 * Method to recalculate the control of every piece in a list that can be affected by a move.
+	 * @param chessPieces - ArrayList<ChessPiece>, chess pieces of one color.
+	 * @param changedSquares - BitBoard, squares changed by the move.
+	 * @param allPieces - boolean, whether every piece has to be recalculated.
+	 * @param undoRecord - UndoRecord, record of the current move.
+	 */
+	private void recalculateControl(ArrayList<ChessPiece> chessPieces, BitBoard changedSquares, boolean allPieces, UndoRecord undoRecord)
+	{
+		for (ChessPiece chessPiece : chessPieces)
 		{
-			if (allyChessPieces.get(i) instanceof King)
+			//A captured piece no longer controls anything.
+			if (chessPiece.getIsCaptured())
 			{
-				kingRow = allyChessPieces.get(i).getPosRow();
-				kingCol = allyChessPieces.get(i).getPosCol();
+				if (controlContributions.containsKey(chessPiece))
+					undoRecord.recordOldContribution(chessPiece, replaceContribution(chessPiece, null));
 			}
+			else if (allPieces || !controlContributions.containsKey(chessPiece) || dependsOnAnySquare(chessPiece, changedSquares))
+				undoRecord.recordOldContribution(chessPiece, replaceContribution(chessPiece, calculateContribution(chessPiece)));
+		}
+	}
 
+	/**
+	 * Method to clear the En Passant history of the Pawns of a player at the start of its turn, since a Pawn can only be
+	 * captured En Passant right after it moved two units up. The Zobrist key and the control of the pieces that can see
+	 * the Pawns are updated with it, and the position version only changes if a Pawn had moved two units up.
+	 * @param color - String, color of the player.
+	 */
+	public void clearMovedTwoUnitsUp(String color)
+	{
+		ArrayList<ChessPiece> chessPieces;
+		if (color.equals("White")) chessPieces = whiteChessPieces;
+		else chessPieces = blackChessPieces;
+
+		BitBoard changedSquares = null;
+		for (ChessPiece chessPiece : chessPieces)
+		{
+			if (chessPiece instanceof Pawn && ((Pawn) chessPiece).getMovedTwoUnitsUp())
+			{
+				//A captured Pawn is off the board and not in the key.
+				if (!chessPiece.getIsCaptured())
+				{
+					if (changedSquares == null)
+						changedSquares = new BitBoard();
+					changedSquares.set(BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol()));
+					zobristKey ^= Zobrist.enPassantKey((Pawn) chessPiece);
+				}
+				((Pawn) chessPiece).setMovedTwoUnitsUp(false);
+			}
 		}
+		if (changedSquares == null)
+			return;
 
-		if (kingRow == -1 && kingCol == -1)
-			return false;
+		positionChanged();
+		recalculateControl(whiteChessPieces, changedSquares);
+		recalculateControl(blackChessPieces, changedSquares);
+	}
+
+	/**
+	 * Method to recalculate the control of every piece in a list that can see one of the changed squares, outside of
+	 * a move, so the old control is not kept.
+	 * @param chessPieces - ArrayList<ChessPiece>, chess pieces of one color.
+	 * @param changedSquares - BitBoard, the changed squares.
+	 */
+	private void recalculateControl(ArrayList<ChessPiece> chessPieces, BitBoard changedSquares)
+	{
+		for (ChessPiece chessPiece : chessPieces)
+			if (!chessPiece.getIsCaptured() && dependsOnAnySquare(chessPiece, changedSquares))
+				freeContribution(replaceContribution(chessPiece, calculateContribution(chessPiece)));
+	}
+
+	/**
+	 * Method to keep a control contribution that is no longer on the board, for calculateContribution to reuse.
+	 * @param contribution - BitBoard[], the contribution, nothing is kept if it is null.
+	 */
+	private void freeContribution(BitBoard[] contribution)
+	{
+		if (contribution == null)
+			return;
+		if (freeContributions == null)
+			freeContributions = new ArrayList<BitBoard[]>();
+		freeContributions.add(contribution);
+	}
+
+	/**
+	 * Method to check whether the movements of a piece can be changed by a change on any of the squares.
+	 * @param chessPiece - ChessPiece, the chess piece.
+	 * @param squares - BitBoard, the changed squares.
+	 * @return - boolean, whether the piece has to be recalculated.
+	 */
+	private boolean dependsOnAnySquare(ChessPiece chessPiece, BitBoard squares)
+	{
+		//Called for most pieces on every move, so the movements are read by index rather than with an iterator.
+		List<Movement> movements = chessPiece.getMovements();
+		for (int i = 0; i < movements.size(); i++)
+			for (int square = squares.nextSquare(0); square != -1; square = squares.nextSquare(square + 1))
+				if (movements.get(i).dependsOnSquare(chessPiece.getPosRow(), chessPiece.getPosCol(), BitBoard.toRow(square), BitBoard.toCol(square)))
+					return true;
+		return false;
+	}
+
+	/**
+	 * Method to calculate the squares a chess piece controls. Special movements don't control a square, and they hide
+	 * the normal movement of the piece on the same square, the same way they do on the potential movement board.
+	 * A contribution taken back by unmakeMove is cleared and reused, so a search doesn't allocate one for every move.
+	 * @param chessPiece - ChessPiece, the chess piece.
+	 * @return - BitBoard[], controlled squares for each of the controlSymbols.
+	 */
+	private BitBoard[] calculateContribution(ChessPiece chessPiece)
+	{
+		BitBoard[] contribution;
+		if (freeContributions != null && !freeContributions.isEmpty())
+		{
+			contribution = freeContributions.remove(freeContributions.size() - 1);
+			for (BitBoard controlledSquares : contribution)
+				controlledSquares.clearAll();
+		}
 		else
-			return (enemyControlBoard.get(kingRow).get(kingCol).equals(Movement.captureSymbol)) ||
-					(enemyControlBoard.get(kingRow).get(kingCol).equals(Movement.moveAndCaptureSymbol));
+		{
+			contribution = new BitBoard[controlSymbols.length];
+			for (int symbol = 0; symbol < controlSymbols.length; symbol++)
+				contribution[symbol] = new BitBoard();
+		}
+
+		if (controlMovementBuffer == null)
+			controlMovementBuffer = MovementBuffer.create();
+		chessPiece.calculatePotentialMovements(this, controlMovementBuffer);
+		for (int square = 0; square < BitBoard.squareNum; square++)
+			for (int symbol = 0; symbol < controlSymbols.length; symbol++)
+				if (controlMovementBuffer[square] == controlKinds[symbol])
+					contribution[symbol].set(square);
+		return contribution;
+	}
+
+	/**
+	 * Method to replace the control of a chess piece and update the counts and the control board of its color.
+	 * @param chessPiece - ChessPiece, the chess piece.
+	 * @param contribution - BitBoard[], the new control of the piece, null to remove it.
+	 * @return - BitBoard[], the old control of the piece, null if it had none.
+	 */
+	private BitBoard[] replaceContribution(ChessPiece chessPiece, BitBoard[] contribution)
+	{
+		BitBoard[] oldContribution;
+		if (contribution == null) oldContribution = controlContributions.remove(chessPiece);
+		else oldContribution = controlContributions.put(chessPiece, contribution);
+
+		int[][] controlCounts;
+		ArrayList<ArrayList<Character>> controlBoard;
+		if (chessPiece.getColor().equals("White"))
+		{
+			controlCounts = whiteControlCounts;
+			controlBoard = whiteControlBoard;
+		}
+		else
+		{
+			controlCounts = blackControlCounts;
+			controlBoard = blackControlBoard;
+		}
+
+		for (int symbol = 0; symbol < controlSymbols.length; symbol++)
+		{
+			if (oldContribution != null)
+				for (int square = oldContribution[symbol].nextSquare(0); square != -1; square = oldContribution[symbol].nextSquare(square + 1))
+					controlCounts[symbol][square]--;
+			if (contribution != null)
+				for (int square = contribution[symbol].nextSquare(0); square != -1; square = contribution[symbol].nextSquare(square + 1))
+					controlCounts[symbol][square]++;
+		}
+
+		//Only the squares the piece controlled before or controls now can change on the control board.
+		for (int symbol = 0; symbol < controlSymbols.length; symbol++)
+		{
+			if (oldContribution != null)
+				for (int square = oldContribution[symbol].nextSquare(0); square != -1; square = oldContribution[symbol].nextSquare(square + 1))
+					updateControlBoardSquare(controlBoard, controlCounts, square);
+			if (contribution != null)
+				for (int square = contribution[symbol].nextSquare(0); square != -1; square = contribution[symbol].nextSquare(square + 1))
+					updateControlBoardSquare(controlBoard, controlCounts, square);
+		}
+		return oldContribution;
+	}
+
+	/**
+	 * Method to set a square of a control board from the control counts.
+	 * Precedence Order from greatest to lowest: (capture&move, capture) to move to invalid move.
+	 * @param controlBoard - ArrayList<ArrayList<Character>>, control board to be updated.
+	 * @param controlCounts - int[][], control counts of the same color.
+	 * @param square - int, square number.
+	 */
+	private static void updateControlBoardSquare(ArrayList<ArrayList<Character>> controlBoard, int[][] controlCounts, int square)
+	{
+		Character controlSymbol = Movement.invalidMoveSymbol;
+		for (int symbol = controlSymbols.length - 1; symbol >= 0; symbol--)
+			if (controlCounts[symbol][square] > 0)
+				controlSymbol = controlSymbols[symbol];
+		controlBoard.get(BitBoard.toRow(square)).set(BitBoard.toCol(square), controlSymbol);
+	}
+
+	/**
+	 * Method to update both of the player's control boards. Recalculates the control of every piece, used after the
+	 * pieces were changed outside of makeMove (items, upgrades, promotions and loading a game).
+	 */
+	public void updateControlBoards()
+	{
+		controlContributions.clear();
+		for (int symbol = 0; symbol < controlSymbols.length; symbol++)
+		{
+			Arrays.fill(whiteControlCounts[symbol], 0);
+			Arrays.fill(blackControlCounts[symbol], 0);
+		}
+		for (int row = 0; row < rowNum; row++)
+		{
+			for (int column = 0; column < colNum; column++)
+			{
+				whiteControlBoard.get(row).set(column, Movement.invalidMoveSymbol);
+				blackControlBoard.get(row).set(column, Movement.invalidMoveSymbol);
+			}
+		}
+
+		for (ChessPiece whitePiece : whiteChessPieces)
+			if (!whitePiece.getIsCaptured())
+				replaceContribution(whitePiece, calculateContribution(whitePiece));
+		for (ChessPiece blackPiece : blackChessPieces)
+			if (!blackPiece.getIsCaptured())
+				replaceContribution(blackPiece, calculateContribution(blackPiece));
+	}
+
+	/**
+	 * Method to determine whether the king is in check.
+	 * @param color - String, current player color.
+	 * @return - boolean, whether the king is in check.
+	 */
+	public boolean isInCheck(String color)
+	{
+		ArrayList<ArrayList<Character>> enemyControlBoard;
+		if (color.equals("White"))
+			enemyControlBoard = blackControlBoard;
+		else
+			enemyControlBoard = whiteControlBoard;
+
+		int kingSquare = getKingSquare(color);
+		if (kingSquare == -1)
+			return false;
+		
+		int kingRow = BitBoard.toRow(kingSquare);
+		int kingCol = BitBoard.toCol(kingSquare);
+		return (enemyControlBoard.get(kingRow).get(kingCol).equals(Movement.captureSymbol)) ||
+				(enemyControlBoard.get(kingRow).get(kingCol).equals(Movement.moveAndCaptureSymbol));
 	}
 
 	/**
@@ -308,22 +1096,139 @@ public class Board implements Serializable
 
 		//Calculate the possibleMovement board of each chess piece and
 		//count up the number of possible movements of all chess pieces.
+		//The position is the same for every piece, so they share one legality filter.
+		LegalityFilter legalityFilter = new LegalityFilter(this, color);
+		if (legalMovementBuffer == null)
+			legalMovementBuffer = MovementBuffer.create();
 		int count = 0;
 		for (ChessPiece chessPiece : allyChessPieces)
 		{
 			if (!chessPiece.getIsCaptured())
 			{
-				ArrayList<ArrayList<Character>> potentialMovements = chessPiece.calculatePotentialMovements(this);
-				ArrayList<ArrayList<Character>> possibleMovements = chessPiece.calculatePossibleMovements(potentialMovements, this);
-				for (ArrayList<Character> list : possibleMovements)
-					for (Character movementType : list)
-						if (!(movementType.equals(Movement.invalidMoveSymbol) || movementType.equals(Movement.currentPositionSymbol)))
-							count++;
+				chessPiece.calculatePotentialMovements(this, legalMovementBuffer);
+				chessPiece.calculatePossibleMovements(legalMovementBuffer, legalityFilter);
+				for (int square = 0; square < BitBoard.squareNum; square++)
+					if (MovementBuffer.getKind(legalMovementBuffer, square).isMove())
+						count++;
 			}
 		}
 		return count;
 	}
 
+	/**
+	 * Method to get the legal movements of a chess piece in the current position, as a movement buffer (see
+	 * MovementBuffer) with the current position symbol on the square of the piece. The movements are calculated the
+	 * first time a piece is asked for and kept until the position version changes, so highlighting and clicking the
+	 * same piece again costs nothing. The buffer is shared, it must not be changed.
+	 * @param chessPiece - ChessPiece, a chess piece on the board.
+	 * @return - byte[], the legal movements of the piece.
+	 */
+	public byte[] getPossibleMovements(ChessPiece chessPiece)
+	{
+		if (possibleMovementCache == null)
+			possibleMovementCache = new IdentityHashMap<ChessPiece, byte[]>();
+		if (possibleMovementVersion != positionVersion)
+		{
+			possibleMovementCache.clear();
+			possibleMovementVersion = positionVersion;
+		}
+
+		//Checking the moves makes and takes back moves, which leaves the version as it was.
+		byte[] possibleMovements = possibleMovementCache.get(chessPiece);
+		if (possibleMovements == null)
+		{
+			possibleMovements = MovementBuffer.create();
+			chessPiece.calculatePotentialMovements(this, possibleMovements);
+			chessPiece.calculatePossibleMovements(possibleMovements, new LegalityFilter(this, chessPiece.getColor()));
+			possibleMovementCache.put(chessPiece, possibleMovements);
+		}
+		return possibleMovements;
+	}
+
+	/**
+	 * Method to determine whether the current player is checkmated, stalemated or can still play. The search stops at the
+	 * first legal move found, and the result is kept until the position version changes.
+	 * @param color - String, current player color.
+	 * @return - GameStatus, the state of the game for the player.
+	 */
+	public GameStatus getGameStatus(String color)
+	{
+		if (gameStatus != null && gameStatusVersion == positionVersion && color.equals(gameStatusColor))
+			return gameStatus;
+
+		GameStatus status;
+		if (hasLegalMove(color))
+			status = GameStatus.IN_PLAY;
+		else if (isInCheck(color))
+			status = GameStatus.CHECKMATE;
+		else
+			status = GameStatus.STALEMATE;
+
+		gameStatus = status;
+		gameStatusColor = color;
+		gameStatusVersion = positionVersion;
+		return status;
+	}
+
+	/**
+	 * Method to determine whether the current player has any legal move. The King is tried first, then the pieces that
+	 * are not on a line through the King, since those can't be pinned, and the pieces that can be pinned last.
+	 * @param color - String, current player color.
+	 * @return - boolean, whether a legal move was found.
+	 */
+	public boolean hasLegalMove(String color)
+	{
+		ArrayList<ChessPiece> allyChessPieces;
+		if (color.equals("White")) allyChessPieces = whiteChessPieces;
+		else allyChessPieces = blackChessPieces;
+
+		LegalityFilter legalityFilter = new LegalityFilter(this, color);
+		if (legalMovementBuffer == null)
+			legalMovementBuffer = MovementBuffer.create();
+
+		BitBoard kings = getPieceBitBoard(color, kingTypeIndex);
+		int kingSquare = kings.count() == 1 ? kings.firstSquare() : -1;
+		if (kingSquare != -1 && squarePieces[kingSquare].hasPossibleMovement(this, legalityFilter, legalMovementBuffer))
+			return true;
+
+		//Pieces off the King's lines first, then the pieces on them.
+		for (int pass = 0; pass < 2; pass++)
+		{
+			for (ChessPiece chessPiece : allyChessPieces)
+			{
+				if (chessPiece.getIsCaptured())
+					continue;
+				int square = BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol());
+				if (square == kingSquare)
+					continue;
+				boolean canBePinned = kingSquare != -1 && RayTables.getDirection(kingSquare, square) != -1;
+				if (canBePinned == (pass == 1) && chessPiece.hasPossibleMovement(this, legalityFilter, legalMovementBuffer))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Method to add the legal moves of a player to a move list, packed as in Move. Pieces are in the order of the
+	 * player's list and the moves of a piece in square order.
+	 * @param color - String, current player color.
+	 * @param moves - MoveList, list the moves are added to.
+	 */
+	public void generateMoves(String color, MoveList moves)
+	{
+		ArrayList<ChessPiece> allyChessPieces;
+		if (color.equals("White")) allyChessPieces = whiteChessPieces;
+		else allyChessPieces = blackChessPieces;
+
+		LegalityFilter legalityFilter = new LegalityFilter(this, color);
+		if (legalMovementBuffer == null)
+			legalMovementBuffer = MovementBuffer.create();
+		for (int i = 0; i < allyChessPieces.size(); i++)
+			if (!allyChessPieces.get(i).getIsCaptured())
+				allyChessPieces.get(i).generateMoves(this, legalityFilter, legalMovementBuffer, moves);
+	}
+
 	//The board that labels every piece for which specific piece they are and what color they have.
 
 	/**
@@ -359,6 +1264,181 @@ public class Board implements Serializable
 		return displayBoard;
 	}
 
+	/**
+	 * Method to get the squares occupied by the pieces of a color.
+	 * @param color - String, piece color.
+	 * @return - BitBoard, occupied squares.
+	 */
+	public BitBoard getOccupancy(String color)
+	{
+		if (color.equals("White")) return whiteOccupancy;
+		else return blackOccupancy;
+	}
+	
+	/**
+	 * Method to get the squares occupied by any piece.
+	 * @return - allOccupancy - BitBoard.
+	 */
+	public BitBoard getAllOccupancy() { return allOccupancy; }
+	
+	/**
+	 * Method to get the squares occupied by one type of piece of a color.
+	 * @param color - String, piece color.
+	 * @param pieceTypeIndex - int, piece type from getPieceTypeIndex.
+	 * @return - BitBoard, occupied squares.
+	 */
+	public BitBoard getPieceBitBoard(String color, int pieceTypeIndex)
+	{
+		if (color.equals("White")) return whitePieceBitBoards[pieceTypeIndex];
+		else return blackPieceBitBoards[pieceTypeIndex];
+	}
+	
+	/**
+	 * Method to get the chess piece on a square.
+	 * @param square - int, square number.
+	 * @return - ChessPiece, the piece on the square, or null if it is empty.
+	 */
+	public ChessPiece getChessPieceOnSquare(int square) { return squarePieces[square]; }
+	
+	/**
+	 * Method to get the chess piece on a board position.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @return - ChessPiece, the piece on the position, or null if it is empty or off the board.
+	 */
+	public ChessPiece getChessPieceAt(int row, int col)
+	{
+		if (row < 0 || row >= rowNum || col < 0 || col >= colNum)
+			return null;
+		return squarePieces[BitBoard.toSquare(row, col)];
+	}
+
+	/**
+	 * Method to get the type of the chess piece on a square.
+	 * @param square - int, square number.
+	 * @return - int, piece type index from getPieceTypeIndex, or -1 if the square is empty.
+	 */
+	public int getPieceTypeOnSquare(int square)
+	{
+		if (!allOccupancy.get(square))
+			return -1;
+		for (int pieceTypeIndex = 0; pieceTypeIndex < pieceTypeNum; pieceTypeIndex++)
+			if (whitePieceBitBoards[pieceTypeIndex].get(square) || blackPieceBitBoards[pieceTypeIndex].get(square))
+				return pieceTypeIndex;
+		return -1;
+	}
+
+	/**
+	 * Method to get the square of the king of a color.
+	 * @param color - String, king color.
+	 * @return - int, square number of the king, or -1 if there is no king on the board.
+	 */
+	public int getKingSquare(String color)
+	{
+		return getPieceBitBoard(color, kingTypeIndex).firstSquare();
+	}
+	
+	/**
+	 * Method to check if a square is occupied.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @return - boolean, whether any piece is on the square.
+	 */
+	public boolean isOccupied(int row, int col)
+	{
+		return allOccupancy.get(BitBoard.toSquare(row, col));
+	}
+	
+	/**
+	 * Method to check if a square is occupied by a piece of the same color (king included).
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @param color - String, current piece color.
+	 * @return - boolean, whether an ally is on the square.
+	 */
+	public boolean isAllyPiece(int row, int col, String color)
+	{
+		return getOccupancy(color).get(BitBoard.toSquare(row, col));
+	}
+	
+	/**
+	 * Method to check if a square is occupied by a piece of the opposite color (king included).
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @param color - String, current piece color.
+	 * @return - boolean, whether an enemy is on the square.
+	 */
+	public boolean isEnemyPiece(int row, int col, String color)
+	{
+		int square = BitBoard.toSquare(row, col);
+		return allOccupancy.get(square) && !getOccupancy(color).get(square);
+	}
+	
+	/**
+	 * Method to check if a square is occupied by a piece of the opposite color that is not the king.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @param color - String, current piece color.
+	 * @return - boolean, whether an enemy other than the king is on the square.
+	 */
+	public boolean isEnemyNonKingPiece(int row, int col, String color)
+	{
+		int square = BitBoard.toSquare(row, col);
+		return isEnemyPiece(row, col, color) && !getPieceBitBoard(getOpponentColor(color), kingTypeIndex).get(square);
+	}
+	
+	/**
+	 * Method to get the opponent color.
+	 * @param color - String, current color.
+	 * @return - String, the other color.
+	 */
+	public static String getOpponentColor(String color)
+	{
+		if (color.equals("White")) return "Black";
+		else return "White";
+	}
+	
+	/**
+	 * Method to get the index of the type of a chess piece. Used to index the piece bit boards.
+	 * @param chessPiece - ChessPiece, the chess piece.
+	 * @return - int, piece type index from 0 to pieceTypeNum - 1.
+	 */
+	public static int getPieceTypeIndex(ChessPiece chessPiece)
+	{
+		if (chessPiece instanceof Archer) return 0;
+		else if (chessPiece instanceof Bishop) return 1;
+		else if (chessPiece instanceof Cannon) return 2;
+		else if (chessPiece instanceof King) return kingTypeIndex;
+		else if (chessPiece instanceof Knight) return 4;
+		else if (chessPiece instanceof Ninja) return 5;
+		else if (chessPiece instanceof Pawn) return pawnTypeIndex;
+		else if (chessPiece instanceof Queen) return 7;
+		else if (chessPiece instanceof Rook) return 8;
+		else return 9; //Wizard
+	}
+
+	/**
+	 * Method to get the material worth of a type of chess piece.
+	 * @param pieceTypeIndex - int, piece type from getPieceTypeIndex.
+	 * @return - int, material worth of the type.
+	 */
+	public static int getPieceTypeWorth(int pieceTypeIndex)
+	{
+		switch (pieceTypeIndex)
+		{
+			case 0: return Archer.materialWorth;
+			case 1: return Bishop.materialWorth;
+			case 2: return Cannon.materialWorth;
+			case kingTypeIndex: return King.materialWorth;
+			case 4: return Knight.materialWorth;
+			case 5: return Ninja.materialWorth;
+			case pawnTypeIndex: return Pawn.materialWorth;
+			case 7: return Queen.materialWorth;
+			case 8: return Rook.materialWorth;
+			default: return Wizard.materialWorth;
+		}
+	}
+
 	/**
 	 * Method to copy an ArrayList of chess pieces from one ArrayList to another.
 	 * @param destination - ArrayList<ChessPiece>, new ArrayList to hold the copied chess pieces.
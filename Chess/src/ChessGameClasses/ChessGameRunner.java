@@ -1,16 +1,10 @@
 package ChessGameClasses;
 
 import Players.*;
-import javafx.geometry.Pos;
-import javafx.scene.control.Button;
-import javafx.scene.control.Label;
-import javafx.scene.control.ListView;
-import javafx.scene.layout.GridPane;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
 import ChessPieces.*;
 import Items.*;
 import Movements.Movement;
+import Movements.MovementBuffer;
 
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -22,7 +16,9 @@ import java.util.ArrayList;
 /**
  * The ChessGameRunner handles all of the game variables, running each turn,
  * determining whether the game is over, determining the current status of the game, 
- * and displaying everything to the user through both text-based console and GUI.
+ * and displaying everything to the user through the text-based console.
+ * 
+ * It doesn't use JavaFX, the GUI reads the game through the getters and sound is a TurnListener.
  */
 public class ChessGameRunner
 {
@@ -68,6 +64,11 @@ public class ChessGameRunner
 	 */
 	private Boolean gameOver;
 	
+	/**
+	 * The color of the Player who resigned, null if no one did.
+	 */
+	private String resignedColor;
+	
 	/**
 	 * The current turn.
 	 */
@@ -79,9 +80,9 @@ public class ChessGameRunner
 	private int initialTotalMaterialWorth;
 	
 	/**
-	 * Holds the results returned by Player's run method
+	 * Holds the result returned by Player's run method
 	 */
-	private ArrayList<Object> runResult;
+	private TurnResult turnResult;
 	
 	/**
 	 * Was a move successfully made.
@@ -94,7 +95,7 @@ public class ChessGameRunner
 	private ChessPiece selectedChessPiece;
 	
 	/**
-	 * Message result from the Player's run method.
+	 * Message result from the Player's run method, null until it is built from the turn result.
 	 */
 	private String message;
 	
@@ -129,6 +130,21 @@ public class ChessGameRunner
 	Player currentOpponent;
 	//-------------------------------------------------------------------
 	
+	/**
+	 * True if the pieces were changed outside of Board.makeMove this turn, by an item, an upgrade or a promotion.
+	 */
+	private boolean boardRebuildNeeded;
+	
+	/**
+	 * Listeners told what every click of the current player did.
+	 */
+	private ArrayList<TurnListener> turnListeners = new ArrayList<TurnListener>();
+	
+	/**
+	 * Whether runGame prints the text-based version of the game to the console.
+	 */
+	private boolean textBasedDisplay = true;
+	
 	/**
 	 * Three-parameter constructor of ChessGameRunner Class. 
 	 * It calls the SetUp() method to properly initialize the instance.
@@ -166,17 +182,19 @@ public class ChessGameRunner
 		
 		//Game Variables
 		gameOver = false;
+		resignedColor = null;
 		
 		turn = 1;
 		initialTotalMaterialWorth = whitePlayer.getTotalMaterialWorth();
 		
-		runResult = new ArrayList<Object>();
+		turnResult = null;
 		moveWasMade = false;
 		selectedChessPiece = null;
 		message = "";
 		lastPlayedItem = null;
 		
 		promotionComplete = false;
+		boardRebuildNeeded = false;
 		
 		//A crazy item is guaranteed to play at least once every 15 turns.
 		crazyItemCounter = 0;
@@ -200,14 +218,21 @@ public class ChessGameRunner
 		if (!isMoveWasMade() && !gameOver)
 		{
 			//Run Logic
-			setRunResult(currentPlayer.run(input, isMoveWasMade(), getSelectedChessPiece(), getMessage(), getLastPlayedItem(), currentOpponent, getBoard(), getItems()));
+			setTurnResult(currentPlayer.run(input, isMoveWasMade(), getSelectedChessPiece(), getLastPlayedItem(), currentOpponent, getBoard(), getItems()));
 		
 			
-			//Record the result
-			setMoveWasMade((boolean) getRunResult().get(0));
-			setSelectedChessPiece((ChessPiece) getRunResult().get(1));
-			setMessage((String) getRunResult().get(2));
-			setLastPlayedItem((Item) getRunResult().get(3));
+			//Record the result. The message is only built when it is shown, a click that did nothing keeps the last one.
+			setMoveWasMade(getTurnResult().getMoveWasMade());
+			setSelectedChessPiece(getTurnResult().getSelectedChessPiece());
+			if (getTurnResult().getEvent() != null)
+				message = null;
+			setLastPlayedItem(getTurnResult().getLastPlayedItem());
+			//Board moves keep the board up to date as they are made, items and upgrades don't.
+			if (isMoveWasMade() && getTurnResult().getEvent().getKind() != MoveEventKind.MOVE)
+				boardRebuildNeeded = true;
+			
+			for (TurnListener turnListener : turnListeners)
+				turnListener.onTurnResult(getTurnResult());
 		}
 			
 		//Promotion
@@ -219,8 +244,11 @@ public class ChessGameRunner
 			
 			//Run Logic
 			currentPlayer.promotePawnAtIndex(input, pawnIndex);
+			if (currentPlayer.getChessPieces().get(pawnIndex) != selectedChessPiece)
+				boardRebuildNeeded = true;
 			
-			displayPromotionTextBasedVersion(currentPlayer, pawnIndex);
+			if (isTextBasedDisplay())
+				displayPromotionTextBasedVersion(currentPlayer, pawnIndex);
 		}
 		pawnIndex = currentPlayer.findPawnReadyToPromote();
 		setPromotionComplete((pawnIndex == -1));
@@ -244,9 +272,13 @@ public class ChessGameRunner
 //			if (getCrazyItemCounter() > 15)
 //				setCrazyItemCounter(0);
 //				
-//			//update the position board and control board
-			getBoard().updatePositionBoard();
-			getBoard().updateControlBoards();
+			//Update the position board and control board, if the turn changed the pieces outside of a move.
+			if (boardRebuildNeeded)
+			{
+				getBoard().updatePositionBoard();
+				getBoard().updateControlBoards();
+				boardRebuildNeeded = false;
+			}
 		
 			//Increment turn
 			setTurn(getTurn() + 1);
@@ -268,12 +300,16 @@ public class ChessGameRunner
 		}
 		
 		//Check whether or not it is game over
-		if (board.numberOfLegalMoves(currentPlayer.getColor()) == 0)
+		GameStatus gameStatus = board.getGameStatus(currentPlayer.getColor());
+		if (gameStatus != GameStatus.IN_PLAY)
 		{
-			if (board.isInCheck(currentPlayer.getColor()))
-				System.out.println(currentPlayer.getColor() + " Has Been Checkmated by " + currentOpponent.getColor());
-			else
-				System.out.println("Stalemate");
+			if (isTextBasedDisplay())
+			{
+				if (gameStatus == GameStatus.CHECKMATE)
+					System.out.println(currentPlayer.getColor() + " Has Been Checkmated by " + currentOpponent.getColor());
+				else
+					System.out.println("Stalemate");
+			}
 			gameOver = true;
 			
 		}
@@ -284,7 +320,8 @@ public class ChessGameRunner
 			int bonus = (getInitialTotalMaterialWorth() - currentPlayer.getTotalMaterialWorth()) * getPassiveIncomeBonus();
 			currentPlayer.setMoney(currentPlayer.getMoney() + getPassiveIncome() + bonus);
 				
-			currentPlayer.clearMovedTwoUnitsUp(); //Clear the En Passant history.
+			getBoard().clearMovedTwoUnitsUp(currentPlayer.getColor()); //Clear the En Passant history.
+			getBoard().setSideToMove(currentPlayer.getColor());
 						
 			setMoveWasMade(false);
 			setSelectedChessPiece(null);
@@ -293,7 +330,19 @@ public class ChessGameRunner
 		}
 		//-----------------------------------------------------------------------------
 		
-		displayAllTextBaseVersion(currentPlayer);
+		if (isTextBasedDisplay())
+			displayAllTextBaseVersion(currentPlayer);
+	}
+	
+	/**
+	 * End the game because a Player gives up. Clicks after it do nothing, like after a checkmate.
+	 * 
+	 * @param color The color of the Player who resigns.
+	 */
+	public void resign(String color)
+	{
+		resignedColor = color;
+		gameOver = true;
 	}
 	
 	/**
@@ -421,251 +470,6 @@ public class ChessGameRunner
 		getItems().add(new KingTeleport());	
 	}
 	
-	/**
-	 * Game information GUI. Displays turn, message, and last item played.
-	 * 
-	 * @return a VBox that holds labels that inform the user about game information
-	 */
-	public VBox generateGUIGameInformation()
-	{
-		VBox gameInformation = new VBox();
-		gameInformation.setPrefWidth(350);
-		gameInformation.setPrefHeight(300);
-		gameInformation.setAlignment(Pos.TOP_LEFT);
-		gameInformation.setStyle("-fx-background-color: grey;");
-		
-		Label turn = new Label("Turn " + getTurn() + "   (" + currentPlayer.getColor() + "'s Turn)");
-		turn.setAlignment(Pos.CENTER);
-		turn.setWrapText(true);
-		turn.setPrefWidth(gameInformation.getPrefWidth());
-		
-		Label message = new Label("\nMessage:  " + getMessage());
-		message.setWrapText(true);
-		message.setPrefWidth(gameInformation.getPrefWidth());
-		
-		Label lastPlayedItem = new Label("\nLast Item That Was Played: \n" + getLastPlayedItem());
-		lastPlayedItem.setWrapText(true);
-		lastPlayedItem.setPrefWidth(gameInformation.getPrefWidth());
-		
-		gameInformation.getChildren().addAll(turn, message, lastPlayedItem);
-		
-		return gameInformation;
-	}
-	
-	/**
-	 * Game over message GUI. Displayed when the game is over and informs the 
-	 * user about how the game has ended.
-	 * 
-	 * @return a VBox that holds labels that inform the user about the end of the game.
-	 */
-	public VBox generateGUIGameOverMessage()
-	{
-		VBox gameOverMessage = new VBox();
-		gameOverMessage.setPrefWidth(350);
-		gameOverMessage.setPrefHeight(300);
-		gameOverMessage.setAlignment(Pos.TOP_LEFT);
-		gameOverMessage.setStyle("-fx-background-color: grey;");
-		
-		Label gameOverLabel = new Label("Game Over");
-		gameOverLabel.setAlignment(Pos.CENTER);
-		gameOverLabel.setWrapText(true);
-		gameOverLabel.setPrefWidth(gameOverMessage.getPrefWidth());
-		
-		Label result = new Label();
-		result.setAlignment(Pos.CENTER);
-		result.setWrapText(true);
-		result.setPrefWidth(gameOverMessage.getPrefWidth());
-		
-		if (board.isInCheck(currentPlayer.getColor()))
-			result.setText(currentPlayer.getColor() + " Has Been Checkmated by " + currentOpponent.getColor());
-		else
-			result.setText("\nStalemate: " + currentPlayer + " Has No Legal Moves But Is Not In Check");
-		
-		gameOverMessage.getChildren().addAll(gameOverLabel, result);
-		return gameOverMessage;
-	}
-	
-	/**
-	 * GUI that displays information about the current selected chess piece, such as
-	 * what kind of chess piece it is, its' material worth, and the movements that it has.
-	 * 
-	 * @return a VBox that holds Labels and a ListView that inform the user about the selected chess piece.
-	 */
-	public VBox generateGUISelectedChessPieceInformation()
-	{
-		VBox selectedChessPieceInformation = new VBox(10);
-		selectedChessPieceInformation.setPrefWidth(350);
-		selectedChessPieceInformation.setAlignment(Pos.TOP_LEFT);
-		selectedChessPieceInformation.setStyle("-fx-background-color: lightgrey;");
-		
-		if (selectedChessPiece != null)
-		{
-			Label info = new Label("Selected Chess Piece: " + selectedChessPiece);
-			info.setWrapText(true);
-			info.setPrefWidth(selectedChessPieceInformation.getPrefWidth());
-			
-			Label materialWorth = new Label("Material Worth: " + selectedChessPiece.getMaterialWorth());
-			materialWorth.setWrapText(true);
-			materialWorth.setPrefWidth(selectedChessPieceInformation.getPrefWidth());
-			
-			Label movement = new Label("Movements");
-			movement.setWrapText(true);
-			movement.setPrefWidth(selectedChessPieceInformation.getPrefWidth());
-			
-			ListView<String> movementsListView = new ListView<String>();
-			movementsListView.setPrefHeight(200);
-			for (int i = 0; i < selectedChessPiece.getMovements().size(); i++)
-			{
-				movementsListView.getItems().addAll((i + 1) + ") " + selectedChessPiece.getMovements().get(i).getMovementName());
-			}
-			
-			selectedChessPieceInformation.getChildren().addAll(info, materialWorth, movement, movementsListView);
-		}
-		return selectedChessPieceInformation;
-	}
-	
-	/**
-	 * GUI that displays information about the Black Player.
-	 * 
-	 * @return A HBox that holds the color of the player, total material worth, and the amount of money the Player has.
-	 */
-	public HBox generateGUIBlackPlayerInformation()
-	{
-		HBox playerInformation = new HBox();
-		playerInformation.setAlignment(Pos.CENTER);
-		playerInformation.setStyle("-fx-background-color: black;");
-		
-		Label playerInfo = new Label("Black Player:   Material Worth: " + getBlackPlayer().getTotalMaterialWorth() + "   Money: $" + getBlackPlayer().getMoney());
-		playerInfo.setWrapText(true);
-		playerInfo.setPrefWidth(playerInformation.getPrefWidth());
-		
-		playerInformation.getChildren().addAll(playerInfo);
-		
-		return playerInformation;
-	}
-	
-	/**
-	 * GUI that displays information about the White Player.
-	 * 
-	 * @return A HBox that holds the color of the player, total material worth, and the amount of money the Player has.
-	 */
-	public HBox generateGUIWhitePlayerInformation()
-	{
-		HBox playerInformation = new HBox();
-		playerInformation.setAlignment(Pos.CENTER);
-		playerInformation.setStyle("-fx-background-color: black;");
-		
-		Label playerInfo = new Label("White Player:   Material Worth: " + getWhitePlayer().getTotalMaterialWorth() + "   Money: $" + getWhitePlayer().getMoney());
-		playerInfo.setWrapText(true);
-		playerInfo.setPrefWidth(playerInformation.getPrefWidth());
-		
-		playerInformation.getChildren().addAll(playerInfo);
-		
-		return playerInformation;
-	}
-	
-	/**
-	 * GUI that displays the available upgrades that the current selected chess piece has.
-	 * 
-	 * @return
-	 */
-	public VBox generateGUIUpgrades()
-	{
-		Label listName = new Label();
-		
-		ListView<String> upgradesListView = new ListView<String>();
-		upgradesListView.setPrefHeight(300);
-		
-		VBox upgradesGUI = new VBox(10);
-		
-		if (selectedChessPiece != null)
-		{	
-			ArrayList<Movement> availableUpgrades = getSelectedChessPiece().getAvailableUpgrades();
-			int upgradeSize = availableUpgrades.size();
-			if(upgradeSize == 0)
-			{
-				listName.setText(getSelectedChessPiece().getName() + " Upgrade List: (No Upgrades)");
-			}
-			else
-			{
-				listName.setText(getSelectedChessPiece().getName() + " Upgrade List: ");
-				for(int i = 0; i < upgradeSize; i++)
-				{
-					String listViewElement = (i + 1) + ") ";
-					
-					int price = availableUpgrades.get(i).getMovementCost() * getSelectedChessPiece().getMaterialWorth();
-					listViewElement += availableUpgrades.get(i).getMovementName() + " - $" + price;
-					
-					upgradesListView.getItems().addAll(listViewElement);
-				}
-			}
-		}
-		else
-		{
-			listName.setText("Upgrade List: ");
-		}
-		
-		upgradesGUI.getChildren().addAll(listName, upgradesListView);
-		return upgradesGUI;
-	}
-	
-	/**
-	 * GUI that displays all of the items that the Players can buy.
-	 * 
-	 * @return A VBox that holds labels and a ListView that displays all of the items that the Players can buy.
-	 */
-	public VBox generateGUIItems()
-	{
-		Label listName = new Label();
-		
-		ListView<String> itemsListView = new ListView<String>();
-		itemsListView.setPrefHeight(300);
-		
-		VBox itemsGUI = new VBox(10);
-		
-		listName.setText("Items");
-		
-		for(int i = 0; i < getItems().size(); i++)
-		{
-			String listViewElement = (i + 1) + ") " + getItems().get(i).getItemName() + " - $" + getItems().get(i).getItemCost();
-			itemsListView.getItems().addAll(listViewElement);
-		}
-		
-		itemsGUI.getChildren().addAll(listName, itemsListView);
-		return itemsGUI;
-	}
-	
-	/**
-	 * GUI that displays all of the potential promotions that the Players can promote their Pawns to.
-	 * 
-	 * @return VBox that states which Pawn the Player is promoting and what the Player can promote to.
-	 */
-	public VBox generateGUIPromotion()
-	{
-		int pawnIndex = currentPlayer.findPawnReadyToPromote();
-		ChessPiece pawn = currentPlayer.getChessPieces().get(pawnIndex);
-		
-		Label listName = new Label();
-		listName.setText("Promote " + pawn);
-		
-		ListView<String> promotionListView = new ListView<String>();
-		promotionListView.setPrefHeight(300);
-		
-		VBox promotionGUI = new VBox(10);
-		
-		//Display Promotion
-		promotionListView.getItems().addAll("1) Queen");
-		promotionListView.getItems().addAll("2) Bishop");
-		promotionListView.getItems().addAll("3) Knight");
-		promotionListView.getItems().addAll("4) Rook");
-		promotionListView.getItems().addAll("5) Cannon");
-		promotionListView.getItems().addAll("6) Ninja");
-		promotionListView.getItems().addAll("7) Wizard");
-		
-		promotionGUI.getChildren().addAll(listName, promotionListView);
-		return promotionGUI;
-	}
-	
 	/**
 	 * Display the text-based version of the Game Information.
 	 * 
@@ -733,9 +537,7 @@ public class ChessGameRunner
 				
 			//2) Display the movement board of the piece.
 			System.out.println("***Possible Movements This Piece Can Make.");
-			ArrayList<ArrayList<Character>> potentialMovements = getSelectedChessPiece().calculatePotentialMovements(getBoard());
-			ArrayList<ArrayList<Character>> possibleMovements = getSelectedChessPiece().calculatePossibleMovements(potentialMovements, getBoard());
-			Board.displayBoard(possibleMovements);
+			Board.displayBoard(MovementBuffer.toGrid(getBoard().getPossibleMovements(getSelectedChessPiece())));
 			PrintBorder();
 				
 			//3) Upgrades
@@ -924,6 +726,13 @@ public class ChessGameRunner
 	 */
 	public void setGameOver(Boolean gameOver) { this.gameOver = gameOver; }
 	
+	/**
+	 * Get the color of the Player who resigned
+	 * 
+	 * @return the color of the Player who resigned, null if no one did
+	 */
+	public String getResignedColor() { return resignedColor; }
+	
 	/**
 	 * Get the ArrayList of Crazy Items
 	 * 
@@ -981,18 +790,18 @@ public class ChessGameRunner
 	public void setInitialTotalMaterialWorth(int initialTotalMaterialWorth) { this.initialTotalMaterialWorth = initialTotalMaterialWorth; }
 	
 	/**
-	 * Get the run result
+	 * Get the turn result
 	 * 
-	 * @return the run result
+	 * @return the turn result of the last click, null before the first one
 	 */
-	public ArrayList<Object> getRunResult() { return runResult; }
+	public TurnResult getTurnResult() { return turnResult; }
 	
 	/**
-	 * Get the run result
+	 * Set the turn result
 	 * 
-	 * @param runResult the new run result
+	 * @param turnResult the new turn result
 	 */
-	public void setRunResult(ArrayList<Object> runResult) { this.runResult = runResult; }
+	public void setTurnResult(TurnResult turnResult) { this.turnResult = turnResult; }
 	
 	/**
 	 * Get wasMoveMade
@@ -1023,11 +832,16 @@ public class ChessGameRunner
 	public void setSelectedChessPiece(ChessPiece selectedChessPiece) { this.selectedChessPiece = selectedChessPiece; }
 	
 	/**
-	 * Get the message result
+	 * Get the message result, built from the event of the turn result the first time it is asked for
 	 * 
 	 * @return the message result
 	 */
-	public String getMessage() { return message; }
+	public String getMessage()
+	{
+		if (message == null)
+			message = turnResult.getMessage();
+		return message;
+	}
 	
 	/**
 	 * Set the message 
@@ -1103,6 +917,34 @@ public class ChessGameRunner
 	 */
 	public Player getCurrentOpponent() { return currentOpponent; }
 	
+	/**
+	 * Add a listener that is told what every click of the current player did.
+	 * 
+	 * @param turnListener The listener.
+	 */
+	public void addTurnListener(TurnListener turnListener) { turnListeners.add(turnListener); }
+	
+	/**
+	 * Remove a listener added with addTurnListener.
+	 * 
+	 * @param turnListener The listener.
+	 */
+	public void removeTurnListener(TurnListener turnListener) { turnListeners.remove(turnListener); }
+	
+	/**
+	 * Get whether runGame prints the game to the console.
+	 * 
+	 * @return Whether runGame prints the text-based version of the game.
+	 */
+	public boolean isTextBasedDisplay() { return textBasedDisplay; }
+	
+	/**
+	 * Set whether runGame prints the game to the console. A server running many games turns it off.
+	 * 
+	 * @param textBasedDisplay Whether runGame prints the text-based version of the game.
+	 */
+	public void setTextBasedDisplay(boolean textBasedDisplay) { this.textBasedDisplay = textBasedDisplay; }
+	
 	/**
 	 * Save the game by converting all of the ChessGameRunner member fields to bytes and storing them in
 	 * chess.dat
@@ -1122,7 +964,7 @@ public class ChessGameRunner
 			
 			output.writeInt(initialTotalMaterialWorth);
 			output.writeBoolean(moveWasMade);
-			output.writeObject(message);
+			output.writeObject(getMessage());
 			output.writeBoolean(promotionComplete);
 			output.writeInt(crazyItemCounter);
 			output.writeInt(crazyItemGuaranteedTurn);
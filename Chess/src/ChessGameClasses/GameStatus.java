@@ -0,0 +1,22 @@
+package ChessGameClasses;
+
+/**
+ * The state of the game for the player to move, see Board.getGameStatus.
+ */
+public enum GameStatus
+{
+	/**
+	 * The player has at least one legal move.
+	 */
+	IN_PLAY,
+
+	/**
+	 * The player has no legal move and is in check.
+	 */
+	CHECKMATE,
+
+	/**
+	 * The player has no legal move and is not in check.
+	 */
+	STALEMATE
+}
@@ -0,0 +1,362 @@
+package ChessGameClasses;
+
+import ChessPieces.ChessPiece;
+import Movements.LeaperTables;
+import Movements.Movement;
+import Movements.MovementRegistry;
+import Movements.RayTables;
+
+import java.util.ArrayList;
+
+/**
+ * The LegalityFilter class decides whether a move leaves the king of the moving player in check without playing
+ * the move on the board. It looks at the position once: the enemy pieces that check the king without being
+ * blockable, the enemy sliding and hopping pieces on the lines through the king, and whether each of those lines
+ * currently gives check. A move that doesn't move the king then only has to look at the lines it touches.
+ * A king move checks its destination square against every enemy piece.
+ * Castling, and positions the filter can't describe (no king or more than one king, two pieces on one square,
+ * movements it doesn't know), fall back to ChessPiece.thisMoveResultsInCheck.
+ */
+public class LegalityFilter
+{
+	/**
+	 * Number of lines through the king, one for each RayTables direction
+	 */
+	private static final int rayNum = RayTables.directionNum;
+
+	/**
+	 * Movements the filter knows how to capture with. Advance, Two Units Up, En Passant, Castle, Teleportation and
+	 * Orthogonal Non Capture movements never capture a king.
+	 */
+	private static final int knownMovementBits = MovementRegistry.bit(MovementRegistry.movementNum) - 1;
+
+	/**
+	 * Movements that capture on fixed squares, see LeaperTables
+	 */
+	private static final int leaperMovementBits = MovementRegistry.bit(MovementRegistry.lIndex)
+			| MovementRegistry.bit(MovementRegistry.squareIndex) | MovementRegistry.bit(MovementRegistry.restrictedTeleportationIndex)
+			| MovementRegistry.bit(MovementRegistry.leftRightCaptureIndex) | MovementRegistry.bit(MovementRegistry.rangeCaptureIndex);
+
+	/**
+	 * Sliding and hopping movements that can capture
+	 */
+	private static final int lineMovementBits = MovementRegistry.bit(MovementRegistry.diagonalIndex)
+			| MovementRegistry.bit(MovementRegistry.orthogonalIndex) | MovementRegistry.bit(MovementRegistry.hopCaptureIndex);
+
+	/**
+	 * The chess board
+	 */
+	private Board board;
+
+	/**
+	 * Color of the moving player
+	 */
+	private String color;
+
+	/**
+	 * Whether every move has to be simulated on the board
+	 */
+	private boolean usesSimulation;
+
+	/**
+	 * Square of the king of the moving player
+	 */
+	private int kingSquare;
+
+	/**
+	 * Enemy chess piece on each square, null if there is none
+	 */
+	private ChessPiece[] enemyPieces;
+
+	/**
+	 * Enemy sliding and hopping pieces on each line through the king
+	 */
+	private ArrayList<ArrayList<ChessPiece>> rayPieces;
+
+	/**
+	 * Whether each line through the king gives check before the move
+	 */
+	private boolean[] rayAttacked;
+
+	/**
+	 * Enemy pieces that check the king with movements that can't be blocked
+	 */
+	private ArrayList<ChessPiece> leaperCheckers;
+
+	/**
+	 * Square the moving piece leaves, -1 when no move is being checked
+	 */
+	private int fromSquare;
+
+	/**
+	 * Square the moving piece ends on, -1 when no move is being checked
+	 */
+	private int toSquare;
+
+	/**
+	 * Square of the captured enemy piece, -1 if the move doesn't capture
+	 */
+	private int captureSquare;
+
+	/**
+	 * Class constructor. Looks at the position for the moving player.
+	 * @param board - Board, chess board.
+	 * @param color - String, color of the moving player.
+	 */
+	public LegalityFilter(Board board, String color)
+	{
+		this.board = board;
+		this.color = color;
+		this.fromSquare = -1;
+		this.toSquare = -1;
+		this.captureSquare = -1;
+
+		ArrayList<ChessPiece> allyChessPieces;
+		ArrayList<ChessPiece> opponentChessPieces;
+		if (color.equals("White"))
+		{
+			allyChessPieces = board.getWhiteChessPieces();
+			opponentChessPieces = board.getBlackChessPieces();
+		}
+		else
+		{
+			allyChessPieces = board.getBlackChessPieces();
+			opponentChessPieces = board.getWhiteChessPieces();
+		}
+
+		//Record the enemy piece on each square.
+		int pieceCount = 0;
+		this.enemyPieces = new ChessPiece[BitBoard.squareNum];
+		for (ChessPiece allyPiece : allyChessPieces)
+			if (!allyPiece.getIsCaptured())
+				pieceCount++;
+		for (ChessPiece opponentPiece : opponentChessPieces)
+		{
+			if (!opponentPiece.getIsCaptured())
+			{
+				pieceCount++;
+				enemyPieces[BitBoard.toSquare(opponentPiece.getPosRow(), opponentPiece.getPosCol())] = opponentPiece;
+				if ((opponentPiece.getMovementBits() & ~knownMovementBits) != 0)
+					usesSimulation = true;
+			}
+		}
+
+		//Pieces sharing a square or a missing (or extra) king is left to the simulation.
+		BitBoard kings = board.getPieceBitBoard(color, Board.kingTypeIndex);
+		if (pieceCount != board.getAllOccupancy().count() || kings.count() != 1)
+			usesSimulation = true;
+		if (usesSimulation)
+			return;
+
+		this.kingSquare = kings.firstSquare();
+
+		//Record the enemy pieces on every line out of the king that could give check along it.
+		this.rayPieces = new ArrayList<ArrayList<ChessPiece>>();
+		this.rayAttacked = new boolean[rayNum];
+		for (int ray = 0; ray < rayNum; ray++)
+		{
+			rayPieces.add(new ArrayList<ChessPiece>());
+			for (int square : RayTables.getRaySquares(ray, kingSquare))
+			{
+				if (enemyPieces[square] != null && hasLineMovement(enemyPieces[square]))
+				{
+					rayPieces.get(ray).add(enemyPieces[square]);
+					if (attacksWithLineMovements(enemyPieces[square], kingSquare))
+						rayAttacked[ray] = true;
+				}
+			}
+		}
+
+		//Record the enemy pieces that check the king no matter what stands in between.
+		this.leaperCheckers = new ArrayList<ChessPiece>();
+		for (ChessPiece opponentPiece : opponentChessPieces)
+			if (!opponentPiece.getIsCaptured() && attacksWithLeaperMovements(opponentPiece, kingSquare))
+				leaperCheckers.add(opponentPiece);
+	}
+
+	/**
+	 * Method to determine whether a move leaves the king of the moving player in check.
+	 * @param chessPiece - ChessPiece, piece to be moved.
+	 * @param moveRow - int, row clicked for the move.
+	 * @param moveCol - int, column clicked for the move.
+	 * @param movementType - Character, movement type of the move.
+	 * @return - boolean, whether the move results in check.
+	 */
+	public boolean moveResultsInCheck(ChessPiece chessPiece, int moveRow, int moveCol, Character movementType)
+	{
+		if (usesSimulation || !chessPiece.getColor().equals(color))
+			return chessPiece.thisMoveResultsInCheck(moveRow, moveCol, movementType, board);
+
+		//Work out which squares the move changes.
+		fromSquare = BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol());
+		int moveSquare = BitBoard.toSquare(moveRow, moveCol);
+		if (movementType.equals(Movement.moveSymbol) || movementType.equals(Movement.twoUnitsUpSymbol))
+		{
+			toSquare = moveSquare;
+			captureSquare = -1;
+		}
+		else if (movementType.equals(Movement.moveAndCaptureSymbol))
+		{
+			toSquare = moveSquare;
+			captureSquare = moveSquare;
+		}
+		else if (movementType.equals(Movement.captureSymbol))
+		{
+			toSquare = fromSquare;
+			captureSquare = moveSquare;
+		}
+		else if (movementType.equals(Movement.enPassantSymbol))
+		{
+			toSquare = moveSquare;
+			if (color.equals("White")) captureSquare = BitBoard.toSquare(moveRow + 1, moveCol);
+			else captureSquare = BitBoard.toSquare(moveRow - 1, moveCol);
+		}
+		//Castling moves two pieces, simulate it.
+		else
+		{
+			fromSquare = -1;
+			return chessPiece.thisMoveResultsInCheck(moveRow, moveCol, movementType, board);
+		}
+
+		boolean resultsInCheck;
+		if (fromSquare == kingSquare && toSquare != kingSquare)
+			resultsInCheck = isAttackedAfterMove(toSquare);
+		else
+			resultsInCheck = kingIsAttackedAfterMove();
+
+		fromSquare = -1;
+		toSquare = -1;
+		captureSquare = -1;
+		return resultsInCheck;
+	}
+
+	/**
+	 * Method to determine whether the king, which stays on its square, is attacked after the move being checked.
+	 * Only the lines the move touches are looked at again.
+	 * @return - boolean, whether the king is attacked.
+	 */
+	private boolean kingIsAttackedAfterMove()
+	{
+		for (ChessPiece leaperChecker : leaperCheckers)
+			if (isEnemyAfterMove(BitBoard.toSquare(leaperChecker.getPosRow(), leaperChecker.getPosCol())))
+				return true;
+
+		int fromRay = RayTables.getDirection(kingSquare, fromSquare);
+		int toRay = RayTables.getDirection(kingSquare, toSquare);
+		int captureRay = captureSquare != -1 ? RayTables.getDirection(kingSquare, captureSquare) : -1;
+		for (int ray = 0; ray < rayNum; ray++)
+		{
+			boolean rayTouched = fromRay == ray || toRay == ray || captureRay == ray;
+			if (rayTouched)
+			{
+				for (ChessPiece rayPiece : rayPieces.get(ray))
+					if (isEnemyAfterMove(BitBoard.toSquare(rayPiece.getPosRow(), rayPiece.getPosCol())) &&
+							attacksWithLineMovements(rayPiece, kingSquare))
+						return true;
+			}
+			else if (rayAttacked[ray])
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Method to determine whether a square is attacked by any enemy piece after the move being checked.
+	 * @param square - int, square number.
+	 * @return - boolean, whether the square is attacked.
+	 */
+	private boolean isAttackedAfterMove(int square)
+	{
+		for (int enemySquare = 0; enemySquare < BitBoard.squareNum; enemySquare++)
+		{
+			if (isEnemyAfterMove(enemySquare))
+			{
+				ChessPiece enemyPiece = enemyPieces[enemySquare];
+				if (attacksWithLeaperMovements(enemyPiece, square) || attacksWithLineMovements(enemyPiece, square))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Method to check if a square is occupied after the move being checked.
+	 * @param square - int, square number.
+	 * @return - boolean, whether any piece is on the square.
+	 */
+	private boolean isOccupiedAfterMove(int square)
+	{
+		if (square == toSquare)
+			return true;
+		else if (square == fromSquare || square == captureSquare)
+			return false;
+		else
+			return board.getAllOccupancy().get(square);
+	}
+
+	/**
+	 * Method to check if an enemy piece is still on a square after the move being checked.
+	 * @param square - int, square number.
+	 * @return - boolean, whether an enemy piece is on the square.
+	 */
+	private boolean isEnemyAfterMove(int square)
+	{
+		return enemyPieces[square] != null && square != toSquare && square != captureSquare;
+	}
+
+	/**
+	 * Method to determine whether an enemy piece captures on a square with a movement that can't be blocked.
+	 * @param enemyPiece - ChessPiece, the enemy piece.
+	 * @param square - int, square number.
+	 * @return - boolean, whether the piece attacks the square.
+	 */
+	private static boolean attacksWithLeaperMovements(ChessPiece enemyPiece, int square)
+	{
+		int enemySquare = BitBoard.toSquare(enemyPiece.getPosRow(), enemyPiece.getPosCol());
+		for (int bits = enemyPiece.getMovementBits() & leaperMovementBits; bits != 0; bits &= bits - 1)
+			if (LeaperTables.getTargets(Integer.numberOfTrailingZeros(bits), enemyPiece.getColor(), enemySquare).get(square))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Method to determine whether an enemy piece captures on a square by sliding or hopping, with the board as it is
+	 * after the move being checked.
+	 * @param enemyPiece - ChessPiece, the enemy piece.
+	 * @param square - int, square number.
+	 * @return - boolean, whether the piece attacks the square.
+	 */
+	private boolean attacksWithLineMovements(ChessPiece enemyPiece, int square)
+	{
+		int enemySquare = BitBoard.toSquare(enemyPiece.getPosRow(), enemyPiece.getPosCol());
+		int direction = RayTables.getDirection(enemySquare, square);
+		if (direction == -1)
+			return false;
+		boolean diagonal = RayTables.isDiagonal(direction);
+		boolean orthogonal = !diagonal;
+
+		//Count the pieces between the enemy piece and the square, no line movement gets past two.
+		BitBoard between = RayTables.getBetween(enemySquare, square);
+		int blockers = 0;
+		for (int betweenSquare = between.nextSquare(0); betweenSquare != -1 && blockers < 2; betweenSquare = between.nextSquare(betweenSquare + 1))
+			if (isOccupiedAfterMove(betweenSquare))
+				blockers++;
+
+		if (enemyPiece.hasMovement(MovementRegistry.diagonalIndex) && diagonal && blockers == 0)
+			return true;
+		if (enemyPiece.hasMovement(MovementRegistry.orthogonalIndex) && orthogonal && blockers == 0)
+			return true;
+		//A hop capture jumps over exactly one piece.
+		return enemyPiece.hasMovement(MovementRegistry.hopCaptureIndex) && orthogonal && blockers == 1;
+	}
+
+	/**
+	 * Method to check if a piece has a sliding or hopping movement that can capture.
+	 * @param chessPiece - ChessPiece, the chess piece.
+	 * @return - boolean, whether the piece has a line movement.
+	 */
+	private static boolean hasLineMovement(ChessPiece chessPiece)
+	{
+		return (chessPiece.getMovementBits() & lineMovementBits) != 0;
+	}
+}
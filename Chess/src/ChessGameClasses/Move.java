@@ -0,0 +1,252 @@
+package ChessGameClasses;
+
+import Movements.Movement;
+
+/**
+ * The Move class packs a move into an int, so moves can be stored and passed around without boxing.
+ *
+ * Bits 0-6 hold the from square, bits 7-13 the to square, bits 14-17 the kind, bits 18-21 the type of the captured
+ * piece plus one (0 for no capture) and bits 22-29 an index: the item, upgrade or promotion choice. Squares are
+ * numbered as in BitBoard. Kind 0 is never used, so no move is 0 and 0 means no move.
+ *
+ * A board move goes from the square of the moving piece to the square clicked on, which for a castle is the Rook.
+ * An item purchase only has the item index. An upgrade purchase and a promotion choice have the square of their
+ * piece as both from and to square.
+ */
+public final class Move
+{
+	//Kinds
+	/**
+	 * A move to an empty square, the move symbol.
+	 */
+	public static final int moveKind = 1;
+
+	/**
+	 * A move that captures the piece on the to square, the move and capture symbol.
+	 */
+	public static final int captureKind = 2;
+
+	/**
+	 * A capture that doesn't move the piece, the capture symbol.
+	 */
+	public static final int rangeCaptureKind = 3;
+
+	/**
+	 * A castle, the castle symbol.
+	 */
+	public static final int castleKind = 4;
+
+	/**
+	 * A Pawn moving two units up, the two units up symbol.
+	 */
+	public static final int twoUnitsUpKind = 5;
+
+	/**
+	 * An En Passant capture, the en passant symbol.
+	 */
+	public static final int enPassantKind = 6;
+
+	/**
+	 * The choice of the piece a Pawn promotes to.
+	 */
+	public static final int promotionKind = 7;
+
+	/**
+	 * An item purchase.
+	 */
+	public static final int itemKind = 8;
+
+	/**
+	 * An upgrade purchase.
+	 */
+	public static final int upgradeKind = 9;
+
+	/**
+	 * Movement symbols of the board move kinds, indexed by kind.
+	 */
+	private static final Character[] movementSymbols = {Movement.invalidMoveSymbol, Movement.moveSymbol,
+			Movement.moveAndCaptureSymbol, Movement.captureSymbol, Movement.castleSymbol, Movement.twoUnitsUpSymbol,
+			Movement.enPassantSymbol};
+
+	//Move layout
+	private static final int squareMask = 0x7F;
+	private static final int toShift = 7;
+	private static final int kindShift = 14;
+	private static final int kindMask = 0xF;
+	private static final int capturedShift = 18;
+	private static final int capturedMask = 0xF;
+	private static final int indexShift = 22;
+	private static final int indexMask = 0xFF;
+
+	/**
+	 * No instances, only static helpers.
+	 */
+	private Move() {}
+
+	/**
+	 * Method to pack a move.
+	 * @param fromSquare - int, square of the piece.
+	 * @param toSquare - int, square the move goes to.
+	 * @param kind - int, one of the kind constants.
+	 * @param capturedPieceType - int, Board.getPieceTypeIndex of the captured piece, -1 for none.
+	 * @param index - int, item, upgrade or promotion choice, 0 for a board move.
+	 * @return - int, the move.
+	 */
+	public static int encode(int fromSquare, int toSquare, int kind, int capturedPieceType, int index)
+	{
+		return fromSquare | (toSquare << toShift) | (kind << kindShift) | ((capturedPieceType + 1) << capturedShift)
+				| (index << indexShift);
+	}
+
+	/**
+	 * Method to pack a board move.
+	 * @param fromRow - int, row of the piece.
+	 * @param fromCol - int, column of the piece.
+	 * @param toRow - int, row the move goes to.
+	 * @param toCol - int, column the move goes to.
+	 * @param movementType - char, movement symbol of the move.
+	 * @param capturedPieceType - int, Board.getPieceTypeIndex of the captured piece, -1 for none.
+	 * @return - int, the move.
+	 */
+	public static int encodeBoardMove(int fromRow, int fromCol, int toRow, int toCol, char movementType, int capturedPieceType)
+	{
+		return encode(BitBoard.toSquare(fromRow, fromCol), BitBoard.toSquare(toRow, toCol), getKind(movementType), capturedPieceType, 0);
+	}
+
+	/**
+	 * Method to pack an item purchase.
+	 * @param itemIndex - int, index of the item in the item list.
+	 * @return - int, the move.
+	 */
+	public static int encodeItem(int itemIndex) { return encode(0, 0, itemKind, -1, itemIndex); }
+
+	/**
+	 * Method to pack an upgrade purchase.
+	 * @param square - int, square of the piece to upgrade.
+	 * @param upgradeIndex - int, index of the upgrade in the available upgrades of the piece.
+	 * @return - int, the move.
+	 */
+	public static int encodeUpgrade(int square, int upgradeIndex) { return encode(square, square, upgradeKind, -1, upgradeIndex); }
+
+	/**
+	 * Method to pack a promotion choice.
+	 * @param square - int, square of the Pawn.
+	 * @param promotionChoice - int, the choice of Player.promote, 0 for a Queen.
+	 * @return - int, the move.
+	 */
+	public static int encodePromotion(int square, int promotionChoice) { return encode(square, square, promotionKind, -1, promotionChoice); }
+
+	/**
+	 * Method to get the from square of a move.
+	 * @param move - int, the move.
+	 * @return - int, square number.
+	 */
+	public static int getFromSquare(int move) { return move & squareMask; }
+
+	/**
+	 * Method to get the to square of a move.
+	 * @param move - int, the move.
+	 * @return - int, square number.
+	 */
+	public static int getToSquare(int move) { return (move >>> toShift) & squareMask; }
+
+	/**
+	 * Method to get the from row of a move.
+	 * @param move - int, the move.
+	 * @return - int, board row.
+	 */
+	public static int getFromRow(int move) { return BitBoard.toRow(getFromSquare(move)); }
+
+	/**
+	 * Method to get the from column of a move.
+	 * @param move - int, the move.
+	 * @return - int, board column.
+	 */
+	public static int getFromCol(int move) { return BitBoard.toCol(getFromSquare(move)); }
+
+	/**
+	 * Method to get the to row of a move.
+	 * @param move - int, the move.
+	 * @return - int, board row.
+	 */
+	public static int getToRow(int move) { return BitBoard.toRow(getToSquare(move)); }
+
+	/**
+	 * Method to get the to column of a move.
+	 * @param move - int, the move.
+	 * @return - int, board column.
+	 */
+	public static int getToCol(int move) { return BitBoard.toCol(getToSquare(move)); }
+
+	/**
+	 * Method to get the kind of a move.
+	 * @param move - int, the move.
+	 * @return - int, one of the kind constants.
+	 */
+	public static int getKind(int move) { return (move >>> kindShift) & kindMask; }
+
+	/**
+	 * Method to get the type of the piece a move captures.
+	 * @param move - int, the move.
+	 * @return - int, Board.getPieceTypeIndex of the captured piece, -1 for none.
+	 */
+	public static int getCapturedPieceType(int move) { return ((move >>> capturedShift) & capturedMask) - 1; }
+
+	/**
+	 * Method to get the item, upgrade or promotion choice of a move.
+	 * @param move - int, the move.
+	 * @return - int, the index.
+	 */
+	public static int getIndex(int move) { return (move >>> indexShift) & indexMask; }
+
+	/**
+	 * Method to check whether a move moves or captures with a piece on the board.
+	 * @param move - int, the move.
+	 * @return - boolean, whether the move has a movement symbol.
+	 */
+	public static boolean isBoardMove(int move) { return getKind(move) >= moveKind && getKind(move) <= enPassantKind; }
+
+	/**
+	 * Method to check whether a move captures a piece.
+	 * @param move - int, the move.
+	 * @return - boolean, whether a piece is captured.
+	 */
+	public static boolean isCapture(int move) { return getCapturedPieceType(move) != -1; }
+
+	/**
+	 * Method to get the movement symbol of a board move.
+	 * @param move - int, the move.
+	 * @return - Character, movement symbol, the invalid move symbol if it is not a board move.
+	 */
+	public static Character getMovementType(int move) { return isBoardMove(move) ? movementSymbols[getKind(move)] : Movement.invalidMoveSymbol; }
+
+	/**
+	 * Method to get the kind of a movement symbol.
+	 * @param movementType - char, movement symbol.
+	 * @return - int, the kind, 0 if the symbol is not a move.
+	 */
+	public static int getKind(char movementType)
+	{
+		for (int kind = moveKind; kind < movementSymbols.length; kind++)
+			if (movementSymbols[kind] == movementType)
+				return kind;
+		return 0;
+	}
+
+	/**
+	 * Method to describe a move, for debugging.
+	 * @param move - int, the move.
+	 * @return - String, the move.
+	 */
+	public static String toString(int move)
+	{
+		switch (getKind(move))
+		{
+			case itemKind: return "Item " + getIndex(move);
+			case upgradeKind: return "Upgrade " + getIndex(move) + " (" + getFromRow(move) + ", " + getFromCol(move) + ")";
+			case promotionKind: return "Promotion " + getIndex(move) + " (" + getFromRow(move) + ", " + getFromCol(move) + ")";
+			default: return "(" + getFromRow(move) + ", " + getFromCol(move) + ") " + getMovementType(move) + " ("
+					+ getToRow(move) + ", " + getToCol(move) + ")";
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package ChessGameClasses;
+
+import java.util.Arrays;
+
+/**
+ * The MoveList class is a list of moves packed as in Move, backed by an int[]. It is meant to be created once and
+ * cleared for every use, so filling it doesn't allocate once it has grown to the largest move count.
+ */
+public class MoveList
+{
+	/**
+	 * Default capacity of a new list
+	 */
+	private static final int defaultCapacity = 128;
+
+	/**
+	 * The moves, only the first size are used
+	 */
+	private int[] moves;
+
+	/**
+	 * Number of moves in the list
+	 */
+	private int size;
+
+	/**
+	 * Class constructor. Creates an empty list.
+	 */
+	public MoveList()
+	{
+		this.moves = new int[defaultCapacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Method to add a move to the end of the list.
+	 * @param move - int, the move.
+	 */
+	public void add(int move)
+	{
+		if (size == moves.length)
+			moves = Arrays.copyOf(moves, size * 2);
+		moves[size++] = move;
+	}
+
+	/**
+	 * Method to get a move.
+	 * @param index - int, index of the move.
+	 * @return - int, the move.
+	 */
+	public int get(int index) { return moves[index]; }
+
+	/**
+	 * Method to replace a move.
+	 * @param index - int, index of the move.
+	 * @param move - int, the new move.
+	 */
+	public void set(int index, int move) { moves[index] = move; }
+
+	/**
+	 * Method to swap two moves, used to sort the list in place.
+	 * @param first - int, index of the first move.
+	 * @param second - int, index of the second move.
+	 */
+	public void swap(int first, int second)
+	{
+		int move = moves[first];
+		moves[first] = moves[second];
+		moves[second] = move;
+	}
+
+	/**
+	 * Method to get the number of moves.
+	 * @return - size - int.
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Method to check whether the list has no moves.
+	 * @return - boolean, whether the list is empty.
+	 */
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 * Method to remove every move. The capacity is kept.
+	 */
+	public void clear() { size = 0; }
+
+	/**
+	 * Method to keep only the first moves of the list.
+	 * @param size - int, number of moves to keep, at most the current size.
+	 */
+	public void truncate(int size) { this.size = Math.min(this.size, size); }
+
+	/**
+	 * Method to check whether a move is in the list.
+	 * @param move - int, the move.
+	 * @return - boolean, whether the list holds the move.
+	 */
+	public boolean contains(int move)
+	{
+		for (int i = 0; i < size; i++)
+			if (moves[i] == move)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Method to copy the moves into a new array.
+	 * @return - int[], the moves.
+	 */
+	public int[] toArray() { return Arrays.copyOf(moves, size); }
+}
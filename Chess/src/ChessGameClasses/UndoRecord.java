@@ -0,0 +1,317 @@
+package ChessGameClasses;
+
+import ChessPieces.ChessPiece;
+import ChessPieces.Pawn;
+
+import java.util.ArrayList;
+
+/**
+ * The UndoRecord class holds everything Board.makeMove changed so that Board.unmakeMove can restore the
+ * board exactly. It records the moved piece, the captured pieces, the castling rook and the Pawns whose
+ * movedTwoUnitsUp history was cleared, along with the control of every piece that had to be recalculated.
+ * A record can be reused for another move.
+ */
+public class UndoRecord
+{
+	/**
+	 * The piece that was moved
+	 */
+	private ChessPiece movedPiece;
+
+	/**
+	 * Row of the moved piece before the move
+	 */
+	private int movedPieceRow;
+
+	/**
+	 * Column of the moved piece before the move
+	 */
+	private int movedPieceCol;
+
+	/**
+	 * hasMoved of the moved piece before the move
+	 */
+	private boolean movedPieceHasMoved;
+
+	/**
+	 * movedTwoUnitsUp of the moved piece before the move, if it is a Pawn
+	 */
+	private boolean movedPieceMovedTwoUnitsUp;
+
+	/**
+	 * Movement type of the move
+	 */
+	private Character movementType;
+
+	/**
+	 * The pieces captured by the move
+	 */
+	private ArrayList<ChessPiece> capturedPieces;
+
+	/**
+	 * Rows of the captured pieces before they were captured
+	 */
+	private ArrayList<Integer> capturedPieceRows;
+
+	/**
+	 * Columns of the captured pieces before they were captured
+	 */
+	private ArrayList<Integer> capturedPieceCols;
+
+	/**
+	 * The rook that was shifted by a castle, null if the move was not a castle
+	 */
+	private ChessPiece castleRook;
+
+	/**
+	 * Row of the castle rook before the move
+	 */
+	private int castleRookRow;
+
+	/**
+	 * Column of the castle rook before the move
+	 */
+	private int castleRookCol;
+
+	/**
+	 * hasMoved of the castle rook before the move
+	 */
+	private boolean castleRookHasMoved;
+
+	/**
+	 * Pawns of the moving player whose movedTwoUnitsUp history was cleared by the move
+	 */
+	private ArrayList<Pawn> clearedPawns;
+
+	/**
+	 * Whether the move landed a piece on an occupied square, so the position board had to be rebuilt
+	 */
+	private boolean positionBoardRebuilt;
+
+	/**
+	 * Zobrist key of the board before the move
+	 */
+	private long zobristKey;
+
+	/**
+	 * Side to move before the move
+	 */
+	private String sideToMove;
+
+	/**
+	 * Position version of the board before the move
+	 */
+	private long positionVersion;
+
+	/**
+	 * Pieces whose control was recalculated by the move
+	 */
+	private ArrayList<ChessPiece> recalculatedPieces;
+
+	/**
+	 * Control of the recalculated pieces before the move, null if a piece had none
+	 */
+	private ArrayList<BitBoard[]> oldContributions;
+
+	/**
+	 * Squares whose occupancy or en passant history the move changed, filled by Board.makeMove
+	 */
+	private BitBoard changedSquares;
+
+	/**
+	 * Class constructor.
+	 */
+	public UndoRecord()
+	{
+		this.capturedPieces = new ArrayList<ChessPiece>();
+		this.capturedPieceRows = new ArrayList<Integer>();
+		this.capturedPieceCols = new ArrayList<Integer>();
+		this.clearedPawns = new ArrayList<Pawn>();
+		this.recalculatedPieces = new ArrayList<ChessPiece>();
+		this.oldContributions = new ArrayList<BitBoard[]>();
+		this.changedSquares = new BitBoard();
+	}
+
+	/**
+	 * Method to start recording a new move. Saves the state of the moving piece and forgets the previous move.
+	 * @param movedPiece - ChessPiece, the piece about to move.
+	 * @param movementType - Character, the movement type of the move.
+	 */
+	public void recordMovedPiece(ChessPiece movedPiece, Character movementType)
+	{
+		this.movedPiece = movedPiece;
+		this.movedPieceRow = movedPiece.getPosRow();
+		this.movedPieceCol = movedPiece.getPosCol();
+		this.movedPieceHasMoved = movedPiece.getHasMoved();
+		this.movedPieceMovedTwoUnitsUp = (movedPiece instanceof Pawn) && ((Pawn) movedPiece).getMovedTwoUnitsUp();
+		this.movementType = movementType;
+
+		this.capturedPieces.clear();
+		this.capturedPieceRows.clear();
+		this.capturedPieceCols.clear();
+		this.castleRook = null;
+		this.clearedPawns.clear();
+		this.positionBoardRebuilt = false;
+		this.recalculatedPieces.clear();
+		this.oldContributions.clear();
+		this.changedSquares.clearAll();
+	}
+
+	/**
+	 * Method to record the Zobrist key and the side to move before the move.
+	 * @param zobristKey - long, Zobrist key of the board.
+	 * @param sideToMove - String, color of the player to move.
+	 */
+	public void recordZobristKey(long zobristKey, String sideToMove)
+	{
+		this.zobristKey = zobristKey;
+		this.sideToMove = sideToMove;
+	}
+
+	/**
+	 * Method to record the position version before the move, so taking the move back gives the position its version back.
+	 * @param positionVersion - long, position version of the board.
+	 */
+	public void recordPositionVersion(long positionVersion) { this.positionVersion = positionVersion; }
+
+	/**
+	 * Method to record a piece that is about to be captured.
+	 * @param capturedPiece - ChessPiece, the piece about to be captured.
+	 */
+	public void recordCapturedPiece(ChessPiece capturedPiece)
+	{
+		capturedPieces.add(capturedPiece);
+		capturedPieceRows.add(capturedPiece.getPosRow());
+		capturedPieceCols.add(capturedPiece.getPosCol());
+	}
+
+	/**
+	 * Method to record the rook that is about to be shifted by a castle.
+	 * @param castleRook - ChessPiece, the castle rook.
+	 */
+	public void recordCastleRook(ChessPiece castleRook)
+	{
+		this.castleRook = castleRook;
+		this.castleRookRow = castleRook.getPosRow();
+		this.castleRookCol = castleRook.getPosCol();
+		this.castleRookHasMoved = castleRook.getHasMoved();
+	}
+
+	/**
+	 * Method to record a Pawn whose movedTwoUnitsUp history is about to be cleared.
+	 * @param pawn - Pawn, the Pawn.
+	 */
+	public void recordClearedPawn(Pawn pawn) { clearedPawns.add(pawn); }
+
+	/**
+	 * Method to set whether the position board had to be rebuilt.
+	 * @param positionBoardRebuilt - boolean, whether the position board was rebuilt.
+	 */
+	public void setPositionBoardRebuilt(boolean positionBoardRebuilt) { this.positionBoardRebuilt = positionBoardRebuilt; }
+
+	/**
+	 * Method to record the control of a piece before it is recalculated.
+	 * @param chessPiece - ChessPiece, the piece about to be recalculated.
+	 * @param oldContribution - BitBoard[], the control of the piece before the move, null if it had none.
+	 */
+	public void recordOldContribution(ChessPiece chessPiece, BitBoard[] oldContribution)
+	{
+		recalculatedPieces.add(chessPiece);
+		oldContributions.add(oldContribution);
+	}
+
+	/**
+	 * Method to restore the state of every piece the move changed.
+	 */
+	public void restorePieces()
+	{
+		movedPiece.setPosRow(movedPieceRow);
+		movedPiece.setPosCol(movedPieceCol);
+		movedPiece.setHasMoved(movedPieceHasMoved);
+		if (movedPiece instanceof Pawn)
+			((Pawn) movedPiece).setMovedTwoUnitsUp(movedPieceMovedTwoUnitsUp);
+
+		for (int i = 0; i < capturedPieces.size(); i++)
+		{
+			capturedPieces.get(i).setPosRow(capturedPieceRows.get(i));
+			capturedPieces.get(i).setPosCol(capturedPieceCols.get(i));
+			capturedPieces.get(i).setIsCaptured(false);
+		}
+
+		if (castleRook != null)
+		{
+			castleRook.setPosRow(castleRookRow);
+			castleRook.setPosCol(castleRookCol);
+			castleRook.setHasMoved(castleRookHasMoved);
+		}
+
+		for (int i = 0; i < clearedPawns.size(); i++)
+			clearedPawns.get(i).setMovedTwoUnitsUp(true);
+	}
+
+	/**
+	 * Method to get the moved piece.
+	 * @return - movedPiece - ChessPiece.
+	 */
+	public ChessPiece getMovedPiece() { return movedPiece; }
+
+	/**
+	 * Method to get the movement type of the move.
+	 * @return - movementType - Character.
+	 */
+	public Character getMovementType() { return movementType; }
+
+	/**
+	 * Method to get the captured pieces.
+	 * @return - capturedPieces - ArrayList<ChessPiece>.
+	 */
+	public ArrayList<ChessPiece> getCapturedPieces() { return capturedPieces; }
+
+	/**
+	 * Method to get the castle rook.
+	 * @return - castleRook - ChessPiece, null if the move was not a castle.
+	 */
+	public ChessPiece getCastleRook() { return castleRook; }
+
+	/**
+	 * Method to get whether the position board had to be rebuilt.
+	 * @return - positionBoardRebuilt - boolean.
+	 */
+	public boolean getPositionBoardRebuilt() { return positionBoardRebuilt; }
+
+	/**
+	 * Method to get the Zobrist key before the move.
+	 * @return - zobristKey - long.
+	 */
+	public long getZobristKey() { return zobristKey; }
+
+	/**
+	 * Method to get the side to move before the move.
+	 * @return - sideToMove - String.
+	 */
+	public String getSideToMove() { return sideToMove; }
+
+	/**
+	 * Method to get the position version before the move.
+	 * @return - positionVersion - long.
+	 */
+	public long getPositionVersion() { return positionVersion; }
+
+	/**
+	 * Method to get the squares changed by the move. Board.makeMove fills them, so it needs no bit board of its own.
+	 * @return - changedSquares - BitBoard.
+	 */
+	public BitBoard getChangedSquares() { return changedSquares; }
+
+	/**
+	 * Method to get the pieces whose control was recalculated.
+	 * @return - recalculatedPieces - ArrayList<ChessPiece>.
+	 */
+	public ArrayList<ChessPiece> getRecalculatedPieces() { return recalculatedPieces; }
+
+	/**
+	 * Method to get the control of the recalculated pieces before the move, in the same order as getRecalculatedPieces.
+	 * @return - oldContributions - ArrayList<BitBoard[]>.
+	 */
+	public ArrayList<BitBoard[]> getOldContributions() { return oldContributions; }
+}
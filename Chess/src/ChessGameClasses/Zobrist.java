@@ -0,0 +1,121 @@
+package ChessGameClasses;
+
+import ChessPieces.ChessPiece;
+import ChessPieces.Pawn;
+import ChessPieces.Rook;
+import Movements.MovementRegistry;
+
+import java.util.Random;
+
+/**
+ * The Zobrist class holds the random keys used to give every game state a 64-bit key. The key of a state is the
+ * XOR of the keys of everything in it: each piece type and color on its square, the movements each piece has
+ * (so purchased upgrades count), the hasMoved flag of pieces that can castle or move two units up, the
+ * movedTwoUnitsUp flag of Pawns and the side to move. Since XOR undoes itself, the Board can update the key
+ * one piece at a time. The keys come from a fixed seed, so keys stay the same between runs.
+ */
+public class Zobrist
+{
+	/**
+	 * Seed of the random keys
+	 */
+	private static final long seed = 0x5A0B1257C4E55L;
+
+	/**
+	 * Number of movement types, one for each index of the MovementRegistry
+	 */
+	public static final int movementTypeNum = MovementRegistry.movementNum;
+
+	/**
+	 * Key of each piece type of each color (White 0, Black 1) on each square
+	 */
+	private static final long[][][] pieceKeys = new long[2][Board.pieceTypeNum][BitBoard.squareNum];
+
+	/**
+	 * Key of each movement type of a piece of each color on each square
+	 */
+	private static final long[][][] movementKeys = new long[2][movementTypeNum][BitBoard.squareNum];
+
+	/**
+	 * Key of a piece of each color that has moved on each square
+	 */
+	private static final long[][] hasMovedKeys = new long[2][BitBoard.squareNum];
+
+	/**
+	 * Key of a Pawn of each color that moved two units up on each square
+	 */
+	private static final long[][] enPassantKeys = new long[2][BitBoard.squareNum];
+
+	/**
+	 * Key added when Black is to move
+	 */
+	public static final long blackToMoveKey;
+
+	static
+	{
+		Random random = new Random(seed);
+		for (int color = 0; color < 2; color++)
+		{
+			for (int type = 0; type < Board.pieceTypeNum; type++)
+				for (int square = 0; square < BitBoard.squareNum; square++)
+					pieceKeys[color][type][square] = random.nextLong();
+			for (int type = 0; type < movementTypeNum; type++)
+				for (int square = 0; square < BitBoard.squareNum; square++)
+					movementKeys[color][type][square] = random.nextLong();
+			for (int square = 0; square < BitBoard.squareNum; square++)
+			{
+				hasMovedKeys[color][square] = random.nextLong();
+				enPassantKeys[color][square] = random.nextLong();
+			}
+		}
+		blackToMoveKey = random.nextLong();
+	}
+
+	/**
+	 * Method to get the key of a chess piece with everything about it that changes the game.
+	 * A captured piece has no key.
+	 * @param chessPiece - ChessPiece, the chess piece.
+	 * @return - long, the key of the piece.
+	 */
+	public static long pieceKey(ChessPiece chessPiece)
+	{
+		if (chessPiece.getIsCaptured())
+			return 0;
+
+		int color = chessPiece.getColor().equals("White") ? 0 : 1;
+		int square = BitBoard.toSquare(chessPiece.getPosRow(), chessPiece.getPosCol());
+
+		long key = pieceKeys[color][Board.getPieceTypeIndex(chessPiece)][square];
+		for (int bits = chessPiece.getMovementBits(); bits != 0; bits &= bits - 1)
+			key ^= movementKeys[color][Integer.numberOfTrailingZeros(bits)][square];
+		if (chessPiece.getHasMoved() && hasMovedMatters(chessPiece))
+			key ^= hasMovedKeys[color][square];
+		if (chessPiece instanceof Pawn && ((Pawn) chessPiece).getMovedTwoUnitsUp())
+			key ^= enPassantKeys[color][square];
+		return key;
+	}
+
+	/**
+	 * Method to get the key of the movedTwoUnitsUp flag of a Pawn.
+	 * @param pawn - Pawn, the Pawn.
+	 * @return - long, the key of the flag on the Pawn's square.
+	 */
+	public static long enPassantKey(Pawn pawn)
+	{
+		int color = pawn.getColor().equals("White") ? 0 : 1;
+		return enPassantKeys[color][BitBoard.toSquare(pawn.getPosRow(), pawn.getPosCol())];
+	}
+
+	/**
+	 * Method to check if the hasMoved flag of a piece changes what it can do. Only the King and Pawn movements
+	 * (Castle and Two Units Up) and the Rook a King castles with look at it.
+	 * @param chessPiece - ChessPiece, the chess piece.
+	 * @return - boolean, whether hasMoved is part of the key.
+	 */
+	private static boolean hasMovedMatters(ChessPiece chessPiece)
+	{
+		if (chessPiece instanceof Rook)
+			return true;
+		return chessPiece.hasMovement(MovementRegistry.castleIndex) || chessPiece.hasMovement(MovementRegistry.twoUnitsUpIndex);
+	}
+}
@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Archer Chess Piece
@@ -18,6 +17,14 @@ public class Archer extends ChessPiece
 	 */
 	public static int materialWorth = 3;
 
+	/**
+	 * Upgrades of an Archer, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.squareIndex, MovementRegistry.diagonalIndex,
+			MovementRegistry.orthogonalIndex, MovementRegistry.lIndex, MovementRegistry.hopCaptureIndex,
+			MovementRegistry.teleportationIndex, MovementRegistry.restrictedTeleportationIndex,
+			MovementRegistry.leftRightCaptureIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,10 +34,10 @@ public class Archer extends ChessPiece
 	 */
 	public Archer(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new AdvanceMovement());
-		getMovements().add(new RangeCaptureMovement());
+		addMovement(MovementRegistry.advanceIndex);
+		addMovement(MovementRegistry.rangeCaptureIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -56,21 +63,4 @@ public class Archer extends ChessPiece
 	public String getName(){
 		return name;
 	}
-
-	/**
-	 * Method to set the available upgrades of an Archer when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> archerUpgrade = getAvailableUpgrades();
-
-		archerUpgrade.add(new SquareMovement());
-		archerUpgrade.add(new DiagonalMovement());
-		archerUpgrade.add(new OrthogonalMovement());
-		archerUpgrade.add(new LMovement());
-		archerUpgrade.add(new HopCaptureMovement());
-		archerUpgrade.add(new TeleportationMovement());
-		archerUpgrade.add(new RestrictedTeleportationMovement());
-		archerUpgrade.add(new LeftRightCaptureMovement());
-
-	}
 }
@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Bishop Chess Piece
@@ -18,6 +17,13 @@ public class Bishop extends ChessPiece
 	 */
 	public static int materialWorth = 3;
 
+	/**
+	 * Upgrades of a Bishop, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.squareIndex, MovementRegistry.orthogonalIndex,
+			MovementRegistry.lIndex, MovementRegistry.hopCaptureIndex, MovementRegistry.rangeCaptureIndex,
+			MovementRegistry.teleportationIndex, MovementRegistry.restrictedTeleportationIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,9 +33,9 @@ public class Bishop extends ChessPiece
 	 */
 	public Bishop(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new DiagonalMovement());
+		addMovement(MovementRegistry.diagonalIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -52,20 +58,4 @@ public class Bishop extends ChessPiece
 	 * @return name - String
 	 */
 	public String getName() { return name; }
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> bishopUpgrades = getAvailableUpgrades();
-
-		bishopUpgrades.add(new SquareMovement());
-		bishopUpgrades.add(new OrthogonalMovement());
-		bishopUpgrades.add(new LMovement());
-		bishopUpgrades.add(new HopCaptureMovement());
-		bishopUpgrades.add(new RangeCaptureMovement());
-		bishopUpgrades.add(new TeleportationMovement());
-		bishopUpgrades.add(new RestrictedTeleportationMovement());
-
-	}
 }
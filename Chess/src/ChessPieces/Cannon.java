@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Cannon Chess Piece
@@ -18,6 +17,14 @@ public class Cannon extends ChessPiece
 	 */
 	public static int materialWorth = 5;
 
+	/**
+	 * Upgrades of a Cannon, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.squareIndex, MovementRegistry.diagonalIndex,
+			MovementRegistry.orthogonalIndex, MovementRegistry.lIndex, MovementRegistry.rangeCaptureIndex,
+			MovementRegistry.teleportationIndex, MovementRegistry.restrictedTeleportationIndex,
+			MovementRegistry.leftRightCaptureIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,10 +34,10 @@ public class Cannon extends ChessPiece
 	 */
 	public Cannon(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new HopCaptureMovement());
-		getMovements().add(new OrthogonalNonCaptureMovement());
+		addMovement(MovementRegistry.hopCaptureIndex);
+		addMovement(MovementRegistry.orthogonalNonCaptureIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -56,20 +63,4 @@ public class Cannon extends ChessPiece
 	public String getName() {
 		return name;
 	}
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> cannonUpgrades = getAvailableUpgrades();
-
-		cannonUpgrades.add(new SquareMovement());
-		cannonUpgrades.add(new DiagonalMovement());
-		cannonUpgrades.add(new OrthogonalMovement());
-		cannonUpgrades.add(new LMovement());
-		cannonUpgrades.add(new RangeCaptureMovement());
-		cannonUpgrades.add(new TeleportationMovement());
-		cannonUpgrades.add(new RestrictedTeleportationMovement());
-		cannonUpgrades.add(new LeftRightCaptureMovement());
-	}
 }
@@ -1,11 +1,18 @@
 package ChessPieces;
 
+import ChessGameClasses.BitBoard;
 import ChessGameClasses.Board;
+import ChessGameClasses.LegalityFilter;
+import ChessGameClasses.Move;
+import ChessGameClasses.MoveList;
+import ChessGameClasses.UndoRecord;
 import Movements.Movement;
-import javafx.scene.image.Image;
+import Movements.MovementBuffer;
+import Movements.MovementRegistry;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * ChessPiece class handles calculating the potentialMovements and possibleMovements of 
@@ -15,14 +22,19 @@ import java.util.ArrayList;
 abstract public class ChessPiece implements Serializable
 {	
 	/**
-	 * list of directional movements the piece can make
+	 * directional movements the piece can make, one bit for each MovementRegistry index
 	 */
-	private ArrayList<Movement> movements;			
+	private int movementBits;
 	
 	/**
-	 * list of movements the piece can upgrade to
+	 * movements the piece can still upgrade to, one bit for each MovementRegistry index
 	 */
-	private ArrayList<Movement> availableUpgrades;		
+	private int upgradeBits;
+	
+	/**
+	 * MovementRegistry indexes of the upgrades in the order they are listed, shared by every piece of a type
+	 */
+	private int[] upgradeOrder;
 	
 	/**
 	 * row position
@@ -69,8 +81,9 @@ abstract public class ChessPiece implements Serializable
 		this.setColor(color);
 		this.setImage(image);
 		
-		this.setMovements(new ArrayList<Movement>());
-		this.setAvailableUpgrades(new ArrayList<Movement>());
+		this.movementBits = 0;
+		this.upgradeBits = 0;
+		this.upgradeOrder = new int[0];
 		this.setIsCaptured(false);
 		this.setHasMoved(false);
 	}
@@ -88,15 +101,10 @@ abstract public class ChessPiece implements Serializable
 		this.setHasMoved(source.hasMoved);
 		this.setImage(source.image);
 		
-		//Copy the movements by reference since they will not be changed.
-		this.setMovements(new ArrayList<Movement>());
-		for (Movement movement : source.getMovements())
-			getMovements().add(movement);
-		
-		//Copy the available upgrade movements by reference since they will not be changed.
-		this.setAvailableUpgrades(new ArrayList<Movement>());
-			for (Movement movement : source.getAvailableUpgrades())
-				getAvailableUpgrades().add(movement);
+		//The movements are shared, only the bits are copied.
+		this.movementBits = source.movementBits;
+		this.upgradeBits = source.upgradeBits;
+		this.upgradeOrder = source.upgradeOrder;
 	}
 	/**
 	 * Method to get the piece color.
@@ -123,10 +131,23 @@ abstract public class ChessPiece implements Serializable
 	public boolean getIsCaptured() { return isCaptured; }
 
 	/**
-	 * Method to get the piece directional movements.
-	 * @return movements - ArrayList<Movement>.
+	 * Method to get the piece directional movements, in MovementRegistry order. The list is shared, it can't be changed.
+	 * @return movements - List<Movement>.
+	 */
+	public List<Movement> getMovements() { return MovementRegistry.getMovements(movementBits); }
+
+	/**
+	 * Method to get the piece directional movements as a bit set.
+	 * @return movementBits - int.
 	 */
-	public ArrayList<Movement> getMovements() { return movements; }
+	public int getMovementBits() { return movementBits; }
+
+	/**
+	 * Method to check whether the piece has a movement.
+	 * @param movementIndex - int, MovementRegistry index of the movement.
+	 * @return boolean - if the piece has the movement.
+	 */
+	public boolean hasMovement(int movementIndex) { return (movementBits & MovementRegistry.bit(movementIndex)) != 0; }
 
 	/**
 	 * Method to get the column position.
@@ -141,10 +162,23 @@ abstract public class ChessPiece implements Serializable
 	public int getPosRow() { return posRow; }
 
 	/**
-	 * Method to return the available upgrades of the piece.
-	 * @return availableUpgrades - ArrayList<Movement>.
+	 * Method to return the available upgrades of the piece, in the order they are listed.
+	 * @return availableUpgrades - ArrayList<Movement>, a new list.
+	 */
+	public ArrayList<Movement> getAvailableUpgrades()
+	{
+		ArrayList<Movement> availableUpgrades = new ArrayList<Movement>();
+		for (int movementIndex : upgradeOrder)
+			if ((upgradeBits & MovementRegistry.bit(movementIndex)) != 0)
+				availableUpgrades.add(MovementRegistry.get(movementIndex));
+		return availableUpgrades;
+	}
+
+	/**
+	 * Method to return the available upgrades of the piece as a bit set.
+	 * @return upgradeBits - int.
 	 */
-	public ArrayList<Movement> getAvailableUpgrades() { return availableUpgrades; }
+	public int getUpgradeBits() { return upgradeBits; }
 
 	/**
 	 * Method to set the piece color.
@@ -171,10 +205,10 @@ abstract public class ChessPiece implements Serializable
 	public void setIsCaptured(boolean isCaptured) { this.isCaptured = isCaptured; }
 
 	/**
-	 * Method to set the directional movements of the piece.
-	 * @param movements - ArrayList<Movement>, list of directional movements.
+	 * Method to add a directional movement to the piece.
+	 * @param movementIndex - int, MovementRegistry index of the movement.
 	 */
-	public void setMovements(ArrayList<Movement> movements) { this.movements = movements; }
+	public void addMovement(int movementIndex) { this.movementBits |= MovementRegistry.bit(movementIndex); }
 
 	/**
 	 * Method to set the column position.
@@ -189,10 +223,16 @@ abstract public class ChessPiece implements Serializable
 	public void setPosRow(int posRow) { this.posRow = posRow; }
 
 	/**
-	 * Method to set the upgrades available for the piece.
-	 * @param availableUpgrades - ArrayList<Movement>, available piece upgrades.
+	 * Method to set the upgrades available for the piece. Every upgrade in the list becomes available.
+	 * @param upgradeOrder - int[], MovementRegistry indexes of the upgrades in the order they are listed.
 	 */
-	public void setAvailableUpgrades(ArrayList<Movement> availableUpgrades) { this.availableUpgrades = availableUpgrades; }
+	public void setUpgradeOrder(int[] upgradeOrder)
+	{
+		this.upgradeOrder = upgradeOrder;
+		this.upgradeBits = 0;
+		for (int movementIndex : upgradeOrder)
+			this.upgradeBits |= MovementRegistry.bit(movementIndex);
+	}
 	
 
 	/**
@@ -223,57 +263,29 @@ abstract public class ChessPiece implements Serializable
 	 */
 	public ArrayList<ArrayList<Character>> calculatePotentialMovements(Board board)
 	{
-		//Create an empty ArrayList<ArrayList<Character>> to store the potential movement.
-		ArrayList<ArrayList<Character>> allPotentialMovements = new ArrayList<ArrayList<Character>>();
-		for (int row = 0; row < board.getPositionBoard().size(); row++)
-		{
-			ArrayList<Character> currentRow = new ArrayList<Character>();
-			for (int column = 0; column < board.getPositionBoard().get(row).size(); column++)
-				currentRow.add(Movement.invalidMoveSymbol);
-				
-			allPotentialMovements.add(currentRow);
-		}
+		//The movements are combined in a movement buffer, the board is made from it.
+		byte[] allPotentialMovements = MovementBuffer.create();
+		calculatePotentialMovements(board, allPotentialMovements);
+		return MovementBuffer.toGrid(allPotentialMovements);
+	}
+
+	/**
+	 * Method to get all the potential movements the piece can make, written into a movement buffer of the caller instead
+	 * of a new board. Gives the same movements as calculatePotentialMovements without creating anything. The movements
+	 * are combined by the buffer, each square keeps the MovementKind with the greatest ordinal.
+	 * @param board - Board, the chess board.
+	 * @param result - byte[], movement buffer that will store the potential movements. See MovementBuffer.
+	 */
+	public void calculatePotentialMovements(Board board, byte[] result)
+	{
+		MovementBuffer.clear(result);
 		
-		//Loop through all of the movements and add them to the potential movement.
-		for (Movement movement : getMovements())
-		{
-			ArrayList<ArrayList<Character>> currentPotentialMovements = movement.calculateMovement(getPosRow(), getPosCol(), getColor(), getHasMoved(), board);
-			for (int row = 0; row < currentPotentialMovements.size(); row++)
-			{
-				for (int column = 0; column < currentPotentialMovements.get(row).size(); column++)
-				{
-					Character charInAll = allPotentialMovements.get(row).get(column);
-					Character charInCurrent = currentPotentialMovements.get(row).get(column);
-					
-					//Precedence Order from greatest to lowest
-					//Special Movements -> Normal Movements -> Invalid Movement
-					
-					//Special Movement Types
-					if (charInAll.equals(Movement.castleSymbol) || charInCurrent.equals(Movement.castleSymbol))
-						allPotentialMovements.get(row).set(column, Movement.castleSymbol);
-					else if (charInAll.equals(Movement.twoUnitsUpSymbol) || charInCurrent.equals(Movement.twoUnitsUpSymbol))
-						allPotentialMovements.get(row).set(column, Movement.twoUnitsUpSymbol);
-					else if (charInAll.equals(Movement.enPassantSymbol) || charInCurrent.equals(Movement.enPassantSymbol))
-						allPotentialMovements.get(row).set(column, Movement.enPassantSymbol);
-					
-					//Normal Movement Types
-					else if (charInAll.equals(Movement.moveAndCaptureSymbol) || charInCurrent.equals(Movement.moveAndCaptureSymbol))
-						allPotentialMovements.get(row).set(column, Movement.moveAndCaptureSymbol); 
-					else if (charInAll.equals(Movement.captureSymbol) || charInCurrent.equals(Movement.captureSymbol))
-						allPotentialMovements.get(row).set(column, Movement.captureSymbol); 
-					else if (charInAll.equals(Movement.moveSymbol) || charInCurrent.equals(Movement.moveSymbol))
-						allPotentialMovements.get(row).set(column, Movement.moveSymbol);
-					
-					//Invalid Movement
-					else
-						allPotentialMovements.get(row).set(column, Movement.invalidMoveSymbol); 
-				}
-			}
-		}
+		//Every movement writes into the same buffer, the buffer keeps the symbol with the highest precedence.
+		for (int bits = movementBits; bits != 0; bits &= bits - 1)
+			MovementRegistry.get(Integer.numberOfTrailingZeros(bits)).calculateMovement(posRow, posCol, color, hasMoved, board, result);
 		
 		//Mark the piece itself
-		allPotentialMovements.get(getPosRow()).set(getPosCol(), Movement.currentPositionSymbol); 
-		return allPotentialMovements;
+		MovementBuffer.set(result, posRow, posCol, Movement.currentPositionSymbol);
 	}
 
 	/**
@@ -298,42 +310,12 @@ abstract public class ChessPiece implements Serializable
 	 */
 	public boolean thisMoveResultsInCheck(int moveRow, int moveCol, Character currentMovementType, Board board)
 	{
-		//Create a copy of the current board and store the inputs into an ArrayList
-		Board copyBoard = new Board(board);
-		
-		//Determine the allyChessPieces and the enemyChessPieces
-		ArrayList<ChessPiece> opponentChessPieces;
-		ArrayList<ChessPiece> allyChessPieces;
-		if (color.equals("White"))
-		{
-			opponentChessPieces = copyBoard.getBlackChessPieces();
-			allyChessPieces = copyBoard.getWhiteChessPieces();
-		}
-		else //color == "Black"
-		{
-			opponentChessPieces = copyBoard.getWhiteChessPieces();
-			allyChessPieces = copyBoard.getBlackChessPieces();
-		}
-		
-		
-		//Find the current ChessPiece in the copyBoard
-		ChessPiece currentChessPiece;
-		int pos = -1;
-		for (int i = 0; i < allyChessPieces.size(); i++)
-			if (allyChessPieces.get(i).getPosRow() == posRow && allyChessPieces.get(i).getPosCol() == posCol)
-				pos = i;
-		currentChessPiece = allyChessPieces.get(pos);
-		
-		//Record the type of movement this is. 
-		ArrayList<ArrayList<Character>> potentialMovements = currentChessPiece.calculatePotentialMovements(board);
-		Character movementType = potentialMovements.get(moveRow).get(moveCol);
+		//Make the move on the board, check the king, then take the move back.
+		UndoRecord undoRecord = board.makeMove(this, moveRow, moveCol, currentMovementType);
+		boolean resultsInCheck = board.isInCheck(color);
+		board.unmakeMove(undoRecord);
 		
-		actuallyPerformTheMovement(moveRow, moveCol, movementType, currentChessPiece, allyChessPieces, opponentChessPieces);
-		
-		copyBoard.updatePositionBoard();
-		copyBoard.updateControlBoards();
-		
-		return copyBoard.isInCheck(color);
+		return resultsInCheck;
 	}
 
 	/**
@@ -344,6 +326,21 @@ abstract public class ChessPiece implements Serializable
 	 * @return possible movements - ArrayList<ArrayList<Character>>.
 	 */
 	public ArrayList<ArrayList<Character>> calculatePossibleMovements(ArrayList<ArrayList<Character>> potentialMovements, Board board)
+	{
+		return calculatePossibleMovements(potentialMovements, board, new LegalityFilter(board, color));
+	}
+
+	/**
+	 * Method to edit the potential movements a piece can make if those movments result in the king being Checked, using
+	 * a legality filter that was already set up for the current position. Lets the filter be shared by all the pieces of
+	 * a player.
+	 * @param potentialMovements - ArrayList<ArrayList<Character>>, a 2D grid of potential places the piece can move.
+	 * @param board - Board, chess board.
+	 * @param legalityFilter - LegalityFilter, filter for the current position and the piece color.
+	 * @return possible movements - ArrayList<ArrayList<Character>>.
+	 */
+	public ArrayList<ArrayList<Character>> calculatePossibleMovements(ArrayList<ArrayList<Character>> potentialMovements, Board board,
+			LegalityFilter legalityFilter)
 	{
 		for (int row = 0; row < potentialMovements.size(); row++)
 		{
@@ -354,7 +351,7 @@ abstract public class ChessPiece implements Serializable
 				if (!movementType.equals(Movement.invalidMoveSymbol) && 
 						!movementType.equals(Movement.currentPositionSymbol))
 				{
-					if (thisMoveResultsInCheck(row, col, movementType, board))
+					if (legalityFilter.moveResultsInCheck(this, row, col, movementType))
 						potentialMovements.get(row).set(col, Movement.invalidMoveSymbol);
 				}
 			}
@@ -362,6 +359,48 @@ abstract public class ChessPiece implements Serializable
 		return potentialMovements; //Return edited potentialMovements.
 	}
 
+	/**
+	 * Method to remove the potential movements that result in the king being Checked from a movement buffer.
+	 * @param potentialMovements - byte[], movement buffer of calculatePotentialMovements, edited in place.
+	 * @param legalityFilter - LegalityFilter, filter for the current position and the piece color.
+	 */
+	public void calculatePossibleMovements(byte[] potentialMovements, LegalityFilter legalityFilter)
+	{
+		for (int row = 0; row < Board.rowNum; row++)
+		{
+			for (int col = 0; col < Board.colNum; col++)
+			{
+				//If the current potential move results in a check, it is an invalid move.
+				char movementType = MovementBuffer.get(potentialMovements, row, col);
+				if (MovementBuffer.isMove(movementType) && legalityFilter.moveResultsInCheck(this, row, col, movementType))
+					MovementBuffer.set(potentialMovements, row, col, Movement.invalidMoveSymbol);
+			}
+		}
+	}
+
+	/**
+	 * Method to determine whether the piece has any legal move. Stops at the first potential movement that doesn't
+	 * result in check.
+	 * @param board - Board, chess board.
+	 * @param legalityFilter - LegalityFilter, filter for the current position and the piece color.
+	 * @param movementBuffer - byte[], movement buffer to calculate the movements in. See MovementBuffer.
+	 * @return boolean - whether the piece can move.
+	 */
+	public boolean hasPossibleMovement(Board board, LegalityFilter legalityFilter, byte[] movementBuffer)
+	{
+		calculatePotentialMovements(board, movementBuffer);
+		for (int row = 0; row < Board.rowNum; row++)
+		{
+			for (int col = 0; col < Board.colNum; col++)
+			{
+				char movementType = MovementBuffer.get(movementBuffer, row, col);
+				if (MovementBuffer.isMove(movementType) && !legalityFilter.moveResultsInCheck(this, row, col, movementType))
+					return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Method to prepare the movement of the chess piece.  First all the potential movements are calculated, then those movements
 	 * are edited based on whether the piece's king has been checked.
@@ -371,125 +410,86 @@ abstract public class ChessPiece implements Serializable
 	 */
 	public boolean makeMovement(Board board, ArrayList<Integer> userInput)
 	{
-		//1) Get all of the potential moves that can be made.
-		ArrayList<ArrayList<Character>> potentialMovements = calculatePotentialMovements(board);
-		
-		//2) Determine which of the potential moves are actually legal moves.
-		ArrayList<ArrayList<Character>> possibleMovements = calculatePossibleMovements(potentialMovements, board);
-					
-		//3) Format userInput - (Index 1: row) (Index 2: column).
+		//1) Format userInput - (Index 1: row) (Index 2: column).
 		int inputRow = userInput.get(0);
 		int inputColumn = userInput.get(1);
 		
-		
-		//4) Run the move
-		
-		//4a) Record the movement type
-		Character movementType = possibleMovements.get(inputRow).get(inputColumn);
-		
-		//4b) Determine the allyChessPieces and the opponentChessPieces based on color.
-		ArrayList<ChessPiece> opponentChessPieces;
-		ArrayList<ChessPiece> allyChessPieces;
-		if (color.equals("White"))
-		{
-			opponentChessPieces = board.getBlackChessPieces();
-			allyChessPieces = board.getWhiteChessPieces();
-		}
-		else //color == "Black"
-		{
-			opponentChessPieces = board.getWhiteChessPieces();
-			allyChessPieces = board.getBlackChessPieces();
-		}
-		
-		//Actually perform the move and return true if the movement was made.
-		return actuallyPerformTheMovement(inputRow, inputColumn, movementType, this, allyChessPieces, opponentChessPieces);
+		//2) Find the legal move to that position, then run it.
+		return makeMovement(board, findMove(board, inputRow, inputColumn));
 	}
 
 	/**
-	 * Method to move the chess piece.  Checks if the piece has captured an enemy piece, and if it has, it marks that piece as
-	 * captured. Also handles special movements, such as EnPassant, Castling and Two Units Up.
-	 * @param moveRow - int, new row position.
-	 * @param moveCol - int, new column position.
-	 * @param movementType - Character - movement type.
-	 * @param currentChessPiece - ChessPiece, piece currently moving.
-	 * @param allyChessPieces - ArrayList<ChessPiece>, current player chess pieces.
-	 * @param opponentChessPieces - ArrayList<ChessPiece>, opponent chess pieces.
-	 * @return boolean - whether the piece has moved.
+	 * Method to make a packed move of the piece. The move is not checked for legality, it is meant to come from
+	 * findMove or generateMoves for the current position.
+	 * @param board - Board, chess board.
+	 * @param move - int, the move packed as in Move, 0 for no move.
+	 * @return boolean - if the move was made.
 	 */
-	public boolean actuallyPerformTheMovement(int moveRow, int moveCol, Character movementType,
-			ChessPiece currentChessPiece, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces)
+	public boolean makeMovement(Board board, int move)
 	{
-		//Move the ChessPiece if it was a Move or Move&Capture movement type.
-		if (movementType.equals(Movement.moveSymbol) || movementType.equals(Movement.moveAndCaptureSymbol))
-			currentChessPiece.updateMove(moveRow, moveCol);
-		
-		//Capture enemy piece if it was a Capture or Move&Capture.
-		if (movementType.equals(Movement.captureSymbol) || movementType.equals(Movement.moveAndCaptureSymbol))
-			for (int i = 0; i < opponentChessPieces.size(); i++)
-				if (opponentChessPieces.get(i).getPosRow() == moveRow && opponentChessPieces.get(i).getPosCol() == moveCol)
-					opponentChessPieces.get(i).chessPieceGetsCaptured();
+		if (!Move.isBoardMove(move) || Move.getFromRow(move) != posRow || Move.getFromCol(move) != posCol)
+			return false;
 		
-		//Castle Movement
-		if (movementType.equals(Movement.castleSymbol))
+		board.makeMove(this, Move.getToRow(move), Move.getToCol(move), Move.getMovementType(move));
+		return true;
+	}
+
+	/**
+	 * Method to find the legal move of the piece to a position. The legal movements come from Board.getPossibleMovements,
+	 * so they are only calculated once for a position.
+	 * @param board - Board, chess board.
+	 * @param row - int, row of the position.
+	 * @param col - int, column of the position.
+	 * @return int - the move packed as in Move, 0 if the piece can't move there.
+	 */
+	public int findMove(Board board, int row, int col)
+	{
+		if (!board.rowColWithinBound(row, col))
+			return 0;
+		char movementType = MovementBuffer.get(board.getPossibleMovements(this), row, col);
+		if (!MovementBuffer.isMove(movementType))
+			return 0;
+		return encodeMove(board, row, col, movementType);
+	}
+
+	/**
+	 * Method to add the legal moves of the piece to a move list, packed as in Move.
+	 * @param board - Board, chess board.
+	 * @param legalityFilter - LegalityFilter, filter for the current position and the piece color.
+	 * @param movementBuffer - byte[], movement buffer to calculate the movements in. See MovementBuffer.
+	 * @param moves - MoveList, list the moves are added to.
+	 */
+	public void generateMoves(Board board, LegalityFilter legalityFilter, byte[] movementBuffer, MoveList moves)
+	{
+		calculatePotentialMovements(board, movementBuffer);
+		calculatePossibleMovements(movementBuffer, legalityFilter);
+		for (int row = 0; row < Board.rowNum; row++)
 		{
-			int kingShift = 3;
-			int rookShift = 2;
-			
-			ChessPiece king = currentChessPiece;
-			
-			//Find the Rook
-			ChessPiece rook;
-			int rookIndex = -1;
-			for (int i = 0; i < allyChessPieces.size(); i++)
-				if (allyChessPieces.get(i).getPosRow() == moveRow && allyChessPieces.get(i).getPosCol() == moveCol)
-					rookIndex = i;
-			rook = allyChessPieces.get(rookIndex);
-				
-			//Left castle
-			if (moveCol < king.getPosCol())
-			{
-				king.updateMove(king.getPosRow(), king.getPosCol() - kingShift);
-				rook.updateMove(rook.getPosRow(), rook.getPosCol() + rookShift);
-			}
-			//Right castle
-			else if (moveCol > king.getPosCol())
+			for (int col = 0; col < Board.colNum; col++)
 			{
-				king.updateMove(king.getPosRow(), king.getPosCol() + kingShift);
-				rook.updateMove(rook.getPosRow(), rook.getPosCol() - rookShift);
+				char movementType = MovementBuffer.get(movementBuffer, row, col);
+				if (MovementBuffer.isMove(movementType))
+					moves.add(encodeMove(board, row, col, movementType));
 			}
 		}
-		
-		//Two Units Up Movement
-		if (movementType.equals(Movement.twoUnitsUpSymbol))
-		{
-			currentChessPiece.updateMove(moveRow, moveCol);
-			
-			//Since currentChessPiece has to have been originally
-			//created as a Pawn object, downcasting it to Pawn only
-			//changes the reference variable type and no copies will be created.
-			Pawn pawn = (Pawn) currentChessPiece;
-			pawn.setMovedTwoUnitsUp(true);
-		}
-		
-		//En Passant Movement
-		if (movementType.equals(Movement.enPassantSymbol))
-		{
-			//Move the chess piece.
-			currentChessPiece.updateMove(moveRow, moveCol);
-		
-			int captureRow = currentChessPiece.getPosRow();
-			if (currentChessPiece.getColor().equals("White")) captureRow++;
-			else captureRow--;
-			
-			int captureCol = currentChessPiece.getPosCol();
-			
-			//Capture the enemy chess piece directly behind the movement destination.
-			for (int i = 0; i < opponentChessPieces.size(); i++)
-				if (opponentChessPieces.get(i).getPosRow() == captureRow && opponentChessPieces.get(i).getPosCol() == captureCol)
-					opponentChessPieces.get(i).chessPieceGetsCaptured();
-		}
-		return (!movementType.equals(Movement.invalidMoveSymbol) && 
-				!movementType.equals(Movement.currentPositionSymbol));
+	}
+
+	/**
+	 * Method to pack a move of the piece, with the type of the piece it captures.
+	 * @param board - Board, chess board.
+	 * @param row - int, row of the move.
+	 * @param col - int, column of the move.
+	 * @param movementType - char, movement symbol of the move.
+	 * @return int - the move.
+	 */
+	private int encodeMove(Board board, int row, int col, char movementType)
+	{
+		int capturedPieceType = -1;
+		if (movementType == Movement.enPassantSymbol)
+			capturedPieceType = Board.pawnTypeIndex;
+		else if (movementType == Movement.moveAndCaptureSymbol || movementType == Movement.captureSymbol)
+			capturedPieceType = board.getPieceTypeOnSquare(BitBoard.toSquare(row, col));
+		return Move.encodeBoardMove(posRow, posCol, row, col, movementType, capturedPieceType);
 	}
 
 	/**
@@ -507,6 +507,7 @@ abstract public class ChessPiece implements Serializable
 	 */
 	public void displayUpgrades()
 	{
+		ArrayList<Movement> availableUpgrades = getAvailableUpgrades();
 		int upgradeSize = availableUpgrades.size();
 		if(upgradeSize == 0)
 		{
@@ -524,13 +525,24 @@ abstract public class ChessPiece implements Serializable
 	}
 
 	/**
-	 * Method to upgrade the piece. The movement chosen by the user is added to the piece movement arraylist, then
-	 * that movement is removed from availableUpgrades so the upgrade cannot be purchased again.
+	 * Method to upgrade the piece. The bit of the movement chosen by the user moves from the available upgrades to the
+	 * piece movements, so the upgrade cannot be purchased again.
 	 * @param choice - int, index of available upgrade arraylist.
 	 */
 	public void upgrade(int choice)
 	{
-		getMovements().add(availableUpgrades.get(choice));
-		availableUpgrades.remove(choice);
+		//Find the available upgrade at the index of the choice.
+		int remaining = choice;
+		for (int movementIndex : upgradeOrder)
+		{
+			int movementBit = MovementRegistry.bit(movementIndex);
+			if ((upgradeBits & movementBit) != 0 && remaining-- == 0)
+			{
+				movementBits |= movementBit;
+				upgradeBits &= ~movementBit;
+				return;
+			}
+		}
+		throw new IndexOutOfBoundsException("Upgrade " + choice + " is not available");
 	}
 }
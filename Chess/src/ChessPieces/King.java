@@ -1,6 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
+import Movements.MovementRegistry;
 
 /**
  * King Chess Piece
@@ -26,8 +26,8 @@ public class King extends ChessPiece
 	 */
 	public King(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new SquareMovement());
-		getMovements().add(new CastleMovement());
+		addMovement(MovementRegistry.squareIndex);
+		addMovement(MovementRegistry.castleIndex);
 	}
 
 	/**
@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Knight Chess Piece
@@ -18,6 +17,14 @@ public class Knight extends ChessPiece
 	 */
 	public static int materialWorth = 3;
 
+	/**
+	 * Upgrades of a Knight, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.squareIndex, MovementRegistry.diagonalIndex,
+			MovementRegistry.orthogonalIndex, MovementRegistry.lIndex, MovementRegistry.hopCaptureIndex,
+			MovementRegistry.rangeCaptureIndex, MovementRegistry.teleportationIndex,
+			MovementRegistry.restrictedTeleportationIndex, MovementRegistry.leftRightCaptureIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,9 +34,9 @@ public class Knight extends ChessPiece
 	 */
 	public Knight(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new LMovement());
+		addMovement(MovementRegistry.lIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -51,21 +58,4 @@ public class Knight extends ChessPiece
 	 * @return name - String
 	 */
 	public String getName() { return name; }
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> knightUpgrades = getAvailableUpgrades();
-
-		knightUpgrades.add(new SquareMovement());
-		knightUpgrades.add(new DiagonalMovement());
-		knightUpgrades.add(new OrthogonalMovement());
-		knightUpgrades.add(new LMovement());
-		knightUpgrades.add(new HopCaptureMovement());
-		knightUpgrades.add(new RangeCaptureMovement());
-		knightUpgrades.add(new TeleportationMovement());
-		knightUpgrades.add(new RestrictedTeleportationMovement());
-		knightUpgrades.add(new LeftRightCaptureMovement());
-	}
 }
@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Ninja Chess Piece
@@ -18,6 +17,14 @@ public class Ninja extends ChessPiece
 	 */
 	public static int materialWorth = 7;
 
+	/**
+	 * Upgrades of a Ninja, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.squareIndex, MovementRegistry.diagonalIndex,
+			MovementRegistry.orthogonalIndex, MovementRegistry.lIndex, MovementRegistry.hopCaptureIndex,
+			MovementRegistry.rangeCaptureIndex, MovementRegistry.teleportationIndex,
+			MovementRegistry.leftRightCaptureIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,9 +34,9 @@ public class Ninja extends ChessPiece
 	 */
 	public Ninja(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new RestrictedTeleportationMovement());
+		addMovement(MovementRegistry.restrictedTeleportationIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -51,21 +58,4 @@ public class Ninja extends ChessPiece
 	 * @return name - String
 	 */
 	public String getName() { return name; }
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> ninjaUpgrades = getAvailableUpgrades();
-
-		ninjaUpgrades.add(new SquareMovement());
-		ninjaUpgrades.add(new DiagonalMovement());
-		ninjaUpgrades.add(new OrthogonalMovement());
-		ninjaUpgrades.add(new LMovement());
-		ninjaUpgrades.add(new HopCaptureMovement());
-		ninjaUpgrades.add(new RangeCaptureMovement());
-		ninjaUpgrades.add(new TeleportationMovement());
-		ninjaUpgrades.add(new LeftRightCaptureMovement());
-
-	}
 }
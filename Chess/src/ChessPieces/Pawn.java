@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Pawn Chess Piece
@@ -17,6 +16,14 @@ public class Pawn extends ChessPiece
 	 * How much the piece is worth
 	 */
 	public static int materialWorth = 1;
+
+	/**
+	 * Upgrades of a Pawn, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.squareIndex, MovementRegistry.diagonalIndex,
+			MovementRegistry.orthogonalIndex, MovementRegistry.lIndex, MovementRegistry.hopCaptureIndex,
+			MovementRegistry.rangeCaptureIndex, MovementRegistry.teleportationIndex,
+			MovementRegistry.restrictedTeleportationIndex};
 	
 	/**
 	 * Keep track of whether the Pawn moved Two Units Up last turn.
@@ -32,13 +39,13 @@ public class Pawn extends ChessPiece
 	 */
 	public Pawn(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new AdvanceMovement());
-		getMovements().add(new LeftRightCaptureMovement());
-		getMovements().add(new TwoUnitsUpMovement());
-		getMovements().add(new EnPassantMovement());
+		addMovement(MovementRegistry.advanceIndex);
+		addMovement(MovementRegistry.leftRightCaptureIndex);
+		addMovement(MovementRegistry.twoUnitsUpIndex);
+		addMovement(MovementRegistry.enPassantIndex);
 
 		setMovedTwoUnitsUp(false);
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -73,20 +80,4 @@ public class Pawn extends ChessPiece
 	 * @param movedTwoUnitsUp - boolean, whether the Pawn has moved two units up
 	 */
 	public void setMovedTwoUnitsUp(boolean movedTwoUnitsUp) { this.movedTwoUnitsUp = movedTwoUnitsUp; }
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> pawnUpgrades = getAvailableUpgrades();
-
-		pawnUpgrades.add(new SquareMovement());
-		pawnUpgrades.add(new DiagonalMovement());
-		pawnUpgrades.add(new OrthogonalMovement());
-		pawnUpgrades.add(new LMovement());
-		pawnUpgrades.add(new HopCaptureMovement());
-		pawnUpgrades.add(new RangeCaptureMovement());
-		pawnUpgrades.add(new TeleportationMovement());
-		pawnUpgrades.add(new RestrictedTeleportationMovement());
-	}
 }
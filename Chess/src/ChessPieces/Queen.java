@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Queen Chess Piece
@@ -18,6 +17,13 @@ public class Queen extends ChessPiece
 	 */
 	public static int materialWorth = 9;
 
+	/**
+	 * Upgrades of a Queen, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.hopCaptureIndex, MovementRegistry.lIndex,
+			MovementRegistry.rangeCaptureIndex, MovementRegistry.restrictedTeleportationIndex,
+			MovementRegistry.teleportationIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,10 +33,10 @@ public class Queen extends ChessPiece
 	 */
 	public Queen(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new DiagonalMovement());
-		getMovements().add(new OrthogonalMovement());
+		addMovement(MovementRegistry.diagonalIndex);
+		addMovement(MovementRegistry.orthogonalIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -52,17 +58,4 @@ public class Queen extends ChessPiece
 	 * @return name - String
 	 */
 	public String getName() { return name; }
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> queenUpgrade = getAvailableUpgrades();
-
-		queenUpgrade.add(new HopCaptureMovement());
-		queenUpgrade.add(new LMovement());
-		queenUpgrade.add(new RangeCaptureMovement());
-		queenUpgrade.add(new RestrictedTeleportationMovement());
-		queenUpgrade.add(new TeleportationMovement());
-	}
 }
@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Rook Chess Piece
@@ -18,6 +17,14 @@ public class Rook extends ChessPiece
 	 */
 	public static int materialWorth = 5;
 
+	/**
+	 * Upgrades of a Rook, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.squareIndex, MovementRegistry.diagonalIndex,
+			MovementRegistry.lIndex, MovementRegistry.hopCaptureIndex, MovementRegistry.rangeCaptureIndex,
+			MovementRegistry.teleportationIndex, MovementRegistry.restrictedTeleportationIndex,
+			MovementRegistry.leftRightCaptureIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,9 +34,9 @@ public class Rook extends ChessPiece
 	 */
 	public Rook(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new OrthogonalMovement());
+		addMovement(MovementRegistry.orthogonalIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -51,20 +58,4 @@ public class Rook extends ChessPiece
 	 * @return name - String
 	 */
 	public String getName() { return name; }
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> rookUpgrade = getAvailableUpgrades();
-
-		rookUpgrade.add(new SquareMovement());
-		rookUpgrade.add(new DiagonalMovement());
-		rookUpgrade.add(new LMovement());
-		rookUpgrade.add(new HopCaptureMovement());
-		rookUpgrade.add(new RangeCaptureMovement());
-		rookUpgrade.add(new TeleportationMovement());
-		rookUpgrade.add(new RestrictedTeleportationMovement());
-		rookUpgrade.add(new LeftRightCaptureMovement());
-	}
 }
@@ -1,7 +1,6 @@
 package ChessPieces;
 
-import Movements.*;
-import java.util.ArrayList;
+import Movements.MovementRegistry;
 
 /**
  * Wizard Chess Piece
@@ -18,6 +17,11 @@ public class Wizard extends ChessPiece
 	 */
 	public static int materialWorth = 9;
 
+	/**
+	 * Upgrades of a Wizard, in the order they are listed
+	 */
+	private static final int[] upgrades = {MovementRegistry.hopCaptureIndex, MovementRegistry.rangeCaptureIndex};
+
 	/**
 	 * Class Constructor.
 	 * @param posRow - int, row position.
@@ -27,10 +31,10 @@ public class Wizard extends ChessPiece
 	 */
 	public Wizard(int posRow, int posCol, String color, char image){
 		super(posRow, posCol, color, image);
-		getMovements().add(new SquareMovement());
-		getMovements().add(new TeleportationMovement());
+		addMovement(MovementRegistry.squareIndex);
+		addMovement(MovementRegistry.teleportationIndex);
 
-		setUpgrades();
+		setUpgradeOrder(upgrades);
 	}
 
 	/**
@@ -52,14 +56,4 @@ public class Wizard extends ChessPiece
 	 * @return name - String
 	 */
 	public String getName() { return name; }
-
-	/**
-	 * Method to set the available upgrades of a Bishop when the piece is created.
-	 */
-	private void setUpgrades(){
-		ArrayList<Movement> wizardUpgrades = getAvailableUpgrades();
-
-		wizardUpgrades.add(new HopCaptureMovement());
-		wizardUpgrades.add(new RangeCaptureMovement());
-	}
 }
@@ -0,0 +1,154 @@
+package Engine;
+
+import ChessGameClasses.Board;
+import Items.Item;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The ParallelSearch class runs a Lazy-SMP search. Every thread searches the same root position with its own
+ * Search, so each thread has its own board to make and unmake moves on and the Board is never locked. The threads
+ * only share the transposition table, which is how the work of one thread speeds up the others.
+ *
+ * The calling thread is the main thread and its result is the result of the search. Half of the helper threads
+ * start one ply deeper than the main thread. When the main thread finishes, the helpers are stopped.
+ */
+public class ParallelSearch implements AutoCloseable
+{
+	/**
+	 * Number of threads, the main thread included
+	 */
+	private final int threadNum;
+
+	/**
+	 * Transposition table shared by all threads
+	 */
+	private final TranspositionTable transpositionTable;
+
+	/**
+	 * Platform threads that run the helper searches
+	 */
+	private final ExecutorService helperThreads;
+
+	/**
+	 * Searches of the last search, main thread first
+	 */
+	private ArrayList<Search> searches;
+
+	/**
+	 * Class constructor. Creates the pool of helper threads.
+	 * @param threadNum - int, number of threads, the calling thread included.
+	 * @param transpositionTable - TranspositionTable, table shared by all threads.
+	 */
+	public ParallelSearch(int threadNum, TranspositionTable transpositionTable)
+	{
+		if (threadNum < 1)
+			throw new IllegalArgumentException("A search needs at least one thread");
+		if (transpositionTable == null)
+			throw new IllegalArgumentException("Lazy-SMP threads must share a transposition table");
+
+		this.threadNum = threadNum;
+		this.transpositionTable = transpositionTable;
+		//Daemon threads, so an idle pool doesn't keep the game from exiting.
+		this.helperThreads = threadNum > 1 ? Executors.newFixedThreadPool(threadNum - 1, runnable ->
+		{
+			Thread thread = new Thread(runnable, "Lazy-SMP helper");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+		this.searches = new ArrayList<Search>();
+	}
+
+	/**
+	 * Method to search the position for the side to move with all threads.
+	 * @param board - Board, the game board. Each thread copies it.
+	 * @param color - String, color to search for.
+	 * @param maxDepth - int, deepest iteration.
+	 * @param timeLimitMillis - long, time budget in milliseconds, 0 for none.
+	 * @param nodeLimit - long, node budget of each thread, 0 for none.
+	 * @param items - ArrayList<Item>, items the player can buy, or null for none.
+	 * @param money - int, money the player has.
+	 * @return - int, best move found by the main thread, 0 if there are no legal moves.
+	 */
+	public int search(Board board, String color, int maxDepth, long timeLimitMillis, long nodeLimit, ArrayList<Item> items, int money)
+	{
+		transpositionTable.newSearch();
+
+		searches = new ArrayList<Search>();
+		for (int thread = 0; thread < threadNum; thread++)
+		{
+			Search search = new Search(board, transpositionTable);
+			search.getBoard().setSideToMove(color);
+			search.setDepthOffset(thread % 2);
+			search.setItems(items, money);
+			searches.add(search);
+		}
+
+		ArrayList<Future<?>> helpers = new ArrayList<Future<?>>();
+		for (int thread = 1; thread < threadNum; thread++)
+		{
+			Search helper = searches.get(thread);
+			helpers.add(helperThreads.submit(() -> helper.search(maxDepth, timeLimitMillis, nodeLimit)));
+		}
+
+		int bestMove = searches.get(0).search(maxDepth, timeLimitMillis, nodeLimit);
+
+		//The main thread is done, so the helpers' work is no longer needed.
+		for (int thread = 1; thread < threadNum; thread++)
+			searches.get(thread).stop();
+		for (Future<?> helper : helpers)
+		{
+			try
+			{
+				helper.get();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			catch (ExecutionException e)
+			{
+				throw new IllegalStateException("Helper search failed", e.getCause());
+			}
+		}
+		return bestMove;
+	}
+
+	/**
+	 * Method to get the search of the main thread of the last search.
+	 * @return - Search, the main search, or null before the first search.
+	 */
+	public Search getMainSearch() { return searches.isEmpty() ? null : searches.get(0); }
+
+	/**
+	 * Method to get the number of nodes all threads searched in the last search.
+	 * @return - long, total nodes.
+	 */
+	public long getNodes()
+	{
+		long nodes = 0;
+		for (Search search : searches)
+			nodes += search.getNodes();
+		return nodes;
+	}
+
+	/**
+	 * Method to get the number of threads.
+	 * @return - threadNum - int.
+	 */
+	public int getThreadNum() { return threadNum; }
+
+	/**
+	 * Method to stop the helper threads.
+	 */
+	@Override
+	public void close()
+	{
+		if (helperThreads != null)
+			helperThreads.shutdownNow();
+	}
+}
@@ -0,0 +1,22 @@
+package Engine;
+
+/**
+ * Policies the TranspositionTable can use to decide whether a new entry replaces the entry already in its slot.
+ */
+public enum ReplacementPolicy
+{
+	/**
+	 * The new entry always replaces the old one.
+	 */
+	ALWAYS_REPLACE,
+
+	/**
+	 * The new entry replaces the old one if it is for the same position or was searched at least as deep.
+	 */
+	DEPTH_PREFERRED,
+
+	/**
+	 * Like DEPTH_PREFERRED, but an entry left over from an older search is always replaced.
+	 */
+	AGED_DEPTH_PREFERRED
+}
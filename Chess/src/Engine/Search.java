@@ -0,0 +1,716 @@
+package Engine;
+
+import ChessGameClasses.Board;
+import ChessGameClasses.LegalityFilter;
+import ChessGameClasses.Move;
+import ChessGameClasses.MoveList;
+import ChessGameClasses.UndoRecord;
+import ChessPieces.ChessPiece;
+import ChessPieces.Pawn;
+import ChessPieces.Queen;
+import Items.Item;
+import Items.ItemOutcome;
+import Movements.Movement;
+import Movements.MovementBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The Search class picks a move for the side to move with iterative-deepening alpha-beta search. It searches its
+ * own copy of the board with makeMove and unmakeMove, so the game board is never touched. Every movement of every
+ * piece is searched, purchased upgrades included, since moves come from calculatePossibleMovements. Items,
+ * upgrades and promotion choices are not searched; a Pawn on the promotion line is valued as a Queen.
+ *
+ * If the search is given the items the player can buy, buying one is also tried at the root. An item purchase is
+ * a chance node: its value is the average of the values of its outcomes, weighted by their chances, minus the
+ * item cost. Outcomes are cut off with Star1 bounds once the rest can't bring the average back into the window.
+ *
+ * Callers that use a transposition table call its newSearch before each search.
+ *
+ * Moves are ints packed as in Move. A move is never 0, so 0 means no move.
+ */
+public class Search
+{
+	/**
+	 * Score of checkmating on the current move
+	 */
+	public static final int mateScore = 30000;
+
+	/**
+	 * Score greater than any real score
+	 */
+	private static final int infinity = 32000;
+
+	/**
+	 * Deepest ply the search can reach
+	 */
+	public static final int maxPly = 64;
+
+	/**
+	 * Extra plies of capture-only search at the leaves
+	 */
+	private static final int quiescencePly = 4;
+
+	/**
+	 * How often (in nodes) the time limit is checked
+	 */
+	private static final int timeCheckInterval = 1024;
+
+	/**
+	 * Default centipawns an item costs per 100 money. Capturing a Pawn earns 100 money and is worth 100 centipawns,
+	 * but money only matters once it is spent, so it is valued lower than material.
+	 */
+	public static final int defaultItemCostWeight = 10;
+
+	/**
+	 * The board being searched, a copy of the game board. Swapped for an item outcome while the outcome is searched.
+	 */
+	private Board board;
+
+	/**
+	 * Transposition table, may be shared with other searches. Null if none.
+	 */
+	private final TranspositionTable transpositionTable;
+
+	/**
+	 * Moves of each ply
+	 */
+	private final MoveList[] moveStack;
+
+	/**
+	 * Ordering scores of the moves of each ply
+	 */
+	private final int[][] orderStack;
+
+	/**
+	 * Undo record of each ply, reused so makeMove doesn't allocate one. The record also holds the changed squares, and
+	 * the board reuses the control contributions unmakeMove takes back, so a move and its unmake allocate nothing.
+	 */
+	private final UndoRecord[] undoStack;
+
+	/**
+	 * Movement buffer reused by move generation, so generating moves doesn't create a board for every piece
+	 */
+	private final byte[] movementBuffer;
+
+	//Search state
+	private long nodes;
+	private long nodeLimit;
+	private long deadline;
+	private boolean stopped;
+	private long elapsedNanos;
+
+	/**
+	 * Set by another thread to stop the search. Once set, it stays set.
+	 */
+	private volatile boolean stopRequested;
+
+	/**
+	 * Plies added to the first iteration. Lazy-SMP helper threads start deeper so threads don't all search the
+	 * same depth at the same time.
+	 */
+	private int depthOffset;
+
+	//Items that can be bought at the root
+	private ArrayList<Item> items;
+	private int money;
+	private int itemCostWeight;
+	private ArrayList<ArrayList<ItemOutcome>> itemOutcomes;
+
+	//Search result
+	private int bestMove;
+	private int bestScore;
+	private int completedDepth;
+
+	/**
+	 * Class constructor. Copies the board so the search can make moves on it.
+	 * @param board - Board, the game board.
+	 * @param transpositionTable - TranspositionTable, table to use, or null.
+	 */
+	public Search(Board board, TranspositionTable transpositionTable)
+	{
+		this.board = copyBoard(board);
+		this.transpositionTable = transpositionTable;
+		this.items = null;
+		this.itemCostWeight = defaultItemCostWeight;
+
+		this.moveStack = new MoveList[maxPly + quiescencePly + 1];
+		this.orderStack = new int[maxPly + quiescencePly + 1][];
+		this.undoStack = new UndoRecord[maxPly + quiescencePly + 1];
+		for (int ply = 0; ply < undoStack.length; ply++)
+		{
+			moveStack[ply] = new MoveList();
+			orderStack[ply] = new int[128];
+			undoStack[ply] = new UndoRecord();
+		}
+		this.movementBuffer = MovementBuffer.create();
+	}
+
+	/**
+	 * Method to copy a board with everything the search needs. The Pawn copy constructor forgets movedTwoUnitsUp,
+	 * so the flags are copied over to keep En Passant captures.
+	 * @param source - Board, board to copy.
+	 * @return - Board, the copy.
+	 */
+	public static Board copyBoard(Board source)
+	{
+		Board copy = new Board(source);
+		copyMovedTwoUnitsUp(copy.getWhiteChessPieces(), source.getWhiteChessPieces());
+		copyMovedTwoUnitsUp(copy.getBlackChessPieces(), source.getBlackChessPieces());
+		copy.updateZobristKey();
+		return copy;
+	}
+
+	/**
+	 * Method to copy the movedTwoUnitsUp flags of Pawns from one list to a copy of it.
+	 * @param destination - ArrayList<ChessPiece>, copied pieces.
+	 * @param source - ArrayList<ChessPiece>, original pieces.
+	 */
+	private static void copyMovedTwoUnitsUp(ArrayList<ChessPiece> destination, ArrayList<ChessPiece> source)
+	{
+		for (int i = 0; i < source.size(); i++)
+			if (source.get(i) instanceof Pawn)
+				((Pawn) destination.get(i)).setMovedTwoUnitsUp(((Pawn) source.get(i)).getMovedTwoUnitsUp());
+	}
+
+	/**
+	 * Method to search the position for the side to move.
+	 * @param maxDepth - int, deepest iteration, at most maxPly.
+	 * @param timeLimitMillis - long, time budget in milliseconds, 0 for none.
+	 * @param nodeLimit - long, node budget, 0 for none.
+	 * @return - int, best move found, 0 if there are no legal moves.
+	 */
+	public int search(int maxDepth, long timeLimitMillis, long nodeLimit)
+	{
+		long startTime = System.nanoTime();
+		this.nodes = 0;
+		this.nodeLimit = nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE;
+		this.deadline = timeLimitMillis > 0 ? startTime + timeLimitMillis * 1000000 : Long.MAX_VALUE;
+		this.stopped = false;
+		this.bestMove = 0;
+		this.bestScore = 0;
+		this.completedDepth = 0;
+		calculateItemOutcomes();
+
+		for (int depth = 1 + depthOffset; depth <= Math.min(maxDepth, maxPly); depth++)
+		{
+			int score = searchRoot(depth);
+			if (stopped)
+				break;
+			bestScore = score;
+			completedDepth = depth;
+			if (Math.abs(score) >= mateScore - maxPly)
+				break; //A forced mate was found, deeper search won't change it.
+		}
+
+		//The budget ran out before the first move was searched, so play the first legal move.
+		if (bestMove == 0)
+		{
+			int moveNum = generateMoves(0, false);
+			if (moveNum > 0)
+				bestMove = pickNextMove(0, 0, moveNum);
+		}
+
+		elapsedNanos = System.nanoTime() - startTime;
+		return bestMove;
+	}
+
+	/**
+	 * Method to search the root position to a fixed depth. The best move of the previous iteration is tried first.
+	 * Updates bestMove as soon as a move is fully searched, so a stopped iteration still returns its best move.
+	 * @param depth - int, depth to search.
+	 * @return - int, score of the best move.
+	 */
+	private int searchRoot(int depth)
+	{
+		int moveNum = generateMoves(0, false);
+		if (moveNum == 0)
+			return evaluateNoMoves(0);
+		orderMoves(0, moveNum, bestMove);
+
+		int alpha = -infinity;
+		int rootBestMove = 0;
+		for (int i = 0; i < moveNum; i++)
+		{
+			int move = pickNextMove(0, i, moveNum);
+			makeMove(move, 0);
+			int score = -alphaBeta(depth - 1, 1, -infinity, -alpha);
+			board.unmakeMove(undoStack[0]);
+			if (stopped)
+				break;
+			if (score > alpha)
+			{
+				alpha = score;
+				rootBestMove = move;
+				bestMove = move;
+			}
+		}
+
+		//Try buying each item the player can afford.
+		for (int item = 0; item < itemOutcomes.size() && !stopped; item++)
+		{
+			ArrayList<ItemOutcome> outcomes = itemOutcomes.get(item);
+			if (outcomes == null)
+				continue;
+
+			int cost = items.get(item).getItemCost() * itemCostWeight / 100;
+			int score = chanceNode(outcomes, depth, alpha + cost, infinity) - cost;
+			if (!stopped && score > alpha)
+			{
+				alpha = score;
+				rootBestMove = Move.encodeItem(item);
+				bestMove = rootBestMove;
+			}
+		}
+
+		if (!stopped && transpositionTable != null)
+			transpositionTable.store(board.getZobristKey(), rootBestMove, alpha, depth, TranspositionTable.exactBound);
+		return alpha;
+	}
+
+	/**
+	 * Method to calculate the outcomes of each item the player can buy. Items can't be bought while in check, and
+	 * an item that would be burned is never bought.
+	 */
+	private void calculateItemOutcomes()
+	{
+		itemOutcomes = new ArrayList<ArrayList<ItemOutcome>>();
+		if (items == null || board.isInCheck(board.getSideToMove()))
+			return;
+
+		String color = board.getSideToMove();
+		for (Item item : items)
+		{
+			ArrayList<ItemOutcome> outcomes = null;
+			if (item.getItemCost() <= money)
+			{
+				outcomes = item.calculateOutcomes(color, board);
+				if (outcomes.isEmpty())
+					outcomes = null;
+				else
+					for (ItemOutcome outcome : outcomes)
+						outcome.getBoard().setSideToMove(Board.getOpponentColor(color)); //Buying an item ends the turn.
+			}
+			itemOutcomes.add(outcomes);
+		}
+	}
+
+	/**
+	 * Method to search a chance node: the outcomes of an item bought at the root, each searched with the opponent
+	 * to move. With Star1 pruning, each outcome gets the window that would still let the weighted average land in
+	 * [alpha, beta], assuming the outcomes not searched yet score anywhere from -mateScore to mateScore. If an
+	 * outcome falls outside its window, so does the average, and the rest are skipped.
+	 * @param outcomes - ArrayList<ItemOutcome>, outcomes and their chances.
+	 * @param depth - int, remaining depth, the item purchase included.
+	 * @param alpha - int, lower bound of the window.
+	 * @param beta - int, upper bound of the window.
+	 * @return - int, the expected score, or a bound outside the window after a cutoff.
+	 */
+	private int chanceNode(ArrayList<ItemOutcome> outcomes, int depth, int alpha, int beta)
+	{
+		Board rootBoard = board;
+		double expectedScore = 0;
+		double remainingProbability = 1;
+		for (ItemOutcome outcome : outcomes)
+		{
+			double probability = outcome.getProbability();
+			remainingProbability = Math.max(0, remainingProbability - probability);
+
+			//Window of this outcome given the outcomes already searched and the most the rest can add.
+			int childAlpha = (int) Math.max(-infinity, Math.floor((alpha - expectedScore - remainingProbability * mateScore) / probability));
+			int childBeta = (int) Math.min(infinity, Math.ceil((beta - expectedScore + remainingProbability * mateScore) / probability));
+
+			board = outcome.getBoard();
+			int score = -alphaBeta(depth - 1, 1, -childBeta, -childAlpha);
+			board = rootBoard;
+			if (stopped)
+				return 0;
+
+			expectedScore += probability * score;
+			if (score <= childAlpha)
+				return (int) Math.floor(expectedScore + remainingProbability * mateScore); //Fails low
+			if (score >= childBeta)
+				return (int) Math.ceil(expectedScore - remainingProbability * mateScore); //Fails high
+		}
+		return (int) Math.round(expectedScore);
+	}
+
+	/**
+	 * Method to search a position with negamax alpha-beta.
+	 * @param depth - int, remaining depth.
+	 * @param ply - int, distance from the root.
+	 * @param alpha - int, lower bound of the window.
+	 * @param beta - int, upper bound of the window.
+	 * @return - int, score for the side to move.
+	 */
+	private int alphaBeta(int depth, int ply, int alpha, int beta)
+	{
+		if (depth <= 0 || ply >= maxPly)
+			return quiescence(ply, 0, alpha, beta);
+		if (countNode())
+			return 0;
+
+		long key = board.getZobristKey();
+		int ttMove = 0;
+		if (transpositionTable != null)
+		{
+			long data = transpositionTable.probe(key);
+			if (data != 0)
+			{
+				ttMove = TranspositionTable.getMove(data);
+				if (TranspositionTable.getDepth(data) >= depth)
+				{
+					int ttScore = scoreFromTable(TranspositionTable.getScore(data), ply);
+					int bound = TranspositionTable.getBound(data);
+					if (bound == TranspositionTable.exactBound
+							|| (bound == TranspositionTable.lowerBound && ttScore >= beta)
+							|| (bound == TranspositionTable.upperBound && ttScore <= alpha))
+						return ttScore;
+				}
+			}
+		}
+
+		int moveNum = generateMoves(ply, false);
+		if (moveNum == 0)
+			return evaluateNoMoves(ply);
+		orderMoves(ply, moveNum, ttMove);
+
+		int originalAlpha = alpha;
+		int nodeBestMove = 0;
+		int nodeBestScore = -infinity;
+		for (int i = 0; i < moveNum; i++)
+		{
+			int move = pickNextMove(ply, i, moveNum);
+			makeMove(move, ply);
+			int score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha);
+			board.unmakeMove(undoStack[ply]);
+			if (stopped)
+				return 0;
+
+			if (score > nodeBestScore)
+			{
+				nodeBestScore = score;
+				nodeBestMove = move;
+			}
+			if (score > alpha)
+				alpha = score;
+			if (alpha >= beta)
+				break;
+		}
+
+		if (transpositionTable != null)
+		{
+			int bound;
+			if (nodeBestScore >= beta) bound = TranspositionTable.lowerBound;
+			else if (nodeBestScore > originalAlpha) bound = TranspositionTable.exactBound;
+			else bound = TranspositionTable.upperBound;
+			transpositionTable.store(key, nodeBestMove, scoreToTable(nodeBestScore, ply), depth, bound);
+		}
+		return nodeBestScore;
+	}
+
+	/**
+	 * Method to search only captures until the position is quiet, so the evaluation isn't taken in the middle of
+	 * an exchange.
+	 * @param ply - int, distance from the root.
+	 * @param quiescenceDepth - int, plies already spent in quiescence.
+	 * @param alpha - int, lower bound of the window.
+	 * @param beta - int, upper bound of the window.
+	 * @return - int, score for the side to move.
+	 */
+	private int quiescence(int ply, int quiescenceDepth, int alpha, int beta)
+	{
+		if (countNode())
+			return 0;
+
+		int standPat = evaluate();
+		if (standPat >= beta || quiescenceDepth >= quiescencePly)
+			return standPat;
+		if (standPat > alpha)
+			alpha = standPat;
+
+		int moveNum = generateMoves(ply, true);
+		orderMoves(ply, moveNum, 0);
+		for (int i = 0; i < moveNum; i++)
+		{
+			int move = pickNextMove(ply, i, moveNum);
+			makeMove(move, ply);
+			int score = -quiescence(ply + 1, quiescenceDepth + 1, -beta, -alpha);
+			board.unmakeMove(undoStack[ply]);
+			if (stopped)
+				return 0;
+
+			if (score >= beta)
+				return score;
+			if (score > alpha)
+				alpha = score;
+		}
+		return alpha;
+	}
+
+	/**
+	 * Method to count a node and check the budgets.
+	 * @return - boolean, whether the search must stop.
+	 */
+	private boolean countNode()
+	{
+		nodes++;
+		if (nodes >= nodeLimit || stopRequested || (nodes % timeCheckInterval == 0 && System.nanoTime() >= deadline))
+			stopped = true;
+		return stopped;
+	}
+
+	/**
+	 * Method to score a position where the side to move has no legal moves.
+	 * @param ply - int, distance from the root.
+	 * @return - int, mated score if in check, 0 for stalemate.
+	 */
+	private int evaluateNoMoves(int ply)
+	{
+		if (board.isInCheck(board.getSideToMove()))
+			return -mateScore + ply;
+		return 0;
+	}
+
+	/**
+	 * Method to evaluate the position for the side to move: material, Pawn advancement and the number of squares
+	 * each side controls.
+	 * @return - int, score in hundredths of a Pawn.
+	 */
+	public int evaluate()
+	{
+		int whiteScore = evaluateSide(board.getWhiteChessPieces(), board.getWhiteControlBoard(), 0);
+		int blackScore = evaluateSide(board.getBlackChessPieces(), board.getBlackControlBoard(), Board.rowNum - 1);
+		int score = whiteScore - blackScore;
+		return board.getSideToMove().equals("White") ? score : -score;
+	}
+
+	/**
+	 * Method to evaluate one side.
+	 * @param chessPieces - ArrayList<ChessPiece>, pieces of the side.
+	 * @param controlBoard - ArrayList<ArrayList<Character>>, control board of the side.
+	 * @param promotionLine - int, row where the side's Pawns promote.
+	 * @return - int, score of the side.
+	 */
+	private static int evaluateSide(ArrayList<ChessPiece> chessPieces, ArrayList<ArrayList<Character>> controlBoard, int promotionLine)
+	{
+		int score = 0;
+		for (ChessPiece chessPiece : chessPieces)
+		{
+			if (chessPiece.getIsCaptured())
+				continue;
+			if (chessPiece instanceof Pawn)
+			{
+				if (chessPiece.getPosRow() == promotionLine)
+					score += Queen.materialWorth * 100;
+				else
+					score += Pawn.materialWorth * 100 + 4 * (Board.rowNum - 1 - Math.abs(chessPiece.getPosRow() - promotionLine));
+			}
+			else
+				score += chessPiece.getMaterialWorth() * 100;
+		}
+
+		for (ArrayList<Character> row : controlBoard)
+			for (Character symbol : row)
+				if (!symbol.equals(Movement.invalidMoveSymbol))
+					score += 2;
+		return score;
+	}
+
+	/**
+	 * Method to generate the legal moves of the side to move into the move stack.
+	 * @param ply - int, ply whose move list is filled.
+	 * @param capturesOnly - boolean, whether to keep only captures.
+	 * @return - int, number of moves.
+	 */
+	private int generateMoves(int ply, boolean capturesOnly)
+	{
+		String color = board.getSideToMove();
+		ArrayList<ChessPiece> chessPieces = color.equals("White") ? board.getWhiteChessPieces() : board.getBlackChessPieces();
+		LegalityFilter legalityFilter = new LegalityFilter(board, color);
+		MoveList moves = moveStack[ply];
+		moves.clear();
+
+		int moveNum = 0;
+		for (ChessPiece chessPiece : chessPieces)
+		{
+			if (chessPiece.getIsCaptured())
+				continue;
+
+			chessPiece.generateMoves(board, legalityFilter, movementBuffer, moves);
+			for (int i = moveNum; i < moves.size(); i++)
+			{
+				int move = moves.get(i);
+				if (capturesOnly && !Move.isCapture(move))
+					continue;
+
+				if (moveNum == orderStack[ply].length)
+					orderStack[ply] = Arrays.copyOf(orderStack[ply], moveNum * 2);
+				moves.set(moveNum, move);
+				//Most valuable victim first, then the least valuable attacker.
+				orderStack[ply][moveNum] = Move.isCapture(move) ?
+						Board.getPieceTypeWorth(Move.getCapturedPieceType(move)) * 100 - chessPiece.getMaterialWorth() : 0;
+				moveNum++;
+			}
+			//Drop the moves that were filtered out.
+			moves.truncate(moveNum);
+		}
+		return moveNum;
+	}
+
+	/**
+	 * Method to give the best move of the table or previous iteration the highest ordering score.
+	 * @param ply - int, ply of the move list.
+	 * @param moveNum - int, number of moves.
+	 * @param firstMove - int, move to try first, 0 if none.
+	 */
+	private void orderMoves(int ply, int moveNum, int firstMove)
+	{
+		if (firstMove == 0)
+			return;
+		for (int i = 0; i < moveNum; i++)
+			if (moveStack[ply].get(i) == firstMove)
+				orderStack[ply][i] = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Method to move the best remaining move to the given index and return it. Selection instead of a full sort,
+	 * since a cutoff usually comes after the first few moves.
+	 * @param ply - int, ply of the move list.
+	 * @param index - int, index to fill.
+	 * @param moveNum - int, number of moves.
+	 * @return - int, the move at index.
+	 */
+	private int pickNextMove(int ply, int index, int moveNum)
+	{
+		MoveList moves = moveStack[ply];
+		int[] order = orderStack[ply];
+		int best = index;
+		for (int i = index + 1; i < moveNum; i++)
+			if (order[i] > order[best])
+				best = i;
+
+		moves.swap(best, index);
+		int score = order[best];
+		order[best] = order[index];
+		order[index] = score;
+		return moves.get(index);
+	}
+
+	/**
+	 * Method to make a move on the search board.
+	 * @param move - int, the move.
+	 * @param ply - int, ply whose undo record is used.
+	 */
+	private void makeMove(int move, int ply)
+	{
+		board.makeMove(move, undoStack[ply]);
+	}
+
+	/**
+	 * Method to turn a mate score relative to the root into one relative to this node for the table.
+	 * @param score - int, score.
+	 * @param ply - int, distance from the root.
+	 * @return - int, score to store.
+	 */
+	private static int scoreToTable(int score, int ply)
+	{
+		if (score >= mateScore - maxPly * 2) return score + ply;
+		if (score <= -mateScore + maxPly * 2) return score - ply;
+		return score;
+	}
+
+	/**
+	 * Method to turn a stored mate score back into one relative to the root.
+	 * @param score - int, stored score.
+	 * @param ply - int, distance from the root.
+	 * @return - int, score.
+	 */
+	private static int scoreFromTable(int score, int ply)
+	{
+		if (score >= mateScore - maxPly * 2) return score - ply;
+		if (score <= -mateScore + maxPly * 2) return score + ply;
+		return score;
+	}
+
+	/**
+	 * Method to get the legal moves of the side to move.
+	 * @return - int[], the legal moves.
+	 */
+	public int[] getLegalMoves()
+	{
+		generateMoves(0, false);
+		return moveStack[0].toArray();
+	}
+
+	/**
+	 * Method to let the search try buying items at the root.
+	 * @param items - ArrayList<Item>, items the player can buy, or null for none.
+	 * @param money - int, money the player has.
+	 */
+	public void setItems(ArrayList<Item> items, int money)
+	{
+		this.items = items;
+		this.money = money;
+	}
+
+	/**
+	 * Method to set how many centipawns an item costs per 100 money.
+	 * @param itemCostWeight - int, centipawns per 100 money.
+	 */
+	public void setItemCostWeight(int itemCostWeight) { this.itemCostWeight = itemCostWeight; }
+
+	/**
+	 * Method to stop the search from another thread. The search returns the best move found so far.
+	 */
+	public void stop() { stopRequested = true; }
+
+	/**
+	 * Method to set the plies added to the first iteration.
+	 * @param depthOffset - int, plies added.
+	 */
+	public void setDepthOffset(int depthOffset) { this.depthOffset = depthOffset; }
+
+	/**
+	 * Method to get the search board.
+	 * @return - board - Board.
+	 */
+	public Board getBoard() { return board; }
+
+	/**
+	 * Method to get the best move of the last search.
+	 * @return - bestMove - int.
+	 */
+	public int getBestMove() { return bestMove; }
+
+	/**
+	 * Method to get the score of the last completed iteration.
+	 * @return - bestScore - int.
+	 */
+	public int getBestScore() { return bestScore; }
+
+	/**
+	 * Method to get the depth of the last completed iteration.
+	 * @return - completedDepth - int.
+	 */
+	public int getCompletedDepth() { return completedDepth; }
+
+	/**
+	 * Method to get the number of nodes of the last search.
+	 * @return - nodes - long.
+	 */
+	public long getNodes() { return nodes; }
+
+	/**
+	 * Method to get the time the last search took.
+	 * @return - elapsedNanos - long.
+	 */
+	public long getElapsedNanos() { return elapsedNanos; }
+
+	/**
+	 * Method to get the speed of the last search.
+	 * @return - long, nodes per second.
+	 */
+	public long getNodesPerSecond() { return elapsedNanos == 0 ? 0 : nodes * 1000000000L / elapsedNanos; }
+}
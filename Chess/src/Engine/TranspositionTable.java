@@ -0,0 +1,335 @@
+package Engine;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The TranspositionTable class is a fixed-size hash table of search results that many search threads can share
+ * without locks. The table lives off-heap in a MemorySegment, so a table of several GB doesn't add to the work of
+ * the garbage collector.
+ *
+ * Each entry is two longs: the key XOR the data, then the data. The data holds the best move, the score, the
+ * depth, the bound type and the search generation. A thread can read an entry while another thread is writing it;
+ * the torn entry then fails the XOR check and counts as a miss, so no lock is needed.
+ *
+ * Uses java.lang.foreign, a preview API in Java 21 and final from Java 22: on Java 21 the whole source tree must be
+ * compiled and run with --enable-preview.
+ */
+public class TranspositionTable implements AutoCloseable
+{
+	/**
+	 * Bound type of a score that is exact
+	 */
+	public static final int exactBound = 1;
+
+	/**
+	 * Bound type of a score that is at least the stored score (the search failed high)
+	 */
+	public static final int lowerBound = 2;
+
+	/**
+	 * Bound type of a score that is at most the stored score (the search failed low)
+	 */
+	public static final int upperBound = 3;
+
+	/**
+	 * Number of bytes of one entry
+	 */
+	private static final int entryBytes = 2 * Long.BYTES;
+
+	//Layout of the data long
+	private static final int scoreShift = 32;
+	private static final int depthShift = 48;
+	private static final int boundShift = 56;
+	private static final int generationShift = 58;
+	private static final long generationMask = 0x3F;
+
+	/**
+	 * Arena that owns the table memory
+	 */
+	private final Arena arena;
+
+	/**
+	 * The table memory
+	 */
+	private final MemorySegment table;
+
+	/**
+	 * Number of entries, always a power of two
+	 */
+	private final long entryNum;
+
+	/**
+	 * Replacement policy used by store
+	 */
+	private final ReplacementPolicy replacementPolicy;
+
+	/**
+	 * Generation of the current search, used to recognize old entries
+	 */
+	private volatile int generation;
+
+	/**
+	 * Probes that found the position
+	 */
+	private final LongAdder hits;
+
+	/**
+	 * Probes that found an empty slot
+	 */
+	private final LongAdder misses;
+
+	/**
+	 * Probes that found a different position (or a torn entry) in the slot
+	 */
+	private final LongAdder collisions;
+
+	/**
+	 * Entries written
+	 */
+	private final LongAdder stores;
+
+	/**
+	 * Class constructor. Allocates the table and fills it with empty entries.
+	 * @param sizeInMB - int, table size in MB. The number of entries is rounded down to a power of two.
+	 * @param replacementPolicy - ReplacementPolicy, the replacement policy.
+	 */
+	public TranspositionTable(int sizeInMB, ReplacementPolicy replacementPolicy)
+	{
+		if (sizeInMB <= 0)
+			throw new IllegalArgumentException("Transposition table size must be at least 1 MB");
+
+		long maxEntries = ((long) sizeInMB * 1024 * 1024) / entryBytes;
+		this.entryNum = Long.highestOneBit(maxEntries);
+		this.replacementPolicy = replacementPolicy;
+		this.arena = Arena.ofShared();
+		this.table = arena.allocate(entryNum * entryBytes, Long.BYTES);
+		this.table.fill((byte) 0);
+		this.generation = 0;
+
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		this.collisions = new LongAdder();
+		this.stores = new LongAdder();
+	}
+
+	/**
+	 * Method to look up a position.
+	 * @param key - long, Zobrist key of the position.
+	 * @return - long, the packed data of the entry, or 0 if the position is not in the table. Read it with
+	 * getMove, getScore, getDepth and getBound.
+	 */
+	public long probe(long key)
+	{
+		long offset = offsetOf(key);
+		long checkedKey = table.get(ValueLayout.JAVA_LONG, offset);
+		long data = table.get(ValueLayout.JAVA_LONG, offset + Long.BYTES);
+
+		if (data == 0)
+		{
+			misses.increment();
+			return 0;
+		}
+		if ((checkedKey ^ data) != key)
+		{
+			collisions.increment();
+			return 0;
+		}
+		hits.increment();
+		return data;
+	}
+
+	/**
+	 * Method to store a search result, if the replacement policy allows it.
+	 * @param key - long, Zobrist key of the position.
+	 * @param move - int, best move found, 0 if there is none.
+	 * @param score - int, score of the position, must fit in a short.
+	 * @param depth - int, depth searched, 0 to 255.
+	 * @param bound - int, exactBound, lowerBound or upperBound.
+	 */
+	public void store(long key, int move, int score, int depth, int bound)
+	{
+		long offset = offsetOf(key);
+		long oldCheckedKey = table.get(ValueLayout.JAVA_LONG, offset);
+		long oldData = table.get(ValueLayout.JAVA_LONG, offset + Long.BYTES);
+
+		if (oldData != 0 && !replaces(key, depth, oldCheckedKey, oldData))
+			return;
+
+		long data = pack(move, score, depth, bound, generation);
+		table.set(ValueLayout.JAVA_LONG, offset, key ^ data);
+		table.set(ValueLayout.JAVA_LONG, offset + Long.BYTES, data);
+		stores.increment();
+	}
+
+	/**
+	 * Method to decide whether a new entry replaces the entry in its slot.
+	 * @param key - long, key of the new entry.
+	 * @param depth - int, depth of the new entry.
+	 * @param oldCheckedKey - long, key XOR data of the old entry.
+	 * @param oldData - long, data of the old entry.
+	 * @return - boolean, whether to replace the old entry.
+	 */
+	private boolean replaces(long key, int depth, long oldCheckedKey, long oldData)
+	{
+		boolean samePosition = (oldCheckedKey ^ oldData) == key;
+		switch (replacementPolicy)
+		{
+			case ALWAYS_REPLACE:
+				return true;
+			case DEPTH_PREFERRED:
+				return samePosition || depth >= getDepth(oldData);
+			default: //AGED_DEPTH_PREFERRED
+				return samePosition || getGeneration(oldData) != generation || depth >= getDepth(oldData);
+		}
+	}
+
+	/**
+	 * Method to start a new search. Entries from older searches become easier to replace.
+	 */
+	public void newSearch()
+	{
+		generation = (int) ((generation + 1) & generationMask);
+	}
+
+	/**
+	 * Method to empty the table and reset the counters.
+	 */
+	public void clear()
+	{
+		table.fill((byte) 0);
+		resetCounters();
+	}
+
+	/**
+	 * Method to reset the hit, miss, collision and store counters.
+	 */
+	public void resetCounters()
+	{
+		hits.reset();
+		misses.reset();
+		collisions.reset();
+		stores.reset();
+	}
+
+	/**
+	 * Method to free the table memory. The table can't be used afterwards.
+	 */
+	@Override
+	public void close()
+	{
+		arena.close();
+	}
+
+	/**
+	 * Method to get the offset of the slot of a key.
+	 * @param key - long, Zobrist key.
+	 * @return - long, byte offset of the slot.
+	 */
+	private long offsetOf(long key)
+	{
+		return (key & (entryNum - 1)) * entryBytes;
+	}
+
+	/**
+	 * Method to pack the fields of an entry into one long. The bound is never 0, so a used entry is never 0.
+	 * @param move - int, best move.
+	 * @param score - int, score.
+	 * @param depth - int, depth.
+	 * @param bound - int, bound type.
+	 * @param generation - int, search generation.
+	 * @return - long, packed data.
+	 */
+	private static long pack(int move, int score, int depth, int bound, int generation)
+	{
+		return (move & 0xFFFFFFFFL)
+				| ((long) (score & 0xFFFF) << scoreShift)
+				| ((long) (depth & 0xFF) << depthShift)
+				| ((long) (bound & 0x3) << boundShift)
+				| ((long) generation << generationShift);
+	}
+
+	/**
+	 * Method to get the best move of an entry.
+	 * @param data - long, data returned by probe.
+	 * @return - int, best move.
+	 */
+	public static int getMove(long data) { return (int) data; }
+
+	/**
+	 * Method to get the score of an entry.
+	 * @param data - long, data returned by probe.
+	 * @return - int, score.
+	 */
+	public static int getScore(long data) { return (short) (data >>> scoreShift); }
+
+	/**
+	 * Method to get the depth of an entry.
+	 * @param data - long, data returned by probe.
+	 * @return - int, depth.
+	 */
+	public static int getDepth(long data) { return (int) ((data >>> depthShift) & 0xFF); }
+
+	/**
+	 * Method to get the bound type of an entry.
+	 * @param data - long, data returned by probe.
+	 * @return - int, exactBound, lowerBound or upperBound.
+	 */
+	public static int getBound(long data) { return (int) ((data >>> boundShift) & 0x3); }
+
+	/**
+	 * Method to get the search generation of an entry.
+	 * @param data - long, data returned by probe.
+	 * @return - int, generation.
+	 */
+	private static int getGeneration(long data) { return (int) ((data >>> generationShift) & generationMask); }
+
+	/**
+	 * Method to get the number of entries.
+	 * @return - entryNum - long.
+	 */
+	public long getEntryNum() { return entryNum; }
+
+	/**
+	 * Method to get the replacement policy.
+	 * @return - replacementPolicy - ReplacementPolicy.
+	 */
+	public ReplacementPolicy getReplacementPolicy() { return replacementPolicy; }
+
+	/**
+	 * Method to get the number of probes that found the position.
+	 * @return - long, hits.
+	 */
+	public long getHits() { return hits.sum(); }
+
+	/**
+	 * Method to get the number of probes that found an empty slot.
+	 * @return - long, misses.
+	 */
+	public long getMisses() { return misses.sum(); }
+
+	/**
+	 * Method to get the number of probes that found another position in the slot.
+	 * @return - long, collisions.
+	 */
+	public long getCollisions() { return collisions.sum(); }
+
+	/**
+	 * Method to get the number of entries written.
+	 * @return - long, stores.
+	 */
+	public long getStores() { return stores.sum(); }
+
+	/**
+	 * Return the String format of the table counters.
+	 */
+	public String toString()
+	{
+		long probes = getHits() + getMisses() + getCollisions();
+		double hitRate = probes == 0 ? 0 : 100.0 * getHits() / probes;
+		return String.format("TranspositionTable %d entries (%s): %d hits, %d misses, %d collisions, %d stores, %.1f%% hit rate",
+				entryNum, replacementPolicy, getHits(), getMisses(), getCollisions(), getStores(), hitRate);
+	}
+}
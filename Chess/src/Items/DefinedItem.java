@@ -56,11 +56,52 @@ public abstract class DefinedItem implements Item
     			"Description: " + getItemDescription() + "\n";
     }
 
+    /**
+     * Method to use the item on the game board. The item is used on a copy first, and the copy only replaces the
+     * board if neither King is in check.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - String, the message of the item, or why it was burned.
+     */
     public String run(String color, Board board)
     {
-    	//The item's message.
-    	String message;
-    	
+    	ItemOutcome outcome = useOnCopy(color, board);
+		
+		//Allow the item to influence the board if it does not result in a check for both Players.
+		if (!outcome.getBoard().isInCheck("White") && !outcome.getBoard().isInCheck("Black"))
+		{
+			board.deepCopy(outcome.getBoard());
+			return outcome.getMessage();
+		}
+		else
+		{
+			return "Item Has Been Burned Because The Item Results In A Check.";
+		}
+    }
+
+    /**
+     * Method to calculate the board the item results in without changing the game board. The outcome is certain.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - ArrayList<ItemOutcome>, the one outcome with a chance of 1, or nothing if the item would be burned.
+     */
+    public ArrayList<ItemOutcome> calculateOutcomes(String color, Board board)
+    {
+    	ArrayList<ItemOutcome> outcomes = new ArrayList<ItemOutcome>();
+    	ItemOutcome outcome = useOnCopy(color, board);
+    	if (!outcome.getBoard().isInCheck("White") && !outcome.getBoard().isInCheck("Black"))
+    		outcomes.add(outcome);
+    	return outcomes;
+    }
+
+    /**
+     * Method to use the item on a copy of the board, leaving the board unchanged.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - ItemOutcome, the updated copy with the item message.
+     */
+    private ItemOutcome useOnCopy(String color, Board board)
+    {
     	//Create a copy of the current board.
     	Board copyBoard = new Board(board);
     			
@@ -78,20 +119,10 @@ public abstract class DefinedItem implements Item
     		allyChessPieces = copyBoard.getBlackChessPieces();
     	}
     	
-    	message = use(color, allyChessPieces, opponentChessPieces, copyBoard);
+    	String message = use(color, allyChessPieces, opponentChessPieces, copyBoard);
     	
     	copyBoard.updatePositionBoard();
 		copyBoard.updateControlBoards();
-		
-		//Allow the item to influence the board if it does not result in a check for both Players.
-		if (!copyBoard.isInCheck("White") && !copyBoard.isInCheck("Black"))
-		{
-			board.deepCopy(copyBoard);
-			return message;
-		}
-		else
-		{
-			return "Item Has Been Burned Because The Item Results In A Check.";
-		}
+		return new ItemOutcome(copyBoard, 1, message);
     }
 }
\ No newline at end of file
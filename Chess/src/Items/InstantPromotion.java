@@ -38,22 +38,43 @@ public class InstantPromotion extends RandomItem{
      */
     @Override
     public String use(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
-        ArrayList<Integer> pawns = new ArrayList<>();
+        int choice = getRandomNum(getChoiceNum(color, allyChessPieces, opponentChessPieces, board));
+        return useChoice(choice, color, allyChessPieces, opponentChessPieces, board);
+    }
 
-        for(int i = 0; i < allyChessPieces.size(); i++){
-            if(allyChessPieces.get(i) instanceof Pawn && !allyChessPieces.get(i).getIsCaptured()){
-                pawns.add(i);
-            }
-        }
+    /**
+     * Method to get the number of choices of the item, one for every pawn. If there are no pawns, the only choice is
+     * promoting nothing.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - int, number of pawns, at least 1.
+     */
+    @Override
+    public int getChoiceNum(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        return Math.max(1, findPawns(allyChessPieces).size());
+    }
+
+    /**
+     * Method to promote the pawn of the given choice to a queen.
+     * @param choice - int, index of the pawn among the ally pawns.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - String - the message of whether the item was used or the item description.
+     */
+    @Override
+    public String useChoice(int choice, String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        ArrayList<Integer> pawns = findPawns(allyChessPieces);
 
         if(pawns.size() == 0)
         {
             return "No Pawns Were Promoted Because There Are No Pawns.";
         }
 
-        int randomIndex = getRandomNum(pawns.size());
-
-        int oldPawnIndex = pawns.get(randomIndex);
+        int oldPawnIndex = pawns.get(choice);
         ChessPiece oldPiece = allyChessPieces.get(oldPawnIndex);
         int row = oldPiece.getPosRow();
         int col = oldPiece.getPosCol();
@@ -71,4 +92,20 @@ public class InstantPromotion extends RandomItem{
         
         return "The Pawn At (" + row + ", " + col + ") Was Promoted To A Queen."; 
     }
+
+    /**
+     * Method to find the indexes of the pawns that haven't been captured.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @return - ArrayList<Integer>, indexes of the pawns.
+     */
+    private ArrayList<Integer> findPawns(ArrayList<ChessPiece> allyChessPieces){
+        ArrayList<Integer> pawns = new ArrayList<>();
+
+        for(int i = 0; i < allyChessPieces.size(); i++){
+            if(allyChessPieces.get(i) instanceof Pawn && !allyChessPieces.get(i).getIsCaptured()){
+                pawns.add(i);
+            }
+        }
+        return pawns;
+    }
 }
\ No newline at end of file
@@ -31,6 +31,15 @@ public interface Item
      */
     public String use(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board);
 
+    /**
+     * Method to calculate the boards the item can result in without changing the game board, with the chance of each.
+     * Only outcomes that run() would accept are returned, so the list is empty if the item would be burned.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - ArrayList<ItemOutcome>, the outcomes. Their chances add up to 1.
+     */
+    public ArrayList<ItemOutcome> calculateOutcomes(String color, Board board);
+
     /**
      * Method to get the Item name.
      * @return - String, itemName.
@@ -0,0 +1,61 @@
+package Items;
+
+import ChessGameClasses.Board;
+
+/**
+ * One way an item can turn out: the board after the item was used, the chance of it and the item message.
+ */
+public class ItemOutcome
+{
+	/**
+	 * The board after the item was used.
+	 */
+	private Board board;
+
+	/**
+	 * The chance of this outcome, from 0 to 1.
+	 */
+	private double probability;
+
+	/**
+	 * The message of the item.
+	 */
+	private String message;
+
+	/**
+	 * Class constructor.
+	 * @param board - Board, the board after the item was used.
+	 * @param probability - double, the chance of this outcome.
+	 * @param message - String, the message of the item.
+	 */
+	public ItemOutcome(Board board, double probability, String message)
+	{
+		this.board = board;
+		this.probability = probability;
+		this.message = message;
+	}
+
+	/**
+	 * Method to get the board after the item was used.
+	 * @return - board - Board.
+	 */
+	public Board getBoard() { return board; }
+
+	/**
+	 * Method to get the chance of this outcome.
+	 * @return - probability - double.
+	 */
+	public double getProbability() { return probability; }
+
+	/**
+	 * Method to get the message of the item.
+	 * @return - message - String.
+	 */
+	public String getMessage() { return message; }
+
+	/**
+	 * Method to set the chance of this outcome.
+	 * @param probability - double, the chance of this outcome.
+	 */
+	public void setProbability(double probability) { this.probability = probability; }
+}
@@ -29,9 +29,8 @@ public class KingTeleport extends RandomItem{
 
 
     /**
-     * Method to use the item. First it calls the private method findKing to find the enemy and ally king. Then it finds
-     * an empty spot inside, and the king's position is moved there.  Whether the king is in check is handled in the
-     * run function in RandomItem.
+     * Method to use the item. It picks a random pair of empty spots and the ally and enemy kings are moved there.
+     * Whether the king is in check is handled in the run function in RandomItem.
      * @param color - String, piece color of the current player.
      * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
      * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
@@ -40,18 +39,93 @@ public class KingTeleport extends RandomItem{
      */
     @Override
     public String use(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        int choice = getRandomNum(getChoiceNum(color, allyChessPieces, opponentChessPieces, board));
+        return useChoice(choice, color, allyChessPieces, opponentChessPieces, board);
+    }
+
+    /**
+     * Method to get the number of choices of the item, one for every pair of different empty spots the two kings can
+     * be sent to.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - int, number of pairs of different empty spots.
+     */
+    @Override
+    public int getChoiceNum(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        int emptySpotNum = findEmptySpots(board).size();
+        return emptySpotNum * (emptySpotNum - 1);
+    }
+
+    /**
+     * Method to rule out the pairs of spots next to each other without using them on a copy of the board: each king
+     * would control the other, so both would be in check.
+     * @param choice - int, index of the pair of spots, ally spot major.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - boolean, false if the kings would be next to each other.
+     */
+    @Override
+    public boolean isChoiceLegal(int choice, String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        ArrayList<IntPair> emptySpots = findEmptySpots(board);
+        IntPair newAllyPos = emptySpots.get(getAllySpotIndex(choice, emptySpots.size()));
+        IntPair newOppPos = emptySpots.get(getOppSpotIndex(choice, emptySpots.size()));
+        return Math.abs(newAllyPos.getFirst() - newOppPos.getFirst()) > 1
+                || Math.abs(newAllyPos.getSecond() - newOppPos.getSecond()) > 1;
+    }
+
+    /**
+     * Method to teleport the kings to the pair of empty spots of the given choice.
+     * @param choice - int, index of the pair of spots, ally spot major.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - String - message of stating the king was teleported.
+     */
+    @Override
+    public String useChoice(int choice, String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
         int allyKingIndex = findKing(allyChessPieces);
         int oppKingIndex = findKing(opponentChessPieces);
 
-        ArrayList<Integer> newAllyPos = findEmptySpot(board);
-        allyChessPieces.get(allyKingIndex).updateMove(newAllyPos.get(0), newAllyPos.get(1));
+        //Both spots are picked from the board before either king moves.
+        ArrayList<IntPair> emptySpots = findEmptySpots(board);
+        IntPair newAllyPos = emptySpots.get(getAllySpotIndex(choice, emptySpots.size()));
+        IntPair newOppPos = emptySpots.get(getOppSpotIndex(choice, emptySpots.size()));
 
-        ArrayList<Integer> newOppPos = findEmptySpot(board);
-        opponentChessPieces.get(oppKingIndex).updateMove(newOppPos.get(0), newOppPos.get(1));
+        allyChessPieces.get(allyKingIndex).updateMove(newAllyPos.getFirst(), newAllyPos.getSecond());
+        opponentChessPieces.get(oppKingIndex).updateMove(newOppPos.getFirst(), newOppPos.getSecond());
         
         return "Both Kings Were Teleported.";
     }
 
+    /**
+     * Method to get the index of the empty spot the ally king is sent to by a choice.
+     * @param choice - int, index of the pair of spots.
+     * @param emptySpotNum - int, number of empty spots.
+     * @return - int, index of the ally spot.
+     */
+    private int getAllySpotIndex(int choice, int emptySpotNum){
+        return choice / (emptySpotNum - 1);
+    }
+
+    /**
+     * Method to get the index of the empty spot the enemy king is sent to by a choice. The ally spot is skipped, so
+     * the two kings never land on the same spot.
+     * @param choice - int, index of the pair of spots.
+     * @param emptySpotNum - int, number of empty spots.
+     * @return - int, index of the enemy spot.
+     */
+    private int getOppSpotIndex(int choice, int emptySpotNum){
+        int oppSpotIndex = choice % (emptySpotNum - 1);
+        if (oppSpotIndex >= getAllySpotIndex(choice, emptySpotNum))
+            oppSpotIndex++;
+        return oppSpotIndex;
+    }
+
     /**
      * Method to loop through the player pieces and find the king.
      * @param playerPieces - ArrayList<ChessPiece>, player pieces.
@@ -70,25 +144,19 @@ public class KingTeleport extends RandomItem{
     }
 
     /**
-     * Method to find an empty spot on the board to place the kings at.
+     * Method to find all the empty spots on the board to place the kings at.
      * @param board - Board, game board.
-     * @return - empty spot - ArrayList<Integer>.
+     * @return - empty spots - ArrayList<IntPair>.
      */
-    private ArrayList<Integer> findEmptySpot(Board board){
-        boolean emptySpot = false;
-        int randomRow = getRandomNum(board.getPositionBoard().size());
-        int randomCol = getRandomNum(board.getPositionBoard().get(0).size());
-        while(!emptySpot){
-            if(board.getPositionBoard().get(randomRow).get(randomCol).equals(' ')){
-                emptySpot = true;
-            }else{
-                randomRow = getRandomNum(board.getPositionBoard().size());
-                randomCol = getRandomNum(board.getPositionBoard().get(0).size());
+    private ArrayList<IntPair> findEmptySpots(Board board){
+        ArrayList<IntPair> emptySpots = new ArrayList<>();
+        for(int row = 0; row < board.getPositionBoard().size(); row++){
+            for(int col = 0; col < board.getPositionBoard().get(row).size(); col++){
+                if(board.getPositionBoard().get(row).get(col).equals(' ')){
+                    emptySpots.add(new IntPair(row, col));
+                }
             }
         }
-        ArrayList<Integer> emptyPosition = new ArrayList<>();
-        emptyPosition.add(randomRow);
-        emptyPosition.add(randomCol);
-        return emptyPosition;
+        return emptySpots;
     }
 }
\ No newline at end of file
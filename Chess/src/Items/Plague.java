@@ -30,10 +30,8 @@ public class Plague extends RandomItem
     }
 
     /**
-     * Method to use the item.  The method loops through the ally player's chess pieces and stores the piece name in an
-     * arraylist that marks it as a possible target for the plague. If it's a king, or the piece is captured, it's name
-     * is not placed in the arraylist. Then the method gets a random index, and eliminates all the pieces with the
-     * name chosen at the random index.
+     * Method to use the item.  The method finds the possible targets for the plague, then gets a random index, and
+     * eliminates all the pieces with the name chosen at the random index.
      * @param color - String, piece color of the current player.
      * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
      * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
@@ -42,28 +40,44 @@ public class Plague extends RandomItem
      */
     @Override
     public String use(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) 
+    {
+        int choice = getRandomNum(getChoiceNum(color, allyChessPieces, opponentChessPieces, board));
+        return useChoice(choice, color, allyChessPieces, opponentChessPieces, board);
+    }
+
+    /**
+     * Method to get the number of choices of the item, one for every possible target. If there are no targets, the
+     * only choice is the plague not spreading.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - int, number of possible targets, at least 1.
+     */
+    @Override
+    public int getChoiceNum(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board)
+    {
+        return Math.max(1, findPossibleTargets(allyChessPieces).size());
+    }
+
+    /**
+     * Method to eliminate all the pieces with the name of the given choice of target.
+     * @param choice - int, index of the target.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - message of the piece that Plague has fallen on or if there are not enough pieces for the item to work.
+     */
+    @Override
+    public String useChoice(int choice, String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board)
     {
         //All the Possible Targets
-        ArrayList<String> possibleTargets = new ArrayList<String>();
-        
-        //Record all valid targets into possibleTargets
-        //1) They are valid if the chess piece hasn't been captured, 
-        //2) It is not the king.
-        //3) It doesn't already exist in possibleTargets.
-        for (int i = 0; i < allyChessPieces.size(); i++)
-        	if (!allyChessPieces.get(i).getIsCaptured())
-        		if (!allyChessPieces.get(i).getName().equals(King.name)) 
-        			if (!targetAlreadyExists(allyChessPieces.get(i).getName(), possibleTargets))
-        				possibleTargets.add(allyChessPieces.get(i).getName());
+        ArrayList<String> possibleTargets = findPossibleTargets(allyChessPieces);
         
         if (possibleTargets.size() > 0)
         {
-	        int randomIndex;
-	        String target;
-	        
-		    randomIndex = getRandomNum(possibleTargets.size());
-		    target = possibleTargets.get(randomIndex);
-	        
+	        String target = possibleTargets.get(choice);
 	        
 	        for (ChessPiece chessPiece : allyChessPieces)
 	        	if (!chessPiece.getIsCaptured())
@@ -83,6 +97,30 @@ public class Plague extends RandomItem
         }
     }
 
+    /**
+     * Method to find the possible targets for the plague. The method loops through the ally player's chess pieces and
+     * stores the piece name in an arraylist that marks it as a possible target for the plague. If it's a king, or the
+     * piece is captured, it's name is not placed in the arraylist.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @return - ArrayList<String>, names of the possible targets.
+     */
+    private ArrayList<String> findPossibleTargets(ArrayList<ChessPiece> allyChessPieces)
+    {
+        //All the Possible Targets
+        ArrayList<String> possibleTargets = new ArrayList<String>();
+        
+        //Record all valid targets into possibleTargets
+        //1) They are valid if the chess piece hasn't been captured, 
+        //2) It is not the king.
+        //3) It doesn't already exist in possibleTargets.
+        for (int i = 0; i < allyChessPieces.size(); i++)
+        	if (!allyChessPieces.get(i).getIsCaptured())
+        		if (!allyChessPieces.get(i).getName().equals(King.name)) 
+        			if (!targetAlreadyExists(allyChessPieces.get(i).getName(), possibleTargets))
+        				possibleTargets.add(allyChessPieces.get(i).getName());
+        return possibleTargets;
+    }
+
     /**
      * Method to determine if the target piece doesn't already exist in the possible targets.
      * @param target - String, target name.
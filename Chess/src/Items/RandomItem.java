@@ -4,6 +4,10 @@ import ChessGameClasses.Board;
 import ChessPieces.ChessPiece;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * An Item With A Random Outcome.
@@ -24,6 +28,27 @@ public abstract class RandomItem implements Item{
      */
     private int itemCost;
 
+    /**
+     * Number of outcomes kept when the outcomes of an item are sampled.
+     */
+    public static final int defaultSampleNum = 16;
+
+    /**
+     * Choice count of an item that can only be used at random, so its outcomes are sampled.
+     */
+    public static final int sampledChoices = -1;
+
+    /**
+     * Most choices calculateOutcomes uses one by one. The outcomes of items with more choices are sampled, so a
+     * search that values the item stays fast.
+     */
+    public static final int maxEnumeratedChoices = 64;
+
+    /**
+     * Max number of times to re run the item if the item results in a check for both Kings.
+     */
+    private static final int maxReRun = 100;
+
     /**
      * Class constructor.
      * @param itemName - String, item name.
@@ -80,46 +105,52 @@ public abstract class RandomItem implements Item{
     			"Description: " + getItemDescription() + "\n";
     }
 
+    /**
+     * Method to use the item on the game board. Items with choices try them in a random order and use the first one
+     * that doesn't result in a check, so every such choice is equally likely. Items that can only be used at random
+     * are run again until they don't result in a check, up to maxReRun times.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - String, the message of the item, or why it was burned.
+     */
     public String run(String color, Board board)
     {        
+    	int choiceNum = countChoices(color, board);
+    	if (choiceNum != sampledChoices)
+    	{
+    		//Try the choices in a random order. They are all equally likely, so the first one that doesn't result
+    		//in a check is a fair pick among the ones that don't, and the item only burns if every choice does.
+    		ArrayList<Integer> choices = new ArrayList<Integer>();
+    		for (int choice = 0; choice < choiceNum; choice++)
+    			choices.add(choice);
+    		Collections.shuffle(choices);
+    		
+    		Iterator<ItemOutcome> outcomes = new OutcomeIterator(color, board, choices);
+    		if (outcomes.hasNext())
+    		{
+    			ItemOutcome outcome = outcomes.next();
+    			board.deepCopy(outcome.getBoard());
+    			return outcome.getMessage();
+    		}
+    		return "Item Has Been Burned Because Every Outcome Of The Item Results In A Check.";
+    	}
+    	
     	//The item's message.
     	String message = null;
     	
         //The board to store the simulation. 
         Board copyBoard = null;
         
-        //Max number of times to re run the item if the item results in a check for both Kings. 
-        int maxReRun = 100;
-        
         //Simulate the item. If the item user's King is in check after the item ran, run the item again.
         //Keep running until the user's King is not in check or it has reached the maxReRun.
         for (int i = 0; i < maxReRun; i++)
         {
-        	copyBoard = new Board(board);
-
-            //Determine the allyChessPieces and the enemyChessPieces
-            ArrayList<ChessPiece> opponentChessPieces;
-            ArrayList<ChessPiece> allyChessPieces;
-            if (color.equals("White"))
-            {
-                opponentChessPieces = copyBoard.getBlackChessPieces();
-                allyChessPieces = copyBoard.getWhiteChessPieces();
-            }
-            else //color == "Black"
-            {
-                opponentChessPieces = copyBoard.getWhiteChessPieces();
-                allyChessPieces = copyBoard.getBlackChessPieces();
-            }
-            
-            //Run the item
-            message = use(color, allyChessPieces, opponentChessPieces, copyBoard);
-
-            //Prepare for isInCheck() calculation.
-            copyBoard.updatePositionBoard();
-            copyBoard.updateControlBoards();
+        	ItemOutcome outcome = useOnCopy(color, board, sampledChoices);
+        	copyBoard = outcome.getBoard();
+        	message = outcome.getMessage();
             
             //If both players are not in check, we have found the valid result board. 
-            if (!copyBoard.isInCheck("White") && !copyBoard.isInCheck("Black"))
+            if (!resultsInCheck(outcome))
                 break;
         }
         
@@ -134,4 +165,324 @@ public abstract class RandomItem implements Item{
     	   return "Item Has Been Burned Because The Item Resulted In A Check " + maxReRun + " Times In A Row.";
        }
     }
-}
\ No newline at end of file
+
+    /**
+     * Method to calculate the boards the item can result in without changing the game board, with the chance of each.
+     * Items with up to maxEnumeratedChoices choices are enumerated, the others are sampled.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - ArrayList<ItemOutcome>, the distinct outcomes. Empty if the item would be burned.
+     */
+    public ArrayList<ItemOutcome> calculateOutcomes(String color, Board board)
+    {
+    	if (countChoices(color, board) > maxEnumeratedChoices)
+    		return sampleOutcomes(color, board, defaultSampleNum);
+    	return enumerateOutcomes(color, board);
+    }
+
+    /**
+     * Method to list every distinct board the item can result in, with the chance of each, without changing the board.
+     * The outcomes are made one at a time and merged as they come: a choice that isChoiceLegal rules out is never
+     * used, and the copy of a choice that results in a check is reused for the next choice. The chances of the rest
+     * are scaled back up, the same as run() picking again. Items whose choices can't be listed, like the Scrambler,
+     * are sampled instead.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - ArrayList<ItemOutcome>, the distinct outcomes. Empty if the item would be burned.
+     */
+    public ArrayList<ItemOutcome> enumerateOutcomes(String color, Board board)
+    {
+    	int choiceNum = countChoices(color, board);
+    	if (choiceNum == sampledChoices)
+    		return sampleOutcomes(color, board, defaultSampleNum);
+    	
+    	ArrayList<Integer> choices = new ArrayList<Integer>();
+    	for (int choice = 0; choice < choiceNum; choice++)
+    		choices.add(choice);
+    	return mergeOutcomes(new OutcomeIterator(color, board, choices));
+    }
+
+    /**
+     * Method to estimate the outcomes of the item by using it on copies of the board. Samples are taken until
+     * sampleNum of them don't result in a check, or run() would have burned the item.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @param sampleNum - int, number of samples to keep.
+     * @return - ArrayList<ItemOutcome>, the distinct outcomes with the share of the kept samples each got.
+     */
+    public ArrayList<ItemOutcome> sampleOutcomes(String color, Board board, int sampleNum)
+    {
+    	ArrayList<ItemOutcome> candidates = new ArrayList<ItemOutcome>();
+    	int choiceNum = countChoices(color, board);
+    	Board spareBoard = null;
+    	for (int i = 0; i < Math.max(maxReRun, sampleNum) && candidates.size() < sampleNum; i++)
+    	{
+    		int choice = choiceNum == sampledChoices ? sampledChoices : getRandomNum(choiceNum);
+    		if (choice != sampledChoices && !isChoiceLegal(color, board, choice))
+    			continue;
+    		ItemOutcome outcome = useOnCopy(color, board, choice, spareBoard);
+    		if (resultsInCheck(outcome))
+    			spareBoard = outcome.getBoard();
+    		else
+    		{
+    			candidates.add(outcome);
+    			spareBoard = null;
+    		}
+    	}
+    	return mergeOutcomes(candidates.iterator());
+    }
+
+    /**
+     * Method to merge the outcomes that result in the same board and scale the chances so they add up to 1.
+     * @param validOutcomes - Iterator<ItemOutcome>, equally likely outcomes that don't result in a check.
+     * @return - ArrayList<ItemOutcome>, the distinct outcomes.
+     */
+    private ArrayList<ItemOutcome> mergeOutcomes(Iterator<ItemOutcome> validOutcomes)
+    {
+    	ArrayList<ItemOutcome> outcomes = new ArrayList<ItemOutcome>();
+    	HashMap<Long, ItemOutcome> outcomesByKey = new HashMap<Long, ItemOutcome>();
+    	int keptNum = 0;
+    	while (validOutcomes.hasNext())
+    	{
+    		ItemOutcome outcome = validOutcomes.next();
+    		keptNum++;
+    		ItemOutcome sameOutcome = outcomesByKey.get(outcome.getBoard().getZobristKey());
+    		if (sameOutcome != null)
+    			sameOutcome.setProbability(sameOutcome.getProbability() + outcome.getProbability());
+    		else
+    		{
+    			outcomesByKey.put(outcome.getBoard().getZobristKey(), outcome);
+    			outcomes.add(outcome);
+    		}
+    	}
+    	
+    	//Turn the counts into chances.
+    	for (ItemOutcome outcome : outcomes)
+    		outcome.setProbability(outcome.getProbability() / keptNum);
+    	return outcomes;
+    }
+
+    /**
+     * Method to determine whether an outcome leaves either King in check.
+     * @param outcome - ItemOutcome, the outcome.
+     * @return - boolean, true if a King is in check.
+     */
+    private boolean resultsInCheck(ItemOutcome outcome)
+    {
+    	return outcome.getBoard().isInCheck("White") || outcome.getBoard().isInCheck("Black");
+    }
+
+    /**
+     * Method to get the number of equally likely choices the item picks from. Items that override it also override
+     * useChoice, and use() picks one of the choices at random. The default is sampledChoices, for items that can only
+     * be used at random.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - int, number of choices, at least 1, or sampledChoices.
+     */
+    public int getChoiceNum(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board)
+    {
+    	return sampledChoices;
+    }
+
+    /**
+     * Method to use the item with the given choice instead of a random one.
+     * @param choice - int, the choice, from 0 to getChoiceNum() - 1.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - String - the message of the item.
+     */
+    public String useChoice(int choice, String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board)
+    {
+    	return use(color, allyChessPieces, opponentChessPieces, board);
+    }
+
+    /**
+     * Method to check a choice on the game board before it is used on a copy. Items override it to rule out choices
+     * that always result in a check, cheaper than using them. It must only rule out such choices, since the ones it
+     * keeps are still checked on the copy. The default keeps every choice.
+     * @param choice - int, the choice, from 0 to getChoiceNum() - 1.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - boolean, false if the choice results in a check.
+     */
+    public boolean isChoiceLegal(int choice, String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board)
+    {
+    	return true;
+    }
+
+    /**
+     * Method to check a choice of the item on a board with isChoiceLegal.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @param choice - int, the choice.
+     * @return - boolean, false if the choice results in a check.
+     */
+    private boolean isChoiceLegal(String color, Board board, int choice)
+    {
+    	if (color.equals("White"))
+    		return isChoiceLegal(choice, color, board.getWhiteChessPieces(), board.getBlackChessPieces(), board);
+    	else //color == "Black"
+    		return isChoiceLegal(choice, color, board.getBlackChessPieces(), board.getWhiteChessPieces(), board);
+    }
+
+    /**
+     * Method to count the choices of the item on a board.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @return - int, number of choices, or sampledChoices.
+     */
+    private int countChoices(String color, Board board)
+    {
+    	if (color.equals("White"))
+    		return getChoiceNum(color, board.getWhiteChessPieces(), board.getBlackChessPieces(), board);
+    	else //color == "Black"
+    		return getChoiceNum(color, board.getBlackChessPieces(), board.getWhiteChessPieces(), board);
+    }
+
+    /**
+     * Method to use the item on a copy of the board, leaving the board unchanged.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @param choice - int, choice to use, or sampledChoices to use the item at random.
+     * @return - ItemOutcome, the updated copy with the item message.
+     */
+    protected ItemOutcome useOnCopy(String color, Board board, int choice)
+    {
+    	return useOnCopy(color, board, choice, null);
+    }
+
+    /**
+     * Method to use the item on a copy of the board, leaving the board unchanged.
+     * @param color - String, piece color of the current player.
+     * @param board - Board, game board.
+     * @param choice - int, choice to use, or sampledChoices to use the item at random.
+     * @param spareBoard - Board, a copy no longer needed, written over instead of making a new one. Can be null.
+     * @return - ItemOutcome, the updated copy with the item message.
+     */
+    private ItemOutcome useOnCopy(String color, Board board, int choice, Board spareBoard)
+    {
+    	Board copyBoard;
+    	if (spareBoard == null)
+    		copyBoard = new Board(board);
+    	else
+    	{
+    		copyBoard = spareBoard;
+    		copyBoard.deepCopy(board);
+    	}
+
+        //Determine the allyChessPieces and the enemyChessPieces
+        ArrayList<ChessPiece> opponentChessPieces;
+        ArrayList<ChessPiece> allyChessPieces;
+        if (color.equals("White"))
+        {
+            opponentChessPieces = copyBoard.getBlackChessPieces();
+            allyChessPieces = copyBoard.getWhiteChessPieces();
+        }
+        else //color == "Black"
+        {
+            opponentChessPieces = copyBoard.getWhiteChessPieces();
+            allyChessPieces = copyBoard.getBlackChessPieces();
+        }
+        
+        //Run the item
+        String message;
+        if (choice == sampledChoices)
+        	message = use(color, allyChessPieces, opponentChessPieces, copyBoard);
+        else
+        	message = useChoice(choice, color, allyChessPieces, opponentChessPieces, copyBoard);
+
+        //Prepare for isInCheck() calculation.
+        copyBoard.updatePositionBoard();
+        copyBoard.updateControlBoards();
+        return new ItemOutcome(copyBoard, 1, message);
+    }
+
+    /**
+     * Iterates over the outcomes of some choices of the item that don't result in a check, using each choice on a copy
+     * of the board only when the outcome is asked for. The copy of a choice that results in a check is reused for
+     * the next choice.
+     */
+    private class OutcomeIterator implements Iterator<ItemOutcome>
+    {
+    	/**
+    	 * Piece color of the current player
+    	 */
+    	private final String color;
+
+    	/**
+    	 * Game board, left unchanged
+    	 */
+    	private final Board board;
+
+    	/**
+    	 * Choices to use, in order
+    	 */
+    	private final ArrayList<Integer> choices;
+
+    	/**
+    	 * Index of the next choice to use
+    	 */
+    	private int choiceIndex;
+
+    	/**
+    	 * Next outcome found, null if it wasn't looked for yet
+    	 */
+    	private ItemOutcome nextOutcome;
+
+    	/**
+    	 * Copy of a choice that resulted in a check, null if there is none
+    	 */
+    	private Board spareBoard;
+
+    	/**
+    	 * Class constructor.
+    	 * @param color - String, piece color of the current player.
+    	 * @param board - Board, game board.
+    	 * @param choices - ArrayList<Integer>, choices to use, in order.
+    	 */
+    	private OutcomeIterator(String color, Board board, ArrayList<Integer> choices)
+    	{
+    		this.color = color;
+    		this.board = board;
+    		this.choices = choices;
+    	}
+
+    	@Override
+    	public boolean hasNext()
+    	{
+    		while (nextOutcome == null && choiceIndex < choices.size())
+    		{
+    			int choice = choices.get(choiceIndex++);
+    			if (!isChoiceLegal(color, board, choice))
+    				continue;
+    			
+    			ItemOutcome outcome = useOnCopy(color, board, choice, spareBoard);
+    			if (resultsInCheck(outcome))
+    				spareBoard = outcome.getBoard();
+    			else
+    			{
+    				nextOutcome = outcome;
+    				spareBoard = null;
+    			}
+    		}
+    		return nextOutcome != null;
+    	}
+
+    	@Override
+    	public ItemOutcome next()
+    	{
+    		if (!hasNext())
+    			throw new NoSuchElementException();
+    		ItemOutcome outcome = nextOutcome;
+    		nextOutcome = null;
+    		return outcome;
+    	}
+    }
+}
@@ -28,9 +28,8 @@ public class Swapper extends RandomItem{
     }
 
     /**
-     * Method to use the item.  The method stores all the valid indexes(not a king at first), into an arraylist, then it chooses
-     * a random index for both colors and swaps the position of pieces. If there are only king indexes left, then the
-     * kings are swapped.
+     * Method to use the item.  The method chooses a random ally piece and a random opponent piece out of the valid ones
+     * (not a king at first) and swaps their positions. If there are only king indexes left, then the kings are swapped.
      * @param color - String, piece color of the current player.
      * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
      * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
@@ -39,6 +38,73 @@ public class Swapper extends RandomItem{
      */
     @Override
     public String use(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        int choice = getRandomNum(getChoiceNum(color, allyChessPieces, opponentChessPieces, board));
+        return useChoice(choice, color, allyChessPieces, opponentChessPieces, board);
+    }
+
+    /**
+     * Method to get the number of choices of the item, one for every pair of a valid ally piece and a valid opponent piece.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - int, number of pairs.
+     */
+    @Override
+    public int getChoiceNum(String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        ArrayList<ArrayList<Integer>> validIndexes = findValidIndexes(allyChessPieces, opponentChessPieces);
+        return validIndexes.get(0).size() * validIndexes.get(1).size();
+    }
+
+    /**
+     * Method to swap the pair of pieces of the given choice.
+     * @param choice - int, index of the pair, ally index major.
+     * @param color - String, piece color of the current player.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @param board - Board, game board.
+     * @return - message to say which pieces are being swapped and where their new position is.
+     */
+    @Override
+    public String useChoice(int choice, String color, ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces, Board board) {
+        ArrayList<ArrayList<Integer>> validIndexes = findValidIndexes(allyChessPieces, opponentChessPieces);
+        ArrayList<Integer> allyValidIndex = validIndexes.get(0);
+        ArrayList<Integer> opponentValidIndex = validIndexes.get(1);
+        
+        int num1 = allyValidIndex.get(choice / opponentValidIndex.size());
+        int num2 = opponentValidIndex.get(choice % opponentValidIndex.size());
+        
+        ChessPiece randomAllyPiece = allyChessPieces.get(num1);
+        ChessPiece randomOpponentPiece = opponentChessPieces.get(num2);
+        
+
+        int allyRow = randomAllyPiece.getPosRow();
+        int allyCol = randomAllyPiece.getPosCol();
+
+        int oppRow = randomOpponentPiece.getPosRow();
+        int oppCol = randomOpponentPiece.getPosCol();
+
+        String message;
+        message = "Swapping: " + randomAllyPiece.getName() + " at (" + allyRow + ", " + allyCol + ") with ";
+        message += randomOpponentPiece.getName() + " at (" + oppRow + ", " + oppCol + ")\n";
+
+
+        randomAllyPiece.updateMove(oppRow, oppCol);
+        randomOpponentPiece.updateMove(allyRow, allyCol);
+
+        message +=  randomAllyPiece.getName() + " now at (" + randomAllyPiece.getPosRow() + ", " + randomAllyPiece.getPosCol() + ") with ";
+        message += randomOpponentPiece.getName() + " now at (" + randomOpponentPiece.getPosRow() + ", " + randomOpponentPiece.getPosCol() + ")";
+        return message;
+    }
+
+    /**
+     * Method to find the indexes of the pieces that can be swapped. Pieces are valid if they are not captured and are not
+     * Kings. If one player only has a King, then the Kings are added in.
+     * @param allyChessPieces - ArrayList<ChessPiece>, list of ally chess pieces.
+     * @param opponentChessPieces - ArrayList<ChessPiece>, list of opponent chess pieces.
+     * @return - ArrayList<ArrayList<Integer>>, the valid ally indexes followed by the valid opponent indexes.
+     */
+    private ArrayList<ArrayList<Integer>> findValidIndexes(ArrayList<ChessPiece> allyChessPieces, ArrayList<ChessPiece> opponentChessPieces) {
         
         //Valid indexes of Chess Pieces
         ArrayList<Integer> allyValidIndex = new ArrayList<Integer>();
@@ -78,30 +144,9 @@ public class Swapper extends RandomItem{
         	opponentValidIndex.add(opponentKingIndex);
         }
         
-        
-        int num1 = allyValidIndex.get(getRandomNum(allyValidIndex.size()));
-        int num2 = opponentValidIndex.get(getRandomNum(opponentValidIndex.size()));
-        
-        ChessPiece randomAllyPiece = allyChessPieces.get(num1);
-        ChessPiece randomOpponentPiece = opponentChessPieces.get(num2);
-        
-
-        int allyRow = randomAllyPiece.getPosRow();
-        int allyCol = randomAllyPiece.getPosCol();
-
-        int oppRow = randomOpponentPiece.getPosRow();
-        int oppCol = randomOpponentPiece.getPosCol();
-
-        String message;
-        message = "Swapping: " + randomAllyPiece.getName() + " at (" + allyRow + ", " + allyCol + ") with ";
-        message += randomOpponentPiece.getName() + " at (" + oppRow + ", " + oppCol + ")\n";
-
-
-        randomAllyPiece.updateMove(oppRow, oppCol);
-        randomOpponentPiece.updateMove(allyRow, allyCol);
-
-        message +=  randomAllyPiece.getName() + " now at (" + randomAllyPiece.getPosRow() + ", " + randomAllyPiece.getPosCol() + ") with ";
-        message += randomOpponentPiece.getName() + " now at (" + randomOpponentPiece.getPosRow() + ", " + randomOpponentPiece.getPosCol() + ")";
-        return message;
+        ArrayList<ArrayList<Integer>> validIndexes = new ArrayList<ArrayList<Integer>>();
+        validIndexes.add(allyValidIndex);
+        validIndexes.add(opponentValidIndex);
+        return validIndexes;
     }
 }
\ No newline at end of file
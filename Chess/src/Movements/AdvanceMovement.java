@@ -51,13 +51,6 @@ public class AdvanceMovement implements Movement, Serializable
 		//Create an empty ArrayList<ArrayList<Character>> to store the possible moves
 		ArrayList<ArrayList<Character>> result = Board.createAnEmpty2DCharacterArrayList();
 		
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character allyKingSymbol = pieceSymbols.get(0);
-		Character allyPieceSymbol = pieceSymbols.get(1);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-		
 		//Logic
 		int currentRow = posRow;
 		if (color.equals("White")) currentRow--; //White always starts from the bottom
@@ -68,11 +61,8 @@ public class AdvanceMovement implements Movement, Serializable
 		//If the position is not out of range
 		if (board.rowColWithinBound(currentRow, currentColumn))
 		{
-			Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
-			
 			//If position is occupied by ally or enemy, can't move there.
-			if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol) ||
-					currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+			if (board.isOccupied(currentRow, currentColumn))
 				result.get(currentRow).set(currentColumn, invalidMoveSymbol);
 			
 			//If position is empty, can move there
@@ -84,5 +74,27 @@ public class AdvanceMovement implements Movement, Serializable
 		result.get(posRow).set(posCol, currentPositionSymbol); 
 		return result;
 	}
+	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		int currentRow = posRow;
+		if (color.equals("White")) currentRow--; //White always starts from the bottom
+		else currentRow++;
+		
+		//If the position is not out of range and is empty, can move there
+		if (board.rowColWithinBound(currentRow, posCol) && !board.isOccupied(currentRow, posCol))
+			MovementBuffer.mark(result, currentRow, posCol, moveSymbol);
+	}
 }
 
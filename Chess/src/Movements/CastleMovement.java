@@ -73,6 +73,73 @@ public class CastleMovement implements Movement,Serializable
 		return result;
 	}
 	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		int kingColumn = 4;
+		
+		//Can only castle if King is not in check
+		if (!board.isInCheck(color))
+		{
+			//Castle to the left
+			castleInDirection(posRow, posCol, color, hasMoved, board, result, 1, kingColumn - 1, 0);
+			
+			//Castle to the right
+			castleInDirection(posRow, posCol, color, hasMoved, board, result, kingColumn + 1, Board.colNum - 2, Board.colNum - 1);
+		}
+	}
+	
+	/**
+	 * 
+     * @param posRow - int, The row index of the position of the current chess piece on the board.
+	 * @param posCol - int, The column index of the position of the current chess piece on the board.
+	 * @param color - color, The color of the current piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 * @param fromCol - int, The starting column.
+	 * @param toCol - int, The ending column.
+	 * @param rookCol - int, Get the Column of the rook.
+	 */
+	public void castleInDirection(int posRow, int posCol, String color, boolean hasMoved, Board board, 
+			byte[] result, int fromCol, int toCol, int rookCol)
+	{
+		//Determine row
+		int currentRow;
+		if (color.equals("White")) 
+			currentRow = Board.rowNum - 1; //White always starts from the bottom
+		else //color.equals("Black")
+			currentRow = 0; //Black always starts from the top
+		
+		int kingColumn = 4;
+		
+		//King can't castle if king is out of position or has moved
+		if (posRow != currentRow || posCol != kingColumn || hasMoved)
+			return;
+		
+		//Checks if the castle path is open. 
+		for (int currentColumn = fromCol; currentColumn <= toCol; currentColumn++)
+			if (board.rowColWithinBound(currentRow, currentColumn) && board.isOccupied(currentRow, currentColumn))
+				return;
+		
+		//If a rook of the corresponding color that has not moved is in the corner,
+		//then castle is valid. Mark the Rook position as the castle movement.
+		ChessPiece chessPiece = board.getChessPieceAt(currentRow, rookCol);
+		if (chessPiece != null && chessPiece.getColor().equals(color) && chessPiece.getName().equals("Rook")
+				&& !chessPiece.getHasMoved())
+			MovementBuffer.mark(result, currentRow, rookCol, Movement.castleSymbol);
+	}
+	
 	/**
 	 * 
      * @param posRow - int, The row index of the position of the current chess piece on the board.
@@ -88,13 +155,6 @@ public class CastleMovement implements Movement,Serializable
 	public void castleInDirection(int posRow, int posCol, String color, boolean hasMoved, Board board, 
 			ArrayList<ArrayList<Character>> result, int fromCol, int toCol, int rookCol)
 	{
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character allyKingSymbol = pieceSymbols.get(0);
-		Character allyPieceSymbol = pieceSymbols.get(1);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-		
 		//Determine row
 		int currentRow;
 		if (color.equals("White")) 
@@ -113,11 +173,8 @@ public class CastleMovement implements Movement,Serializable
 			//If the position is not out of range
 			if (board.rowColWithinBound(currentRow, currentColumn))
 			{
-				Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
-				
 				//If position is occupied then king can't castle
-				if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol) ||
-						currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+				if (board.isOccupied(currentRow, currentColumn))
 					
 				{
 					canCastle = false;
@@ -133,22 +190,11 @@ public class CastleMovement implements Movement,Serializable
 			if (posRow != currentRow || posCol != kingColumn || hasMoved)
 				canCastle = false;
 			
-			//Find the rook
-			ArrayList<ChessPiece> chessPieces;
-			if (color.equals("White")) chessPieces = board.getWhiteChessPieces();
-			else chessPieces = board.getBlackChessPieces();
-			
-			//If a chess piece of the corresponding color was found at the bottom left corner,
-			//and it is a rook, has not been captured, and has not moved, then a valid castle rook was found. 
-			boolean found = false;
-			for (ChessPiece chessPiece : chessPieces)
-				if (chessPiece.getPosRow() == currentRow && chessPiece.getPosCol() == rookCol)
-					if (chessPiece.getName().equals("Rook"))
-						if (!chessPiece.getIsCaptured())
-							if (!chessPiece.getHasMoved())
-							{
-								found = true;
-							}
+			//If a chess piece of the corresponding color was found at the corner,
+			//and it is a rook and has not moved, then a valid castle rook was found. 
+			ChessPiece chessPiece = board.getChessPieceAt(currentRow, rookCol);
+			boolean found = chessPiece != null && chessPiece.getColor().equals(color) && chessPiece.getName().equals("Rook")
+					&& !chessPiece.getHasMoved();
 			
 			//If the a valid castle rook was found, castle is valid. 
 			if (!found) canCastle = false;
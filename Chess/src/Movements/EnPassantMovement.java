@@ -65,6 +65,52 @@ public class EnPassantMovement implements Movement,Serializable
 		return result;
 	}
 	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		//Check left side
+		checkPosition(posRow, posCol, color, board, result, posRow, posCol - 1);
+		
+		//Check right side
+		checkPosition(posRow, posCol, color, board, result, posRow, posCol + 1);
+	}
+	
+	/**
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The color of the chess piece.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 * @param rowToCheck - int, A integer that will be added to the current posRow to get it to the row.
+	 * @param colToCheck - int, A integer that will be added to the current posCol to get it to the column.
+	 */
+	public void checkPosition(int posRow, int posCol, String color, Board board, byte[] result, int rowToCheck, int colToCheck)
+	{
+		//If the position is not out of range and occupied by an enemy piece other than the King
+		if (!board.rowColWithinBound(rowToCheck, colToCheck) || !board.isEnemyNonKingPiece(rowToCheck, colToCheck, color))
+			return;
+		
+		//Determine the direction
+		int direction = color.equals("White") ? -1 : 1;
+		
+		//En Passant is valid if the chessPiece at that position is a pawn that moved two units up.
+		//Mark the position behind that Pawn as en passant symbol.
+		ChessPiece chessPiece = board.getChessPieceAt(rowToCheck, colToCheck);
+		if (chessPiece instanceof Pawn && ((Pawn) chessPiece).getMovedTwoUnitsUp())
+			MovementBuffer.mark(result, rowToCheck + direction, colToCheck, Movement.enPassantSymbol);
+	}
+	
 	/**
 	 * 
 	 * @param posRow - int, The current row that the chess piece is in.
@@ -77,23 +123,8 @@ public class EnPassantMovement implements Movement,Serializable
 	 */
 	public void checkPosition(int posRow, int posCol, String color, Board board, ArrayList<ArrayList<Character>> result, int rowToCheck, int colToCheck)
 	{
-		//Determine the enemy piece symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-				
-		//Determine the opponent chess piece set and direction
-		ArrayList<ChessPiece> opponentChessPieces;
-		int direction;
-		if (color.equals("White")) 
-		{
-			opponentChessPieces = board.getBlackChessPieces();
-			direction = -1;
-		}
-		else 
-		{
-			opponentChessPieces = board.getWhiteChessPieces();
-			direction = 1;
-		}
+		//Determine the direction
+		int direction = color.equals("White") ? -1 : 1;
 			
 		//Found a valid pawn to perform En Passant Capture on
 		boolean found = false;
@@ -101,24 +132,13 @@ public class EnPassantMovement implements Movement,Serializable
 		//If row and column is within bound
 		if (board.rowColWithinBound(rowToCheck, colToCheck))
 			//If the position is occupied by an enemyPiece
-			if (board.getPositionBoard().get(rowToCheck).get(colToCheck).equals(enemyPieceSymbol))
-				//Find the chessPiece at that position
-				for (ChessPiece chessPiece : opponentChessPieces)
-					if (chessPiece.getPosRow() == rowToCheck && 
-							chessPiece.getPosCol() == colToCheck)
-					{
-						if (!chessPiece.getIsCaptured())
-						{
-							//En Passant is valid if it is a pawn and moved two units up.
-							if (chessPiece instanceof Pawn)
-							{
-								Pawn pawn = (Pawn) chessPiece;
-								if (pawn.getMovedTwoUnitsUp())
-									found = true;
-								break;
-							}
-						}
-					}
+			if (board.isEnemyNonKingPiece(rowToCheck, colToCheck, color))
+			{
+				//En Passant is valid if the chessPiece at that position is a pawn that moved two units up.
+				ChessPiece chessPiece = board.getChessPieceAt(rowToCheck, colToCheck);
+				if (chessPiece instanceof Pawn && ((Pawn) chessPiece).getMovedTwoUnitsUp())
+					found = true;
+			}
 				
 		//If a valid pawn was found, mark the position behind that Pawn as en passant symbol.
 		if (found) result.get(rowToCheck + direction).set(colToCheck, Movement.enPassantSymbol);
@@ -1,5 +1,6 @@
 package Movements;
 
+import ChessGameClasses.BitBoard;
 import ChessGameClasses.Board;
 
 import java.io.Serializable;
@@ -33,6 +34,21 @@ public class HopCaptureMovement implements Movement,Serializable
 	@Override
 	public int getMovementCost() { return movementCost; }
 	
+	/**
+	 * Method to check whether a change on a square can change the possible movements.
+	 * The movement hops along the row and column, so only squares on the same row or column matter.
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param row - int, The row of the changed square.
+	 * @param col - int, The column of the changed square.
+	 * @return - boolean, whether the movement can be changed.
+	 */
+	@Override
+	public boolean dependsOnSquare(int posRow, int posCol, int row, int col)
+	{
+		return row == posRow || col == posCol;
+	}
+	
 	/**
 	 * Method that return the possible movements of the chess piece.
 	 * 
@@ -71,6 +87,30 @@ public class HopCaptureMovement implements Movement,Serializable
 		return result;
 	}
 	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		int square = BitBoard.toSquare(posRow, posCol);
+		BitBoard allOccupancy = board.getAllOccupancy();
+		for (int direction = 0; direction < RayTables.orthogonalDirectionNum; direction++)
+		{
+			//The first piece that is found is the piece to jump over, the next one can be captured if it is an opponent piece.
+			int target = RayTables.getSecondBlocker(direction, square, allOccupancy);
+			if (target != -1 && board.isEnemyPiece(BitBoard.toRow(target), BitBoard.toCol(target), color))
+				MovementBuffer.mark(result, BitBoard.toRow(target), BitBoard.toCol(target), moveAndCaptureSymbol);
+		}
+	}
+	
 	/**
 	 * 
 	 * @param posRow - int, The current row that the chess piece is in.
@@ -83,24 +123,14 @@ public class HopCaptureMovement implements Movement,Serializable
 	 */
 	public void hopTowardsDirection(int posRow, int posCol, String color, Board board, ArrayList<ArrayList<Character>> result, int directionRow, int directionColumn)
 	{
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character allyKingSymbol = pieceSymbols.get(0);
-		Character allyPieceSymbol = pieceSymbols.get(1);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-		
 		int currentRow = posRow + directionRow;
 		int currentColumn = posCol + directionColumn;
 		
 		//If the position is not out of range
 		while (board.rowColWithinBound(currentRow, currentColumn))
 		{
-			Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
-			
 			//The first piece that is found is the piece to jump over.
-			if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol) ||
-					currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+			if (board.isOccupied(currentRow, currentColumn))
 			{
 				currentRow += directionRow;
 				currentColumn += directionColumn;
@@ -113,18 +143,15 @@ public class HopCaptureMovement implements Movement,Serializable
 		//Find possible capture piece
 		while (board.rowColWithinBound(currentRow, currentColumn))
 		{
-			Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
-			
 			//The next piece is the piece that can be captured if it is an opponent piece.
-			if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol) ||
-					currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+			if (board.isOccupied(currentRow, currentColumn))
 			{
 				//If it is an opponent piece, it can be captured.
-				if (currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+				if (board.isEnemyPiece(currentRow, currentColumn, color))
 					result.get(currentRow).set(currentColumn, moveAndCaptureSymbol);
 				
 				//If it is an ally piece, it is an invalid move.
-				else if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol))
+				else if (board.isAllyPiece(currentRow, currentColumn, color))
 					result.get(currentRow).set(currentColumn, invalidMoveSymbol);
 				break;
 			}
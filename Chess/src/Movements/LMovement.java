@@ -1,5 +1,6 @@
 package Movements;
 
+import ChessGameClasses.BitBoard;
 import ChessGameClasses.Board;
 
 import java.io.Serializable;
@@ -73,6 +74,23 @@ public class LMovement implements Movement,Serializable
 		return result;
 	}
 	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		BitBoard targets = LeaperTables.getTargets(MovementRegistry.lIndex, color, BitBoard.toSquare(posRow, posCol));
+		MovementBuffer.markTargets(result, targets, board, color, moveSymbol, moveAndCaptureSymbol);
+	}
+	
 	/**
 	 * 
 	 * @param posRow - int, The current row that the chess piece is in.
@@ -85,27 +103,18 @@ public class LMovement implements Movement,Serializable
 	 */
 	public void checkPosition(int posRow, int posCol, String color, Board board, ArrayList<ArrayList<Character>> result, int rowShift, int columnShift)
 	{
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character allyKingSymbol = pieceSymbols.get(0);
-		Character allyPieceSymbol = pieceSymbols.get(1);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-		
 		int currentRow = posRow + rowShift;
 		int currentColumn = posCol + columnShift;
 		
 		//If the position is not out of range
 		if (board.rowColWithinBound(currentRow, currentColumn))
 		{
-			Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
-			
 			//If position is occupied by ally, can't move there.
-			if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol))
+			if (board.isAllyPiece(currentRow, currentColumn, color))
 				result.get(currentRow).set(currentColumn, invalidMoveSymbol);
 			
 			//If position is occupied by enemy, can move&capture.
-			else if (currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+			else if (board.isEnemyPiece(currentRow, currentColumn, color))
 				result.get(currentRow).set(currentColumn, moveAndCaptureSymbol); 
 			
 			//If position is empty, can move there
@@ -0,0 +1,101 @@
+package Movements;
+
+import ChessGameClasses.BitBoard;
+import ChessGameClasses.Board;
+
+/**
+ * The LeaperTables class holds the squares every leaper movement reaches from every square, built once when the class
+ * is loaded. A leaper movement (L, Square, Restricted Teleportation, Left Right Capture and Range Capture) goes to
+ * fixed offsets that no piece can block, so its targets only depend on its square and, for the captures that go
+ * forward, on its color. Calculating the movement is then a lookup masked against the occupancy of the board
+ * (see MovementBuffer.markTargets).
+ */
+public final class LeaperTables
+{
+	/**
+	 * Row and column offsets of the L movement
+	 */
+	private static final int[][] lOffsets = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+
+	/**
+	 * Row and column offsets of the Square movement
+	 */
+	private static final int[][] squareOffsets = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+	/**
+	 * Row and column offsets of the Restricted Teleportation movement, up to three squares in each direction
+	 */
+	private static final int[][] restrictedTeleportationOffsets = {{-1, 0}, {-2, 0}, {-3, 0}, {1, 0}, {2, 0}, {3, 0},
+			{0, -1}, {0, -2}, {0, -3}, {0, 1}, {0, 2}, {0, 3}};
+
+	/**
+	 * Row and column offsets of the Left Right Capture movement, for a piece going up the board
+	 */
+	private static final int[][] leftRightCaptureOffsets = {{-1, -1}, {-1, 1}};
+
+	/**
+	 * Row and column offsets of the Range Capture movement, for a piece going up the board
+	 */
+	private static final int[][] rangeCaptureOffsets = {{-2, -2}, {-2, 0}, {-2, 2}};
+
+	/**
+	 * Targets of each movement for each color (White 0, Black 1) on each square, indexed by MovementRegistry index.
+	 * Only the leaper movements have tables.
+	 */
+	private static final BitBoard[][][] targets = new BitBoard[MovementRegistry.movementNum][][];
+
+	static
+	{
+		targets[MovementRegistry.lIndex] = createTable(lOffsets, false);
+		targets[MovementRegistry.squareIndex] = createTable(squareOffsets, false);
+		targets[MovementRegistry.restrictedTeleportationIndex] = createTable(restrictedTeleportationOffsets, false);
+		targets[MovementRegistry.leftRightCaptureIndex] = createTable(leftRightCaptureOffsets, true);
+		targets[MovementRegistry.rangeCaptureIndex] = createTable(rangeCaptureOffsets, true);
+	}
+
+	/**
+	 * No instances, only static helpers.
+	 */
+	private LeaperTables() {}
+
+	/**
+	 * Method to build the targets of a movement from every square.
+	 * @param offsets - int[][], row and column offsets of the movement, for White.
+	 * @param forward - boolean, whether the rows of the offsets are flipped for Black, which starts from the top.
+	 * @return - BitBoard[][], targets for each color on each square.
+	 */
+	private static BitBoard[][] createTable(int[][] offsets, boolean forward)
+	{
+		BitBoard[][] table = new BitBoard[2][BitBoard.squareNum];
+		for (int color = 0; color < 2; color++)
+		{
+			int rowDirection = (forward && color == 1) ? -1 : 1;
+			for (int square = 0; square < BitBoard.squareNum; square++)
+			{
+				BitBoard squareTargets = new BitBoard();
+				for (int[] offset : offsets)
+				{
+					int row = BitBoard.toRow(square) + offset[0] * rowDirection;
+					int col = BitBoard.toCol(square) + offset[1];
+					if (row >= 0 && row < Board.rowNum && col >= 0 && col < Board.colNum)
+						squareTargets.set(BitBoard.toSquare(row, col));
+				}
+				table[color][square] = squareTargets;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Method to get the squares a leaper movement reaches from a square, whatever is on them. The set is shared, it
+	 * must not be changed.
+	 * @param movementIndex - int, MovementRegistry index of a leaper movement.
+	 * @param color - String, color of the piece.
+	 * @param square - int, square of the piece.
+	 * @return - BitBoard, the targets.
+	 */
+	public static BitBoard getTargets(int movementIndex, String color, int square)
+	{
+		return targets[movementIndex][color.equals("White") ? 0 : 1][square];
+	}
+}
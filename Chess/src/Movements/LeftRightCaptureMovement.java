@@ -1,5 +1,6 @@
 package Movements;
 
+import ChessGameClasses.BitBoard;
 import ChessGameClasses.Board;
 
 import java.io.Serializable;
@@ -70,6 +71,23 @@ public class LeftRightCaptureMovement implements Movement,Serializable
 		return result;
 	}
 	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		BitBoard targets = LeaperTables.getTargets(MovementRegistry.leftRightCaptureIndex, color, BitBoard.toSquare(posRow, posCol));
+		MovementBuffer.markTargets(result, targets, board, color, invalidMoveSymbol, moveAndCaptureSymbol);
+	}
+	
 	/**
 	 * 
 	 * @param color - String, The color of the current piece.
@@ -80,21 +98,14 @@ public class LeftRightCaptureMovement implements Movement,Serializable
 	 */
 	public void checkPosition(String color, Board board, ArrayList<ArrayList<Character>> result, int row, int column)
 	{
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-		
 		int currentRow = row;
 		int currentColumn = column;
 		
 		//If the position is not out of range
 		if (board.rowColWithinBound(currentRow, currentColumn))
 		{
-			Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
-			
 			//If position is occupied by enemy, it can capture. Otherwise it can't move nor capture there.
-			if (currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+			if (board.isEnemyPiece(currentRow, currentColumn, color))
 				result.get(currentRow).set(currentColumn, moveAndCaptureSymbol); 
 			else
 				result.get(currentRow).set(currentColumn, invalidMoveSymbol); 
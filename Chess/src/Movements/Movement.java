@@ -2,6 +2,7 @@ package Movements;
 
 import ChessGameClasses.Board;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Movements that chess pieces can have
@@ -75,6 +76,55 @@ public interface Movement
 	//posRow and posCol are the row and column that the chess piece is currently in.
 	public ArrayList<ArrayList<Character>> calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board);
 	
+	/**
+	 * Method to write the possible movements into a movement buffer of the caller instead of a new board, see
+	 * MovementBuffer. A symbol only replaces a symbol of lower precedence, so several movements can write into the same
+	 * buffer. The caller clears the buffer and marks the current position.
+	 * By default the board of calculateMovement is copied into the buffer. The movements of the game override this
+	 * so they don't create anything.
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	public default void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		ArrayList<ArrayList<Character>> movements = calculateMovement(posRow, posCol, color, hasMoved, board);
+		for (int row = 0; row < movements.size(); row++)
+			for (int column = 0; column < movements.get(row).size(); column++)
+				MovementBuffer.mark(result, row, column, movements.get(row).get(column));
+	}
+	
+	/**
+	 * Method to check whether a change on a square (a piece arriving, leaving or getting captured) can change the result
+	 * of calculateMovement. Used by the Board to only recalculate the pieces a move can affect.
+	 * By default a movement only looks at the squares within three rows and three columns of the piece.
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param row - int, The row of the changed square.
+	 * @param col - int, The column of the changed square.
+	 * @return - boolean, whether the movement can be changed.
+	 */
+	public default boolean dependsOnSquare(int posRow, int posCol, int row, int col)
+	{
+		final int range = 3;
+		return Math.abs(row - posRow) <= range && Math.abs(col - posCol) <= range;
+	}
+	
+	/**
+	 * Chess piece symbols of a white piece, in the order of getSymbols.
+	 */
+	public static final List<Character> whiteSymbols = List.of(Board.whiteKingPieceSymbol, Board.whitePieceSymbol,
+			Board.blackKingPieceSymbol, Board.blackPieceSymbol);
+	
+	/**
+	 * Chess piece symbols of a black piece, in the order of getSymbols.
+	 */
+	public static final List<Character> blackSymbols = List.of(Board.blackKingPieceSymbol, Board.blackPieceSymbol,
+			Board.whiteKingPieceSymbol, Board.whitePieceSymbol);
+	
 	//Chess Piece symbols for the position board will be stored in an ArrayList of four elements. 
 	//Index 0 holds the ally king symbol
 	//Index 1 holds the ally piece symbol
@@ -88,23 +138,20 @@ public interface Movement
 	 */
 	public default ArrayList<Character> getSymbols(String color)
 	{
-		ArrayList<Character> chessPieceSymbols = new ArrayList<Character>();
+		return new ArrayList<Character>(getSymbolTable(color));
+	}
+	
+	/**
+	 * Method to return the precomputed chess piece symbols of a color, without creating a new list.
+	 * @param color - String, The current color of the chess piece.
+	 * @return - List<Character>, Chess piece symbols. The list can't be changed.
+	 */
+	public static List<Character> getSymbolTable(String color)
+	{
 		//If color is white, white pieces are allies and black pieces are enemies.
 		if (color.equals("White"))
-		{
-			chessPieceSymbols.add(Board.whiteKingPieceSymbol);
-			chessPieceSymbols.add(Board.whitePieceSymbol);
-			chessPieceSymbols.add(Board.blackKingPieceSymbol);
-			chessPieceSymbols.add(Board.blackPieceSymbol);
-		}
+			return whiteSymbols;
 		//Else color is black, black pieces are allies and white pieces are enemies.
-		else 
-		{
-			chessPieceSymbols.add(Board.blackKingPieceSymbol);
-			chessPieceSymbols.add(Board.blackPieceSymbol);
-			chessPieceSymbols.add(Board.whiteKingPieceSymbol);
-			chessPieceSymbols.add(Board.whitePieceSymbol);
-		}
-		return chessPieceSymbols;
+		return blackSymbols;
 	}
 }
\ No newline at end of file
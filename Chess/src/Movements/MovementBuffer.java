@@ -0,0 +1,212 @@
+package Movements;
+
+import ChessGameClasses.BitBoard;
+import ChessGameClasses.Board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Helpers of the movement buffer, the allocation free way to calculate movements. A movement buffer is a byte[] with
+ * the MovementKind ordinal of every square, indexed by BitBoard.toSquare. The caller creates it once and reuses it, so
+ * calculating movements doesn't create a new board every time.
+ *
+ * When several movements write into the same buffer, the kind with the greatest ordinal stays on the square, so
+ * combining movements is a max over the bytes. It is the same precedence the Character movement boards have, and
+ * toGrid gives that board back for display.
+ */
+public final class MovementBuffer
+{
+	/**
+	 * Number of squares in a movement buffer
+	 */
+	public static final int bufferSize = BitBoard.squareNum;
+
+	/**
+	 * Symbol of every ordinal, indexed by ordinal
+	 */
+	private static final char[] symbols = new char[MovementKind.values().length];
+
+	static
+	{
+		for (MovementKind kind : MovementKind.values())
+			symbols[kind.ordinal()] = kind.getSymbol();
+	}
+
+	/**
+	 * No instances, only static helpers.
+	 */
+	private MovementBuffer() {}
+
+	/**
+	 * Method to create an empty movement buffer.
+	 * @return - byte[], buffer with INVALID on every square.
+	 */
+	public static byte[] create()
+	{
+		return new byte[bufferSize];
+	}
+
+	/**
+	 * Method to set every square of a movement buffer to INVALID.
+	 * @param buffer - byte[], the movement buffer.
+	 */
+	public static void clear(byte[] buffer)
+	{
+		Arrays.fill(buffer, (byte) MovementKind.INVALID.ordinal());
+	}
+
+	/**
+	 * Method to write a movement symbol on a square. The symbol only replaces a kind with a lower precedence.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @param symbol - char, movement symbol.
+	 */
+	public static void mark(byte[] buffer, int row, int col, char symbol)
+	{
+		int square = BitBoard.toSquare(row, col);
+		byte ordinal = MovementKind.toOrdinal(symbol);
+		if (ordinal > buffer[square])
+			buffer[square] = ordinal;
+	}
+
+	/**
+	 * Method to write a symbol on a square, whatever was there before. Used for the current position symbol and to
+	 * take back a move that results in check.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @param symbol - char, symbol to write.
+	 */
+	public static void set(byte[] buffer, int row, int col, char symbol)
+	{
+		buffer[BitBoard.toSquare(row, col)] = MovementKind.toOrdinal(symbol);
+	}
+
+	/**
+	 * Method to write the targets of a leaper movement (see LeaperTables), masked against the occupancy of the board.
+	 * Squares of an ally piece are skipped. Like mark, a symbol only replaces a kind with a lower precedence.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param targets - BitBoard, squares the movement reaches.
+	 * @param board - Board, the whole chess board.
+	 * @param color - String, color of the moving piece.
+	 * @param emptySymbol - char, symbol of an empty target, the invalid move symbol if the movement can't move there.
+	 * @param enemySymbol - char, symbol of a target with an enemy piece.
+	 */
+	public static void markTargets(byte[] buffer, BitBoard targets, Board board, String color, char emptySymbol, char enemySymbol)
+	{
+		BitBoard allyOccupancy = board.getOccupancy(color);
+		BitBoard allOccupancy = board.getAllOccupancy();
+		byte emptyOrdinal = MovementKind.toOrdinal(emptySymbol);
+		byte enemyOrdinal = MovementKind.toOrdinal(enemySymbol);
+
+		if (emptyOrdinal != MovementKind.INVALID.ordinal())
+		{
+			markSquares(buffer, targets.getLow() & ~allOccupancy.getLow(), 0, emptyOrdinal);
+			markSquares(buffer, targets.getHigh() & ~allOccupancy.getHigh(), BitBoard.lowBitNum, emptyOrdinal);
+		}
+		markSquares(buffer, targets.getLow() & allOccupancy.getLow() & ~allyOccupancy.getLow(), 0, enemyOrdinal);
+		markSquares(buffer, targets.getHigh() & allOccupancy.getHigh() & ~allyOccupancy.getHigh(), BitBoard.lowBitNum, enemyOrdinal);
+	}
+
+	/**
+	 * Method to write a kind on every square of one half of a bit board.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param bits - long, the low or high bits of the bit board.
+	 * @param firstSquare - int, square of bit 0.
+	 * @param ordinal - byte, MovementKind ordinal to write.
+	 */
+	private static void markSquares(byte[] buffer, long bits, int firstSquare, byte ordinal)
+	{
+		for (; bits != 0; bits &= bits - 1)
+			markSquare(buffer, firstSquare + Long.numberOfTrailingZeros(bits), ordinal);
+	}
+
+	/**
+	 * Method to write the squares a sliding movement reaches in one direction (see RayTables): the empty squares up to
+	 * the first piece, and that piece if it is an enemy. Like mark, a symbol only replaces a kind with a lower precedence.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param direction - int, RayTables direction.
+	 * @param square - int, square of the moving piece.
+	 * @param board - Board, the whole chess board.
+	 * @param color - String, color of the moving piece.
+	 * @param enemySymbol - char, symbol of an enemy piece that stops the ray, the invalid move symbol if it can't be captured.
+	 */
+	public static void markRay(byte[] buffer, int direction, int square, Board board, String color, char enemySymbol)
+	{
+		int blocker = RayTables.getFirstBlocker(direction, square, board.getAllOccupancy());
+		byte moveOrdinal = (byte) MovementKind.MOVE.ordinal();
+		for (int target : RayTables.getRaySquares(direction, square))
+		{
+			if (target == blocker)
+				break;
+			markSquare(buffer, target, moveOrdinal);
+		}
+		if (blocker != -1 && !board.getOccupancy(color).get(blocker))
+			markSquare(buffer, blocker, MovementKind.toOrdinal(enemySymbol));
+	}
+
+	/**
+	 * Method to write a kind on a square if it has a higher precedence than the kind already there.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param square - int, square number.
+	 * @param ordinal - byte, MovementKind ordinal to write.
+	 */
+	private static void markSquare(byte[] buffer, int square, byte ordinal)
+	{
+		if (ordinal > buffer[square])
+			buffer[square] = ordinal;
+	}
+
+	/**
+	 * Method to read the symbol on a square.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param row - int, board row.
+	 * @param col - int, board column.
+	 * @return - char, the symbol.
+	 */
+	public static char get(byte[] buffer, int row, int col)
+	{
+		return symbols[buffer[BitBoard.toSquare(row, col)]];
+	}
+
+	/**
+	 * Method to read the kind on a square.
+	 * @param buffer - byte[], the movement buffer.
+	 * @param square - int, square number.
+	 * @return - MovementKind, the kind.
+	 */
+	public static MovementKind getKind(byte[] buffer, int square)
+	{
+		return MovementKind.fromOrdinal(buffer[square]);
+	}
+
+	/**
+	 * Method to copy a movement buffer into a 2D grid of symbols, the form calculatePotentialMovements returns.
+	 * @param buffer - byte[], the movement buffer.
+	 * @return - ArrayList<ArrayList<Character>>, a new grid with the symbol of every square.
+	 */
+	public static ArrayList<ArrayList<Character>> toGrid(byte[] buffer)
+	{
+		ArrayList<ArrayList<Character>> grid = new ArrayList<ArrayList<Character>>();
+		for (int row = 0; row < Board.rowNum; row++)
+		{
+			ArrayList<Character> currentRow = new ArrayList<Character>();
+			for (int col = 0; col < Board.colNum; col++)
+				currentRow.add(get(buffer, row, col));
+			grid.add(currentRow);
+		}
+		return grid;
+	}
+
+	/**
+	 * Method to check whether the symbol on a square is a move the piece can make.
+	 * @param symbol - char, the symbol.
+	 * @return - boolean, false for the invalid move and current position symbols.
+	 */
+	public static boolean isMove(char symbol)
+	{
+		return MovementKind.toOrdinal(symbol) >= MovementKind.MOVE.ordinal();
+	}
+}
@@ -0,0 +1,115 @@
+package Movements;
+
+/**
+ * The kinds of squares on a movement board, in order of precedence from lowest to greatest. When two movements of a
+ * piece mark the same square, the kind with the greater ordinal stays, so movements are combined by taking the
+ * greatest ordinal. Movement buffers store the ordinal of each square, see MovementBuffer.
+ *
+ * Precedence Order from greatest to lowest
+ * Special Movements -> Normal Movements -> Invalid Movement
+ */
+public enum MovementKind
+{
+	/**
+	 * The piece can't go to the square.
+	 */
+	INVALID(Movement.invalidMoveSymbol),
+
+	/**
+	 * The square of the piece itself. Only written after the movements were combined.
+	 */
+	CURRENT_POSITION(Movement.currentPositionSymbol),
+
+	/**
+	 * The piece can move to the square.
+	 */
+	MOVE(Movement.moveSymbol),
+
+	/**
+	 * The piece can capture on the square without moving.
+	 */
+	CAPTURE(Movement.captureSymbol),
+
+	/**
+	 * The piece can move to the square and capture the piece on it.
+	 */
+	MOVE_AND_CAPTURE(Movement.moveAndCaptureSymbol),
+
+	/**
+	 * The Pawn can capture En Passant by moving to the square.
+	 */
+	EN_PASSANT(Movement.enPassantSymbol),
+
+	/**
+	 * The Pawn can move two units up to the square.
+	 */
+	TWO_UNITS_UP(Movement.twoUnitsUpSymbol),
+
+	/**
+	 * The King can castle with the Rook on the square.
+	 */
+	CASTLE(Movement.castleSymbol);
+
+	/**
+	 * All the kinds, indexed by ordinal
+	 */
+	private static final MovementKind[] kinds = values();
+
+	/**
+	 * Ordinal of the kind of every symbol, indexed by the symbol. Symbols that are not on a movement board are INVALID.
+	 */
+	private static final byte[] symbolOrdinals = new byte[128];
+
+	static
+	{
+		for (MovementKind kind : kinds)
+			symbolOrdinals[kind.symbol] = (byte) kind.ordinal();
+	}
+
+	/**
+	 * Symbol of the kind on the Character movement boards
+	 */
+	private final char symbol;
+
+	/**
+	 * Enum constructor.
+	 * @param symbol - Character, symbol of the kind.
+	 */
+	MovementKind(Character symbol)
+	{
+		this.symbol = symbol;
+	}
+
+	/**
+	 * Method to get the symbol of the kind.
+	 * @return - symbol - char.
+	 */
+	public char getSymbol() { return symbol; }
+
+	/**
+	 * Method to check whether the kind is a move the piece can make.
+	 * @return - boolean, false for INVALID and CURRENT_POSITION.
+	 */
+	public boolean isMove() { return ordinal() >= MOVE.ordinal(); }
+
+	/**
+	 * Method to get the kind of a symbol.
+	 * @param symbol - char, movement symbol.
+	 * @return - MovementKind, the kind, INVALID if the symbol is not on a movement board.
+	 */
+	public static MovementKind fromSymbol(char symbol) { return kinds[toOrdinal(symbol)]; }
+
+	/**
+	 * Method to get a kind from its ordinal.
+	 * @param ordinal - int, the ordinal.
+	 * @return - MovementKind, the kind.
+	 */
+	public static MovementKind fromOrdinal(int ordinal) { return kinds[ordinal]; }
+
+	/**
+	 * Method to get the ordinal of the kind of a symbol, the value stored in a movement buffer.
+	 * @param symbol - char, movement symbol.
+	 * @return - byte, the ordinal, 0 (INVALID) if the symbol is not on a movement board.
+	 */
+	public static byte toOrdinal(char symbol) { return symbol < symbolOrdinals.length ? symbolOrdinals[symbol] : 0; }
+}
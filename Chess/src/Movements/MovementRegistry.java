@@ -0,0 +1,154 @@
+package Movements;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MovementRegistry holds the one shared instance of every movement. Movements keep no state, so every piece can
+ * use the same instances. Each movement has an index, and the movements of a piece are stored as a bit set with one
+ * bit for each index (see ChessPiece.getMovementBits).
+ */
+public final class MovementRegistry
+{
+	/**
+	 * Index of AdvanceMovement
+	 */
+	public static final int advanceIndex = 0;
+
+	/**
+	 * Index of CastleMovement
+	 */
+	public static final int castleIndex = 1;
+
+	/**
+	 * Index of DiagonalMovement
+	 */
+	public static final int diagonalIndex = 2;
+
+	/**
+	 * Index of EnPassantMovement
+	 */
+	public static final int enPassantIndex = 3;
+
+	/**
+	 * Index of HopCaptureMovement
+	 */
+	public static final int hopCaptureIndex = 4;
+
+	/**
+	 * Index of LeftRightCaptureMovement
+	 */
+	public static final int leftRightCaptureIndex = 5;
+
+	/**
+	 * Index of LMovement
+	 */
+	public static final int lIndex = 6;
+
+	/**
+	 * Index of OrthogonalMovement
+	 */
+	public static final int orthogonalIndex = 7;
+
+	/**
+	 * Index of OrthogonalNonCaptureMovement
+	 */
+	public static final int orthogonalNonCaptureIndex = 8;
+
+	/**
+	 * Index of RangeCaptureMovement
+	 */
+	public static final int rangeCaptureIndex = 9;
+
+	/**
+	 * Index of RestrictedTeleportationMovement
+	 */
+	public static final int restrictedTeleportationIndex = 10;
+
+	/**
+	 * Index of SquareMovement
+	 */
+	public static final int squareIndex = 11;
+
+	/**
+	 * Index of TeleportationMovement
+	 */
+	public static final int teleportationIndex = 12;
+
+	/**
+	 * Index of TwoUnitsUpMovement
+	 */
+	public static final int twoUnitsUpIndex = 13;
+
+	/**
+	 * Number of movements
+	 */
+	public static final int movementNum = 14;
+
+	/**
+	 * The shared movements, indexed by movement index
+	 */
+	private static final Movement[] movements = {new AdvanceMovement(), new CastleMovement(), new DiagonalMovement(),
+			new EnPassantMovement(), new HopCaptureMovement(), new LeftRightCaptureMovement(), new LMovement(),
+			new OrthogonalMovement(), new OrthogonalNonCaptureMovement(), new RangeCaptureMovement(),
+			new RestrictedTeleportationMovement(), new SquareMovement(), new TeleportationMovement(),
+			new TwoUnitsUpMovement()};
+
+	/**
+	 * Lists of the movements of every bit set, created the first time a bit set is asked for
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static final List<Movement>[] movementLists = new List[1 << movementNum];
+
+	/**
+	 * No instances, only static helpers.
+	 */
+	private MovementRegistry() {}
+
+	/**
+	 * Method to get the shared instance of a movement.
+	 * @param movementIndex - int, index of the movement.
+	 * @return - Movement, the movement.
+	 */
+	public static Movement get(int movementIndex) { return movements[movementIndex]; }
+
+	/**
+	 * Method to get the index of a movement. Works for any instance of a movement class, not only the shared one.
+	 * @param movement - Movement, the movement.
+	 * @return - int, index of the movement, -1 if it is not in the registry.
+	 */
+	public static int getIndex(Movement movement)
+	{
+		for (int movementIndex = 0; movementIndex < movementNum; movementIndex++)
+			if (movements[movementIndex].getClass() == movement.getClass())
+				return movementIndex;
+		return -1;
+	}
+
+	/**
+	 * Method to get the bit of a movement in a bit set.
+	 * @param movementIndex - int, index of the movement.
+	 * @return - int, bit set with only the movement.
+	 */
+	public static int bit(int movementIndex) { return 1 << movementIndex; }
+
+	/**
+	 * Method to get the movements of a bit set, in index order. The list is shared, it can't be changed.
+	 * @param movementBits - int, bit set of movements.
+	 * @return - List<Movement>, the movements.
+	 */
+	public static List<Movement> getMovements(int movementBits)
+	{
+		List<Movement> movementList = movementLists[movementBits];
+		if (movementList == null)
+		{
+			ArrayList<Movement> list = new ArrayList<Movement>();
+			for (int bits = movementBits; bits != 0; bits &= bits - 1)
+				list.add(movements[Integer.numberOfTrailingZeros(bits)]);
+			//Immutable lists are safe to share between search threads.
+			movementList = List.copyOf(list);
+			movementLists[movementBits] = movementList;
+		}
+		return movementList;
+	}
+}
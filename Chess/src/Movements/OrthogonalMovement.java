@@ -1,5 +1,6 @@
 package Movements;
 
+import ChessGameClasses.BitBoard;
 import ChessGameClasses.Board;
 
 import java.io.Serializable;
@@ -33,6 +34,21 @@ public class OrthogonalMovement implements Movement,Serializable
 	@Override
 	public int getMovementCost() { return movementCost; }
 	
+	/**
+	 * Method to check whether a change on a square can change the possible movements.
+	 * The movement slides along the row and column, so only squares on the same row or column matter.
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param row - int, The row of the changed square.
+	 * @param col - int, The column of the changed square.
+	 * @return - boolean, whether the movement can be changed.
+	 */
+	@Override
+	public boolean dependsOnSquare(int posRow, int posCol, int row, int col)
+	{
+		return row == posRow || col == posCol;
+	}
+	
 	/**
 	 * Method that return the possible movements of the chess piece.
 	 * 
@@ -72,6 +88,24 @@ public class OrthogonalMovement implements Movement,Serializable
 		return result;
 	}
 	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		int square = BitBoard.toSquare(posRow, posCol);
+		for (int direction = 0; direction < RayTables.orthogonalDirectionNum; direction++)
+			MovementBuffer.markRay(result, direction, square, board, color, moveAndCaptureSymbol);
+	}
+	
 	/**
 	 * 
 	 * @param posRow - int, The current row that the chess piece is in.
@@ -84,13 +118,6 @@ public class OrthogonalMovement implements Movement,Serializable
 	 */
 	public void moveInDirection(int posRow, int posCol, String color, Board board, ArrayList<ArrayList<Character>> result, int directionRow, int directionColumn)
 	{
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character allyKingSymbol = pieceSymbols.get(0);
-		Character allyPieceSymbol = pieceSymbols.get(1);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-		
 		//Move in specified direction
 		int currentRow = posRow + directionRow;
 		int currentColumn = posCol + directionColumn;
@@ -98,16 +125,15 @@ public class OrthogonalMovement implements Movement,Serializable
 		//If the position is not out of range
 		while (board.rowColWithinBound(currentRow, currentColumn))
 		{
-			Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
 			//If position is occupied by ally, can't move there and is blocked from moving further
-			if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol))
+			if (board.isAllyPiece(currentRow, currentColumn, color))
 			{
 				result.get(currentRow).set(currentColumn, invalidMoveSymbol);
 				break;
 			}
 			
 			//If position is occupied by enemy, can move&capture and is blocked from moving further
-			else if (currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+			else if (board.isEnemyPiece(currentRow, currentColumn, color))
 			{
 				result.get(currentRow).set(currentColumn, moveAndCaptureSymbol); 
 				break;
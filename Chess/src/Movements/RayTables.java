@@ -0,0 +1,240 @@
+package Movements;
+
+import ChessGameClasses.BitBoard;
+import ChessGameClasses.Board;
+
+import java.util.Arrays;
+
+/**
+ * The RayTables class holds the lines of the 10x9 board, built once when the class is loaded: the ray out of every
+ * square in each of the eight directions, and for every pair of squares on a shared row, column or diagonal the
+ * direction from one to the other, the squares between them and the whole line through them.
+ *
+ * Sliding movements find the first piece on a ray with getFirstBlocker instead of walking it one square at a time,
+ * and a hop capture finds the piece behind the screen with getSecondBlocker. The between sets tell whether a line
+ * piece attacks a square and which pieces stand in the way, which is what pins and checks are made of.
+ */
+public final class RayTables
+{
+	/**
+	 * Number of directions: up, down, left and right, then the four diagonals
+	 */
+	public static final int directionNum = 8;
+
+	/**
+	 * Number of orthogonal directions, they come before the diagonal ones
+	 */
+	public static final int orthogonalDirectionNum = 4;
+
+	/**
+	 * Row step of each direction
+	 */
+	private static final int[] rowDirections = {-1, 1, 0, 0, -1, -1, 1, 1};
+
+	/**
+	 * Column step of each direction
+	 */
+	private static final int[] colDirections = {0, 0, -1, 1, -1, 1, -1, 1};
+
+	/**
+	 * Direction that goes the other way of each direction
+	 */
+	private static final int[] oppositeDirections = {1, 0, 3, 2, 7, 6, 5, 4};
+
+	/**
+	 * Squares of the ray in each direction out of each square, the square itself left out
+	 */
+	private static final BitBoard[][] rays = new BitBoard[directionNum][BitBoard.squareNum];
+
+	/**
+	 * Squares of the ray in each direction out of each square, nearest first
+	 */
+	private static final int[][][] raySquares = new int[directionNum][BitBoard.squareNum][];
+
+	/**
+	 * Direction from each square to each other square, -1 if they don't share a line
+	 */
+	private static final byte[][] directions = new byte[BitBoard.squareNum][BitBoard.squareNum];
+
+	/**
+	 * Squares strictly between each pair of squares on a shared line
+	 */
+	private static final BitBoard[][] between = new BitBoard[BitBoard.squareNum][BitBoard.squareNum];
+
+	/**
+	 * Whole line through each pair of squares on a shared line, from edge to edge
+	 */
+	private static final BitBoard[][] lines = new BitBoard[BitBoard.squareNum][BitBoard.squareNum];
+
+	/**
+	 * Shared set for squares that don't share a line
+	 */
+	private static final BitBoard emptySet = new BitBoard();
+
+	static
+	{
+		for (int direction = 0; direction < directionNum; direction++)
+		{
+			for (int square = 0; square < BitBoard.squareNum; square++)
+			{
+				BitBoard ray = new BitBoard();
+				int length = 0;
+				int[] squares = new int[Math.max(Board.rowNum, Board.colNum)];
+				int row = BitBoard.toRow(square) + rowDirections[direction];
+				int col = BitBoard.toCol(square) + colDirections[direction];
+				while (row >= 0 && row < Board.rowNum && col >= 0 && col < Board.colNum)
+				{
+					ray.set(BitBoard.toSquare(row, col));
+					squares[length++] = BitBoard.toSquare(row, col);
+					row += rowDirections[direction];
+					col += colDirections[direction];
+				}
+				rays[direction][square] = ray;
+				raySquares[direction][square] = Arrays.copyOf(squares, length);
+			}
+		}
+
+		for (int from = 0; from < BitBoard.squareNum; from++)
+		{
+			for (int to = 0; to < BitBoard.squareNum; to++)
+			{
+				directions[from][to] = -1;
+				between[from][to] = emptySet;
+				lines[from][to] = emptySet;
+			}
+			for (int direction = 0; direction < directionNum; direction++)
+			{
+				BitBoard line = new BitBoard(rays[direction][from]);
+				line.or(rays[getOppositeDirection(direction)][from]);
+				line.set(from);
+				BitBoard betweenSet = new BitBoard();
+				for (int to : raySquares[direction][from])
+				{
+					directions[from][to] = (byte) direction;
+					between[from][to] = new BitBoard(betweenSet);
+					lines[from][to] = line;
+					betweenSet.set(to);
+				}
+			}
+		}
+	}
+
+	/**
+	 * No instances, only static helpers.
+	 */
+	private RayTables() {}
+
+	/**
+	 * Method to get the row step of a direction.
+	 * @param direction - int, the direction.
+	 * @return - int, -1, 0 or 1.
+	 */
+	public static int getRowDirection(int direction) { return rowDirections[direction]; }
+
+	/**
+	 * Method to get the column step of a direction.
+	 * @param direction - int, the direction.
+	 * @return - int, -1, 0 or 1.
+	 */
+	public static int getColDirection(int direction) { return colDirections[direction]; }
+
+	/**
+	 * Method to get the direction that goes the other way.
+	 * @param direction - int, the direction.
+	 * @return - int, the opposite direction.
+	 */
+	public static int getOppositeDirection(int direction) { return oppositeDirections[direction]; }
+
+	/**
+	 * Method to check if a direction is diagonal.
+	 * @param direction - int, the direction.
+	 * @return - boolean, whether the direction is one of the four diagonals.
+	 */
+	public static boolean isDiagonal(int direction) { return direction >= orthogonalDirectionNum; }
+
+	/**
+	 * Method to get the squares of a ray, the square it starts from left out. The set is shared, it must not be changed.
+	 * @param direction - int, direction of the ray.
+	 * @param square - int, square the ray starts from.
+	 * @return - BitBoard, the ray.
+	 */
+	public static BitBoard getRay(int direction, int square) { return rays[direction][square]; }
+
+	/**
+	 * Method to get the squares of a ray, nearest first. The array is shared, it must not be changed.
+	 * @param direction - int, direction of the ray.
+	 * @param square - int, square the ray starts from.
+	 * @return - int[], square numbers.
+	 */
+	public static int[] getRaySquares(int direction, int square) { return raySquares[direction][square]; }
+
+	/**
+	 * Method to get the direction from a square to another.
+	 * @param from - int, square number.
+	 * @param to - int, square number.
+	 * @return - int, the direction, -1 if the squares don't share a row, column or diagonal.
+	 */
+	public static int getDirection(int from, int to) { return directions[from][to]; }
+
+	/**
+	 * Method to get the squares strictly between two squares. The set is shared, it must not be changed.
+	 * @param from - int, square number.
+	 * @param to - int, square number.
+	 * @return - BitBoard, squares between, empty if the squares don't share a line.
+	 */
+	public static BitBoard getBetween(int from, int to) { return between[from][to]; }
+
+	/**
+	 * Method to get the whole line through two squares, from edge to edge. The set is shared, it must not be changed.
+	 * @param from - int, square number.
+	 * @param to - int, square number.
+	 * @return - BitBoard, the line, empty if the squares don't share a line.
+	 */
+	public static BitBoard getLine(int from, int to) { return lines[from][to]; }
+
+	/**
+	 * Method to find the nearest occupied square of a ray.
+	 * @param direction - int, direction of the ray.
+	 * @param square - int, square the ray starts from.
+	 * @param occupancy - BitBoard, occupied squares.
+	 * @return - int, the nearest occupied square, -1 if the ray is empty.
+	 */
+	public static int getFirstBlocker(int direction, int square, BitBoard occupancy)
+	{
+		BitBoard ray = rays[direction][square];
+		long low = ray.getLow() & occupancy.getLow();
+		long high = ray.getHigh() & occupancy.getHigh();
+
+		//Square numbers get smaller going up or left, so there the nearest blocker is the highest square.
+		if (rowDirections[direction] < 0 || (rowDirections[direction] == 0 && colDirections[direction] < 0))
+		{
+			if (high != 0)
+				return BitBoard.lowBitNum + Long.SIZE - 1 - Long.numberOfLeadingZeros(high);
+			if (low != 0)
+				return Long.SIZE - 1 - Long.numberOfLeadingZeros(low);
+		}
+		else
+		{
+			if (low != 0)
+				return Long.numberOfTrailingZeros(low);
+			if (high != 0)
+				return BitBoard.lowBitNum + Long.numberOfTrailingZeros(high);
+		}
+		return -1;
+	}
+
+	/**
+	 * Method to find the second occupied square of a ray, the piece a hop lands on.
+	 * @param direction - int, direction of the ray.
+	 * @param square - int, square the ray starts from.
+	 * @param occupancy - BitBoard, occupied squares.
+	 * @return - int, the second occupied square, -1 if the ray has fewer than two pieces.
+	 */
+	public static int getSecondBlocker(int direction, int square, BitBoard occupancy)
+	{
+		int firstBlocker = getFirstBlocker(direction, square, occupancy);
+		if (firstBlocker == -1)
+			return -1;
+		return getFirstBlocker(direction, firstBlocker, occupancy);
+	}
+}
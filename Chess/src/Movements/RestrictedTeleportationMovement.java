@@ -1,5 +1,6 @@
 package Movements;
 
+import ChessGameClasses.BitBoard;
 import ChessGameClasses.Board;
 
 import java.io.Serializable;
@@ -72,6 +73,23 @@ public class RestrictedTeleportationMovement implements Movement,Serializable
 		return result;
 	}
 	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		BitBoard targets = LeaperTables.getTargets(MovementRegistry.restrictedTeleportationIndex, color, BitBoard.toSquare(posRow, posCol));
+		MovementBuffer.markTargets(result, targets, board, color, moveSymbol, moveAndCaptureSymbol);
+	}
+	
 	/**
 	 * 
 	 * @param posRow - int, The row index of the position of the current chess piece on the board.
@@ -84,13 +102,6 @@ public class RestrictedTeleportationMovement implements Movement,Serializable
 	 */
 	public void restrictedTeleportInDirection(int posRow, int posCol, String color, Board board, ArrayList<ArrayList<Character>> result, int directionRow, int directionColumn)
 	{
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character allyKingSymbol = pieceSymbols.get(0);
-		Character allyPieceSymbol = pieceSymbols.get(1);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-		
 		final int restriction = 3;
 		
 		//Move in specified direction
@@ -102,14 +113,12 @@ public class RestrictedTeleportationMovement implements Movement,Serializable
 			//If position is within board range
 			if (board.rowColWithinBound(currentRow, currentColumn))
 			{
-				Character currentCharacter = board.getPositionBoard().get(currentRow).get(currentColumn);
-				
 				//If position is occupied by ally, can't move there
-				if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol))
+				if (board.isAllyPiece(currentRow, currentColumn, color))
 					result.get(currentRow).set(currentColumn, invalidMoveSymbol);
 				
 				//If position is occupied by enemy, can move&capture
-				else if (currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+				else if (board.isEnemyPiece(currentRow, currentColumn, color))
 					result.get(currentRow).set(currentColumn, moveAndCaptureSymbol); 
 				
 				//If position is empty, can move there
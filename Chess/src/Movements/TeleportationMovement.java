@@ -33,6 +33,21 @@ public class TeleportationMovement implements Movement,Serializable
 	@Override
 	public int getMovementCost() { return movementCost; }
 	
+	/**
+	 * Method to check whether a change on a square can change the possible movements.
+	 * The movement can reach any empty square, so every square matters.
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param row - int, The row of the changed square.
+	 * @param col - int, The column of the changed square.
+	 * @return - boolean, whether the movement can be changed.
+	 */
+	@Override
+	public boolean dependsOnSquare(int posRow, int posCol, int row, int col)
+	{
+		return true;
+	}
+	
 	
 	/**
 	 * A method to return the possible movements of a chess piece.
@@ -52,23 +67,13 @@ public class TeleportationMovement implements Movement,Serializable
 		//Create an empty ArrayList<ArrayList<Character>> to store the possible moves
 		ArrayList<ArrayList<Character>> result = Board.createAnEmpty2DCharacterArrayList();
 			
-		//Determine the ally and enemy symbols depending on the color
-		ArrayList<Character> pieceSymbols = getSymbols(color);
-		Character allyKingSymbol = pieceSymbols.get(0);
-		Character allyPieceSymbol = pieceSymbols.get(1);
-		Character enemyKingSymbol = pieceSymbols.get(2);
-		Character enemyPieceSymbol = pieceSymbols.get(3);
-			
 		//Logic
 		for (int row = 0; row < board.getPositionBoard().size(); row++)
 		{
 			for (int column = 0; column < board.getPositionBoard().get(row).size(); column++)
 			{
-				Character currentCharacter = board.getPositionBoard().get(row).get(column);
-				
 				//If position is occupied by ally or by enemy, can't move there
-				if (currentCharacter.equals(allyKingSymbol) || currentCharacter.equals(allyPieceSymbol) ||
-						currentCharacter.equals(enemyKingSymbol) || currentCharacter.equals(enemyPieceSymbol))
+				if (board.isOccupied(row, column))
 					result.get(row).set(column, invalidMoveSymbol);
 				
 				//If position is empty, can move there
@@ -81,4 +86,24 @@ public class TeleportationMovement implements Movement,Serializable
 		result.get(posRow).set(posCol, currentPositionSymbol); 
 		return result;
 	}
+	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+	{
+		//If position is empty, can move there
+		for (int row = 0; row < Board.rowNum; row++)
+			for (int column = 0; column < Board.colNum; column++)
+				if (!board.isOccupied(row, column))
+					MovementBuffer.mark(result, row, column, moveSymbol);
+	}
 }
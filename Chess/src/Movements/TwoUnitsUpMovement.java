@@ -70,14 +70,13 @@ public class TwoUnitsUpMovement implements Movement,Serializable
         {
 	        	
 	        row = posRow + direction;
-	        Character pathCharacter = board.getPositionBoard().get(row).get(col);
+	        boolean pathOccupied = board.isOccupied(row, col);
 	        
 	        row += direction;
-	        Character destinationCharacter = board.getPositionBoard().get(row).get(col);
+	        boolean destinationOccupied = board.isOccupied(row, col);
 	        
 	        //If path and destination are not occupied, then this Movement can be made.
-	        if (pathCharacter.equals(Movement.invalidMoveSymbol) &&
-	        		destinationCharacter.equals(Movement.invalidMoveSymbol))
+	        if (!pathOccupied && !destinationOccupied)
 	        {
 	            result.get(row).set(col, Movement.twoUnitsUpSymbol);
 	        }
@@ -85,4 +84,37 @@ public class TwoUnitsUpMovement implements Movement,Serializable
 
         return result;
     }
+	
+	/**
+	 * Method that writes the possible movements of the chess piece into a movement buffer.
+	 * 
+	 * @param posRow - int, The current row that the chess piece is in.
+	 * @param posCol - int, The current column that the chess piece is in.
+	 * @param color - String, The current color of the chess piece.
+	 * @param hasMoved - boolean, A boolean indicating whether the chess piece has moved.
+	 * @param board - Board, The whole chess board.
+	 * @param result - byte[], The movement buffer that will store the result.
+	 */
+	@Override
+	public void calculateMovement(int posRow, int posCol, String color, boolean hasMoved, Board board, byte[] result)
+    {
+        if(hasMoved)
+        {
+            return;
+        }
+
+        int direction;
+        if(color.compareTo("White") == 0)
+            direction = -1;
+        else
+            direction = 1;
+
+        //If path and destination are within bound and not occupied, then this Movement can be made.
+        int row = posRow + direction + direction;
+        if (board.rowColWithinBound(posRow + direction, posCol) && board.rowColWithinBound(row, posCol) &&
+                !board.isOccupied(posRow + direction, posCol) && !board.isOccupied(row, posCol))
+        {
+            MovementBuffer.mark(result, row, posCol, Movement.twoUnitsUpSymbol);
+        }
+    }
 }
@@ -0,0 +1,320 @@
+package Players;
+
+import ChessGameClasses.BitBoard;
+import ChessGameClasses.Board;
+import ChessGameClasses.Move;
+import ChessPieces.*;
+import Engine.ParallelSearch;
+import Engine.ReplacementPolicy;
+import Engine.Search;
+import Engine.TranspositionTable;
+import Items.Item;
+
+import java.util.ArrayList;
+
+/**
+ * Engine Player extends Player and it calculates its input with a search instead of taking it.
+ * A move takes two inputs, the same as for a human: the first selects the piece, the second moves it.
+ *
+ * A parallel search holds a pool of threads and, unless one was given, a transposition table off the heap. They stay
+ * until the engine is closed, so whoever creates an engine must close it. The game setup still creates two
+ * HumanPlayers and neither the GUI nor the server has a mode that asks a Player for its input, so nothing in the game
+ * creates an engine yet; the engine benchmarks run Search and ParallelSearch directly.
+ */
+public class EnginePlayer extends Player implements AutoCloseable
+{
+	/**
+	 * Default time the engine can think about a move, in milliseconds.
+	 */
+	public static final long defaultTimeLimitMillis = 1000;
+
+	/**
+	 * Size of the transposition table created for a parallel search, in MB.
+	 */
+	public static final int defaultTranspositionTableSizeInMB = 64;
+
+	/**
+	 * Time the engine can think about a move, in milliseconds. 0 for no limit.
+	 */
+	private long timeLimitMillis;
+
+	/**
+	 * Number of nodes the engine can search for a move. 0 for no limit.
+	 */
+	private long nodeLimit;
+
+	/**
+	 * Deepest iteration the engine searches.
+	 */
+	private int maxDepth;
+
+	/**
+	 * Transposition table used by the search, or null for none.
+	 */
+	private TranspositionTable transpositionTable;
+
+	/**
+	 * Whether the engine created the transposition table for a parallel search, and closes it.
+	 */
+	private boolean ownsTranspositionTable;
+
+	/**
+	 * Number of threads the engine searches with.
+	 */
+	private int threadNum;
+
+	/**
+	 * Lazy-SMP search used when there is more than one thread. Created on the first parallel search.
+	 */
+	private ParallelSearch parallelSearch;
+
+	/**
+	 * The chess piece the engine selected and plans to move with its next input.
+	 */
+	private ChessPiece plannedChessPiece;
+
+	/**
+	 * The row the planned chess piece moves to.
+	 */
+	private int plannedRow;
+
+	/**
+	 * The column the planned chess piece moves to.
+	 */
+	private int plannedCol;
+
+	/**
+	 * The key of the board the plan was made for.
+	 */
+	private long plannedZobristKey;
+
+	/**
+	 * The last search, kept for its statistics.
+	 */
+	private Search lastSearch;
+
+	/**
+	 * Three parameter constructor of EnginePlayer.
+	 * The engine thinks for defaultTimeLimitMillis with no node limit or transposition table.
+	 *
+	 * @param chessPieces ArrayList of Chess Pieces that the Player owns.
+	 * @param color The team color of the Player.
+	 * @param money The initial amount of money that the Player gets.
+	 */
+	public EnginePlayer(ArrayList<ChessPiece> chessPieces, String color, int money)
+	{
+		this(chessPieces, color, money, defaultTimeLimitMillis, 0, Search.maxPly, null);
+	}
+
+	/**
+	 * Seven parameter constructor of EnginePlayer.
+	 *
+	 * @param chessPieces ArrayList of Chess Pieces that the Player owns.
+	 * @param color The team color of the Player.
+	 * @param money The initial amount of money that the Player gets.
+	 * @param timeLimitMillis Time the engine can think about a move, in milliseconds. 0 for no limit.
+	 * @param nodeLimit Number of nodes the engine can search for a move. 0 for no limit.
+	 * @param maxDepth Deepest iteration the engine searches.
+	 * @param transpositionTable Transposition table used by the search, or null for none.
+	 */
+	public EnginePlayer(ArrayList<ChessPiece> chessPieces, String color, int money, long timeLimitMillis, long nodeLimit,
+			int maxDepth, TranspositionTable transpositionTable)
+	{
+		super(chessPieces, color, money);
+		this.timeLimitMillis = timeLimitMillis;
+		this.nodeLimit = nodeLimit;
+		this.maxDepth = maxDepth;
+		this.transpositionTable = transpositionTable;
+		this.threadNum = 1;
+		this.plannedChessPiece = null;
+	}
+
+	@Override
+	/**
+	 * Calculate the input for decision. The first call of a turn searches for a move and selects its piece,
+	 * the next call moves the selected piece.
+	 */
+	public ArrayList<Integer> getInputTextBasedVersion(ChessPiece selectedChessPiece, Board board, ArrayList<Item> items)
+	{
+		ArrayList<Integer> input = new ArrayList<Integer>();
+
+		//The planned piece is selected and the position hasn't changed. Move it.
+		if (plannedChessPiece != null && selectedChessPiece == plannedChessPiece && board.getZobristKey() == plannedZobristKey)
+		{
+			input.add(plannedRow);
+			input.add(plannedCol);
+			plannedChessPiece = null;
+			return input;
+		}
+
+		//Search for a move and select its piece.
+		int move = chooseMove(board, items);
+		if (move == 0)
+		{
+			//No legal moves, the game is over. Click on the King, which only selects it.
+			plannedChessPiece = null;
+			int kingSquare = board.getKingSquare(getColor());
+			input.add(kingSquare == -1 ? 0 : BitBoard.toRow(kingSquare));
+			input.add(kingSquare == -1 ? 0 : BitBoard.toCol(kingSquare));
+			return input;
+		}
+
+		//Buying an item takes one input.
+		if (Move.getKind(move) == Move.itemKind)
+		{
+			plannedChessPiece = null;
+			return toInput(move);
+		}
+
+		plannedChessPiece = board.getChessPieceOnSquare(Move.getFromSquare(move));
+		plannedRow = Move.getToRow(move);
+		plannedCol = Move.getToCol(move);
+		plannedZobristKey = board.getZobristKey();
+
+		input.add(plannedChessPiece.getPosRow());
+		input.add(plannedChessPiece.getPosCol());
+		return input;
+	}
+
+	@Override
+	/**
+	 * Calculate the input for promotion. The engine always promotes to a Queen.
+	 */
+	public ArrayList<Integer> getPromotionInputTextBasedVersion()
+	{
+		ArrayList<Integer> input = new ArrayList<Integer>();
+		input.add(-3);
+		input.add(0); //Queen
+		return input;
+	}
+
+	/**
+	 * Search the board for the best move of the Player.
+	 *
+	 * @param board The game board.
+	 * @param items The list of items that the Player can buy, or null to only search moves.
+	 * @return The move found by the search packed as in Move, 0 if there are no legal moves.
+	 */
+	public int chooseMove(Board board, ArrayList<Item> items)
+	{
+		if (threadNum > 1)
+		{
+			//The threads of a Lazy-SMP search work together through a shared transposition table.
+			if (transpositionTable == null)
+			{
+				transpositionTable = new TranspositionTable(defaultTranspositionTableSizeInMB, ReplacementPolicy.AGED_DEPTH_PREFERRED);
+				ownsTranspositionTable = true;
+			}
+			if (parallelSearch == null)
+				parallelSearch = new ParallelSearch(threadNum, transpositionTable);
+			int move = parallelSearch.search(board, getColor(), maxDepth, timeLimitMillis, nodeLimit, items, getMoney());
+			lastSearch = parallelSearch.getMainSearch();
+			return move;
+		}
+
+		if (transpositionTable != null)
+			transpositionTable.newSearch();
+		lastSearch = new Search(board, transpositionTable);
+		lastSearch.getBoard().setSideToMove(getColor());
+		lastSearch.setItems(items, getMoney());
+		return lastSearch.search(maxDepth, timeLimitMillis, nodeLimit);
+	}
+
+	/**
+	 * Get the last search, which holds the depth, score, node count and speed of the last move.
+	 *
+	 * @return The last search, or null if the engine hasn't searched yet.
+	 */
+	public Search getLastSearch() { return lastSearch; }
+
+	/**
+	 * Get the time the engine can think about a move.
+	 *
+	 * @return Time limit in milliseconds. 0 for no limit.
+	 */
+	public long getTimeLimitMillis() { return timeLimitMillis; }
+
+	/**
+	 * Get the number of nodes the engine can search for a move.
+	 *
+	 * @return Node limit. 0 for no limit.
+	 */
+	public long getNodeLimit() { return nodeLimit; }
+
+	/**
+	 * Get the deepest iteration the engine searches.
+	 *
+	 * @return The maximum depth.
+	 */
+	public int getMaxDepth() { return maxDepth; }
+
+	/**
+	 * Get the number of threads the engine searches with.
+	 *
+	 * @return The number of threads.
+	 */
+	public int getThreadNum() { return threadNum; }
+
+	/**
+	 * Set the number of threads the engine searches with. More than one thread runs a Lazy-SMP search.
+	 * The threads of the previous parallel search are stopped.
+	 *
+	 * @param threadNum The number of threads, at least one.
+	 */
+	public void setThreadNum(int threadNum)
+	{
+		threadNum = Math.max(1, threadNum);
+		if (threadNum != this.threadNum)
+			closeParallelSearch();
+		this.threadNum = threadNum;
+	}
+
+	/**
+	 * Set the time the engine can think about a move.
+	 *
+	 * @param timeLimitMillis Time limit in milliseconds. 0 for no limit.
+	 */
+	public void setTimeLimitMillis(long timeLimitMillis) { this.timeLimitMillis = timeLimitMillis; }
+
+	/**
+	 * Set the number of nodes the engine can search for a move.
+	 *
+	 * @param nodeLimit Node limit. 0 for no limit.
+	 */
+	public void setNodeLimit(long nodeLimit) { this.nodeLimit = nodeLimit; }
+
+	/**
+	 * Set the deepest iteration the engine searches.
+	 *
+	 * @param maxDepth The maximum depth.
+	 */
+	public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+
+	/**
+	 * Stop the threads of the parallel search, if there is one.
+	 */
+	private void closeParallelSearch()
+	{
+		if (parallelSearch != null)
+		{
+			parallelSearch.close();
+			parallelSearch = null;
+		}
+	}
+
+	@Override
+	/**
+	 * Stop the threads of the parallel search and free the transposition table the engine created.
+	 * A table given to the constructor is left to whoever gave it.
+	 */
+	public void close()
+	{
+		closeParallelSearch();
+		if (ownsTranspositionTable)
+		{
+			transpositionTable.close();
+			transpositionTable = null;
+			ownsTranspositionTable = false;
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package Players;
+
+import ChessGameClasses.Move;
+import ChessPieces.ChessPiece;
+import Items.Item;
+
+/**
+ * The MoveEvent class describes what a click of a Player did: the kind of event, the packed move and the chess piece
+ * or item involved. Bots, loggers and the network can read it without parsing a message, and toMessage only builds
+ * the message shown to the players when it is asked for.
+ *
+ * The name and square of the chess piece are recorded when the event happens, so the message stays the same after
+ * the piece moves again.
+ */
+public class MoveEvent
+{
+	/**
+	 * What the click did.
+	 */
+	private final MoveEventKind kind;
+
+	/**
+	 * The team color of the Player who clicked.
+	 */
+	private final String color;
+
+	/**
+	 * The move packed as in Move, 0 if the event is not a move, item or upgrade.
+	 */
+	private final int move;
+
+	/**
+	 * The chess piece that moved, was upgraded or was (de)selected, null if there is none.
+	 */
+	private final ChessPiece chessPiece;
+
+	/**
+	 * Name of the chess piece when the event happened.
+	 */
+	private final String chessPieceName;
+
+	/**
+	 * Row of the chess piece when the event happened.
+	 */
+	private final int chessPieceRow;
+
+	/**
+	 * Column of the chess piece when the event happened.
+	 */
+	private final int chessPieceCol;
+
+	/**
+	 * The item that was used, null if there is none.
+	 */
+	private final Item item;
+
+	/**
+	 * The message of the item, or the name of the movement an upgrade added. Null for other events.
+	 */
+	private final String detail;
+
+	/**
+	 * Constructor of the MoveEvent Class, the create methods call it.
+	 *
+	 * @param kind What the click did.
+	 * @param color The team color of the Player who clicked.
+	 * @param move The packed move, 0 for none.
+	 * @param chessPiece The chess piece involved, null for none.
+	 * @param item The item used, null for none.
+	 * @param detail The item message or the upgrade movement name, null for none.
+	 */
+	private MoveEvent(MoveEventKind kind, String color, int move, ChessPiece chessPiece, Item item, String detail)
+	{
+		this.kind = kind;
+		this.color = color;
+		this.move = move;
+		this.chessPiece = chessPiece;
+		this.chessPieceName = chessPiece != null ? chessPiece.getName() : null;
+		this.chessPieceRow = chessPiece != null ? chessPiece.getPosRow() : -1;
+		this.chessPieceCol = chessPiece != null ? chessPiece.getPosCol() : -1;
+		this.item = item;
+		this.detail = detail;
+	}
+
+	/**
+	 * Create the event of a board move. A move of 0 (no move goes to the clicked square) is an invalid movement.
+	 *
+	 * @param color The team color of the Player.
+	 * @param move The move packed as in Move.
+	 * @param chessPiece The chess piece that moved, after the move.
+	 * @return The event.
+	 */
+	public static MoveEvent createMove(String color, int move, ChessPiece chessPiece)
+	{
+		MoveEventKind kind = move == 0 ? MoveEventKind.INVALID_MOVEMENT : MoveEventKind.MOVE;
+		return new MoveEvent(kind, color, move, chessPiece, null, null);
+	}
+
+	/**
+	 * Create the event of an item that was bought and used.
+	 *
+	 * @param color The team color of the Player.
+	 * @param move The item purchase packed as in Move.
+	 * @param item The item.
+	 * @param itemMessage The message returned by the item.
+	 * @return The event.
+	 */
+	public static MoveEvent createItem(String color, int move, Item item, String itemMessage)
+	{
+		return new MoveEvent(MoveEventKind.ITEM, color, move, null, item, itemMessage);
+	}
+
+	/**
+	 * Create the event of an upgrade.
+	 *
+	 * @param color The team color of the Player.
+	 * @param move The upgrade purchase packed as in Move.
+	 * @param chessPiece The chess piece that was upgraded.
+	 * @param movementName The name of the movement the upgrade added.
+	 * @return The event.
+	 */
+	public static MoveEvent createUpgrade(String color, int move, ChessPiece chessPiece, String movementName)
+	{
+		return new MoveEvent(MoveEventKind.UPGRADE, color, move, chessPiece, null, movementName);
+	}
+
+	/**
+	 * Create an event about a chess piece that is not a move or upgrade: a selection, a deselection or a failure
+	 * to move it.
+	 *
+	 * @param kind What the click did.
+	 * @param color The team color of the Player.
+	 * @param chessPiece The chess piece.
+	 * @return The event.
+	 */
+	public static MoveEvent createPieceEvent(MoveEventKind kind, String color, ChessPiece chessPiece)
+	{
+		return new MoveEvent(kind, color, 0, chessPiece, null, null);
+	}
+
+	/**
+	 * Create the event of an item or upgrade that couldn't be bought.
+	 *
+	 * @param kind Why it couldn't be bought.
+	 * @param color The team color of the Player.
+	 * @return The event.
+	 */
+	public static MoveEvent createFailure(MoveEventKind kind, String color)
+	{
+		return new MoveEvent(kind, color, 0, null, null, null);
+	}
+
+	/**
+	 * Get what the click did.
+	 *
+	 * @return The kind of the event.
+	 */
+	public MoveEventKind getKind() { return kind; }
+
+	/**
+	 * Get the team color of the Player who clicked.
+	 *
+	 * @return The team color.
+	 */
+	public String getColor() { return color; }
+
+	/**
+	 * Get the move of the event.
+	 *
+	 * @return The move packed as in Move, 0 if the event is not a move, item or upgrade.
+	 */
+	public int getMove() { return move; }
+
+	/**
+	 * Get the chess piece of the event.
+	 *
+	 * @return The chess piece, null if there is none.
+	 */
+	public ChessPiece getChessPiece() { return chessPiece; }
+
+	/**
+	 * Get the item of the event.
+	 *
+	 * @return The item, null if there is none.
+	 */
+	public Item getItem() { return item; }
+
+	/**
+	 * Build the message shown to the players, the same text the game has always shown.
+	 *
+	 * @return The message.
+	 */
+	public String toMessage()
+	{
+		switch (kind)
+		{
+			case MOVE:
+				switch (Move.getKind(move))
+				{
+					case Move.captureKind: return describeChessPiece() + " Captured.";
+					case Move.rangeCaptureKind: return describeChessPiece() + " Range Captured.";
+					case Move.castleKind: return "Castled.";
+					case Move.twoUnitsUpKind: return describeChessPiece() + " Moved Two Units Up.";
+					case Move.enPassantKind: return describeChessPiece() + " Captured With En Passant.";
+					default: return describeChessPiece() + " Moved.";
+				}
+			case INVALID_MOVEMENT: return "Invalid Movement.";
+			case MOVE_OPPONENT_PIECE: return "Can't Move Opponent Chess Piece.";
+			case ITEM: return detail;
+			case UPGRADE: return color + " Upgraded " + describeChessPiece() + " To Have " + detail + ".";
+			case SELECT: return "Selected " + describeChessPiece() + describeSide();
+			case DESELECT: return "Deselected " + describeChessPiece() + describeSide();
+			case NOT_ENOUGH_MONEY: return "Not Enough Money.";
+			case ITEM_IN_CHECK: return "Can't Buy Item While In Check.";
+			case UPGRADE_IN_CHECK: return "Can't Upgrade While In Check.";
+			case NO_PIECE_SELECTED: return "Select A Piece To Upgrade.";
+			case UPGRADE_OPPONENT_PIECE: return "Can't Upgrade Opponent Chess Piece";
+			case NO_UPGRADES:
+			default: return "There Are No Upgrades.";
+		}
+	}
+
+	/**
+	 * Describe the chess piece as its toString did when the event happened.
+	 *
+	 * @return 'name' At ('row', 'column').
+	 */
+	private String describeChessPiece()
+	{
+		return chessPieceName + " At (" + chessPieceRow + ", " + chessPieceCol + ")";
+	}
+
+	/**
+	 * Describe whose chess piece was clicked.
+	 *
+	 * @return " (Ally)." or " (Opponent).".
+	 */
+	private String describeSide()
+	{
+		return chessPiece.getColor().equals(color) ? " (Ally)." : " (Opponent).";
+	}
+}
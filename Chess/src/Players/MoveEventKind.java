@@ -0,0 +1,72 @@
+package Players;
+
+/**
+ * What a click of a Player did, see MoveEvent.
+ */
+public enum MoveEventKind
+{
+	/**
+	 * A chess piece moved or captured, the move says how.
+	 */
+	MOVE,
+
+	/**
+	 * The selected chess piece can't go to the clicked square.
+	 */
+	INVALID_MOVEMENT,
+
+	/**
+	 * The selected chess piece belongs to the opponent, so it can't move.
+	 */
+	MOVE_OPPONENT_PIECE,
+
+	/**
+	 * An item was bought and used.
+	 */
+	ITEM,
+
+	/**
+	 * A chess piece was upgraded with a new movement.
+	 */
+	UPGRADE,
+
+	/**
+	 * A chess piece was selected.
+	 */
+	SELECT,
+
+	/**
+	 * The selected chess piece was clicked again and deselected.
+	 */
+	DESELECT,
+
+	/**
+	 * The Player can't pay for the item or upgrade.
+	 */
+	NOT_ENOUGH_MONEY,
+
+	/**
+	 * Items can't be bought while in check.
+	 */
+	ITEM_IN_CHECK,
+
+	/**
+	 * Upgrades can't be bought while in check.
+	 */
+	UPGRADE_IN_CHECK,
+
+	/**
+	 * An upgrade needs a selected chess piece.
+	 */
+	NO_PIECE_SELECTED,
+
+	/**
+	 * The selected chess piece belongs to the opponent, so it can't be upgraded.
+	 */
+	UPGRADE_OPPONENT_PIECE,
+
+	/**
+	 * The selected chess piece has no upgrades left.
+	 */
+	NO_UPGRADES
+}
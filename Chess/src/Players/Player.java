@@ -11,9 +11,10 @@ import ChessPieces.Queen;
 import ChessPieces.Rook;
 import ChessPieces.Wizard;
 import Items.Item;
+import ChessGameClasses.BitBoard;
 import ChessGameClasses.Board;
+import ChessGameClasses.Move;
 import Movements.Movement;
-import javafx.scene.media.AudioClip;
 
 /**
  * The Player class represents a Player who has an ArrayList of Chess Pieces,
@@ -21,17 +22,6 @@ import javafx.scene.media.AudioClip;
  */
 abstract public class Player
 {
-	/**
-	 * Bubble audio for selecting and de-selecting Chess Pieces.
-	 */
-	public static final AudioClip bubbleSound = new AudioClip("file:Audio/bubbleSound.wav");
-	
-	/**
-	 * Thud audio for a Chess Piece making a move. 
-	 */
-	public static final AudioClip thudSound = new AudioClip("file:Audio/thudSound.wav");
-	
-	
 	/**
 	 * ArrayList of Chess Pieces that the Player owns.
 	 */
@@ -47,6 +37,11 @@ abstract public class Player
 	 */
 	private int money;
 	
+	/**
+	 * The last move the Player made, packed as in Move. 0 if the Player hasn't made one.
+	 */
+	private int lastMove;
+	
 	/**
 	 * Three parameter Constructor of the Player Class.
 	 * 
@@ -82,6 +77,13 @@ abstract public class Player
 	 */
 	public int getMoney() { return money; }
 	
+	/**
+	 * Get the last move that the Player made: a board move, an item purchase or an upgrade purchase.
+	 * 
+	 * @return The last move packed as in Move, 0 if the Player hasn't made one.
+	 */
+	public int getLastMove() { return lastMove; }
+	
 	/**
 	 * Set the ArrayList of Chess Pieces.
 	 * 
@@ -258,27 +260,23 @@ abstract public class Player
 	/**
 	 * Takes in input then run the game depending on the input and the current status of the game.
 	 * It accounts for buying items, upgrading, selecting chess piece, and moving chess piece. It accounts for
-	 * the failure to perform these actions. The method returns four variables that allows the ChessGameRunner to 
+	 * the failure to perform these actions. The method returns a TurnResult that allows the ChessGameRunner to 
 	 * display the status of the game.
 	 * 
 	 * @param input The input that decides what kind of the decision that the player is trying to make.
 	 * @param moveWasMade Whether or not a move was successfully made.
 	 * @param selectedChessPiece The chess piece that is selected.
-	 * @param message A message that details what king of movement was made, or why wasn't the move made.
 	 * @param lastPlayedItem The last item that was played.
 	 * @param opponent The opponent of the Player calling this method.
 	 * @param board The game board.
 	 * @param items All of the items that the current player can buy.
-	 * @return An ArrayList of Objects of moveWasMade, selectedChessPiece, message, and lastPlayedItem. 
-	 * 		   With the purpose of giving ChessGameRunner enough information to display about the status of the game. 
+	 * @return The TurnResult with moveWasMade, selectedChessPiece, lastPlayedItem and the event that details what
+	 * 		   kind of movement was made, or why wasn't the move made.
 	 */
-	public ArrayList<Object> run(ArrayList<Integer> input, boolean moveWasMade, ChessPiece selectedChessPiece, String message, Item lastPlayedItem, Player opponent, Board board, ArrayList<Item> items)
+	public TurnResult run(ArrayList<Integer> input, boolean moveWasMade, ChessPiece selectedChessPiece, Item lastPlayedItem, Player opponent, Board board, ArrayList<Item> items)
 	{
-		//Index 0: moveWasMade
-		//Index 1: selectedChessPiece
-		//Index 2: message
-		//Index 3: lastPlayedItem
-		ArrayList<Object> result = new ArrayList<Object>();
+		//What the click did, it stays null if the click did nothing.
+		MoveEvent event = null;
 			
 		//FORMAT INPUT
 		int inputRow = input.get(0);
@@ -292,20 +290,22 @@ abstract public class Player
 			{
 				if(getMoney() >= items.get(inputColumn).getItemCost())
 				{
-					message = items.get(inputColumn).run(getColor(), board);
+					String itemMessage = items.get(inputColumn).run(getColor(), board);
 					lastPlayedItem = items.get(inputColumn);
 					money -= items.get(inputColumn).getItemCost();
+					lastMove = Move.encodeItem(inputColumn);
+					event = MoveEvent.createItem(color, lastMove, lastPlayedItem, itemMessage);
 					moveWasMade = true;
 				}
 				else
 				{
-					message = "Not Enough Money.";
+					event = MoveEvent.createFailure(MoveEventKind.NOT_ENOUGH_MONEY, color);
 					moveWasMade = false;
 				}
 			}
 			else
 			{
-				message = "Can't Buy Item While In Check.";
+				event = MoveEvent.createFailure(MoveEventKind.ITEM_IN_CHECK, color);
 				moveWasMade = false;
 			}
 		}
@@ -315,17 +315,20 @@ abstract public class Player
 					selectedChessPiece.getColor().equals(color) &&
 						selectedChessPiece.getAvailableUpgrades().size() != 0)
 			{
-				int price = selectedChessPiece.getAvailableUpgrades().get(inputColumn).getMovementCost() * selectedChessPiece.getMaterialWorth();
+				Movement upgrade = selectedChessPiece.getAvailableUpgrades().get(inputColumn);
+				int price = upgrade.getMovementCost() * selectedChessPiece.getMaterialWorth();
 				if(getMoney() >= price)
 				{
 					selectedChessPiece.upgrade(inputColumn);
-					message = color + " Upgraded " + selectedChessPiece + " To Have " + selectedChessPiece.getAvailableUpgrades().get(inputColumn).getMovementName() + ".";
+					board.positionChanged(); //The piece has new movements.
 					money -= price;
+					lastMove = Move.encodeUpgrade(BitBoard.toSquare(selectedChessPiece.getPosRow(), selectedChessPiece.getPosCol()), inputColumn);
+					event = MoveEvent.createUpgrade(color, lastMove, selectedChessPiece, upgrade.getMovementName());
 					moveWasMade = true;
 				}
 				else
 				{
-					message = "Not Enough Money.";
+					event = MoveEvent.createFailure(MoveEventKind.NOT_ENOUGH_MONEY, color);
 					moveWasMade = false;
 				}
 			}
@@ -333,13 +336,13 @@ abstract public class Player
 			{
 				//Upgrade failure messages
 				if (board.isInCheck(color))
-					message = "Can't Upgrade While In Check.";
+					event = MoveEvent.createFailure(MoveEventKind.UPGRADE_IN_CHECK, color);
 				else if (selectedChessPiece == null)
-					message = "Select A Piece To Upgrade.";
+					event = MoveEvent.createFailure(MoveEventKind.NO_PIECE_SELECTED, color);
 				else if (!selectedChessPiece.getColor().equals(color))
-					message = "Can't Upgrade Opponent Chess Piece";
+					event = MoveEvent.createFailure(MoveEventKind.UPGRADE_OPPONENT_PIECE, color);
 				else if (selectedChessPiece.getAvailableUpgrades().size() == 0)
-					message = "There Are No Upgrades.";
+					event = MoveEvent.createFailure(MoveEventKind.NO_UPGRADES, color);
 				moveWasMade = false;
 			}
 		}
@@ -350,126 +353,107 @@ abstract public class Player
 			{
 				if (selectedChessPiece.getColor().equals(color))
 				{
-					//Put input into the proper format.
-					ArrayList<Integer> movementPosition = new ArrayList<Integer>();
-					movementPosition.add(inputRow);
-					movementPosition.add(inputColumn);
-					
-					//Get the movementType for displaying the correct message.
-					ArrayList<ArrayList<Character>> potentialMovements = selectedChessPiece.calculatePotentialMovements(board);
-					ArrayList<ArrayList<Character>> possibleMovements = selectedChessPiece.calculatePossibleMovements(potentialMovements, board);
-					Character movementType = possibleMovements.get(inputRow).get(inputColumn);
+					//Find the move for displaying the correct message.
+					int move = selectedChessPiece.findMove(board, inputRow, inputColumn);
+					int kind = Move.getKind(move);
 					
 					//Get money for capturing
-					if (movementType.equals(Movement.moveAndCaptureSymbol) || movementType.equals(Movement.captureSymbol))
+					if (kind == Move.captureKind || kind == Move.rangeCaptureKind)
 					{
-						for (ChessPiece chessPiece : opponent.getChessPieces())
+						ChessPiece chessPiece = board.getChessPieceAt(inputRow, inputColumn);
+						if (chessPiece != null && !chessPiece.getColor().equals(color))
 						{
-							if (!chessPiece.getIsCaptured())
-							{
-								if (chessPiece.getPosRow() == inputRow && chessPiece.getPosCol() == inputColumn)
-								{
-									int captureRewardPerMaterialWorth = 100;
-									money += chessPiece.getMaterialWorth() * captureRewardPerMaterialWorth;
-								}
-							}
+							int captureRewardPerMaterialWorth = 100;
+							money += chessPiece.getMaterialWorth() * captureRewardPerMaterialWorth;
 						}
 					}
 					
 					//Run the movement.
-					moveWasMade = selectedChessPiece.makeMovement(board, movementPosition);
+					moveWasMade = selectedChessPiece.makeMovement(board, move);
+					if (moveWasMade)
+						lastMove = move;
 					
-					//Set the correct message.
-					if (movementType.equals(Movement.moveAndCaptureSymbol)) message = selectedChessPiece + " Captured.";
-					else if (movementType.equals(Movement.captureSymbol)) message = selectedChessPiece + " Range Captured.";
-					else if (movementType.equals(Movement.moveSymbol)) message = selectedChessPiece + " Moved.";
-					else if (movementType.equals(Movement.invalidMoveSymbol)) message = "Invalid Movement.";
-					else if (movementType.equals(Movement.castleSymbol)) message = "Castled.";
-					else if (movementType.equals(Movement.twoUnitsUpSymbol)) message = selectedChessPiece + " Moved Two Units Up.";
-					else if (movementType.equals(Movement.enPassantSymbol)) message = selectedChessPiece + " Captured With En Passant.";
-				
-					//Play audio
-					if (!(movementType.equals(Movement.invalidMoveSymbol) || movementType.equals(Movement.currentPositionSymbol)))
-					{
-						if (thudSound.isPlaying())
-							thudSound.stop();
-						thudSound.play();
-					}
+					//Record the move for the message.
+					event = MoveEvent.createMove(color, move, selectedChessPiece);
 				}
 				else
 				{
-					message = "Can't Move Opponent Chess Piece.";
+					event = MoveEvent.createPieceEvent(MoveEventKind.MOVE_OPPONENT_PIECE, color, selectedChessPiece);
 					moveWasMade = false;
 				}
 			}
 				
-			//Clicked On An Ally Piece
-			if (!moveWasMade)
+			//Clicked On A Piece
+			ChessPiece clickedChessPiece = board.getChessPieceAt(inputRow, inputColumn);
+			if (!moveWasMade && clickedChessPiece != null)
 			{
-				for (int i = 0; i < getChessPieces().size(); i++)
+				//if the piece that was clicked on is the selected piece. De-select
+				if (clickedChessPiece == selectedChessPiece)
 				{
-					//Piece is found.
-					if (getChessPieces().get(i).getPosRow() == inputRow && getChessPieces().get(i).getPosCol() == inputColumn)
-					{
-						//if the piece that was clicked on is the selected piece. De-select
-						if (getChessPieces().get(i) == selectedChessPiece)
-						{
-							selectedChessPiece = null;
-							message = "Deselected " + getChessPieces().get(i) + " (Ally).";
-							moveWasMade = false;
-						}
-						else
-						{
-							selectedChessPiece = getChessPieces().get(i);
-							message = "Selected " + selectedChessPiece + " (Ally).";
-							moveWasMade = false;
-						}
-						
-						//Play bubble sound
-						if (bubbleSound.isPlaying())
-							bubbleSound.stop();
-						bubbleSound.play();
-						break;
-					}
+					selectedChessPiece = null;
+					event = MoveEvent.createPieceEvent(MoveEventKind.DESELECT, color, clickedChessPiece);
 				}
-			}
-				
-			//Clicked On An Opponent Piece
-			if (!moveWasMade)
-			{
-				for (int i = 0; i < opponent.getChessPieces().size(); i++)
+				else
 				{
-					//Piece is found.
-					if (opponent.getChessPieces().get(i).getPosRow() == inputRow && opponent.getChessPieces().get(i).getPosCol() == inputColumn)
-					{
-						//if the piece that was clicked on is the selected piece. De-select
-						if (opponent.getChessPieces().get(i) == selectedChessPiece)
-						{
-							selectedChessPiece = null;
-							message = "Deselected " + opponent.getChessPieces().get(i) + " (Opponent).";
-							moveWasMade = false;
-						}
-						else
-						{
-							selectedChessPiece = opponent.getChessPieces().get(i);
-							message = "Selected " + selectedChessPiece + " (Opponent).";
-							moveWasMade = false;
-						}
-						
-						//Play bubble sound
-						if (bubbleSound.isPlaying())
-							bubbleSound.stop();
-						bubbleSound.play();
-						break;
-					}
+					selectedChessPiece = clickedChessPiece;
+					event = MoveEvent.createPieceEvent(MoveEventKind.SELECT, color, selectedChessPiece);
 				}
 			}
 		}
 		
-		result.add(moveWasMade);
-		result.add(selectedChessPiece);
-		result.add(message);
-		result.add(lastPlayedItem);
-		return result;
+		return new TurnResult(moveWasMade, selectedChessPiece, lastPlayedItem, event);
+	}
+	
+	/**
+	 * Run a packed move the same way as the input that makes it. A board move or an upgrade first selects the
+	 * piece on the from square of the move.
+	 * 
+	 * @param move The move packed as in Move. Promotion choices are made with promotePawnAtIndex instead.
+	 * @param selectedChessPiece The chess piece that is selected.
+	 * @param lastPlayedItem The last item that was played.
+	 * @param opponent The opponent of the Player calling this method.
+	 * @param board The game board.
+	 * @param items All of the items that the current player can buy.
+	 * @return The same TurnResult as the other run method.
+	 */
+	public TurnResult run(int move, ChessPiece selectedChessPiece, Item lastPlayedItem, Player opponent, Board board, ArrayList<Item> items)
+	{
+		if (Move.getKind(move) == Move.promotionKind)
+			throw new IllegalArgumentException("Promotion choices are made with promotePawnAtIndex");
+		
+		if (Move.getKind(move) != Move.itemKind)
+			selectedChessPiece = board.getChessPieceOnSquare(Move.getFromSquare(move));
+		return run(toInput(move), false, selectedChessPiece, lastPlayedItem, opponent, board, items);
+	}
+	
+	/**
+	 * Turn a packed move into the input that makes it: the item, upgrade or promotion input, or the position a
+	 * board move goes to. A board move or an upgrade also needs its piece to be selected first.
+	 * 
+	 * @param move The move packed as in Move.
+	 * @return The input with input row followed by input column.
+	 */
+	public static ArrayList<Integer> toInput(int move)
+	{
+		ArrayList<Integer> input = new ArrayList<Integer>();
+		switch (Move.getKind(move))
+		{
+			case Move.itemKind:
+				input.add(-1);
+				input.add(Move.getIndex(move));
+				break;
+			case Move.upgradeKind:
+				input.add(-2);
+				input.add(Move.getIndex(move));
+				break;
+			case Move.promotionKind:
+				input.add(-3);
+				input.add(Move.getIndex(move));
+				break;
+			default:
+				input.add(Move.getToRow(move));
+				input.add(Move.getToCol(move));
+		}
+		return input;
 	}
 }
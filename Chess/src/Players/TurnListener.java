@@ -0,0 +1,15 @@
+package Players;
+
+/**
+ * A TurnListener is told what every click of a Player did. The rules engine doesn't know about sound or the GUI, the
+ * application registers listeners on the ChessGameRunner for them.
+ */
+public interface TurnListener
+{
+	/**
+	 * Called after the current Player ran a click.
+	 *
+	 * @param turnResult What Player.run returned for the click.
+	 */
+	void onTurnResult(TurnResult turnResult);
+}
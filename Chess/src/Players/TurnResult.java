@@ -0,0 +1,93 @@
+package Players;
+
+import ChessPieces.ChessPiece;
+import Items.Item;
+
+/**
+ * The TurnResult class is what Player.run returns: whether a move was made, the selected chess piece, the last item
+ * played and the event of the click. The message is only built from the event the first time it is asked for, so
+ * bots that never show it never pay for it.
+ */
+public class TurnResult
+{
+	/**
+	 * Whether or not a move was successfully made.
+	 */
+	private final boolean moveWasMade;
+
+	/**
+	 * The chess piece that is selected after the click.
+	 */
+	private final ChessPiece selectedChessPiece;
+
+	/**
+	 * The last item that was played.
+	 */
+	private final Item lastPlayedItem;
+
+	/**
+	 * What the click did, null if it did nothing.
+	 */
+	private final MoveEvent event;
+
+	/**
+	 * The message of the event, built the first time it is asked for.
+	 */
+	private String message;
+
+	/**
+	 * Four parameter Constructor of the TurnResult Class.
+	 *
+	 * @param moveWasMade Whether or not a move was successfully made.
+	 * @param selectedChessPiece The chess piece that is selected after the click.
+	 * @param lastPlayedItem The last item that was played.
+	 * @param event What the click did, null if it did nothing.
+	 */
+	public TurnResult(boolean moveWasMade, ChessPiece selectedChessPiece, Item lastPlayedItem, MoveEvent event)
+	{
+		this.moveWasMade = moveWasMade;
+		this.selectedChessPiece = selectedChessPiece;
+		this.lastPlayedItem = lastPlayedItem;
+		this.event = event;
+	}
+
+	/**
+	 * Get whether a move was made.
+	 *
+	 * @return Whether or not a move was successfully made.
+	 */
+	public boolean getMoveWasMade() { return moveWasMade; }
+
+	/**
+	 * Get the selected chess piece.
+	 *
+	 * @return The chess piece that is selected after the click.
+	 */
+	public ChessPiece getSelectedChessPiece() { return selectedChessPiece; }
+
+	/**
+	 * Get the last item played.
+	 *
+	 * @return The last item that was played.
+	 */
+	public Item getLastPlayedItem() { return lastPlayedItem; }
+
+	/**
+	 * Get the event of the click.
+	 *
+	 * @return What the click did, null if it did nothing.
+	 */
+	public MoveEvent getEvent() { return event; }
+
+	/**
+	 * Get the message of the click, built from the event the first time.
+	 *
+	 * @return The message, null if the click did nothing and the previous message still stands.
+	 */
+	public String getMessage()
+	{
+		if (message == null && event != null)
+			message = event.toMessage();
+		return message;
+	}
+}
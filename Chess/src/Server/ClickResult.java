@@ -0,0 +1,95 @@
+package Server;
+
+import Players.MoveEvent;
+
+/**
+ * The ClickResult class is what a GameSession answers to a click: the event of the click and the state of the game
+ * right after it. It is built on the session's thread, so the caller can read it from any thread.
+ */
+public class ClickResult
+{
+	/**
+	 * What the click did, null if it did nothing
+	 */
+	private final MoveEvent event;
+
+	/**
+	 * Turn of the game after the click
+	 */
+	private final int turn;
+
+	/**
+	 * Whether the current player made a move and still has to promote a pawn
+	 */
+	private final boolean moveWasMade;
+
+	/**
+	 * Whether the game is over
+	 */
+	private final boolean gameOver;
+
+	/**
+	 * Color of the player to click next
+	 */
+	private final String currentColor;
+
+	/**
+	 * Changes of the turn, null unless the click ended a turn or the game
+	 */
+	private final StateUpdate stateUpdate;
+
+	/**
+	 * Class constructor.
+	 * @param event - MoveEvent, what the click did, null if it did nothing.
+	 * @param turn - int, turn of the game after the click.
+	 * @param moveWasMade - boolean, whether a move was made and a promotion is still pending.
+	 * @param gameOver - boolean, whether the game is over.
+	 * @param currentColor - String, color of the player to click next.
+	 * @param stateUpdate - StateUpdate, changes of the turn, null unless the click ended a turn or the game.
+	 */
+	public ClickResult(MoveEvent event, int turn, boolean moveWasMade, boolean gameOver, String currentColor, StateUpdate stateUpdate)
+	{
+		this.event = event;
+		this.turn = turn;
+		this.moveWasMade = moveWasMade;
+		this.gameOver = gameOver;
+		this.currentColor = currentColor;
+		this.stateUpdate = stateUpdate;
+	}
+
+	/**
+	 * Method to get what the click did.
+	 * @return - MoveEvent, the event, null if the click did nothing.
+	 */
+	public MoveEvent getEvent() { return event; }
+
+	/**
+	 * Method to get the turn after the click.
+	 * @return - int, the turn.
+	 */
+	public int getTurn() { return turn; }
+
+	/**
+	 * Method to check whether a move was made and a promotion is still pending.
+	 * @return - boolean, whether the current player still has to promote a pawn.
+	 */
+	public boolean getMoveWasMade() { return moveWasMade; }
+
+	/**
+	 * Method to check whether the game is over.
+	 * @return - boolean, whether the game is over.
+	 */
+	public boolean getGameOver() { return gameOver; }
+
+	/**
+	 * Method to get the color of the player to click next.
+	 * @return - String, "White" or "Black".
+	 */
+	public String getCurrentColor() { return currentColor; }
+
+	/**
+	 * Method to get the changes of the turn the click ended.
+	 * @return - StateUpdate, the changes, null unless the click ended a turn or the game.
+	 */
+	public StateUpdate getStateUpdate() { return stateUpdate; }
+}
@@ -0,0 +1,212 @@
+package Server;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GameServer class hosts many games in one JVM. Each game is a GameSession with its own virtual thread, and the
+ * clients reach them through a ProtocolServer, which serves every connection from one selector thread, so thousands
+ * of games and connections only need a handful of platform threads.
+ *
+ * A session outlives the connection that created it: a client that reconnects resumes it by number, with the token of
+ * its seat (see GameSession.claimSeat). The numbers are random, so knowing one game's number tells nothing about the
+ * others.
+ *
+ * A session is removed from the server when it closes: when a client closes it, when it has been idle for idleMillis
+ * (a sweeper thread runs closeIdleSessions a few times in that period), when its game is over and no one holds a seat
+ * any more, or when it closed itself after an error. Its room then goes to the next game.
+ */
+public class GameServer implements AutoCloseable
+{
+	/**
+	 * Default time a session may go without a request before it is closed, 30 minutes
+	 */
+	public static final long defaultIdleMillis = 30 * 60 * 1000;
+
+	/**
+	 * Initial amount of money of the players of every game
+	 */
+	private final int initialMoneyAmount;
+
+	/**
+	 * Passive income of the players of every game
+	 */
+	private final int initialPassiveIncomeAmount;
+
+	/**
+	 * Passive income bonus for every material a player is down
+	 */
+	private final int passiveIncomeBonus;
+
+	/**
+	 * Most sessions open at the same time
+	 */
+	private final int maxSessions;
+
+	/**
+	 * Open sessions by number
+	 */
+	private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<Long, GameSession>();
+
+	/**
+	 * Where the numbers of the sessions come from
+	 */
+	private final SecureRandom idRandom = new SecureRandom();
+
+	/**
+	 * Number of open sessions, counted before they are created so maxSessions holds under concurrent creations
+	 */
+	private final AtomicInteger sessionNum = new AtomicInteger();
+
+	/**
+	 * Time a session may go without a request before it is closed, in nanoseconds
+	 */
+	private final long idleNanos;
+
+	/**
+	 * Runs closeIdleSessions on a schedule
+	 */
+	private final ScheduledExecutorService sweeper;
+
+	/**
+	 * Class constructor, closing sessions idle for defaultIdleMillis.
+	 * @param initialMoneyAmount - int, initial amount of money of the players.
+	 * @param initialPassiveIncomeAmount - int, passive income of the players.
+	 * @param passiveIncomeBonus - int, passive income bonus for every material a player is down.
+	 * @param maxSessions - int, most sessions open at the same time.
+	 */
+	public GameServer(int initialMoneyAmount, int initialPassiveIncomeAmount, int passiveIncomeBonus, int maxSessions)
+	{
+		this(initialMoneyAmount, initialPassiveIncomeAmount, passiveIncomeBonus, maxSessions, defaultIdleMillis);
+	}
+
+	/**
+	 * Class constructor. Starts the sweeper thread that closes the idle sessions.
+	 * @param initialMoneyAmount - int, initial amount of money of the players.
+	 * @param initialPassiveIncomeAmount - int, passive income of the players.
+	 * @param passiveIncomeBonus - int, passive income bonus for every material a player is down.
+	 * @param maxSessions - int, most sessions open at the same time.
+	 * @param idleMillis - long, time a session may go without a request before it is closed, in milliseconds.
+	 */
+	public GameServer(int initialMoneyAmount, int initialPassiveIncomeAmount, int passiveIncomeBonus, int maxSessions,
+			long idleMillis)
+	{
+		if (maxSessions < 1)
+			throw new IllegalArgumentException("A server needs room for at least one session");
+		if (idleMillis < 1)
+			throw new IllegalArgumentException("Sessions must be allowed to be idle for at least 1 ms");
+
+		this.initialMoneyAmount = initialMoneyAmount;
+		this.initialPassiveIncomeAmount = initialPassiveIncomeAmount;
+		this.passiveIncomeBonus = passiveIncomeBonus;
+		this.maxSessions = maxSessions;
+		this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+
+		//A session is closed at most a quarter of idleMillis after it went idle for idleMillis.
+		long sweepMillis = Math.max(1, idleMillis / 4);
+		this.sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("session-sweeper").factory());
+		sweeper.scheduleWithFixedDelay(() -> closeIdleSessions(idleNanos), sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Method to create a new game.
+	 * @return - GameSession, the session of the game.
+	 * @throws IllegalStateException if maxSessions sessions are already open.
+	 */
+	public GameSession createSession()
+	{
+		//Reserve the room first, so concurrent creations can't go over maxSessions.
+		if (sessionNum.incrementAndGet() > maxSessions)
+		{
+			sessionNum.decrementAndGet();
+			throw new IllegalStateException("The server already hosts " + maxSessions + " games");
+		}
+		while (true)
+		{
+			long id = idRandom.nextLong();
+			if (id == 0 || sessions.containsKey(id))
+				continue;
+			GameSession session = new GameSession(this, id, initialMoneyAmount, initialPassiveIncomeAmount, passiveIncomeBonus);
+			if (sessions.putIfAbsent(id, session) == null)
+				return session;
+			//Another creation drew the same number meanwhile.
+			session.close();
+		}
+	}
+
+	/**
+	 * Method to find an open session, to resume it.
+	 * @param id - long, number of the session.
+	 * @return - GameSession, the session, null if there is no open session with that number.
+	 */
+	public GameSession getSession(long id)
+	{
+		return sessions.get(id);
+	}
+
+	/**
+	 * Method to forget a session that closed, and give its room to the next game. Called by the session.
+	 * @param session - GameSession, the session.
+	 */
+	void removeSession(GameSession session)
+	{
+		if (sessions.remove(session.getId(), session))
+			sessionNum.decrementAndGet();
+	}
+
+	/**
+	 * Method to close a session and forget it.
+	 * @param id - long, number of the session.
+	 * @return - boolean, false if there was no open session with that number.
+	 */
+	public boolean closeSession(long id)
+	{
+		GameSession session = sessions.get(id);
+		if (session == null)
+			return false;
+		//The session removes itself from the server.
+		session.close();
+		return true;
+	}
+
+	/**
+	 * Method to close the sessions that got no click for a while.
+	 * @param idleNanos - long, how long a session may go without a click.
+	 * @return - int, number of sessions closed.
+	 */
+	public int closeIdleSessions(long idleNanos)
+	{
+		long now = System.nanoTime();
+		int closedNum = 0;
+		for (GameSession session : sessions.values())
+		{
+			if (now - session.getLastActivityNanos() > idleNanos && closeSession(session.getId()))
+				closedNum++;
+		}
+		return closedNum;
+	}
+
+	/**
+	 * Method to get the number of open sessions.
+	 * @return - int, the number of open sessions.
+	 */
+	public int getSessionNum()
+	{
+		return sessionNum.get();
+	}
+
+	@Override
+	/**
+	 * Stop the sweeper and close every session.
+	 */
+	public void close()
+	{
+		sweeper.shutdownNow();
+		for (Long id : sessions.keySet())
+			closeSession(id);
+	}
+}
@@ -0,0 +1,760 @@
+package Server;
+
+import ChessGameClasses.BitBoard;
+import ChessGameClasses.Board;
+import ChessGameClasses.ChessGameRunner;
+import ChessGameClasses.Move;
+import ChessGameClasses.MoveList;
+import ChessPieces.ChessPiece;
+import Players.MoveEvent;
+import Players.Player;
+import Players.TurnListener;
+import Players.TurnResult;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+
+/**
+ * The GameSession class is one game hosted by the GameServer. It owns a ChessGameRunner and a virtual thread that is
+ * the only thread to touch it: requests are put in a bounded mailbox and the thread runs them one at a time, so the
+ * game classes need no locks and a session blocked on an empty mailbox costs no platform thread.
+ *
+ * The mailbox is bounded, so a client that sends requests faster than the game runs them gets an error instead of
+ * growing the session. The memory of a session is mostly its runner, measured at about 23 KB for a new game and up to
+ * 39 KB once pieces have moved and items were bought, plus at most mailboxCapacity requests.
+ *
+ * Requests are raw clicks, or actions (play, buyItem, buyUpgrade, promote, resign) that are checked against the
+ * Board first and turned into clicks. An action that is not allowed fails with an IllegalArgumentException and
+ * leaves the game as it was.
+ *
+ * Each side of the game is a seat. The first to take a seat gets its token, a random number, and holds the seat until
+ * it gives it up; the seat can then be taken back, by whoever has its token, but never while someone else holds it.
+ * The session doesn't check who sends an action: that is for whoever hands out the seats, like the ProtocolServer.
+ * A seat can also be left for good, and its token no longer takes it back. Once no one holds a seat, the session
+ * closes if the game is over or if every seat taken was left for good, unless no seat was ever taken: a game played
+ * only through click, with no seats, is closed by whoever created it, or by the server once it is idle.
+ *
+ * When a turn ends, its StateTracker turns it into a StateUpdate that goes to every StateListener of the session on
+ * the session's thread. A listener added late is first sent the updates it needs to catch up, on the same thread, so
+ * it can't miss an update or get one twice. Spectators watch through a StateBroadcaster, created with the first of
+ * them, so the fan-out to however many there are runs on its own thread rather than the game's.
+ */
+public class GameSession implements TurnListener
+{
+	/**
+	 * Most requests waiting in the mailbox of a session
+	 */
+	public static final int mailboxCapacity = 16;
+
+	/**
+	 * Number of promotion choices, see Player.promote
+	 */
+	public static final int promotionNum = 7;
+
+	/**
+	 * Where the tokens of the seats come from
+	 */
+	private static final SecureRandom tokenRandom = new SecureRandom();
+
+	/**
+	 * Server the session is in, told when the session closes
+	 */
+	private final GameServer server;
+
+	/**
+	 * Number of the session, unique in its server
+	 */
+	private final long id;
+
+	/**
+	 * Seats of White and Black, guarded by the array
+	 */
+	private final Seat[] seats = {new Seat(), new Seat()};
+
+	/**
+	 * The game, only touched by the session's thread
+	 */
+	private final ChessGameRunner chessGameRunner;
+
+	/**
+	 * Requests waiting to be run
+	 */
+	private final ArrayBlockingQueue<Request> mailbox;
+
+	/**
+	 * Virtual thread that runs the requests
+	 */
+	private final Thread thread;
+
+	/**
+	 * Legal moves of the current player, reused to check moves
+	 */
+	private final MoveList legalMoves = new MoveList();
+
+	/**
+	 * Moves made in the current turn, packed as in Move
+	 */
+	private final MoveList turnMoves = new MoveList();
+
+	/**
+	 * Turns the turns of the game into updates for the listeners
+	 */
+	private final StateTracker stateTracker;
+
+	/**
+	 * Listeners told about the updates
+	 */
+	private final CopyOnWriteArrayList<StateListener> stateListeners = new CopyOnWriteArrayList<StateListener>();
+
+	/**
+	 * Streams the updates to the spectators, null until the first one
+	 */
+	private StateBroadcaster stateBroadcaster;
+
+	/**
+	 * Event of the click being run, set by onTurnResult
+	 */
+	private MoveEvent lastEvent;
+
+	/**
+	 * Whether the session was closed
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Whether the game is over, as of the last request
+	 */
+	private volatile boolean gameOver;
+
+	/**
+	 * System.nanoTime of the last request, to find idle sessions
+	 */
+	private volatile long lastActivityNanos;
+
+	/**
+	 * A request waiting in the mailbox and the future its result completes.
+	 */
+	private static class Request
+	{
+		/**
+		 * Runs the request on the session's thread
+		 */
+		private final Supplier<ClickResult> action;
+
+		/**
+		 * Completed with the result of the request
+		 */
+		private final CompletableFuture<ClickResult> result = new CompletableFuture<ClickResult>();
+
+		/**
+		 * Class constructor.
+		 * @param action - Supplier<ClickResult>, runs the request on the session's thread.
+		 */
+		private Request(Supplier<ClickResult> action)
+		{
+			this.action = action;
+		}
+	}
+
+	/**
+	 * A side of the game: its token and who holds it.
+	 */
+	private static class Seat
+	{
+		/**
+		 * Token to take the seat back with, 0 until the seat is first taken
+		 */
+		private long token;
+
+		/**
+		 * Who holds the seat, null while no one does
+		 */
+		private Object holder;
+
+		/**
+		 * Whether the seat was left for good
+		 */
+		private boolean left;
+	}
+
+	/**
+	 * Class constructor. Creates the game and starts the session's virtual thread.
+	 * @param server - GameServer, server the session is in.
+	 * @param id - long, number of the session.
+	 * @param initialMoneyAmount - int, initial amount of money of the players.
+	 * @param initialPassiveIncomeAmount - int, passive income of the players.
+	 * @param passiveIncomeBonus - int, passive income bonus for every material a player is down.
+	 */
+	GameSession(GameServer server, long id, int initialMoneyAmount, int initialPassiveIncomeAmount, int passiveIncomeBonus)
+	{
+		this.server = server;
+		this.id = id;
+		this.chessGameRunner = new ChessGameRunner(initialMoneyAmount, initialPassiveIncomeAmount, passiveIncomeBonus);
+		this.chessGameRunner.setTextBasedDisplay(false);
+		this.chessGameRunner.addTurnListener(this);
+		this.stateTracker = new StateTracker(chessGameRunner);
+		this.mailbox = new ArrayBlockingQueue<Request>(mailboxCapacity);
+		this.lastActivityNanos = System.nanoTime();
+		this.thread = Thread.ofVirtual().name("game-" + id).start(this::runRequests);
+	}
+
+	/**
+	 * Method to send a click to the game, as the GUI would. The click is not checked, it is run for whoever's turn it is.
+	 * @param row - int, board row, or -1 for an item, -2 for an upgrade and -3 for a promotion.
+	 * @param col - int, board column, or the index of the item, upgrade or promotion.
+	 * @return - CompletableFuture<ClickResult>, completed when the click was run, see submit.
+	 */
+	public CompletableFuture<ClickResult> click(int row, int col)
+	{
+		return submit(() -> runClick(row, col));
+	}
+
+	/**
+	 * Method to move a piece. The move must be one of the legal moves of the player.
+	 * @param color - String, color of the player.
+	 * @param fromSquare - int, square of the piece.
+	 * @param toSquare - int, square the piece goes to.
+	 * @return - CompletableFuture<ClickResult>, completed when the move was made, see submit.
+	 */
+	public CompletableFuture<ClickResult> play(String color, int fromSquare, int toSquare)
+	{
+		return submit(() -> runPlay(color, fromSquare, toSquare));
+	}
+
+	/**
+	 * Method to buy and play an item.
+	 * @param color - String, color of the player.
+	 * @param itemIndex - int, index of the item.
+	 * @return - CompletableFuture<ClickResult>, completed when the item was played, see submit.
+	 */
+	public CompletableFuture<ClickResult> buyItem(String color, int itemIndex)
+	{
+		return submit(() ->
+		{
+			checkTurn(color, false);
+			if (itemIndex < 0 || itemIndex >= chessGameRunner.getItems().size())
+				throw new IllegalArgumentException("There is no item " + itemIndex);
+			return runClick(-1, itemIndex);
+		});
+	}
+
+	/**
+	 * Method to buy an upgrade for a piece of the player.
+	 * @param color - String, color of the player.
+	 * @param square - int, square of the piece.
+	 * @param upgradeIndex - int, index of the upgrade in the piece's available upgrades.
+	 * @return - CompletableFuture<ClickResult>, completed when the upgrade was bought, see submit.
+	 */
+	public CompletableFuture<ClickResult> buyUpgrade(String color, int square, int upgradeIndex)
+	{
+		return submit(() -> runUpgrade(color, square, upgradeIndex));
+	}
+
+	/**
+	 * Method to promote the pawn of the player that reached the last row.
+	 * @param color - String, color of the player.
+	 * @param promotionChoice - int, the piece to promote to, as in Player.promote.
+	 * @return - CompletableFuture<ClickResult>, completed when the pawn was promoted, see submit.
+	 */
+	public CompletableFuture<ClickResult> promote(String color, int promotionChoice)
+	{
+		return submit(() ->
+		{
+			checkTurn(color, true);
+			if (promotionChoice < 0 || promotionChoice >= promotionNum)
+				throw new IllegalArgumentException("There is no promotion " + promotionChoice);
+			return runClick(-3, promotionChoice);
+		});
+	}
+
+	/**
+	 * Method to resign the game.
+	 * @param color - String, color of the player who resigns.
+	 * @return - CompletableFuture<ClickResult>, completed when the game is over, see submit.
+	 */
+	public CompletableFuture<ClickResult> resign(String color)
+	{
+		return submit(() ->
+		{
+			if (chessGameRunner.getGameOver())
+				throw new IllegalArgumentException("The game is over");
+			chessGameRunner.resign(color);
+			lastEvent = null;
+			return createResult(true);
+		});
+	}
+
+	/**
+	 * Method to take a seat no one took yet. Any thread may call it.
+	 * @param color - String, color of the seat.
+	 * @param holder - Object, who takes the seat, for example a connection.
+	 * @return - long, the token of the seat, to take it back with after giving it up.
+	 * @throws IllegalStateException if the seat was already taken.
+	 */
+	public long claimSeat(String color, Object holder)
+	{
+		Seat seat = getSeat(color);
+		synchronized (seats)
+		{
+			if (seat.token != 0)
+				throw new IllegalStateException("The " + color + " seat of session " + id + " is taken");
+			do
+				seat.token = tokenRandom.nextLong();
+			while (seat.token == 0);
+			seat.holder = holder;
+			return seat.token;
+		}
+	}
+
+	/**
+	 * Method to take back a seat with its token. Any thread may call it.
+	 * @param color - String, color of the seat.
+	 * @param token - long, the token the seat was taken with.
+	 * @param holder - Object, who takes the seat back.
+	 * @throws IllegalArgumentException if the token is not the seat's, or the seat was left for good.
+	 * @throws IllegalStateException if someone else holds the seat.
+	 */
+	public void resumeSeat(String color, long token, Object holder)
+	{
+		Seat seat = getSeat(color);
+		synchronized (seats)
+		{
+			if (seat.token == 0 || seat.token != token || seat.left)
+				throw new IllegalArgumentException("Wrong token for the " + color + " seat of session " + id);
+			if (seat.holder != null && seat.holder != holder)
+				throw new IllegalStateException("The " + color + " seat of session " + id + " is held");
+			seat.holder = holder;
+		}
+	}
+
+	/**
+	 * Method to give up a seat. Its token still takes it back, unless the session closes because no one holds a seat
+	 * any more and the game is over or every other seat taken was left. Any thread may call it.
+	 * @param color - String, color of the seat.
+	 * @param holder - Object, who holds the seat. Nothing happens if someone else does.
+	 */
+	public void releaseSeat(String color, Object holder)
+	{
+		Seat seat = getSeat(color);
+		synchronized (seats)
+		{
+			if (seat.holder == holder)
+				seat.holder = null;
+		}
+		closeIfAbandoned();
+	}
+
+	/**
+	 * Method to give up a seat for good: its token no longer takes it back. The session is closed once no one holds a
+	 * seat and every seat taken was left, or the game is over. Any thread may call it.
+	 * @param color - String, color of the seat.
+	 * @param holder - Object, who holds the seat. Nothing happens if someone else does.
+	 */
+	public void leaveSeat(String color, Object holder)
+	{
+		Seat seat = getSeat(color);
+		synchronized (seats)
+		{
+			if (seat.holder != holder)
+				return;
+			seat.holder = null;
+			seat.left = true;
+		}
+		closeIfAbandoned();
+	}
+
+	/**
+	 * Method to close the session if a seat was taken, no one holds a seat any more and none can be taken back, or
+	 * the game is over.
+	 */
+	private void closeIfAbandoned()
+	{
+		synchronized (seats)
+		{
+			if (seats[0].token == 0 && seats[1].token == 0)
+				return;
+			if (seats[0].holder != null || seats[1].holder != null)
+				return;
+			//gameOver is set before the seats are looked at, and a seat is given up before gameOver is, so one of
+			//the two callers sees both.
+			boolean resumable = (seats[0].token != 0 && !seats[0].left) || (seats[1].token != 0 && !seats[1].left);
+			if (!gameOver && resumable)
+				return;
+		}
+		close();
+	}
+
+	/**
+	 * Method to get the seat of a color.
+	 * @param color - String, "White" or "Black".
+	 * @return - Seat, the seat.
+	 */
+	private Seat getSeat(String color)
+	{
+		if (color.equals("White"))
+			return seats[0];
+		if (color.equals("Black"))
+			return seats[1];
+		throw new IllegalArgumentException("There is no " + color + " seat");
+	}
+
+	/**
+	 * Method to add a listener of the updates of the session. It is first sent the snapshot and deltas that bring it to
+	 * the state of the game, then every update.
+	 * @param stateListener - StateListener, the listener.
+	 * @return - CompletableFuture<ClickResult>, completed with the state of the game once the listener caught up, see submit.
+	 */
+	public CompletableFuture<ClickResult> addStateListener(StateListener stateListener)
+	{
+		return submit(() ->
+		{
+			for (StateUpdate stateUpdate : stateTracker.getSyncUpdates())
+				stateListener.onStateUpdate(stateUpdate);
+			stateListeners.add(stateListener);
+			lastEvent = null;
+			return createResult(false);
+		});
+	}
+
+	/**
+	 * Method to remove a listener. Any thread may call it.
+	 * @param stateListener - StateListener, the listener.
+	 */
+	public void removeStateListener(StateListener stateListener)
+	{
+		stateListeners.remove(stateListener);
+	}
+
+	/**
+	 * Method to watch the game. The spectator is sent a snapshot of the game, then every update, see StateBroadcaster.
+	 * @param subscriber - Flow.Subscriber<? super StateUpdate>, the spectator.
+	 */
+	public void spectate(Flow.Subscriber<? super StateUpdate> subscriber)
+	{
+		getStateBroadcaster().subscribe(subscriber);
+	}
+
+	/**
+	 * Method to get the broadcaster of the spectators, creating it the first time.
+	 * @return - StateBroadcaster, the broadcaster. It is closed if the session is.
+	 */
+	private synchronized StateBroadcaster getStateBroadcaster()
+	{
+		if (stateBroadcaster == null)
+		{
+			StateBroadcaster created = new StateBroadcaster("broadcast-" + id);
+			stateBroadcaster = created;
+			if (closed)
+				created.close();
+			else
+			{
+				addStateListener(created).whenComplete((result, error) ->
+				{
+					if (error != null)
+						closeStateBroadcaster(created);
+				});
+			}
+		}
+		return stateBroadcaster;
+	}
+
+	/**
+	 * Method to close a broadcaster that could not be added, so the next spectator gets a new one.
+	 * @param created - StateBroadcaster, the broadcaster.
+	 */
+	private synchronized void closeStateBroadcaster(StateBroadcaster created)
+	{
+		created.close();
+		if (stateBroadcaster == created && !closed)
+			stateBroadcaster = null;
+	}
+
+	/**
+	 * Method to put a request in the mailbox.
+	 * @param action - Supplier<ClickResult>, runs the request on the session's thread.
+	 * @return - CompletableFuture<ClickResult>, completed when the request was run. It fails with an
+	 * IllegalStateException if the session is closed or its mailbox is full, and with an IllegalArgumentException if
+	 * the request is not allowed.
+	 */
+	private CompletableFuture<ClickResult> submit(Supplier<ClickResult> action)
+	{
+		Request request = new Request(action);
+		if (closed)
+			request.result.completeExceptionally(new IllegalStateException("Session " + id + " is closed"));
+		else if (!mailbox.offer(request))
+			request.result.completeExceptionally(new IllegalStateException("Session " + id + " has too many requests waiting"));
+		//The session may have closed after the check, its thread is gone and won't run the request.
+		else if (closed)
+			failWaitingRequests();
+		return request.result;
+	}
+
+	/**
+	 * Method to close the session and take it out of its server. Requests still waiting fail and the spectators are
+	 * completed. Closing it again does nothing.
+	 */
+	public void close()
+	{
+		if (closed)
+			return;
+		closed = true;
+		server.removeSession(this);
+		//Closed by the session's own thread, it stops after the request it runs.
+		if (Thread.currentThread() != thread)
+			thread.interrupt();
+		failWaitingRequests();
+		synchronized (this)
+		{
+			if (stateBroadcaster != null)
+				stateBroadcaster.close();
+		}
+	}
+
+	/**
+	 * Method run by the session's thread: run the requests of the mailbox until the session is closed.
+	 */
+	private void runRequests()
+	{
+		try
+		{
+			while (!closed)
+			{
+				Request request = mailbox.take();
+				lastActivityNanos = System.nanoTime();
+				try
+				{
+					request.result.complete(request.action.get());
+				}
+				catch (RuntimeException e)
+				{
+					request.result.completeExceptionally(e);
+				}
+				catch (Throwable e)
+				{
+					//The runner may be left halfway through a turn, the game can't go on.
+					request.result.completeExceptionally(e);
+					close();
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			//Closed while waiting for a request.
+		}
+		failWaitingRequests();
+	}
+
+	/**
+	 * Method to check that a player may act.
+	 * @param color - String, color of the player.
+	 * @param promotion - boolean, whether the action is a promotion, the only action left once a move was made.
+	 */
+	private void checkTurn(String color, boolean promotion)
+	{
+		if (chessGameRunner.getGameOver())
+			throw new IllegalArgumentException("The game is over");
+		if (!chessGameRunner.getCurrentPlayer().getColor().equals(color))
+			throw new IllegalArgumentException("It is not " + color + "'s turn");
+		if (chessGameRunner.isMoveWasMade() != promotion)
+			throw new IllegalArgumentException(promotion ? "There is no pawn to promote" : color + " has to promote a pawn");
+	}
+
+	/**
+	 * Method to move a piece, once the move is known to be legal.
+	 * @param color - String, color of the player.
+	 * @param fromSquare - int, square of the piece.
+	 * @param toSquare - int, square the piece goes to.
+	 * @return - ClickResult, result of the move.
+	 */
+	private ClickResult runPlay(String color, int fromSquare, int toSquare)
+	{
+		checkTurn(color, false);
+		if (!isLegalMove(color, fromSquare, toSquare))
+			throw new IllegalArgumentException("Illegal move");
+
+		selectChessPiece(fromSquare);
+		return runClick(BitBoard.toRow(toSquare), BitBoard.toCol(toSquare));
+	}
+
+	/**
+	 * Method to check a move against the legal moves of the player.
+	 * @param color - String, color of the player.
+	 * @param fromSquare - int, square of the piece.
+	 * @param toSquare - int, square the piece goes to.
+	 * @return - boolean, whether a legal move goes from the one square to the other.
+	 */
+	private boolean isLegalMove(String color, int fromSquare, int toSquare)
+	{
+		if (!isSquare(fromSquare) || !isSquare(toSquare))
+			return false;
+
+		legalMoves.clear();
+		chessGameRunner.getBoard().generateMoves(color, legalMoves);
+		for (int i = 0; i < legalMoves.size(); i++)
+		{
+			int move = legalMoves.get(i);
+			if (Move.getFromSquare(move) == fromSquare && Move.getToSquare(move) == toSquare)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Method to buy an upgrade, once the piece is known to have it.
+	 * @param color - String, color of the player.
+	 * @param square - int, square of the piece.
+	 * @param upgradeIndex - int, index of the upgrade in the piece's available upgrades.
+	 * @return - ClickResult, result of the upgrade.
+	 */
+	private ClickResult runUpgrade(String color, int square, int upgradeIndex)
+	{
+		checkTurn(color, false);
+		ChessPiece chessPiece = isSquare(square) ? chessGameRunner.getBoard().getChessPieceOnSquare(square) : null;
+		if (chessPiece == null || !chessPiece.getColor().equals(color))
+			throw new IllegalArgumentException("There is no " + color + " piece on square " + square);
+		if (upgradeIndex < 0 || upgradeIndex >= chessPiece.getAvailableUpgrades().size())
+			throw new IllegalArgumentException("There is no upgrade " + upgradeIndex);
+
+		selectChessPiece(square);
+		return runClick(-2, upgradeIndex);
+	}
+
+	/**
+	 * Method to make sure the piece on a square is the selected one. Clicking the selected piece again would deselect it.
+	 * @param square - int, square of the piece.
+	 */
+	private void selectChessPiece(int square)
+	{
+		if (chessGameRunner.getSelectedChessPiece() != chessGameRunner.getBoard().getChessPieceOnSquare(square))
+			runClick(BitBoard.toRow(square), BitBoard.toCol(square));
+	}
+
+	/**
+	 * Method to check that a number is a square of the board.
+	 * @param square - int, the number.
+	 * @return - boolean, whether it is a square.
+	 */
+	private static boolean isSquare(int square)
+	{
+		return square >= 0 && square < Board.rowNum * Board.colNum;
+	}
+
+	/**
+	 * Method to run one click on the game and record the moves it made.
+	 * @param row - int, board row, or -1 for an item, -2 for an upgrade and -3 for a promotion.
+	 * @param col - int, board column, or the index of the item, upgrade or promotion.
+	 * @return - ClickResult, the event of the click and the state of the game after it.
+	 */
+	private ClickResult runClick(int row, int col)
+	{
+		int turn = chessGameRunner.getTurn();
+		boolean gameOver = chessGameRunner.getGameOver();
+
+		//The promotion doesn't go through Player.run, so it has no event. Record it here.
+		Player currentPlayer = chessGameRunner.getCurrentPlayer();
+		int pawnIndex = currentPlayer.findPawnReadyToPromote();
+		if (row == -3 && chessGameRunner.isMoveWasMade() && !gameOver && pawnIndex != -1)
+		{
+			ChessPiece pawn = currentPlayer.getChessPieces().get(pawnIndex);
+			turnMoves.add(Move.encodePromotion(BitBoard.toSquare(pawn.getPosRow(), pawn.getPosCol()), col));
+		}
+
+		ArrayList<Integer> input = new ArrayList<Integer>(2);
+		input.add(row);
+		input.add(col);
+		lastEvent = null;
+		chessGameRunner.runGame(input);
+
+		return createResult(chessGameRunner.getTurn() != turn || chessGameRunner.getGameOver() != gameOver);
+	}
+
+	/**
+	 * Method to create the result of a request from the state of the game.
+	 * @param turnEnded - boolean, whether the request ended a turn or the game. The update of the turn goes to the
+	 * listeners.
+	 * @return - ClickResult, the result, with the update of the turn if it ended.
+	 */
+	private ClickResult createResult(boolean turnEnded)
+	{
+		StateUpdate stateUpdate = null;
+		if (turnEnded)
+		{
+			stateUpdate = stateTracker.update(turnMoves.toArray());
+			turnMoves.clear();
+		}
+		ClickResult clickResult = new ClickResult(lastEvent, chessGameRunner.getTurn(), chessGameRunner.isMoveWasMade(),
+				chessGameRunner.getGameOver(), chessGameRunner.getCurrentPlayer().getColor(), stateUpdate);
+		if (stateUpdate != null)
+			notifyStateListeners(stateUpdate);
+
+		//Everyone still in the game got the last update, the session can go if no one holds a seat.
+		gameOver = chessGameRunner.getGameOver();
+		if (gameOver)
+			closeIfAbandoned();
+		return clickResult;
+	}
+
+	/**
+	 * Method to send an update to every StateListener. The turn is already applied, so a listener that throws doesn't
+	 * fail the request or keep the update from the others: it is removed, like a subscriber of a StateBroadcaster.
+	 * @param stateUpdate - StateUpdate, the update.
+	 */
+	private void notifyStateListeners(StateUpdate stateUpdate)
+	{
+		for (StateListener stateListener : stateListeners)
+		{
+			try
+			{
+				stateListener.onStateUpdate(stateUpdate);
+			}
+			catch (RuntimeException e)
+			{
+				stateListeners.remove(stateListener);
+			}
+		}
+	}
+
+	/**
+	 * Method to fail the requests that are still waiting in the mailbox.
+	 */
+	private void failWaitingRequests()
+	{
+		Request request;
+		while ((request = mailbox.poll()) != null)
+			request.result.completeExceptionally(new IllegalStateException("Session " + id + " is closed"));
+	}
+
+	@Override
+	/**
+	 * Record the event of the click being run, and the move it made.
+	 */
+	public void onTurnResult(TurnResult turnResult)
+	{
+		lastEvent = turnResult.getEvent();
+		if (turnResult.getMoveWasMade() && lastEvent != null)
+			turnMoves.add(lastEvent.getMove());
+	}
+
+	/**
+	 * Method to get the number of the session.
+	 * @return - long, the number.
+	 */
+	public long getId() { return id; }
+
+	/**
+	 * Method to check whether the session was closed.
+	 * @return - boolean, whether the session was closed.
+	 */
+	public boolean isClosed() { return closed; }
+
+	/**
+	 * Method to get when the last request was run.
+	 * @return - long, System.nanoTime of the last request, or of the creation of the session.
+	 */
+	public long getLastActivityNanos() { return lastActivityNanos; }
+}
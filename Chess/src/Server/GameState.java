@@ -0,0 +1,137 @@
+package Server;
+
+import java.util.Arrays;
+
+/**
+ * The GameState class is a copy of the state of a game built from StateUpdates: the state of every square, as in
+ * SquareState, and the turn, flags and money. Clients keep one to follow a game without the game classes, and the
+ * StateTracker of a session keeps one with what its clients were sent.
+ *
+ * A new copy has version -1 and an empty board, until it is given a snapshot.
+ */
+public class GameState
+{
+	/**
+	 * State of every square
+	 */
+	private final long[] squares = new long[SquareState.squareNum];
+
+	/**
+	 * Version of the last update applied, -1 for none
+	 */
+	private int version = -1;
+
+	/**
+	 * Turn of the game
+	 */
+	private int turn;
+
+	/**
+	 * Flags of the game, see Protocol
+	 */
+	private byte flags;
+
+	/**
+	 * Money of White
+	 */
+	private int whiteMoney;
+
+	/**
+	 * Money of Black
+	 */
+	private int blackMoney;
+
+	/**
+	 * Method to apply an update.
+	 * @param stateUpdate - StateUpdate, the update.
+	 * @return - boolean, false if an update before this one was missed. The copy is left as it was and needs a snapshot.
+	 */
+	public boolean apply(StateUpdate stateUpdate)
+	{
+		return stateUpdate.applyTo(this);
+	}
+
+	/**
+	 * Method to set the state of a square.
+	 * @param square - int, the square.
+	 * @param state - long, its state.
+	 */
+	void setSquare(int square, long state) { squares[square] = state; }
+
+	/**
+	 * Method to empty every square.
+	 */
+	void clearSquares() { Arrays.fill(squares, SquareState.empty); }
+
+	/**
+	 * Method to take the version, turn, flags and money of an update.
+	 * @param stateUpdate - StateUpdate, the update.
+	 */
+	void setHeader(StateUpdate stateUpdate)
+	{
+		version = stateUpdate.getVersion();
+		turn = stateUpdate.getTurn();
+		flags = stateUpdate.getFlags();
+		whiteMoney = stateUpdate.getWhiteMoney();
+		blackMoney = stateUpdate.getBlackMoney();
+	}
+
+	/**
+	 * Method to create a snapshot of the copy, to bring another copy to the same state.
+	 * @return - StateSnapshot, the snapshot, with the version of the copy.
+	 */
+	public StateSnapshot createSnapshot()
+	{
+		return StateSnapshot.create(version, turn, flags, whiteMoney, blackMoney, squares);
+	}
+
+	/**
+	 * Method to check whether the copy matches the state of every square of a board.
+	 * @param allSquares - long[], state of every square, as in SquareState.readBoard.
+	 * @return - boolean, whether every square is the same.
+	 */
+	public boolean matches(long[] allSquares) { return Arrays.equals(squares, allSquares); }
+
+	/**
+	 * Method to get the state of a square.
+	 * @param square - int, the square.
+	 * @return - long, its state, as in SquareState.
+	 */
+	public long getSquare(int square) { return squares[square]; }
+
+	/**
+	 * Method to get the version of the last update applied.
+	 * @return - int, the version, -1 for none.
+	 */
+	public int getVersion() { return version; }
+
+	/**
+	 * Method to get the turn.
+	 * @return - int, the turn.
+	 */
+	public int getTurn() { return turn; }
+
+	/**
+	 * Method to get the flags.
+	 * @return - byte, the flags, see Protocol.
+	 */
+	public byte getFlags() { return flags; }
+
+	/**
+	 * Method to check whether the game is over.
+	 * @return - boolean, whether the game is over.
+	 */
+	public boolean isGameOver() { return (flags & Protocol.gameOverFlag) != 0; }
+
+	/**
+	 * Method to get the money of White.
+	 * @return - int, money of White.
+	 */
+	public int getWhiteMoney() { return whiteMoney; }
+
+	/**
+	 * Method to get the money of Black.
+	 * @return - int, money of Black.
+	 */
+	public int getBlackMoney() { return blackMoney; }
+}
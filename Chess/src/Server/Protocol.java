@@ -0,0 +1,386 @@
+package Server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The Protocol class holds the binary protocol of the ProtocolServer. Every message is a frame: an int length, then
+ * the byte type of the frame and its payload, length bytes in all. Integers are big-endian and squares are numbered
+ * as in BitBoard.toSquare.
+ *
+ * Client frames:
+ * createFrame, byte side: create a game and take the seat of the side (whiteSide or blackSide).
+ * joinFrame, long id, byte side: take the seat of a side no one took yet, for the player the creator gave the id to.
+ * resumeFrame, long id, byte side, long token: take back a seat with the token the server gave for it.
+ * They are answered by the snapshotFrame and stateDeltaFrames that bring the client to the state of the game, then a
+ * sessionFrame with the token of the seat. A seat that is taken, or still held by another connection, is refused with
+ * a seatTakenError, and a wrong token with an invalidError.
+ * moveFrame, byte from, byte to: move the piece on the from square to the to square.
+ * itemFrame, byte item: buy and play an item.
+ * upgradeFrame, byte square, byte upgrade: buy an upgrade for the piece on the square.
+ * promotionFrame, byte choice: promote the pawn that reached the last row.
+ * resignFrame: give up the game.
+ * The action frames are answered by a resultFrame, or an errorFrame if they can't be run.
+ * spectateFrame, long id: watch a game. Answered by a sessionFrame, then a snapshotFrame and every update of the
+ * game, as the client reads them. A spectator that doesn't read fast enough is resynced with a snapshotFrame, then
+ * sent a droppedError; it can spectate again.
+ * leaveFrame: leave the game the connection plays or watches. A seat given up this way is given up for good: its token
+ * no longer takes it back. Answered by a sessionFrame with id 0, or a noSessionError if the connection is in no game.
+ *
+ * Server frames:
+ * sessionFrame, long id, long token (0 for a spectator).
+ * resultFrame, int turn, byte flags, byte MoveEventKind ordinal (-1 if the action did nothing), int packed move.
+ * stateDeltaFrame, sent to every connection of a game when a turn ends, see StateDelta.
+ * snapshotFrame, the whole state of a game, see StateSnapshot. Sent to a client that joins, and instead of a
+ * stateDeltaFrame when it is smaller.
+ * errorFrame, byte code.
+ */
+public final class Protocol
+{
+	/**
+	 * Bytes of the length of a frame
+	 */
+	public static final int lengthSize = Integer.BYTES;
+
+	/**
+	 * Longest frame, length field left out. A longer length means the stream is broken.
+	 */
+	public static final int maxFrameLength = 4096;
+
+	/**
+	 * Client frame to create a game
+	 */
+	public static final byte createFrame = 1;
+
+	/**
+	 * Client frame to take back a seat in a game
+	 */
+	public static final byte resumeFrame = 2;
+
+	/**
+	 * Client frame to move a piece
+	 */
+	public static final byte moveFrame = 3;
+
+	/**
+	 * Client frame to buy an item
+	 */
+	public static final byte itemFrame = 4;
+
+	/**
+	 * Client frame to buy an upgrade
+	 */
+	public static final byte upgradeFrame = 5;
+
+	/**
+	 * Client frame to choose a promotion
+	 */
+	public static final byte promotionFrame = 6;
+
+	/**
+	 * Client frame to resign
+	 */
+	public static final byte resignFrame = 7;
+
+	/**
+	 * Client frame to watch a game
+	 */
+	public static final byte spectateFrame = 8;
+
+	/**
+	 * Client frame to join a game
+	 */
+	public static final byte joinFrame = 9;
+
+	/**
+	 * Client frame to leave a game for good
+	 */
+	public static final byte leaveFrame = 10;
+
+	/**
+	 * Server frame with the number of the game the connection is in and the token of its seat
+	 */
+	public static final byte sessionFrame = 16;
+
+	/**
+	 * Server frame with the result of an action
+	 */
+	public static final byte resultFrame = 17;
+
+	/**
+	 * Server frame with the changes of a turn
+	 */
+	public static final byte stateDeltaFrame = 18;
+
+	/**
+	 * Server frame for a frame that couldn't be run
+	 */
+	public static final byte errorFrame = 19;
+
+	/**
+	 * Server frame with the whole state of a game
+	 */
+	public static final byte snapshotFrame = 20;
+
+	/**
+	 * Side byte of White
+	 */
+	public static final byte whiteSide = 0;
+
+	/**
+	 * Side byte of Black
+	 */
+	public static final byte blackSide = 1;
+
+	/**
+	 * Flag: the current player made a move and still has to promote a pawn
+	 */
+	public static final byte moveWasMadeFlag = 1;
+
+	/**
+	 * Flag: the game is over
+	 */
+	public static final byte gameOverFlag = 2;
+
+	/**
+	 * Flag: White plays next
+	 */
+	public static final byte whiteToMoveFlag = 4;
+
+	/**
+	 * Error: the connection is not in a game, or the game doesn't exist
+	 */
+	public static final byte noSessionError = 1;
+
+	/**
+	 * Error: the server refused, it has no room for a game or the game is closed or busy
+	 */
+	public static final byte refusedError = 2;
+
+	/**
+	 * Error: the action is not allowed, it is not the side's turn or the move is not legal
+	 */
+	public static final byte invalidError = 3;
+
+	/**
+	 * Error: the frame is not one the server knows
+	 */
+	public static final byte unknownFrameError = 4;
+
+	/**
+	 * Error: the spectator fell behind the game and was dropped
+	 */
+	public static final byte droppedError = 5;
+
+	/**
+	 * Error: the seat was taken, or is held by another connection
+	 */
+	public static final byte seatTakenError = 6;
+
+	/**
+	 * No instances, only static helpers.
+	 */
+	private Protocol() {}
+
+	/**
+	 * Method to start a frame. The caller puts the payload and flips the buffer.
+	 * @param type - byte, type of the frame.
+	 * @param payloadSize - int, bytes of the payload.
+	 * @return - ByteBuffer, buffer with the length and type written.
+	 */
+	public static ByteBuffer startFrame(byte type, int payloadSize)
+	{
+		ByteBuffer frame = ByteBuffer.allocate(lengthSize + 1 + payloadSize);
+		frame.putInt(1 + payloadSize);
+		frame.put(type);
+		return frame;
+	}
+
+	/**
+	 * Method to get the side byte of a color.
+	 * @param color - String, "White" or "Black".
+	 * @return - byte, whiteSide or blackSide.
+	 */
+	public static byte toSide(String color) { return color.equals("White") ? whiteSide : blackSide; }
+
+	/**
+	 * Method to get the color of a side byte.
+	 * @param side - byte, whiteSide or blackSide.
+	 * @return - String, "White" or "Black", null for an unknown side.
+	 */
+	public static String toColor(byte side)
+	{
+		if (side == whiteSide)
+			return "White";
+		if (side == blackSide)
+			return "Black";
+		return null;
+	}
+
+	/**
+	 * Method to get the flags of the state after an action.
+	 * @param result - ClickResult, result of the action.
+	 * @return - byte, the flags.
+	 */
+	public static byte getFlags(ClickResult result)
+	{
+		return getFlags(result.getMoveWasMade(), result.getGameOver(), result.getCurrentColor());
+	}
+
+	/**
+	 * Method to get the flags of the state of a game.
+	 * @param moveWasMade - boolean, whether the current player made a move and still has to promote a pawn.
+	 * @param gameOver - boolean, whether the game is over.
+	 * @param currentColor - String, color of the player to play next.
+	 * @return - byte, the flags.
+	 */
+	public static byte getFlags(boolean moveWasMade, boolean gameOver, String currentColor)
+	{
+		int flags = 0;
+		if (moveWasMade)
+			flags |= moveWasMadeFlag;
+		if (gameOver)
+			flags |= gameOverFlag;
+		if (currentColor.equals("White"))
+			flags |= whiteToMoveFlag;
+		return (byte) flags;
+	}
+
+	/**
+	 * Method to encode a sessionFrame.
+	 * @param id - long, number of the game.
+	 * @param token - long, token of the seat of the connection, 0 for a spectator.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeSession(long id, long token)
+	{
+		return startFrame(sessionFrame, 2 * Long.BYTES).putLong(id).putLong(token).flip();
+	}
+
+	/**
+	 * Method to encode a resultFrame.
+	 * @param result - ClickResult, result of the action.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeResult(ClickResult result)
+	{
+		ByteBuffer frame = startFrame(resultFrame, Integer.BYTES + 2 + Integer.BYTES);
+		frame.putInt(result.getTurn());
+		frame.put(getFlags(result));
+		frame.put((byte) (result.getEvent() != null ? result.getEvent().getKind().ordinal() : -1));
+		frame.putInt(result.getEvent() != null ? result.getEvent().getMove() : 0);
+		return frame.flip();
+	}
+
+	/**
+	 * Method to encode an errorFrame.
+	 * @param code - byte, the error.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeError(byte code)
+	{
+		return startFrame(errorFrame, 1).put(code).flip();
+	}
+
+	/**
+	 * Method to encode a createFrame.
+	 * @param side - byte, side to play.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeCreate(byte side)
+	{
+		return startFrame(createFrame, 1).put(side).flip();
+	}
+
+	/**
+	 * Method to encode a joinFrame.
+	 * @param id - long, number of the game.
+	 * @param side - byte, side to play.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeJoin(long id, byte side)
+	{
+		return startFrame(joinFrame, Long.BYTES + 1).putLong(id).put(side).flip();
+	}
+
+	/**
+	 * Method to encode a resumeFrame.
+	 * @param id - long, number of the game.
+	 * @param side - byte, side to play.
+	 * @param token - long, token of the seat.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeResume(long id, byte side, long token)
+	{
+		return startFrame(resumeFrame, 2 * Long.BYTES + 1).putLong(id).put(side).putLong(token).flip();
+	}
+
+	/**
+	 * Method to encode a moveFrame.
+	 * @param fromSquare - int, square of the piece.
+	 * @param toSquare - int, square the piece goes to.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeMove(int fromSquare, int toSquare)
+	{
+		return startFrame(moveFrame, 2).put((byte) fromSquare).put((byte) toSquare).flip();
+	}
+
+	/**
+	 * Method to encode an itemFrame.
+	 * @param itemIndex - int, index of the item.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeItem(int itemIndex)
+	{
+		return startFrame(itemFrame, 1).put((byte) itemIndex).flip();
+	}
+
+	/**
+	 * Method to encode an upgradeFrame.
+	 * @param square - int, square of the piece.
+	 * @param upgradeIndex - int, index of the upgrade in the piece's available upgrades.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeUpgrade(int square, int upgradeIndex)
+	{
+		return startFrame(upgradeFrame, 2).put((byte) square).put((byte) upgradeIndex).flip();
+	}
+
+	/**
+	 * Method to encode a promotionFrame.
+	 * @param promotionChoice - int, the piece to promote to, as in Player.promote.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodePromotion(int promotionChoice)
+	{
+		return startFrame(promotionFrame, 1).put((byte) promotionChoice).flip();
+	}
+
+	/**
+	 * Method to encode a spectateFrame.
+	 * @param id - long, number of the game.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeSpectate(long id)
+	{
+		return startFrame(spectateFrame, Long.BYTES).putLong(id).flip();
+	}
+
+	/**
+	 * Method to encode a resignFrame.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeResign()
+	{
+		return startFrame(resignFrame, 0).flip();
+	}
+
+	/**
+	 * Method to encode a leaveFrame.
+	 * @return - ByteBuffer, the frame, ready to be written.
+	 */
+	public static ByteBuffer encodeLeave()
+	{
+		return startFrame(leaveFrame, 0).flip();
+	}
+}
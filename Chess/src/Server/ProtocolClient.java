@@ -0,0 +1,390 @@
+package Server;
+
+import Players.MoveEventKind;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * The ProtocolClient class is a blocking client of the ProtocolServer, one action at a time. The reply of the last
+ * action is kept and read with the getters. The state updates the server sends are applied to the client's GameState
+ * as they arrive, and queued until they are polled.
+ */
+public class ProtocolClient implements AutoCloseable
+{
+	/**
+	 * Every MoveEventKind, indexed by ordinal
+	 */
+	private static final MoveEventKind[] eventKinds = MoveEventKind.values();
+
+	/**
+	 * Channel connected to the server, blocking
+	 */
+	private final SocketChannel channel;
+
+	/**
+	 * Bytes read from the server and not yet decoded, ready to be read
+	 */
+	private final ByteBuffer readBuffer = ByteBuffer.allocate(ProtocolServer.readBufferSize).flip();
+
+	/**
+	 * State updates received and not yet polled
+	 */
+	private final ArrayDeque<StateUpdate> stateUpdates = new ArrayDeque<StateUpdate>();
+
+	/**
+	 * State of the game, from the updates received since the client joined it
+	 */
+	private GameState gameState = new GameState();
+
+	/**
+	 * Number of the game the client is in, 0 for none
+	 */
+	private long sessionId;
+
+	/**
+	 * Token of the seat the client holds, 0 for none
+	 */
+	private long seatToken;
+
+	/**
+	 * Turn of the game after the last action
+	 */
+	private int turn;
+
+	/**
+	 * Flags of the game after the last action, see Protocol
+	 */
+	private byte flags;
+
+	/**
+	 * What the last action did, null if it did nothing
+	 */
+	private MoveEventKind eventKind;
+
+	/**
+	 * Move of the last action, packed as in Move
+	 */
+	private int move;
+
+	/**
+	 * Error code of the last action that failed
+	 */
+	private byte errorCode;
+
+	/**
+	 * Class constructor. Connects to a server on the loopback address.
+	 * @param port - int, port of the server.
+	 * @throws IOException if the server can't be reached.
+	 */
+	public ProtocolClient(int port) throws IOException
+	{
+		channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+		channel.socket().setTcpNoDelay(true);
+	}
+
+	/**
+	 * Method to create a game on the server and join it. The token of the seat is kept, see getSeatToken.
+	 * @param side - byte, side to play, Protocol.whiteSide or Protocol.blackSide.
+	 * @return - long, number of the game, for the other player to join with.
+	 * @throws IOException if the connection broke.
+	 * @throws IllegalStateException if the server refused to create a game.
+	 */
+	public long createSession(byte side) throws IOException
+	{
+		startSession();
+		if (request(Protocol.encodeCreate(side)) != Protocol.sessionFrame)
+			throw new IllegalStateException("The server refused to create a game, error " + errorCode);
+		return sessionId;
+	}
+
+	/**
+	 * Method to join a game that is open on the server, in a seat no one took yet. The token of the seat is kept, see
+	 * getSeatToken.
+	 * @param id - long, number of the game.
+	 * @param side - byte, side to play, Protocol.whiteSide or Protocol.blackSide.
+	 * @return - boolean, false if there is no open game with that number or the seat is taken, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean joinSession(long id, byte side) throws IOException
+	{
+		startSession();
+		return request(Protocol.encodeJoin(id, side)) == Protocol.sessionFrame;
+	}
+
+	/**
+	 * Method to take back a seat in a game that is open on the server, for example after reconnecting.
+	 * @param id - long, number of the game.
+	 * @param side - byte, side to play, Protocol.whiteSide or Protocol.blackSide.
+	 * @param token - long, token of the seat, from getSeatToken when it was taken.
+	 * @return - boolean, false if there is no open game with that number, the token is wrong or another connection
+	 * holds the seat, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean resumeSession(long id, byte side, long token) throws IOException
+	{
+		startSession();
+		return request(Protocol.encodeResume(id, side, token)) == Protocol.sessionFrame;
+	}
+
+	/**
+	 * Method to watch a game. The updates come as waitForStateUpdate reads them, the first one a snapshot.
+	 * @param id - long, number of the game.
+	 * @return - boolean, false if the server has no open game with that number.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean spectate(long id) throws IOException
+	{
+		startSession();
+		return request(Protocol.encodeSpectate(id)) == Protocol.sessionFrame;
+	}
+
+	/**
+	 * Method to leave the game the client plays or watches for good. A seat left this way can't be taken back.
+	 * @return - boolean, false if the client is in no game, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean leaveSession() throws IOException
+	{
+		boolean left = request(Protocol.encodeLeave()) == Protocol.sessionFrame;
+		startSession();
+		return left;
+	}
+
+	/**
+	 * Method to forget the game the client was in, before it joins another.
+	 */
+	private void startSession()
+	{
+		stateUpdates.clear();
+		gameState = new GameState();
+	}
+
+	/**
+	 * Method to move a piece.
+	 * @param fromSquare - int, square of the piece.
+	 * @param toSquare - int, square the piece goes to.
+	 * @return - boolean, false if the server refused the move, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean play(int fromSquare, int toSquare) throws IOException
+	{
+		return request(Protocol.encodeMove(fromSquare, toSquare)) == Protocol.resultFrame;
+	}
+
+	/**
+	 * Method to buy and play an item.
+	 * @param itemIndex - int, index of the item.
+	 * @return - boolean, false if the server refused, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean buyItem(int itemIndex) throws IOException
+	{
+		return request(Protocol.encodeItem(itemIndex)) == Protocol.resultFrame;
+	}
+
+	/**
+	 * Method to buy an upgrade for a piece.
+	 * @param square - int, square of the piece.
+	 * @param upgradeIndex - int, index of the upgrade in the piece's available upgrades.
+	 * @return - boolean, false if the server refused, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean buyUpgrade(int square, int upgradeIndex) throws IOException
+	{
+		return request(Protocol.encodeUpgrade(square, upgradeIndex)) == Protocol.resultFrame;
+	}
+
+	/**
+	 * Method to promote the pawn that reached the last row.
+	 * @param promotionChoice - int, the piece to promote to, as in Player.promote.
+	 * @return - boolean, false if the server refused, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean promote(int promotionChoice) throws IOException
+	{
+		return request(Protocol.encodePromotion(promotionChoice)) == Protocol.resultFrame;
+	}
+
+	/**
+	 * Method to resign the game.
+	 * @return - boolean, false if the server refused, see getErrorCode.
+	 * @throws IOException if the connection broke.
+	 */
+	public boolean resign() throws IOException
+	{
+		return request(Protocol.encodeResign()) == Protocol.resultFrame;
+	}
+
+	/**
+	 * Method to take the oldest state update received. It is already applied to getGameState.
+	 * @return - StateUpdate, the update, null if none is waiting.
+	 */
+	public StateUpdate pollStateUpdate()
+	{
+		return stateUpdates.poll();
+	}
+
+	/**
+	 * Method to wait for a state update, for example while the opponent plays. It is already applied to getGameState.
+	 * @return - StateUpdate, the oldest update received, null if the server sent an error instead, see getErrorCode.
+	 * A spectator gets one when it is dropped or the game is closed.
+	 * @throws IOException if the connection broke.
+	 */
+	public StateUpdate waitForStateUpdate() throws IOException
+	{
+		while (stateUpdates.isEmpty())
+			if (readFrame() == Protocol.errorFrame)
+				return null;
+		return stateUpdates.poll();
+	}
+
+	/**
+	 * Method to send a frame and read frames until its reply.
+	 * @param frame - ByteBuffer, the frame, ready to be written.
+	 * @return - byte, type of the reply.
+	 * @throws IOException if the connection broke.
+	 */
+	private byte request(ByteBuffer frame) throws IOException
+	{
+		while (frame.hasRemaining())
+			channel.write(frame);
+
+		byte type;
+		do
+			type = readFrame();
+		while (type == Protocol.stateDeltaFrame || type == Protocol.snapshotFrame);
+		return type;
+	}
+
+	/**
+	 * Method to read and decode one frame.
+	 * @return - byte, type of the frame.
+	 * @throws IOException if the connection broke or the server sent a broken frame.
+	 */
+	private byte readFrame() throws IOException
+	{
+		fill(Protocol.lengthSize);
+		int length = readBuffer.getInt();
+		if (length < 1 || length > Protocol.maxFrameLength)
+			throw new IOException("Broken frame length " + length);
+		fill(length);
+
+		int end = readBuffer.position() + length;
+		byte type = readBuffer.get();
+		switch (type)
+		{
+			case Protocol.sessionFrame:
+				sessionId = readBuffer.getLong();
+				seatToken = readBuffer.getLong();
+				break;
+			case Protocol.resultFrame:
+				turn = readBuffer.getInt();
+				flags = readBuffer.get();
+				byte ordinal = readBuffer.get();
+				eventKind = ordinal >= 0 ? eventKinds[ordinal] : null;
+				move = readBuffer.getInt();
+				break;
+			case Protocol.stateDeltaFrame:
+			case Protocol.snapshotFrame:
+				StateUpdate stateUpdate = StateUpdate.decode(type, readBuffer);
+				if (!gameState.apply(stateUpdate))
+					throw new IOException("Missed the state updates before version " + stateUpdate.getVersion());
+				stateUpdates.add(stateUpdate);
+				break;
+			case Protocol.errorFrame:
+				errorCode = readBuffer.get();
+				break;
+			default:
+				break;
+		}
+		//Skip what this client doesn't know about.
+		readBuffer.position(end);
+		return type;
+	}
+
+	/**
+	 * Method to read from the channel until the buffer holds enough bytes.
+	 * @param size - int, bytes needed.
+	 * @throws IOException if the connection broke.
+	 */
+	private void fill(int size) throws IOException
+	{
+		while (readBuffer.remaining() < size)
+		{
+			readBuffer.compact();
+			int read = channel.read(readBuffer);
+			readBuffer.flip();
+			if (read < 0)
+				throw new EOFException("The server closed the connection");
+		}
+	}
+
+	/**
+	 * Method to get the state of the game, as of the last update received.
+	 * @return - GameState, the state. It changes as updates arrive.
+	 */
+	public GameState getGameState() { return gameState; }
+
+	/**
+	 * Method to get the number of the game the client is in.
+	 * @return - long, the number, 0 for none.
+	 */
+	public long getSessionId() { return sessionId; }
+
+	/**
+	 * Method to get the token of the seat the client holds, to take it back after reconnecting.
+	 * @return - long, the token, 0 for a spectator or a client in no game.
+	 */
+	public long getSeatToken() { return seatToken; }
+
+	/**
+	 * Method to get the turn after the last action.
+	 * @return - int, the turn.
+	 */
+	public int getTurn() { return turn; }
+
+	/**
+	 * Method to check whether a move was made and a promotion is pending.
+	 * @return - boolean, whether a pawn has to be promoted after the last action.
+	 */
+	public boolean isMoveWasMade() { return (flags & Protocol.moveWasMadeFlag) != 0; }
+
+	/**
+	 * Method to check whether the game is over.
+	 * @return - boolean, whether the game was over after the last action.
+	 */
+	public boolean isGameOver() { return (flags & Protocol.gameOverFlag) != 0; }
+
+	/**
+	 * Method to get what the last action did.
+	 * @return - MoveEventKind, the kind of the event, null if the action did nothing.
+	 */
+	public MoveEventKind getEventKind() { return eventKind; }
+
+	/**
+	 * Method to get the move of the last action.
+	 * @return - int, the move packed as in Move, 0 if there is none.
+	 */
+	public int getMove() { return move; }
+
+	/**
+	 * Method to get why the last action failed.
+	 * @return - byte, the error code, see Protocol.
+	 */
+	public byte getErrorCode() { return errorCode; }
+
+	@Override
+	/**
+	 * Disconnect from the server. The game stays open on the server.
+	 */
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+}
@@ -0,0 +1,757 @@
+package Server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ProtocolServer class serves the binary protocol (see Protocol) to many clients from one thread with a
+ * java.nio Selector. The games are the sessions of a GameServer: the selector thread only reads frames and writes
+ * replies, and the actions run on the sessions' own threads, which hand their replies back through the outbox of
+ * the connection.
+ *
+ * A connection plays a side only while it holds the seat of that side in the GameSession, so no other connection can
+ * act for that side; it gives the seat up when it leaves the game or closes, and can take it back with its token,
+ * unless it left with a leaveFrame.
+ *
+ * Frames are read straight out of the direct read buffer of the connection, without copying them. A connection in a
+ * game is a StateListener of its session: the update of a turn is encoded once and every connection of the game
+ * writes a duplicate of the same buffer.
+ *
+ * A spectating connection subscribes to the StateBroadcaster of the game. It requests spectatorWindow updates, and
+ * one more for every frame it gets written to the socket, so a spectator that reads slowly stops asking and falls
+ * behind in the broadcaster rather than filling the server's memory.
+ *
+ * A client that doesn't read its replies fills its outbox. Once it holds maxOutboxFrames frames the connection is
+ * closed rather than letting the server buffer without bound; the game stays open to be resumed.
+ *
+ * A game whose connections all gave up their seats once it is over, or left it for good, is closed by its session, so
+ * it doesn't keep its room in the GameServer. A game left before it is over without a leaveFrame is closed by the
+ * GameServer once it has been idle too long.
+ */
+public class ProtocolServer implements AutoCloseable
+{
+	/**
+	 * Bytes of the read buffer of a connection, enough for several frames
+	 */
+	public static final int readBufferSize = 2 * (Protocol.lengthSize + Protocol.maxFrameLength);
+
+	/**
+	 * Most frames waiting to be written to a connection
+	 */
+	public static final int maxOutboxFrames = 256;
+
+	/**
+	 * Updates a spectating connection asks for before it has written any
+	 */
+	public static final int spectatorWindow = 16;
+
+	/**
+	 * Sessions the clients play in
+	 */
+	private final GameServer gameServer;
+
+	/**
+	 * Selector of the listening channel and every connection
+	 */
+	private final Selector selector;
+
+	/**
+	 * Channel clients connect to
+	 */
+	private final ServerSocketChannel serverChannel;
+
+	/**
+	 * Connections with frames to write, handed to the selector thread
+	 */
+	private final ConcurrentLinkedQueue<Connection> pendingWrites = new ConcurrentLinkedQueue<Connection>();
+
+	/**
+	 * Thread that runs the selector
+	 */
+	private final Thread selectorThread;
+
+	/**
+	 * Number of open connections
+	 */
+	private final AtomicInteger connectionNum = new AtomicInteger();
+
+	/**
+	 * Whether the server was closed
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * One client: its channel, the frames read but not run yet and the frames waiting to be written.
+	 */
+	private class Connection implements StateListener
+	{
+		/**
+		 * Channel of the client
+		 */
+		private final SocketChannel channel;
+
+		/**
+		 * Key of the channel in the selector
+		 */
+		private final SelectionKey key;
+
+		/**
+		 * Bytes read and not yet run as frames
+		 */
+		private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(readBufferSize);
+
+		/**
+		 * Frames waiting to be written, the first one may be partly written
+		 */
+		private final ConcurrentLinkedQueue<ByteBuffer> outbox = new ConcurrentLinkedQueue<ByteBuffer>();
+
+		/**
+		 * Number of frames in the outbox
+		 */
+		private final AtomicInteger outboxSize = new AtomicInteger();
+
+		/**
+		 * Game the client plays in, null until it creates or resumes one
+		 */
+		private volatile GameSession session;
+
+		/**
+		 * Color the client plays, the seat it holds in the session
+		 */
+		private volatile String color;
+
+		/**
+		 * Subscriber of the game the client watches, null while it doesn't
+		 */
+		private volatile Spectator spectator;
+
+		/**
+		 * Whether the connection was closed
+		 */
+		private volatile boolean connectionClosed;
+
+		/**
+		 * Class constructor. Registers the channel for reading.
+		 * @param channel - SocketChannel, channel of the client, non-blocking.
+		 * @throws IOException if the channel can't be registered.
+		 */
+		private Connection(SocketChannel channel) throws IOException
+		{
+			this.channel = channel;
+			this.key = channel.register(selector, SelectionKey.OP_READ, this);
+		}
+
+		/**
+		 * Method to queue a frame for the client. Any thread may call it.
+		 * @param frame - ByteBuffer, the frame, ready to be written. It is not copied.
+		 */
+		private void send(ByteBuffer frame)
+		{
+			if (connectionClosed)
+				return;
+			outbox.add(frame);
+			outboxSize.incrementAndGet();
+			pendingWrites.add(this);
+			selector.wakeup();
+		}
+
+		/**
+		 * Method to read what the client sent and run every complete frame. Runs on the selector thread.
+		 * @throws IOException if the connection broke or the client sent a broken frame.
+		 */
+		private void read() throws IOException
+		{
+			if (channel.read(readBuffer) < 0)
+				throw new IOException("The client disconnected");
+
+			readBuffer.flip();
+			while (readBuffer.remaining() >= Protocol.lengthSize)
+			{
+				int start = readBuffer.position();
+				int length = readBuffer.getInt(start);
+				if (length < 1 || length > Protocol.maxFrameLength)
+					throw new IOException("Broken frame length " + length);
+				if (readBuffer.remaining() < Protocol.lengthSize + length)
+					break;
+
+				runFrame(readBuffer.get(start + Protocol.lengthSize), start + Protocol.lengthSize + 1, length - 1);
+				readBuffer.position(start + Protocol.lengthSize + length);
+			}
+			readBuffer.compact();
+		}
+
+		/**
+		 * Method to run one frame. The payload is read in place from the read buffer.
+		 * @param type - byte, type of the frame.
+		 * @param offset - int, index of the payload in the read buffer.
+		 * @param payloadSize - int, bytes of the payload.
+		 */
+		private void runFrame(byte type, int offset, int payloadSize)
+		{
+			ByteBuffer payload = readBuffer;
+			if (payloadSize < getPayloadSize(type))
+			{
+				send(Protocol.encodeError(Protocol.unknownFrameError));
+				return;
+			}
+
+			switch (type)
+			{
+				case Protocol.createFrame:
+					String createColor = Protocol.toColor(payload.get(offset));
+					if (createColor == null)
+					{
+						send(Protocol.encodeError(Protocol.invalidError));
+						return;
+					}
+					leave();
+					try
+					{
+						GameSession created = gameServer.createSession();
+						join(created, createColor, created.claimSeat(createColor, this));
+					}
+					catch (IllegalStateException e)
+					{
+						send(Protocol.encodeError(Protocol.refusedError));
+					}
+					return;
+				case Protocol.spectateFrame:
+					GameSession watched = gameServer.getSession(payload.getLong(offset));
+					if (watched == null)
+						send(Protocol.encodeError(Protocol.noSessionError));
+					else
+						spectate(watched);
+					return;
+				case Protocol.joinFrame:
+				case Protocol.resumeFrame:
+					GameSession resumed = gameServer.getSession(payload.getLong(offset));
+					String resumeColor = Protocol.toColor(payload.get(offset + Long.BYTES));
+					if (resumed == null)
+						send(Protocol.encodeError(Protocol.noSessionError));
+					else if (resumeColor == null)
+						send(Protocol.encodeError(Protocol.invalidError));
+					else
+						takeSeat(resumed, resumeColor, type == Protocol.resumeFrame ? payload.getLong(offset + Long.BYTES + 1) : 0);
+					return;
+				case Protocol.leaveFrame:
+					if (session == null && spectator == null)
+						send(Protocol.encodeError(Protocol.noSessionError));
+					else
+					{
+						leave(true);
+						send(Protocol.encodeSession(0, 0));
+					}
+					return;
+				default:
+					break;
+			}
+
+			GameSession current = session;
+			if (current == null)
+			{
+				send(Protocol.encodeError(Protocol.noSessionError));
+				return;
+			}
+			switch (type)
+			{
+				case Protocol.moveFrame:
+					reply(current.play(color, payload.get(offset), payload.get(offset + 1)));
+					break;
+				case Protocol.itemFrame:
+					reply(current.buyItem(color, payload.get(offset)));
+					break;
+				case Protocol.upgradeFrame:
+					reply(current.buyUpgrade(color, payload.get(offset), payload.get(offset + 1)));
+					break;
+				case Protocol.promotionFrame:
+					reply(current.promote(color, payload.get(offset)));
+					break;
+				case Protocol.resignFrame:
+					reply(current.resign(color));
+					break;
+				default:
+					send(Protocol.encodeError(Protocol.unknownFrameError));
+			}
+		}
+
+		/**
+		 * Method to take a seat of a game, then join it.
+		 * @param joined - GameSession, the game.
+		 * @param joinedColor - String, color of the seat.
+		 * @param token - long, token of the seat to take it back, 0 to take a seat no one took yet.
+		 */
+		private void takeSeat(GameSession joined, String joinedColor, long token)
+		{
+			//Leave first, the seat to take may be the one the connection holds.
+			leave();
+			long seatToken = token;
+			try
+			{
+				if (token == 0)
+					seatToken = joined.claimSeat(joinedColor, this);
+				else
+					joined.resumeSeat(joinedColor, token, this);
+			}
+			catch (IllegalStateException e)
+			{
+				send(Protocol.encodeError(Protocol.seatTakenError));
+				return;
+			}
+			catch (IllegalArgumentException e)
+			{
+				send(Protocol.encodeError(Protocol.invalidError));
+				return;
+			}
+			join(joined, joinedColor, seatToken);
+		}
+
+		/**
+		 * Method to put the connection in a game, once it holds a seat and left the game it was in. The session sends
+		 * it the updates that bring it to the state of the game, then the connection sends the sessionFrame.
+		 * @param joined - GameSession, the game.
+		 * @param joinedColor - String, color of the seat the connection holds.
+		 * @param token - long, token of the seat.
+		 */
+		private void join(GameSession joined, String joinedColor, long token)
+		{
+			session = joined;
+			color = joinedColor;
+			joined.addStateListener(this).whenComplete((result, error) ->
+			{
+				if (error == null && session == joined)
+					send(Protocol.encodeSession(joined.getId(), token));
+				//The client left the game, or closed, while it was being added.
+				else if (error == null)
+					joined.removeStateListener(this);
+				else if (session == joined)
+				{
+					session = null;
+					joined.releaseSeat(joinedColor, this);
+					send(Protocol.encodeError(Protocol.refusedError));
+				}
+				else
+					send(Protocol.encodeError(Protocol.refusedError));
+			});
+		}
+
+		/**
+		 * Method to make the connection watch a game. It is sent the sessionFrame, then the updates.
+		 * @param watched - GameSession, the game.
+		 */
+		private void spectate(GameSession watched)
+		{
+			leave();
+			Spectator watching = new Spectator(this);
+			spectator = watching;
+			send(Protocol.encodeSession(watched.getId(), 0));
+			watched.spectate(watching);
+		}
+
+		/**
+		 * Method to take the connection out of the game it plays or watches, if any, and give up its seat. Its token
+		 * still takes the seat back.
+		 */
+		private void leave()
+		{
+			leave(false);
+		}
+
+		/**
+		 * Method to take the connection out of the game it plays or watches, if any, and give up its seat.
+		 * @param forGood - boolean, whether the seat is given up for good, so its token no longer takes it back.
+		 */
+		private void leave(boolean forGood)
+		{
+			Spectator watching = spectator;
+			if (watching != null)
+			{
+				spectator = null;
+				watching.cancel();
+			}
+
+			GameSession current = session;
+			if (current == null)
+				return;
+			current.removeStateListener(this);
+			if (forGood)
+				current.leaveSeat(color, this);
+			else
+				current.releaseSeat(color, this);
+			session = null;
+		}
+
+		/**
+		 * Method to answer an action once the session ran it. The update of a turn that ended reached the connections
+		 * of the game, this one included, before the result.
+		 * @param action - CompletableFuture<ClickResult>, the action.
+		 */
+		private void reply(CompletableFuture<ClickResult> action)
+		{
+			action.whenComplete((result, error) ->
+			{
+				if (error != null)
+					send(Protocol.encodeError(toErrorCode(error)));
+				else
+					send(Protocol.encodeResult(result));
+			});
+		}
+
+		@Override
+		/**
+		 * Send an update of the game, on the session's thread.
+		 */
+		public void onStateUpdate(StateUpdate stateUpdate)
+		{
+			send(stateUpdate.getFrame());
+		}
+
+		/**
+		 * Method to write the frames of the outbox until it is empty or the channel is full. Runs on the selector thread.
+		 * @throws IOException if the connection broke.
+		 */
+		private void write() throws IOException
+		{
+			if (outboxSize.get() > maxOutboxFrames)
+				throw new IOException("The client doesn't read its frames");
+
+			int writtenNum = 0;
+			ByteBuffer frame;
+			while ((frame = outbox.peek()) != null)
+			{
+				channel.write(frame);
+				if (frame.hasRemaining())
+					break;
+				outbox.poll();
+				outboxSize.decrementAndGet();
+				writtenNum++;
+			}
+			key.interestOps(frame != null ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+
+			//The few frames that are not updates, like the sessionFrame, make the window a little wider.
+			Spectator watching = spectator;
+			if (watching != null && writtenNum > 0)
+				watching.request(writtenNum);
+		}
+
+		/**
+		 * Method to close the connection. The game stays open to be resumed, unless it is over and this was the last
+		 * connection holding a seat.
+		 */
+		private void close()
+		{
+			if (connectionClosed)
+				return;
+			connectionClosed = true;
+			connectionNum.decrementAndGet();
+			leave();
+			key.cancel();
+			try
+			{
+				channel.close();
+			}
+			catch (IOException e)
+			{
+				//Closed anyway.
+			}
+		}
+	}
+
+	/**
+	 * The subscriber of a spectating connection to the StateBroadcaster of the game.
+	 */
+	private class Spectator implements Flow.Subscriber<StateUpdate>
+	{
+		/**
+		 * Connection of the spectator
+		 */
+		private final Connection connection;
+
+		/**
+		 * Subscription to the broadcaster, null until it arrives
+		 */
+		private volatile Flow.Subscription subscription;
+
+		/**
+		 * Whether the connection stopped watching
+		 */
+		private volatile boolean cancelled;
+
+		/**
+		 * Class constructor.
+		 * @param connection - Connection, connection of the spectator.
+		 */
+		private Spectator(Connection connection)
+		{
+			this.connection = connection;
+		}
+
+		/**
+		 * Method to ask for more updates.
+		 * @param n - long, number of updates.
+		 */
+		private void request(long n)
+		{
+			Flow.Subscription current = subscription;
+			if (current != null && !cancelled)
+				current.request(n);
+		}
+
+		/**
+		 * Method to stop watching.
+		 */
+		private void cancel()
+		{
+			cancelled = true;
+			Flow.Subscription current = subscription;
+			if (current != null)
+				current.cancel();
+		}
+
+		@Override
+		/**
+		 * Ask for the first updates, unless the connection stopped watching meanwhile.
+		 */
+		public void onSubscribe(Flow.Subscription subscription)
+		{
+			this.subscription = subscription;
+			if (cancelled || connection.connectionClosed)
+				subscription.cancel();
+			else
+				subscription.request(spectatorWindow);
+		}
+
+		@Override
+		/**
+		 * Send an update, as it is.
+		 */
+		public void onNext(StateUpdate stateUpdate)
+		{
+			connection.send(stateUpdate.getFrame());
+		}
+
+		@Override
+		/**
+		 * The spectator fell behind and was dropped.
+		 */
+		public void onError(Throwable throwable)
+		{
+			stop(Protocol.droppedError);
+		}
+
+		@Override
+		/**
+		 * The game was closed.
+		 */
+		public void onComplete()
+		{
+			stop(Protocol.noSessionError);
+		}
+
+		/**
+		 * Method to tell the client it no longer watches the game, if it didn't leave it already.
+		 * @param code - byte, the error sent.
+		 */
+		private void stop(byte code)
+		{
+			if (connection.spectator != this)
+				return;
+			connection.spectator = null;
+			connection.send(Protocol.encodeError(code));
+		}
+	}
+
+	/**
+	 * Class constructor. Opens the channel on the loopback address and starts the selector thread.
+	 * @param gameServer - GameServer, sessions the clients play in.
+	 * @param port - int, port to listen on, 0 for any free port.
+	 * @throws IOException if the channel can't be opened.
+	 */
+	public ProtocolServer(GameServer gameServer, int port) throws IOException
+	{
+		this.gameServer = gameServer;
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+		serverChannel.configureBlocking(false);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		this.selectorThread = new Thread(this::runSelector, "protocol-server");
+		selectorThread.setDaemon(true);
+		selectorThread.start();
+	}
+
+	/**
+	 * Method to get the port the server listens on.
+	 * @return - int, the port.
+	 * @throws IOException if the channel is closed.
+	 */
+	public int getPort() throws IOException
+	{
+		return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+	}
+
+	/**
+	 * Method to get the number of open connections.
+	 * @return - int, the number of connections.
+	 */
+	public int getConnectionNum() { return connectionNum.get(); }
+
+	/**
+	 * Method run by the selector thread: accept connections, read frames and write replies until the server is closed.
+	 */
+	private void runSelector()
+	{
+		while (!closed)
+		{
+			try
+			{
+				selector.select();
+			}
+			catch (IOException e)
+			{
+				break;
+			}
+
+			Connection pending;
+			while ((pending = pendingWrites.poll()) != null)
+				writeOrClose(pending);
+
+			Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+			while (keys.hasNext())
+			{
+				SelectionKey key = keys.next();
+				keys.remove();
+				if (!key.isValid())
+					continue;
+				if (key.isAcceptable())
+				{
+					accept();
+					continue;
+				}
+
+				Connection connection = (Connection) key.attachment();
+				try
+				{
+					if (key.isReadable())
+						connection.read();
+					if (key.isValid() && key.isWritable())
+						connection.write();
+				}
+				catch (IOException e)
+				{
+					connection.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Method to accept the clients waiting to connect.
+	 */
+	private void accept()
+	{
+		try
+		{
+			SocketChannel channel;
+			while ((channel = serverChannel.accept()) != null)
+			{
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+				new Connection(channel);
+				connectionNum.incrementAndGet();
+			}
+		}
+		catch (IOException e)
+		{
+			//The client left before it was accepted.
+		}
+	}
+
+	/**
+	 * Method to write the outbox of a connection, closing it if it broke.
+	 * @param connection - Connection, the connection.
+	 */
+	private void writeOrClose(Connection connection)
+	{
+		if (connection.connectionClosed)
+			return;
+		try
+		{
+			connection.write();
+		}
+		catch (IOException e)
+		{
+			connection.close();
+		}
+	}
+
+	/**
+	 * Method to get the error code of a failed action.
+	 * @param error - Throwable, why the action failed.
+	 * @return - byte, the error code.
+	 */
+	private static byte toErrorCode(Throwable error)
+	{
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof IllegalArgumentException)
+			return Protocol.invalidError;
+		return Protocol.refusedError;
+	}
+
+	/**
+	 * Method to get the smallest payload of a client frame.
+	 * @param type - byte, type of the frame.
+	 * @return - int, bytes of the payload, 0 for frames without one or unknown frames.
+	 */
+	private static int getPayloadSize(byte type)
+	{
+		switch (type)
+		{
+			case Protocol.createFrame: return 1;
+			case Protocol.joinFrame: return Long.BYTES + 1;
+			case Protocol.resumeFrame: return 2 * Long.BYTES + 1;
+			case Protocol.spectateFrame: return Long.BYTES;
+			case Protocol.moveFrame: return 2;
+			case Protocol.itemFrame: return 1;
+			case Protocol.upgradeFrame: return 2;
+			case Protocol.promotionFrame: return 1;
+			default: return 0;
+		}
+	}
+
+	@Override
+	/**
+	 * Stop the selector thread and close every connection. The games stay open in the GameServer.
+	 */
+	public void close() throws IOException
+	{
+		closed = true;
+		selector.wakeup();
+		try
+		{
+			selectorThread.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		for (SelectionKey key : selector.keys())
+		{
+			if (key.attachment() instanceof Connection)
+				((Connection) key.attachment()).close();
+		}
+		serverChannel.close();
+		selector.close();
+	}
+}
@@ -0,0 +1,165 @@
+package Server;
+
+import ChessGameClasses.Board;
+import ChessPieces.ChessPiece;
+import ChessPieces.Pawn;
+import Movements.MovementRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The SquareState class packs what a client needs to know about the piece on a square into a long, the way Move
+ * packs a move into an int, so the state of a board is a long[] that can be compared and sent without objects.
+ *
+ * Bits 0-3 hold the piece type index plus one (0 for an empty square), bit 4 is set for a Black piece, bit 5 if
+ * the piece has moved and bit 6 if a Pawn just moved two units up. Bits 7-20 hold the movement bits of the piece
+ * and bits 21-34 its available upgrades, one bit for each MovementRegistry index. An empty square is 0.
+ */
+public final class SquareState
+{
+	/**
+	 * State of an empty square
+	 */
+	public static final long empty = 0;
+
+	/**
+	 * Number of squares of the board
+	 */
+	public static final int squareNum = Board.rowNum * Board.colNum;
+
+	/**
+	 * Bit of a Black piece
+	 */
+	private static final long blackBit = 1L << 4;
+
+	/**
+	 * Bit of a piece that has moved
+	 */
+	private static final long hasMovedBit = 1L << 5;
+
+	/**
+	 * Bit of a Pawn that just moved two units up
+	 */
+	private static final long movedTwoUnitsUpBit = 1L << 6;
+
+	/**
+	 * First bit of the movement bits
+	 */
+	private static final int movementShift = 7;
+
+	/**
+	 * First bit of the upgrade bits
+	 */
+	private static final int upgradeShift = movementShift + MovementRegistry.movementNum;
+
+	/**
+	 * Mask of the movement or upgrade bits once shifted down
+	 */
+	private static final long movementMask = (1L << MovementRegistry.movementNum) - 1;
+
+	/**
+	 * No instances, only static helpers.
+	 */
+	private SquareState() {}
+
+	/**
+	 * Method to pack the state of a piece.
+	 * @param chessPiece - ChessPiece, the piece, null for an empty square.
+	 * @return - long, the state.
+	 */
+	public static long encode(ChessPiece chessPiece)
+	{
+		if (chessPiece == null)
+			return empty;
+
+		long state = Board.getPieceTypeIndex(chessPiece) + 1;
+		if (chessPiece.getColor().equals("Black"))
+			state |= blackBit;
+		if (chessPiece.getHasMoved())
+			state |= hasMovedBit;
+		if (chessPiece instanceof Pawn && ((Pawn) chessPiece).getMovedTwoUnitsUp())
+			state |= movedTwoUnitsUpBit;
+		state |= (long) chessPiece.getMovementBits() << movementShift;
+		state |= (long) chessPiece.getUpgradeBits() << upgradeShift;
+		return state;
+	}
+
+	/**
+	 * Method to read the state of every square of a board from its pieces.
+	 * @param board - Board, the board.
+	 * @param squares - long[], squareNum states, overwritten.
+	 */
+	public static void readBoard(Board board, long[] squares)
+	{
+		Arrays.fill(squares, empty);
+		readChessPieces(board.getWhiteChessPieces(), squares);
+		readChessPieces(board.getBlackChessPieces(), squares);
+	}
+
+	/**
+	 * Method to put the state of the pieces that are still on the board on their squares.
+	 * @param chessPieces - ArrayList<ChessPiece>, the pieces of one player.
+	 * @param squares - long[], squareNum states.
+	 */
+	private static void readChessPieces(ArrayList<ChessPiece> chessPieces, long[] squares)
+	{
+		for (ChessPiece chessPiece : chessPieces)
+			if (!chessPiece.getIsCaptured())
+				squares[chessPiece.getPosRow() * Board.colNum + chessPiece.getPosCol()] = encode(chessPiece);
+	}
+
+	/**
+	 * Method to check whether a square is empty.
+	 * @param state - long, state of the square.
+	 * @return - boolean, whether there is no piece.
+	 */
+	public static boolean isEmpty(long state) { return state == empty; }
+
+	/**
+	 * Method to get the type of the piece.
+	 * @param state - long, state of the square.
+	 * @return - int, piece type index as in Board.getPieceTypeIndex, -1 for an empty square.
+	 */
+	public static int getPieceTypeIndex(long state) { return (int) (state & 0xF) - 1; }
+
+	/**
+	 * Method to get the color of the piece.
+	 * @param state - long, state of the square.
+	 * @return - String, "White" or "Black", null for an empty square.
+	 */
+	public static String getColor(long state)
+	{
+		if (isEmpty(state))
+			return null;
+		return (state & blackBit) != 0 ? "Black" : "White";
+	}
+
+	/**
+	 * Method to check whether the piece has moved.
+	 * @param state - long, state of the square.
+	 * @return - boolean, whether the piece has moved.
+	 */
+	public static boolean getHasMoved(long state) { return (state & hasMovedBit) != 0; }
+
+	/**
+	 * Method to check whether the piece is a Pawn that just moved two units up.
+	 * @param state - long, state of the square.
+	 * @return - boolean, whether it can be taken En Passant.
+	 */
+	public static boolean getMovedTwoUnitsUp(long state) { return (state & movedTwoUnitsUpBit) != 0; }
+
+	/**
+	 * Method to get the movements of the piece.
+	 * @param state - long, state of the square.
+	 * @return - int, one bit for each MovementRegistry index.
+	 */
+	public static int getMovementBits(long state) { return (int) ((state >>> movementShift) & movementMask); }
+
+	/**
+	 * Method to get the upgrades the piece can still buy.
+	 * @param state - long, state of the square.
+	 * @return - int, one bit for each MovementRegistry index.
+	 */
+	public static int getUpgradeBits(long state) { return (int) ((state >>> upgradeShift) & movementMask); }
+}
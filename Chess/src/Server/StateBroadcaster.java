@@ -0,0 +1,422 @@
+package Server;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The StateBroadcaster class streams the StateUpdates of a game to its spectators, as a java.util.concurrent.Flow
+ * Publisher. It is a StateListener of the session, and all the game's thread does is hand it the update: the fan-out
+ * runs on the broadcaster's own stage thread, so the game doesn't slow down as spectators are added.
+ *
+ * The stage keeps a GameState of the game and puts every update in the bounded queue of every spectator. An update
+ * is encoded once when it is created and every spectator is sent the same object, whose frame is read-only. The
+ * spectators' queues are drained on the executor as they request updates.
+ *
+ * A spectator that doesn't keep up fills its queue. Its queue is then replaced by a snapshot of the game, shared by
+ * every spectator that falls behind at the same version, so it skips what it missed. A spectator that falls behind
+ * more than maxResyncNum times is dropped with an IllegalStateException.
+ */
+public class StateBroadcaster implements Flow.Publisher<StateUpdate>, StateListener, AutoCloseable
+{
+	/**
+	 * Default bound of the queue of a spectator
+	 */
+	public static final int defaultQueueCapacity = 32;
+
+	/**
+	 * Default number of times a spectator is resynced before it is dropped
+	 */
+	public static final int defaultMaxResyncNum = 3;
+
+	/**
+	 * Runs the fan-out, one update after another
+	 */
+	private final ExecutorService stage;
+
+	/**
+	 * Delivers the updates to the spectators
+	 */
+	private final Executor executor;
+
+	/**
+	 * Bound of the queue of a spectator
+	 */
+	private final int queueCapacity;
+
+	/**
+	 * Number of times a spectator is resynced before it is dropped
+	 */
+	private final int maxResyncNum;
+
+	/**
+	 * Spectators subscribed and not cancelled or dropped
+	 */
+	private final CopyOnWriteArrayList<Spectator> spectators = new CopyOnWriteArrayList<Spectator>();
+
+	/**
+	 * The game as of the last update, only touched by the stage
+	 */
+	private final GameState gameState = new GameState();
+
+	/**
+	 * Snapshot of gameState, made the first time a spectator needs it, only touched by the stage
+	 */
+	private StateSnapshot snapshot;
+
+	/**
+	 * Number of times a spectator was resynced
+	 */
+	private final AtomicLong resyncNum = new AtomicLong();
+
+	/**
+	 * Number of spectators dropped
+	 */
+	private final AtomicLong dropNum = new AtomicLong();
+
+	/**
+	 * Whether the broadcaster was closed
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * A subscriber and its bounded queue of updates.
+	 */
+	private class Spectator implements Flow.Subscription
+	{
+		/**
+		 * The subscriber
+		 */
+		private final Flow.Subscriber<? super StateUpdate> subscriber;
+
+		/**
+		 * Updates not yet delivered
+		 */
+		private final ArrayBlockingQueue<StateUpdate> queue = new ArrayBlockingQueue<StateUpdate>(queueCapacity);
+
+		/**
+		 * Updates requested and not yet delivered
+		 */
+		private final AtomicLong demand = new AtomicLong();
+
+		/**
+		 * Number of times the queue must be drained, the drain runs while it is not 0
+		 */
+		private final AtomicInteger drainNum = new AtomicInteger();
+
+		/**
+		 * Number of times the spectator fell behind, only touched by the stage
+		 */
+		private int fallBehindNum;
+
+		/**
+		 * Why the spectator is ended, null while it is not
+		 */
+		private volatile Throwable error;
+
+		/**
+		 * Whether no update will come anymore
+		 */
+		private volatile boolean completed;
+
+		/**
+		 * Whether onError or onComplete was called or the subscriber cancelled
+		 */
+		private volatile boolean cancelled;
+
+		/**
+		 * Class constructor.
+		 * @param subscriber - Flow.Subscriber<? super StateUpdate>, the subscriber.
+		 */
+		private Spectator(Flow.Subscriber<? super StateUpdate> subscriber)
+		{
+			this.subscriber = subscriber;
+		}
+
+		/**
+		 * Method to queue an update. Runs on the stage.
+		 * @param stateUpdate - StateUpdate, the update.
+		 */
+		private void offer(StateUpdate stateUpdate)
+		{
+			if (!queue.offer(stateUpdate))
+			{
+				if (++fallBehindNum > maxResyncNum)
+				{
+					dropNum.incrementAndGet();
+					end(new IllegalStateException("The spectator fell behind " + fallBehindNum + " times"));
+					return;
+				}
+				//The drain may take an older update meanwhile, the snapshot replaces it anyway.
+				resyncNum.incrementAndGet();
+				queue.clear();
+				queue.offer(getSnapshot());
+			}
+			signal();
+		}
+
+		/**
+		 * Method to end the spectator with an error.
+		 * @param cause - Throwable, why it ended.
+		 */
+		private void end(Throwable cause)
+		{
+			error = cause;
+			spectators.remove(this);
+			signal();
+		}
+
+		/**
+		 * Method to end the spectator once its queue is delivered.
+		 */
+		private void complete()
+		{
+			completed = true;
+			spectators.remove(this);
+			signal();
+		}
+
+		@Override
+		/**
+		 * Request more updates.
+		 */
+		public void request(long n)
+		{
+			if (n <= 0)
+			{
+				end(new IllegalArgumentException("Requested " + n + " updates"));
+				return;
+			}
+			demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+			signal();
+		}
+
+		@Override
+		/**
+		 * Stop the updates.
+		 */
+		public void cancel()
+		{
+			cancelled = true;
+			spectators.remove(this);
+		}
+
+		/**
+		 * Method to make sure the queue is drained on the executor, with one drain at a time.
+		 */
+		private void signal()
+		{
+			if (drainNum.getAndIncrement() == 0)
+			{
+				try
+				{
+					executor.execute(this::drain);
+				}
+				catch (RejectedExecutionException e)
+				{
+					cancel();
+				}
+			}
+		}
+
+		/**
+		 * Method to deliver the queued updates the subscriber requested, and the end of the spectator.
+		 */
+		private void drain()
+		{
+			int missed = 1;
+			do
+			{
+				while (!cancelled)
+				{
+					Throwable cause = error;
+					if (cause != null)
+					{
+						cancelled = true;
+						subscriber.onError(cause);
+						break;
+					}
+					if (completed && queue.isEmpty())
+					{
+						cancelled = true;
+						subscriber.onComplete();
+						break;
+					}
+					if (demand.get() == 0)
+						break;
+					StateUpdate stateUpdate = queue.poll();
+					if (stateUpdate == null)
+						break;
+					demand.decrementAndGet();
+					try
+					{
+						subscriber.onNext(stateUpdate);
+					}
+					catch (RuntimeException e)
+					{
+						//A subscriber that throws is cancelled.
+						cancel();
+					}
+				}
+				missed = drainNum.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+	}
+
+	/**
+	 * Class constructor with the default bounds, delivering on the common ForkJoinPool.
+	 * @param name - String, name of the stage thread.
+	 */
+	public StateBroadcaster(String name)
+	{
+		this(name, ForkJoinPool.commonPool(), defaultQueueCapacity, defaultMaxResyncNum);
+	}
+
+	/**
+	 * Class constructor.
+	 * @param name - String, name of the stage thread.
+	 * @param executor - Executor, delivers the updates to the spectators.
+	 * @param queueCapacity - int, bound of the queue of a spectator.
+	 * @param maxResyncNum - int, number of times a spectator is resynced before it is dropped.
+	 */
+	public StateBroadcaster(String name, Executor executor, int queueCapacity, int maxResyncNum)
+	{
+		this.stage = Executors.newSingleThreadExecutor(Thread.ofVirtual().name(name).factory());
+		this.executor = executor;
+		this.queueCapacity = queueCapacity;
+		this.maxResyncNum = maxResyncNum;
+	}
+
+	@Override
+	/**
+	 * Hand an update to the stage, on the game's thread.
+	 */
+	public void onStateUpdate(StateUpdate stateUpdate)
+	{
+		runOnStage(() -> publish(stateUpdate));
+	}
+
+	@Override
+	/**
+	 * Add a spectator. It starts from a snapshot of the game, then gets every update.
+	 */
+	public void subscribe(Flow.Subscriber<? super StateUpdate> subscriber)
+	{
+		Spectator spectator = new Spectator(subscriber);
+		if (!runOnStage(() -> addSpectator(spectator)))
+		{
+			subscriber.onSubscribe(spectator);
+			spectator.complete();
+		}
+	}
+
+	/**
+	 * Method to run a task on the stage.
+	 * @param task - Runnable, the task.
+	 * @return - boolean, false if the broadcaster is closed and the task won't run.
+	 */
+	private boolean runOnStage(Runnable task)
+	{
+		try
+		{
+			stage.execute(task);
+			return true;
+		}
+		catch (RejectedExecutionException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Method to apply an update and give it to every spectator. Runs on the stage.
+	 * @param stateUpdate - StateUpdate, the update.
+	 */
+	private void publish(StateUpdate stateUpdate)
+	{
+		if (!gameState.apply(stateUpdate))
+			return;
+		snapshot = null;
+		for (Spectator spectator : spectators)
+			spectator.offer(stateUpdate);
+	}
+
+	/**
+	 * Method to subscribe a spectator and send it the state of the game. Runs on the stage.
+	 * @param spectator - Spectator, the spectator.
+	 */
+	private void addSpectator(Spectator spectator)
+	{
+		spectator.subscriber.onSubscribe(spectator);
+		if (spectator.cancelled)
+			return;
+		//Before the first update there is no state to send, the spectator starts with that update.
+		if (gameState.getVersion() >= 0)
+			spectator.offer(getSnapshot());
+		spectators.add(spectator);
+		//Closed after the spectator was handed to the stage, and after the other spectators were completed.
+		if (closed)
+			spectator.complete();
+	}
+
+	/**
+	 * Method to get the snapshot of the game as of the last update. Runs on the stage.
+	 * @return - StateSnapshot, the snapshot, made once for every version.
+	 */
+	private StateSnapshot getSnapshot()
+	{
+		if (snapshot == null)
+			snapshot = gameState.createSnapshot();
+		return snapshot;
+	}
+
+	/**
+	 * Method to get the number of spectators.
+	 * @return - int, the spectators subscribed and not cancelled or dropped.
+	 */
+	public int getSpectatorNum() { return spectators.size(); }
+
+	/**
+	 * Method to get the number of times a spectator that fell behind was resynced.
+	 * @return - long, the number of resyncs.
+	 */
+	public long getResyncNum() { return resyncNum.get(); }
+
+	/**
+	 * Method to get the number of spectators dropped for falling behind.
+	 * @return - long, the number of spectators dropped.
+	 */
+	public long getDropNum() { return dropNum.get(); }
+
+	/**
+	 * Method to check whether the broadcaster was closed.
+	 * @return - boolean, whether it was closed.
+	 */
+	public boolean isClosed() { return closed; }
+
+	@Override
+	/**
+	 * Complete every spectator once the updates already handed to the stage are delivered, and stop the stage.
+	 */
+	public void close()
+	{
+		if (closed)
+			return;
+		closed = true;
+		runOnStage(() ->
+		{
+			for (Spectator spectator : new ArrayList<Spectator>(spectators))
+				spectator.complete();
+		});
+		stage.shutdown();
+	}
+}
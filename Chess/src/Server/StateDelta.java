@@ -0,0 +1,140 @@
+package Server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The StateDelta class is what changed in a game during one turn: the new state of every square that changed, as
+ * in SquareState, and the state after the turn. Moves, captures, swaps, teleports, promotions and upgrades all come
+ * down to squares that changed, so a client applies them the same way without knowing the rules of the game. The
+ * moves of the turn, packed as in Move, come along so a client can show what happened.
+ *
+ * The payload of a stateDeltaFrame is the header (see StateUpdate), the byte number of moves and the int moves, then
+ * the byte number of changed squares and for each the byte square and the long state.
+ */
+public class StateDelta extends StateUpdate
+{
+	/**
+	 * Moves of the turn, packed as in Move, in the order they were made
+	 */
+	private final int[] moves;
+
+	/**
+	 * Squares that changed
+	 */
+	private final byte[] squares;
+
+	/**
+	 * New state of each changed square
+	 */
+	private final long[] states;
+
+	/**
+	 * The frame, encoded once
+	 */
+	private final ByteBuffer frame;
+
+	/**
+	 * Class constructor. The delta keeps the arrays, they must not be changed.
+	 * @param version - int, version of the state after the delta, one more than before it.
+	 * @param turn - int, turn of the game after the delta.
+	 * @param flags - byte, flags of the game after the delta.
+	 * @param whiteMoney - int, money of White.
+	 * @param blackMoney - int, money of Black.
+	 * @param moves - int[], moves of the turn.
+	 * @param squares - byte[], squares that changed.
+	 * @param states - long[], new state of each changed square.
+	 */
+	public StateDelta(int version, int turn, byte flags, int whiteMoney, int blackMoney, int[] moves, byte[] squares, long[] states)
+	{
+		super(version, turn, flags, whiteMoney, blackMoney);
+		this.moves = moves;
+		this.squares = squares;
+		this.states = states;
+
+		ByteBuffer encoded = startFrame(Protocol.stateDeltaFrame, getPayloadSize(moves.length, squares.length));
+		encoded.put((byte) moves.length);
+		for (int move : moves)
+			encoded.putInt(move);
+		encoded.put((byte) squares.length);
+		for (int i = 0; i < squares.length; i++)
+			encoded.put(squares[i]).putLong(states[i]);
+		this.frame = encoded.flip().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Method to get the bytes of the payload of a delta after the header.
+	 * @param moveNum - int, number of moves.
+	 * @param squareNum - int, number of changed squares.
+	 * @return - int, bytes of the payload.
+	 */
+	public static int getPayloadSize(int moveNum, int squareNum)
+	{
+		return 1 + moveNum * Integer.BYTES + 1 + squareNum * squareSize;
+	}
+
+	/**
+	 * Method to decode the rest of the payload of a stateDeltaFrame.
+	 * @param version - int, version from the header.
+	 * @param turn - int, turn from the header.
+	 * @param flags - byte, flags from the header.
+	 * @param whiteMoney - int, money of White from the header.
+	 * @param blackMoney - int, money of Black from the header.
+	 * @param payload - ByteBuffer, positioned after the header. It is read up to the end of the delta.
+	 * @return - StateDelta, the delta.
+	 */
+	static StateDelta decode(int version, int turn, byte flags, int whiteMoney, int blackMoney, ByteBuffer payload)
+	{
+		int[] moves = new int[payload.get() & 0xFF];
+		for (int i = 0; i < moves.length; i++)
+			moves[i] = payload.getInt();
+		byte[] squares = new byte[payload.get() & 0xFF];
+		long[] states = new long[squares.length];
+		for (int i = 0; i < squares.length; i++)
+		{
+			squares[i] = payload.get();
+			states[i] = payload.getLong();
+		}
+		return new StateDelta(version, turn, flags, whiteMoney, blackMoney, moves, squares, states);
+	}
+
+	@Override
+	/**
+	 * Get the frame of the delta.
+	 */
+	public ByteBuffer getFrame() { return frame.duplicate(); }
+
+	@Override
+	/**
+	 * Apply the delta, if the copy has the version just before it.
+	 */
+	public boolean applyTo(GameState gameState)
+	{
+		if (getVersion() <= gameState.getVersion())
+			return true;
+		if (getVersion() != gameState.getVersion() + 1)
+			return false;
+
+		for (int i = 0; i < squares.length; i++)
+			gameState.setSquare(squares[i], states[i]);
+		gameState.setHeader(this);
+		return true;
+	}
+
+	/**
+	 * Method to get the moves of the turn.
+	 * @return - int[], the moves packed as in Move. The array is shared, it must not be changed.
+	 */
+	public int[] getMoves() { return moves; }
+
+	/**
+	 * Method to get the squares that changed.
+	 * @return - byte[], the squares. The array is shared, it must not be changed.
+	 */
+	public byte[] getSquares() { return squares; }
+
+	/**
+	 * Method to get the new state of the squares that changed.
+	 * @return - long[], the state of each square of getSquares, as in SquareState. The array is shared, it must not be changed.
+	 */
+	public long[] getStates() { return states; }
+}
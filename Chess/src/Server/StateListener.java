@@ -0,0 +1,14 @@
+package Server;
+
+/**
+ * The StateListener interface is told about the StateUpdates of a GameSession. The updates come on the session's
+ * thread, in order, so a listener must hand them on and return rather than block the game.
+ */
+public interface StateListener
+{
+	/**
+	 * Method called with every update of the session, from the time the listener was added.
+	 * @param stateUpdate - StateUpdate, the update.
+	 */
+	void onStateUpdate(StateUpdate stateUpdate);
+}
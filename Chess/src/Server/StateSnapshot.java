@@ -0,0 +1,160 @@
+package Server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The StateSnapshot class is the whole state of a game: the state of every piece on the board, as in SquareState,
+ * and the state that doesn't belong to a square. A client that gets a snapshot drops what it had, so a snapshot is
+ * what a client that joins late starts from, and what is sent instead of a delta when a turn changed so much of the
+ * board, as a Scrambler or a Reset does, that the snapshot is smaller.
+ *
+ * The payload of a snapshotFrame is the header (see StateUpdate), then the byte number of pieces and for each the
+ * byte square and the long state. Squares left out are empty.
+ */
+public class StateSnapshot extends StateUpdate
+{
+	/**
+	 * Squares with a piece
+	 */
+	private final byte[] squares;
+
+	/**
+	 * State of each square with a piece
+	 */
+	private final long[] states;
+
+	/**
+	 * The frame, encoded once
+	 */
+	private final ByteBuffer frame;
+
+	/**
+	 * Class constructor. The snapshot keeps the arrays, they must not be changed.
+	 * @param version - int, version of the state.
+	 * @param turn - int, turn of the game.
+	 * @param flags - byte, flags of the game.
+	 * @param whiteMoney - int, money of White.
+	 * @param blackMoney - int, money of Black.
+	 * @param squares - byte[], squares with a piece.
+	 * @param states - long[], state of each square with a piece.
+	 */
+	public StateSnapshot(int version, int turn, byte flags, int whiteMoney, int blackMoney, byte[] squares, long[] states)
+	{
+		super(version, turn, flags, whiteMoney, blackMoney);
+		this.squares = squares;
+		this.states = states;
+
+		ByteBuffer encoded = startFrame(Protocol.snapshotFrame, getPayloadSize(squares.length));
+		encoded.put((byte) squares.length);
+		for (int i = 0; i < squares.length; i++)
+			encoded.put(squares[i]).putLong(states[i]);
+		this.frame = encoded.flip().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Method to create a snapshot from the state of every square.
+	 * @param version - int, version of the state.
+	 * @param turn - int, turn of the game.
+	 * @param flags - byte, flags of the game.
+	 * @param whiteMoney - int, money of White.
+	 * @param blackMoney - int, money of Black.
+	 * @param allSquares - long[], state of every square, as in SquareState. It is copied.
+	 * @return - StateSnapshot, the snapshot.
+	 */
+	public static StateSnapshot create(int version, int turn, byte flags, int whiteMoney, int blackMoney, long[] allSquares)
+	{
+		int pieceNum = countPieces(allSquares);
+		byte[] squares = new byte[pieceNum];
+		long[] states = new long[pieceNum];
+		int index = 0;
+		for (int square = 0; square < allSquares.length; square++)
+		{
+			if (!SquareState.isEmpty(allSquares[square]))
+			{
+				squares[index] = (byte) square;
+				states[index++] = allSquares[square];
+			}
+		}
+		return new StateSnapshot(version, turn, flags, whiteMoney, blackMoney, squares, states);
+	}
+
+	/**
+	 * Method to count the squares with a piece.
+	 * @param allSquares - long[], state of every square.
+	 * @return - int, number of pieces.
+	 */
+	public static int countPieces(long[] allSquares)
+	{
+		int pieceNum = 0;
+		for (long state : allSquares)
+			if (!SquareState.isEmpty(state))
+				pieceNum++;
+		return pieceNum;
+	}
+
+	/**
+	 * Method to get the bytes of the payload of a snapshot after the header.
+	 * @param pieceNum - int, number of pieces.
+	 * @return - int, bytes of the payload.
+	 */
+	public static int getPayloadSize(int pieceNum)
+	{
+		return 1 + pieceNum * squareSize;
+	}
+
+	/**
+	 * Method to decode the rest of the payload of a snapshotFrame.
+	 * @param version - int, version from the header.
+	 * @param turn - int, turn from the header.
+	 * @param flags - byte, flags from the header.
+	 * @param whiteMoney - int, money of White from the header.
+	 * @param blackMoney - int, money of Black from the header.
+	 * @param payload - ByteBuffer, positioned after the header. It is read up to the end of the snapshot.
+	 * @return - StateSnapshot, the snapshot.
+	 */
+	static StateSnapshot decode(int version, int turn, byte flags, int whiteMoney, int blackMoney, ByteBuffer payload)
+	{
+		byte[] squares = new byte[payload.get() & 0xFF];
+		long[] states = new long[squares.length];
+		for (int i = 0; i < squares.length; i++)
+		{
+			squares[i] = payload.get();
+			states[i] = payload.getLong();
+		}
+		return new StateSnapshot(version, turn, flags, whiteMoney, blackMoney, squares, states);
+	}
+
+	@Override
+	/**
+	 * Get the frame of the snapshot.
+	 */
+	public ByteBuffer getFrame() { return frame.duplicate(); }
+
+	@Override
+	/**
+	 * Replace the copy with the snapshot, unless the copy is already newer.
+	 */
+	public boolean applyTo(GameState gameState)
+	{
+		if (getVersion() <= gameState.getVersion())
+			return true;
+
+		gameState.clearSquares();
+		for (int i = 0; i < squares.length; i++)
+			gameState.setSquare(squares[i], states[i]);
+		gameState.setHeader(this);
+		return true;
+	}
+
+	/**
+	 * Method to get the squares with a piece.
+	 * @return - byte[], the squares. The array is shared, it must not be changed.
+	 */
+	public byte[] getSquares() { return squares; }
+
+	/**
+	 * Method to get the state of the squares with a piece.
+	 * @return - long[], the state of each square of getSquares, as in SquareState. The array is shared, it must not be changed.
+	 */
+	public long[] getStates() { return states; }
+}
@@ -0,0 +1,164 @@
+package Server;
+
+import ChessGameClasses.ChessGameRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The StateTracker class turns the turns of a game into StateUpdates. It keeps a GameState with what the clients were
+ * sent, and at the end of a turn reads the state of every square of the board and compares the two: the squares that
+ * differ make a StateDelta. When the delta would not be smaller than a StateSnapshot, after a Scrambler or a Reset
+ * for example, it sends the snapshot instead.
+ *
+ * For clients that join late it keeps a keyframe, the last snapshot, and the deltas since it. Once those deltas are
+ * bigger than a snapshot a new keyframe is taken, so a late joiner is never sent much more than twice a snapshot.
+ *
+ * A tracker is only used by the thread of its session.
+ */
+public class StateTracker
+{
+	/**
+	 * The game
+	 */
+	private final ChessGameRunner chessGameRunner;
+
+	/**
+	 * What the clients were sent
+	 */
+	private final GameState published = new GameState();
+
+	/**
+	 * State of every square of the board, read at the end of a turn
+	 */
+	private final long[] current = new long[SquareState.squareNum];
+
+	/**
+	 * Squares that changed in the turn, reused
+	 */
+	private final byte[] changedSquares = new byte[SquareState.squareNum];
+
+	/**
+	 * Last snapshot, where a late joiner starts
+	 */
+	private StateSnapshot keyframe;
+
+	/**
+	 * Deltas since the keyframe
+	 */
+	private final ArrayList<StateDelta> keyframeDeltas = new ArrayList<StateDelta>();
+
+	/**
+	 * Bytes of the payloads of the deltas since the keyframe
+	 */
+	private int keyframeDeltaSize;
+
+	/**
+	 * Class constructor. The state of the game as it is becomes the first keyframe, version 0.
+	 * @param chessGameRunner - ChessGameRunner, the game.
+	 */
+	public StateTracker(ChessGameRunner chessGameRunner)
+	{
+		this.chessGameRunner = chessGameRunner;
+		SquareState.readBoard(chessGameRunner.getBoard(), current);
+		keyframe = createSnapshot(0);
+		published.apply(keyframe);
+	}
+
+	/**
+	 * Method to create the update of a turn that ended.
+	 * @param moves - int[], moves of the turn, packed as in Move. The update keeps the array.
+	 * @return - StateUpdate, a StateDelta, or a StateSnapshot if it is smaller.
+	 */
+	public StateUpdate update(int[] moves)
+	{
+		SquareState.readBoard(chessGameRunner.getBoard(), current);
+		int version = published.getVersion() + 1;
+
+		int changedNum = 0;
+		for (int square = 0; square < current.length; square++)
+			if (current[square] != published.getSquare(square))
+				changedSquares[changedNum++] = (byte) square;
+
+		int deltaSize = StateDelta.getPayloadSize(moves.length, changedNum);
+		int snapshotSize = StateSnapshot.getPayloadSize(StateSnapshot.countPieces(current));
+		StateUpdate stateUpdate;
+		if (deltaSize < snapshotSize)
+		{
+			byte[] squares = new byte[changedNum];
+			long[] states = new long[changedNum];
+			for (int i = 0; i < changedNum; i++)
+			{
+				squares[i] = changedSquares[i];
+				states[i] = current[changedSquares[i]];
+			}
+			StateDelta stateDelta = new StateDelta(version, chessGameRunner.getTurn(), getFlags(),
+					chessGameRunner.getWhitePlayer().getMoney(), chessGameRunner.getBlackPlayer().getMoney(), moves, squares, states);
+			stateUpdate = stateDelta;
+
+			keyframeDeltas.add(stateDelta);
+			keyframeDeltaSize += deltaSize;
+			if (keyframeDeltaSize > snapshotSize)
+				setKeyframe(createSnapshot(version));
+		}
+		else
+		{
+			StateSnapshot stateSnapshot = createSnapshot(version);
+			stateUpdate = stateSnapshot;
+			setKeyframe(stateSnapshot);
+		}
+
+		published.apply(stateUpdate);
+		return stateUpdate;
+	}
+
+	/**
+	 * Method to get what a client that joins now must be sent to have the state of the game.
+	 * @return - List<StateUpdate>, the keyframe and the deltas since it, in order.
+	 */
+	public List<StateUpdate> getSyncUpdates()
+	{
+		ArrayList<StateUpdate> syncUpdates = new ArrayList<StateUpdate>(1 + keyframeDeltas.size());
+		syncUpdates.add(keyframe);
+		syncUpdates.addAll(keyframeDeltas);
+		return syncUpdates;
+	}
+
+	/**
+	 * Method to create a snapshot of the game as it is now, from the squares already read.
+	 * @param version - int, version of the snapshot.
+	 * @return - StateSnapshot, the snapshot.
+	 */
+	private StateSnapshot createSnapshot(int version)
+	{
+		return StateSnapshot.create(version, chessGameRunner.getTurn(), getFlags(), chessGameRunner.getWhitePlayer().getMoney(),
+				chessGameRunner.getBlackPlayer().getMoney(), current);
+	}
+
+	/**
+	 * Method to make a snapshot the keyframe and forget the deltas before it.
+	 * @param stateSnapshot - StateSnapshot, the new keyframe.
+	 */
+	private void setKeyframe(StateSnapshot stateSnapshot)
+	{
+		keyframe = stateSnapshot;
+		keyframeDeltas.clear();
+		keyframeDeltaSize = 0;
+	}
+
+	/**
+	 * Method to get the flags of the game as it is now.
+	 * @return - byte, the flags, see Protocol.
+	 */
+	private byte getFlags()
+	{
+		return Protocol.getFlags(chessGameRunner.isMoveWasMade(), chessGameRunner.getGameOver(),
+				chessGameRunner.getCurrentPlayer().getColor());
+	}
+
+	/**
+	 * Method to get what the clients were sent.
+	 * @return - GameState, the state after the last update.
+	 */
+	public GameState getPublished() { return published; }
+}
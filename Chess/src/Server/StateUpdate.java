@@ -0,0 +1,154 @@
+package Server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The StateUpdate class is what the server sends a game's clients when its state changes: a StateDelta with the
+ * squares a turn changed, or a StateSnapshot with every square. Both carry the state that doesn't belong to a square
+ * and a version, one more than the update before, so a client can tell an update it already has from one it missed.
+ *
+ * The frame of an update is encoded once, when it is created, and every client is sent a read-only duplicate of it.
+ * Its payload starts with the header: the int version, the int turn, the byte flags (see Protocol) and the int money
+ * of White and of Black.
+ */
+public abstract class StateUpdate
+{
+	/**
+	 * Bytes of the header of the payload
+	 */
+	public static final int headerSize = 4 * Integer.BYTES + 1;
+
+	/**
+	 * Bytes of one square in the payload: the byte square and the long state
+	 */
+	public static final int squareSize = 1 + Long.BYTES;
+
+	/**
+	 * Version of the state after the update
+	 */
+	private final int version;
+
+	/**
+	 * Turn of the game after the update
+	 */
+	private final int turn;
+
+	/**
+	 * Flags of the game after the update, see Protocol
+	 */
+	private final byte flags;
+
+	/**
+	 * Money of White after the update
+	 */
+	private final int whiteMoney;
+
+	/**
+	 * Money of Black after the update
+	 */
+	private final int blackMoney;
+
+	/**
+	 * Class constructor.
+	 * @param version - int, version of the state after the update.
+	 * @param turn - int, turn of the game after the update.
+	 * @param flags - byte, flags of the game after the update.
+	 * @param whiteMoney - int, money of White.
+	 * @param blackMoney - int, money of Black.
+	 */
+	protected StateUpdate(int version, int turn, byte flags, int whiteMoney, int blackMoney)
+	{
+		this.version = version;
+		this.turn = turn;
+		this.flags = flags;
+		this.whiteMoney = whiteMoney;
+		this.blackMoney = blackMoney;
+	}
+
+	/**
+	 * Method to start the frame of the update with its header. The caller puts the rest of the payload.
+	 * @param type - byte, type of the frame.
+	 * @param payloadSize - int, bytes of the payload after the header.
+	 * @return - ByteBuffer, buffer with the length, type and header written.
+	 */
+	protected ByteBuffer startFrame(byte type, int payloadSize)
+	{
+		ByteBuffer frame = Protocol.startFrame(type, headerSize + payloadSize);
+		frame.putInt(version);
+		frame.putInt(turn);
+		frame.put(flags);
+		frame.putInt(whiteMoney);
+		frame.putInt(blackMoney);
+		return frame;
+	}
+
+	/**
+	 * Method to decode the payload of a stateDeltaFrame or a snapshotFrame.
+	 * @param type - byte, type of the frame.
+	 * @param payload - ByteBuffer, positioned after the type of the frame. It is read up to the end of the update.
+	 * @return - StateUpdate, the update, null if the frame is not an update.
+	 */
+	public static StateUpdate decode(byte type, ByteBuffer payload)
+	{
+		if (type != Protocol.stateDeltaFrame && type != Protocol.snapshotFrame)
+			return null;
+
+		int version = payload.getInt();
+		int turn = payload.getInt();
+		byte flags = payload.get();
+		int whiteMoney = payload.getInt();
+		int blackMoney = payload.getInt();
+		if (type == Protocol.snapshotFrame)
+			return StateSnapshot.decode(version, turn, flags, whiteMoney, blackMoney, payload);
+		return StateDelta.decode(version, turn, flags, whiteMoney, blackMoney, payload);
+	}
+
+	/**
+	 * Method to get the frame of the update.
+	 * @return - ByteBuffer, a read-only duplicate of the frame encoded when the update was created, ready to be written.
+	 */
+	public abstract ByteBuffer getFrame();
+
+	/**
+	 * Method to apply the update to a copy of the state. An update the copy already has is skipped.
+	 * @param gameState - GameState, the copy.
+	 * @return - boolean, false if the copy missed an update before this one and was left as it was.
+	 */
+	public abstract boolean applyTo(GameState gameState);
+
+	/**
+	 * Method to get the version after the update.
+	 * @return - int, the version.
+	 */
+	public int getVersion() { return version; }
+
+	/**
+	 * Method to get the turn after the update.
+	 * @return - int, the turn.
+	 */
+	public int getTurn() { return turn; }
+
+	/**
+	 * Method to get the flags after the update.
+	 * @return - byte, the flags, see Protocol.
+	 */
+	public byte getFlags() { return flags; }
+
+	/**
+	 * Method to check whether the game is over.
+	 * @return - boolean, whether the game is over after the update.
+	 */
+	public boolean isGameOver() { return (flags & Protocol.gameOverFlag) != 0; }
+
+	/**
+	 * Method to get the money of White.
+	 * @return - int, money of White after the update.
+	 */
+	public int getWhiteMoney() { return whiteMoney; }
+
+	/**
+	 * Method to get the money of Black.
+	 * @return - int, money of Black after the update.
+	 */
+	public int getBlackMoney() { return blackMoney; }
+}
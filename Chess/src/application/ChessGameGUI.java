@@ -0,0 +1,290 @@
+package application;
+
+import java.util.ArrayList;
+
+import ChessGameClasses.ChessGameRunner;
+import ChessPieces.ChessPiece;
+import Movements.Movement;
+import Players.Player;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * Builds the panels of the GUI from the state of a ChessGameRunner. The panels used to be built by the
+ * ChessGameRunner itself, they live here so the game classes don't need JavaFX.
+ */
+public class ChessGameGUI
+{
+	/**
+	 * The chess game the panels show.
+	 */
+	private ChessGameRunner chessGameRunner;
+	
+	/**
+	 * One-parameter constructor of the ChessGameGUI Class.
+	 * 
+	 * @param chessGameRunner The chess game the panels show.
+	 */
+	public ChessGameGUI(ChessGameRunner chessGameRunner)
+	{
+		this.chessGameRunner = chessGameRunner;
+	}
+	
+	/**
+	 * Game information GUI. Displays turn, message, and last item played.
+	 * 
+	 * @return a VBox that holds labels that inform the user about game information
+	 */
+	public VBox generateGUIGameInformation()
+	{
+		VBox gameInformation = new VBox();
+		gameInformation.setPrefWidth(350);
+		gameInformation.setPrefHeight(300);
+		gameInformation.setAlignment(Pos.TOP_LEFT);
+		gameInformation.setStyle("-fx-background-color: grey;");
+		
+		Label turn = new Label("Turn " + chessGameRunner.getTurn() + "   (" + chessGameRunner.getCurrentPlayer().getColor() + "'s Turn)");
+		turn.setAlignment(Pos.CENTER);
+		turn.setWrapText(true);
+		turn.setPrefWidth(gameInformation.getPrefWidth());
+		
+		Label message = new Label("\nMessage:  " + chessGameRunner.getMessage());
+		message.setWrapText(true);
+		message.setPrefWidth(gameInformation.getPrefWidth());
+		
+		Label lastPlayedItem = new Label("\nLast Item That Was Played: \n" + chessGameRunner.getLastPlayedItem());
+		lastPlayedItem.setWrapText(true);
+		lastPlayedItem.setPrefWidth(gameInformation.getPrefWidth());
+		
+		gameInformation.getChildren().addAll(turn, message, lastPlayedItem);
+		
+		return gameInformation;
+	}
+	
+	/**
+	 * Game over message GUI. Displayed when the game is over and informs the 
+	 * user about how the game has ended.
+	 * 
+	 * @return a VBox that holds labels that inform the user about the end of the game.
+	 */
+	public VBox generateGUIGameOverMessage()
+	{
+		Player currentPlayer = chessGameRunner.getCurrentPlayer();
+		
+		VBox gameOverMessage = new VBox();
+		gameOverMessage.setPrefWidth(350);
+		gameOverMessage.setPrefHeight(300);
+		gameOverMessage.setAlignment(Pos.TOP_LEFT);
+		gameOverMessage.setStyle("-fx-background-color: grey;");
+		
+		Label gameOverLabel = new Label("Game Over");
+		gameOverLabel.setAlignment(Pos.CENTER);
+		gameOverLabel.setWrapText(true);
+		gameOverLabel.setPrefWidth(gameOverMessage.getPrefWidth());
+		
+		Label result = new Label();
+		result.setAlignment(Pos.CENTER);
+		result.setWrapText(true);
+		result.setPrefWidth(gameOverMessage.getPrefWidth());
+		
+		if (chessGameRunner.getResignedColor() != null)
+			result.setText(chessGameRunner.getResignedColor() + " Resigned");
+		else if (chessGameRunner.getBoard().isInCheck(currentPlayer.getColor()))
+			result.setText(currentPlayer.getColor() + " Has Been Checkmated by " + chessGameRunner.getCurrentOpponent().getColor());
+		else
+			result.setText("\nStalemate: " + currentPlayer + " Has No Legal Moves But Is Not In Check");
+		
+		gameOverMessage.getChildren().addAll(gameOverLabel, result);
+		return gameOverMessage;
+	}
+	
+	/**
+	 * GUI that displays information about the current selected chess piece, such as
+	 * what kind of chess piece it is, its' material worth, and the movements that it has.
+	 * 
+	 * @return a VBox that holds Labels and a ListView that inform the user about the selected chess piece.
+	 */
+	public VBox generateGUISelectedChessPieceInformation()
+	{
+		ChessPiece selectedChessPiece = chessGameRunner.getSelectedChessPiece();
+		
+		VBox selectedChessPieceInformation = new VBox(10);
+		selectedChessPieceInformation.setPrefWidth(350);
+		selectedChessPieceInformation.setAlignment(Pos.TOP_LEFT);
+		selectedChessPieceInformation.setStyle("-fx-background-color: lightgrey;");
+		
+		if (selectedChessPiece != null)
+		{
+			Label info = new Label("Selected Chess Piece: " + selectedChessPiece);
+			info.setWrapText(true);
+			info.setPrefWidth(selectedChessPieceInformation.getPrefWidth());
+			
+			Label materialWorth = new Label("Material Worth: " + selectedChessPiece.getMaterialWorth());
+			materialWorth.setWrapText(true);
+			materialWorth.setPrefWidth(selectedChessPieceInformation.getPrefWidth());
+			
+			Label movement = new Label("Movements");
+			movement.setWrapText(true);
+			movement.setPrefWidth(selectedChessPieceInformation.getPrefWidth());
+			
+			ListView<String> movementsListView = new ListView<String>();
+			movementsListView.setPrefHeight(200);
+			for (int i = 0; i < selectedChessPiece.getMovements().size(); i++)
+			{
+				movementsListView.getItems().addAll((i + 1) + ") " + selectedChessPiece.getMovements().get(i).getMovementName());
+			}
+			
+			selectedChessPieceInformation.getChildren().addAll(info, materialWorth, movement, movementsListView);
+		}
+		return selectedChessPieceInformation;
+	}
+	
+	/**
+	 * GUI that displays information about the Black Player.
+	 * 
+	 * @return A HBox that holds the color of the player, total material worth, and the amount of money the Player has.
+	 */
+	public HBox generateGUIBlackPlayerInformation()
+	{
+		HBox playerInformation = new HBox();
+		playerInformation.setAlignment(Pos.CENTER);
+		playerInformation.setStyle("-fx-background-color: black;");
+		
+		Label playerInfo = new Label("Black Player:   Material Worth: " + chessGameRunner.getBlackPlayer().getTotalMaterialWorth() + "   Money: $" + chessGameRunner.getBlackPlayer().getMoney());
+		playerInfo.setWrapText(true);
+		playerInfo.setPrefWidth(playerInformation.getPrefWidth());
+		
+		playerInformation.getChildren().addAll(playerInfo);
+		
+		return playerInformation;
+	}
+	
+	/**
+	 * GUI that displays information about the White Player.
+	 * 
+	 * @return A HBox that holds the color of the player, total material worth, and the amount of money the Player has.
+	 */
+	public HBox generateGUIWhitePlayerInformation()
+	{
+		HBox playerInformation = new HBox();
+		playerInformation.setAlignment(Pos.CENTER);
+		playerInformation.setStyle("-fx-background-color: black;");
+		
+		Label playerInfo = new Label("White Player:   Material Worth: " + chessGameRunner.getWhitePlayer().getTotalMaterialWorth() + "   Money: $" + chessGameRunner.getWhitePlayer().getMoney());
+		playerInfo.setWrapText(true);
+		playerInfo.setPrefWidth(playerInformation.getPrefWidth());
+		
+		playerInformation.getChildren().addAll(playerInfo);
+		
+		return playerInformation;
+	}
+	
+	/**
+	 * GUI that displays the available upgrades that the current selected chess piece has.
+	 * 
+	 * @return A VBox that holds a label and a ListView with the upgrades and their prices.
+	 */
+	public VBox generateGUIUpgrades()
+	{
+		ChessPiece selectedChessPiece = chessGameRunner.getSelectedChessPiece();
+		
+		Label listName = new Label();
+		
+		ListView<String> upgradesListView = new ListView<String>();
+		upgradesListView.setPrefHeight(300);
+		
+		VBox upgradesGUI = new VBox(10);
+		
+		if (selectedChessPiece != null)
+		{	
+			ArrayList<Movement> availableUpgrades = selectedChessPiece.getAvailableUpgrades();
+			int upgradeSize = availableUpgrades.size();
+			if(upgradeSize == 0)
+			{
+				listName.setText(selectedChessPiece.getName() + " Upgrade List: (No Upgrades)");
+			}
+			else
+			{
+				listName.setText(selectedChessPiece.getName() + " Upgrade List: ");
+				for(int i = 0; i < upgradeSize; i++)
+				{
+					String listViewElement = (i + 1) + ") ";
+					
+					int price = availableUpgrades.get(i).getMovementCost() * selectedChessPiece.getMaterialWorth();
+					listViewElement += availableUpgrades.get(i).getMovementName() + " - $" + price;
+					
+					upgradesListView.getItems().addAll(listViewElement);
+				}
+			}
+		}
+		else
+		{
+			listName.setText("Upgrade List: ");
+		}
+		
+		upgradesGUI.getChildren().addAll(listName, upgradesListView);
+		return upgradesGUI;
+	}
+	
+	/**
+	 * GUI that displays all of the items that the Players can buy.
+	 * 
+	 * @return A VBox that holds labels and a ListView that displays all of the items that the Players can buy.
+	 */
+	public VBox generateGUIItems()
+	{
+		Label listName = new Label();
+		
+		ListView<String> itemsListView = new ListView<String>();
+		itemsListView.setPrefHeight(300);
+		
+		VBox itemsGUI = new VBox(10);
+		
+		listName.setText("Items");
+		
+		for(int i = 0; i < chessGameRunner.getItems().size(); i++)
+		{
+			String listViewElement = (i + 1) + ") " + chessGameRunner.getItems().get(i).getItemName() + " - $" + chessGameRunner.getItems().get(i).getItemCost();
+			itemsListView.getItems().addAll(listViewElement);
+		}
+		
+		itemsGUI.getChildren().addAll(listName, itemsListView);
+		return itemsGUI;
+	}
+	
+	/**
+	 * GUI that displays all of the potential promotions that the Players can promote their Pawns to.
+	 * 
+	 * @return VBox that states which Pawn the Player is promoting and what the Player can promote to.
+	 */
+	public VBox generateGUIPromotion()
+	{
+		Player currentPlayer = chessGameRunner.getCurrentPlayer();
+		
+		int pawnIndex = currentPlayer.findPawnReadyToPromote();
+		ChessPiece pawn = currentPlayer.getChessPieces().get(pawnIndex);
+		
+		Label listName = new Label();
+		listName.setText("Promote " + pawn);
+		
+		ListView<String> promotionListView = new ListView<String>();
+		promotionListView.setPrefHeight(300);
+		
+		VBox promotionGUI = new VBox(10);
+		
+		//Display Promotion
+		promotionListView.getItems().addAll("1) Queen");
+		promotionListView.getItems().addAll("2) Bishop");
+		promotionListView.getItems().addAll("3) Knight");
+		promotionListView.getItems().addAll("4) Rook");
+		promotionListView.getItems().addAll("5) Cannon");
+		promotionListView.getItems().addAll("6) Ninja");
+		promotionListView.getItems().addAll("7) Wizard");
+		
+		promotionGUI.getChildren().addAll(listName, promotionListView);
+		return promotionGUI;
+	}
+}
@@ -10,6 +10,7 @@ import ChessGameClasses.ChessGameRunner;
 import ChessPieces.ChessPiece;
 import ChessPieces.King;
 import Movements.Movement;
+import Movements.MovementBuffer;
 import javafx.application.Application;
 import javafx.geometry.Pos;
 import javafx.stage.Stage;
@@ -57,6 +58,11 @@ public class Main extends Application
 	 */
 	ChessGameRunner chessGameRunner;
 	
+	/**
+	 * Builds the panels of the GUI from the chess game
+	 */
+	ChessGameGUI chessGameGUI;
+	
 	/**
 	 * The ImageView of every single Chess Piece
 	 */
@@ -142,6 +148,8 @@ public class Main extends Application
 	public void start(Stage primaryStage) 
 	{
 		chessGameRunner = new ChessGameRunner(initialMoneyAmount, initialPassiveIncomeAmount, passiveIncomeBonus);
+		chessGameRunner.addTurnListener(new SoundEffects());
+		chessGameGUI = new ChessGameGUI(chessGameRunner);
 		chessGameRunner.displayAllTextBaseVersion(chessGameRunner.getWhitePlayer());
 		
 		try 
@@ -441,9 +449,8 @@ public class Main extends Application
 			
 			Color enemyMovementColor = Color.BLACK;
 			
-			//Calculate the potential movements and then calculate the possible movements.
-			ArrayList<ArrayList<Character>> potentialMovements = selectedChessPiece.calculatePotentialMovements(board);
-			ArrayList<ArrayList<Character>> possibleMovements = selectedChessPiece.calculatePossibleMovements(potentialMovements, board);
+			//Get the possible movements, they are only calculated once for each position.
+			byte[] possibleMovements = board.getPossibleMovements(selectedChessPiece);
 		
 			//Loop through every rectangle button
 			int index = 0;
@@ -458,7 +465,7 @@ public class Main extends Application
 						Paint fill = rectangle.getFill();
 						Color recColor = (Color) fill;
 						double mixRatio = 0.85;
-						Character movementType = possibleMovements.get(row).get(column);
+						Character movementType = MovementBuffer.get(possibleMovements, row, column);
 						
 						//Color in the rectangle with the corresponding color for the possible movement type
 						if (movementType.equals(Movement.moveAndCaptureSymbol)) 
@@ -586,7 +593,7 @@ public class Main extends Application
 		{
 			//Game Information
 			//------------------------------------
-			VBox gameInformation = chessGameRunner.generateGUIGameInformation();
+			VBox gameInformation = chessGameGUI.generateGUIGameInformation();
 			//------------------------------------
 			layoutLeft.getChildren().add(gameInformation);
 		}
@@ -594,7 +601,7 @@ public class Main extends Application
 		{
 			//Restart
 			//------------------------------------
-			VBox reset = chessGameRunner.generateGUIGameOverMessage();
+			VBox reset = chessGameGUI.generateGUIGameOverMessage();
 			reset.setAlignment(Pos.CENTER);
 			
 			Button resetButton = new Button("Play Again");
@@ -614,7 +621,7 @@ public class Main extends Application
 		
 		//Selected Chess Piece Information
 		//------------------------------------
-		VBox selectedChessPieceInformation = chessGameRunner.generateGUISelectedChessPieceInformation();
+		VBox selectedChessPieceInformation = chessGameGUI.generateGUISelectedChessPieceInformation();
 		layoutLeft.getChildren().add(selectedChessPieceInformation);
 		//------------------------------------
 		
@@ -626,10 +633,10 @@ public class Main extends Application
 		//--------------------------------------------------------------------------------------------------------
 		//Player information (BorderPane layout's Center's Top and Bottom)
 		//A new Hbox is generated for both player information
-		blackPlayerInformation = chessGameRunner.generateGUIBlackPlayerInformation();
+		blackPlayerInformation = chessGameGUI.generateGUIBlackPlayerInformation();
 		layoutCenter.setTop(blackPlayerInformation);
 		
-		whitePlayerInformation = chessGameRunner.generateGUIWhitePlayerInformation();
+		whitePlayerInformation = chessGameGUI.generateGUIWhitePlayerInformation();
 		layoutCenter.setBottom(whitePlayerInformation);
 		
 		//ChessBoard, the board color, possible movements, and chess piece images
@@ -655,7 +662,7 @@ public class Main extends Application
 		{
 			//Promotion
 			//------------------------------------
-			VBox promotionGUI = chessGameRunner.generateGUIPromotion();
+			VBox promotionGUI = chessGameGUI.generateGUIPromotion();
 			
 			ListView<String> promotionListView = (ListView<String>) promotionGUI.getChildren().get(1);
 			
@@ -679,7 +686,7 @@ public class Main extends Application
 		{
 			//Upgrade
 			//------------------------------------
-			VBox upgradesGUI = chessGameRunner.generateGUIUpgrades();
+			VBox upgradesGUI = chessGameGUI.generateGUIUpgrades();
 			
 			ListView<String> upgradesListView = (ListView<String>) upgradesGUI.getChildren().get(1);
 			
@@ -702,7 +709,7 @@ public class Main extends Application
 		
 		//Items
 		//------------------------------------
-		VBox itemsGUI = chessGameRunner.generateGUIItems();
+		VBox itemsGUI = chessGameGUI.generateGUIItems();
 		ListView<String> itemsListView = (ListView<String>) itemsGUI.getChildren().get(1);
 		Button itemButton = new Button("Purchase Item");
 		itemButton.setOnAction(e -> {
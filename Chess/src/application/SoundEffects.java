@@ -0,0 +1,51 @@
+package application;
+
+import Players.MoveEvent;
+import Players.MoveEventKind;
+import Players.TurnListener;
+import Players.TurnResult;
+import javafx.scene.media.AudioClip;
+
+/**
+ * Plays the sounds of the game: a thud when a chess piece moves and a bubble when one is selected or de-selected.
+ */
+public class SoundEffects implements TurnListener
+{
+	/**
+	 * Bubble audio for selecting and de-selecting Chess Pieces.
+	 */
+	private final AudioClip bubbleSound = new AudioClip("file:Audio/bubbleSound.wav");
+	
+	/**
+	 * Thud audio for a Chess Piece making a move. 
+	 */
+	private final AudioClip thudSound = new AudioClip("file:Audio/thudSound.wav");
+	
+	@Override
+	/**
+	 * Play the sound of the click, if it has one.
+	 */
+	public void onTurnResult(TurnResult turnResult)
+	{
+		MoveEvent event = turnResult.getEvent();
+		if (event == null)
+			return;
+		
+		if (event.getKind() == MoveEventKind.MOVE && turnResult.getMoveWasMade())
+			play(thudSound);
+		else if (event.getKind() == MoveEventKind.SELECT || event.getKind() == MoveEventKind.DESELECT)
+			play(bubbleSound);
+	}
+	
+	/**
+	 * Play an audio clip from the start, stopping it first if it is still playing.
+	 * 
+	 * @param audioClip The audio clip.
+	 */
+	private void play(AudioClip audioClip)
+	{
+		if (audioClip.isPlaying())
+			audioClip.stop();
+		audioClip.play();
+	}
+}
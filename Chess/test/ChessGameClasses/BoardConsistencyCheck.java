@@ -0,0 +1,204 @@
+package ChessGameClasses;
+
+import ChessPieces.ChessPiece;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * The BoardConsistencyCheck class checks that the state Board keeps up to date as moves are made matches the state
+ * worked out from the pieces. It plays seeded random games, and at every ply it makes and takes back every legal move:
+ * after a move the Zobrist key, the position board, the control boards and the square index must be the same as on a
+ * board built from scratch from the same pieces, and after taking it back they must be what they were before, with the
+ * same position version. Between two plies the en passant flags are cleared the way ChessGameRunner does at the start
+ * of a turn, and the board is checked again.
+ *
+ * It prints the number of checks and the first failures, and exits with status 1 if any check failed. Items are never
+ * used: their random effects would make two runs check different games.
+ *
+ * Usage: BoardConsistencyCheck [gameNum] [plyNum] [seed]
+ */
+public class BoardConsistencyCheck
+{
+	/**
+	 * Failures printed before the rest are only counted
+	 */
+	private static final int maxPrintedFailures = 10;
+
+	/**
+	 * Number of checks made
+	 */
+	private static long checkNum;
+
+	/**
+	 * Number of checks failed
+	 */
+	private static long failureNum;
+
+	/**
+	 * Run the check.
+	 * @param args - String[], optional number of games, plies of each game and seed.
+	 */
+	public static void main(String[] args)
+	{
+		int gameNum = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		int plyNum = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		Random random = new Random(seed);
+		MoveList moves = new MoveList();
+		for (int game = 0; game < gameNum; game++)
+		{
+			Board board = new Board(ChessGameRunner.createWhiteChessSet(), ChessGameRunner.createBlackChessSet());
+			for (int ply = 0; ply < plyNum; ply++)
+			{
+				String where = "game " + game + " ply " + ply;
+				moves.clear();
+				board.generateMoves(board.getSideToMove(), moves);
+				if (moves.isEmpty())
+					break;
+
+				BoardState before = new BoardState(board);
+				for (int i = 0; i < moves.size(); i++)
+				{
+					UndoRecord undoRecord = board.makeMove(moves.get(i));
+					checkAgainstRecompute(board, where + " after " + Move.toString(moves.get(i)));
+					board.unmakeMove(undoRecord);
+					check(before.matches(board), where + " after taking back " + Move.toString(moves.get(i)));
+				}
+
+				board.makeMove(moves.get(random.nextInt(moves.size())));
+				board.clearMovedTwoUnitsUp(board.getSideToMove());
+				checkAgainstRecompute(board, where + " at the start of the next turn");
+			}
+		}
+
+		System.out.printf("checks %d  failures %d%n", checkNum, failureNum);
+		if (failureNum > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Method to check a board against a board built from scratch from the same pieces.
+	 * @param board - Board, the board.
+	 * @param where - String, where the check is made, printed if it fails.
+	 */
+	private static void checkAgainstRecompute(Board board, String where)
+	{
+		//The new board shares the pieces, so the flags the copy constructor of a piece resets are kept.
+		Board recomputed = new Board(board.getWhiteChessPieces(), board.getBlackChessPieces());
+		recomputed.setSideToMove(board.getSideToMove());
+
+		check(board.getZobristKey() == recomputed.getZobristKey(), where + ": Zobrist key");
+		check(board.getPositionBoard().equals(recomputed.getPositionBoard()), where + ": position board");
+		check(board.getWhiteControlBoard().equals(recomputed.getWhiteControlBoard()), where + ": white control board");
+		check(board.getBlackControlBoard().equals(recomputed.getBlackControlBoard()), where + ": black control board");
+
+		boolean sameSquares = true;
+		for (int square = 0; square < BitBoard.squareNum; square++)
+			if (board.getChessPieceOnSquare(square) != recomputed.getChessPieceOnSquare(square))
+				sameSquares = false;
+		check(sameSquares, where + ": square index");
+	}
+
+	/**
+	 * Method to count a check and print it if it failed.
+	 * @param passed - boolean, whether the check passed.
+	 * @param description - String, what was checked.
+	 */
+	private static void check(boolean passed, String description)
+	{
+		checkNum++;
+		if (passed)
+			return;
+		if (++failureNum <= maxPrintedFailures)
+			System.out.println("FAILED " + description);
+	}
+
+	/**
+	 * The state of a board that taking a move back must restore.
+	 */
+	private static class BoardState
+	{
+		/**
+		 * Zobrist key
+		 */
+		private final long zobristKey;
+
+		/**
+		 * Position version
+		 */
+		private final long positionVersion;
+
+		/**
+		 * Side to move
+		 */
+		private final String sideToMove;
+
+		/**
+		 * Copy of the position board
+		 */
+		private final ArrayList<ArrayList<Character>> positionBoard;
+
+		/**
+		 * Copy of the white control board
+		 */
+		private final ArrayList<ArrayList<Character>> whiteControlBoard;
+
+		/**
+		 * Copy of the black control board
+		 */
+		private final ArrayList<ArrayList<Character>> blackControlBoard;
+
+		/**
+		 * Piece on every square
+		 */
+		private final ChessPiece[] squarePieces;
+
+		/**
+		 * Class constructor.
+		 * @param board - Board, the board to take the state of.
+		 */
+		private BoardState(Board board)
+		{
+			this.zobristKey = board.getZobristKey();
+			this.positionVersion = board.getPositionVersion();
+			this.sideToMove = board.getSideToMove();
+			this.positionBoard = copyGrid(board.getPositionBoard());
+			this.whiteControlBoard = copyGrid(board.getWhiteControlBoard());
+			this.blackControlBoard = copyGrid(board.getBlackControlBoard());
+			this.squarePieces = new ChessPiece[BitBoard.squareNum];
+			for (int square = 0; square < BitBoard.squareNum; square++)
+				this.squarePieces[square] = board.getChessPieceOnSquare(square);
+		}
+
+		/**
+		 * Method to check whether a board is in this state.
+		 * @param board - Board, the board.
+		 * @return - boolean, whether it is.
+		 */
+		private boolean matches(Board board)
+		{
+			for (int square = 0; square < BitBoard.squareNum; square++)
+				if (board.getChessPieceOnSquare(square) != squarePieces[square])
+					return false;
+			return board.getZobristKey() == zobristKey && board.getPositionVersion() == positionVersion
+					&& board.getSideToMove().equals(sideToMove) && board.getPositionBoard().equals(positionBoard)
+					&& board.getWhiteControlBoard().equals(whiteControlBoard)
+					&& board.getBlackControlBoard().equals(blackControlBoard);
+		}
+
+		/**
+		 * Method to copy a board of characters.
+		 * @param grid - ArrayList<ArrayList<Character>>, the board.
+		 * @return - ArrayList<ArrayList<Character>>, the copy.
+		 */
+		private static ArrayList<ArrayList<Character>> copyGrid(ArrayList<ArrayList<Character>> grid)
+		{
+			ArrayList<ArrayList<Character>> copy = new ArrayList<ArrayList<Character>>();
+			for (ArrayList<Character> row : grid)
+				copy.add(new ArrayList<Character>(row));
+			return copy;
+		}
+	}
+}
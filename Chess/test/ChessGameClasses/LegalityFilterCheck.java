@@ -0,0 +1,248 @@
+package ChessGameClasses;
+
+import ChessPieces.ChessPiece;
+import ChessPieces.King;
+import ChessPieces.Pawn;
+import Movements.Movement;
+import Movements.MovementBuffer;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * The LegalityFilterCheck class checks that LegalityFilter.moveResultsInCheck gives the same answer as making the move
+ * on the board, ChessPiece.thisMoveResultsInCheck, for every potential move of the side to move. It plays seeded
+ * random games in which pieces of both sides now and then buy a random upgrade, so the filter sees the hopping,
+ * leaping and capturing movements the upgrades give.
+ *
+ * At some plies it also checks the positions the filter leaves to the simulation: the king of the side to move taken
+ * off the board, and two pieces on one square. Castling moves come up in the games themselves. Each kind of check is
+ * counted, so a run that never reached one shows it.
+ *
+ * It prints the number of checks and the first failures, and exits with status 1 if any check failed. Items are never
+ * used: their random effects would make two runs check different games.
+ *
+ * Usage: LegalityFilterCheck [gameNum] [plyNum] [seed]
+ */
+public class LegalityFilterCheck
+{
+	/**
+	 * Failures printed before the rest are only counted
+	 */
+	private static final int maxPrintedFailures = 10;
+
+	/**
+	 * Chance in 100 that a piece buys an upgrade before a ply
+	 */
+	private static final int upgradeChance = 30;
+
+	/**
+	 * Chance in 100 that the positions the filter leaves to the simulation are checked at a ply
+	 */
+	private static final int fallbackChance = 10;
+
+	/**
+	 * Number of checks made
+	 */
+	private static long checkNum;
+
+	/**
+	 * Number of checks of castling moves
+	 */
+	private static long castleCheckNum;
+
+	/**
+	 * Number of checks with the king of the side to move off the board
+	 */
+	private static long noKingCheckNum;
+
+	/**
+	 * Number of checks with two pieces on one square
+	 */
+	private static long sharedSquareCheckNum;
+
+	/**
+	 * Number of checks failed
+	 */
+	private static long failureNum;
+
+	/**
+	 * Run the check.
+	 * @param args - String[], optional number of games, plies of each game and seed.
+	 */
+	public static void main(String[] args)
+	{
+		int gameNum = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+		int plyNum = args.length > 1 ? Integer.parseInt(args[1]) : 80;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		Random random = new Random(seed);
+		MoveList moves = new MoveList();
+		for (int game = 0; game < gameNum; game++)
+		{
+			ArrayList<ChessPiece> whitePieces = ChessGameRunner.createWhiteChessSet();
+			ArrayList<ChessPiece> blackPieces = ChessGameRunner.createBlackChessSet();
+			Board board = new Board(whitePieces, blackPieces);
+			for (int ply = 0; ply < plyNum; ply++)
+			{
+				String where = "game " + game + " ply " + ply;
+				String color = board.getSideToMove();
+
+				//An upgrade changes the movements of a piece, so the board is built again, as ChessGameRunner does.
+				if (random.nextInt(100) < upgradeChance && buyRandomUpgrade(random.nextBoolean() ? whitePieces : blackPieces, random))
+					board = rebuild(board);
+
+				checkAllMoves(board, color, where);
+				if (random.nextInt(100) < fallbackChance)
+				{
+					checkWithoutKing(board, color, where);
+					checkWithSharedSquare(board, color, random, where);
+				}
+
+				moves.clear();
+				board.generateMoves(color, moves);
+				if (moves.isEmpty())
+					break;
+				board.makeMove(moves.get(random.nextInt(moves.size())));
+				board.clearMovedTwoUnitsUp(board.getSideToMove());
+			}
+		}
+
+		System.out.printf("checks %d  castling %d  no king %d  shared square %d  failures %d%n", checkNum, castleCheckNum,
+				noKingCheckNum, sharedSquareCheckNum, failureNum);
+		if (failureNum > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Method to compare the filter with the simulation for every potential move of a side.
+	 * @param board - Board, the board.
+	 * @param color - String, the side.
+	 * @param where - String, where the check is made, printed if it fails.
+	 * @return - long, number of moves compared.
+	 */
+	private static long checkAllMoves(Board board, String color, String where)
+	{
+		long comparedNum = 0;
+		LegalityFilter legalityFilter = new LegalityFilter(board, color);
+		byte[] movementBuffer = MovementBuffer.create();
+		ArrayList<ChessPiece> allyChessPieces = color.equals("White") ? board.getWhiteChessPieces() : board.getBlackChessPieces();
+		for (ChessPiece chessPiece : allyChessPieces)
+		{
+			if (chessPiece.getIsCaptured())
+				continue;
+			chessPiece.calculatePotentialMovements(board, movementBuffer);
+			for (int row = 0; row < Board.rowNum; row++)
+			{
+				for (int col = 0; col < Board.colNum; col++)
+				{
+					char movementType = MovementBuffer.get(movementBuffer, row, col);
+					if (!MovementBuffer.isMove(movementType))
+						continue;
+					boolean filtered = legalityFilter.moveResultsInCheck(chessPiece, row, col, movementType);
+					boolean simulated = chessPiece.thisMoveResultsInCheck(row, col, movementType, board);
+					check(filtered == simulated, where + ": " + chessPiece + " to (" + row + ", " + col + ") " + movementType
+							+ " filter " + filtered + " simulation " + simulated);
+					if (Movement.castleSymbol.equals(movementType))
+						castleCheckNum++;
+					comparedNum++;
+				}
+			}
+		}
+		return comparedNum;
+	}
+
+	/**
+	 * Method to check the moves of a side with its king taken off the board, then put it back.
+	 * @param board - Board, the board.
+	 * @param color - String, the side.
+	 * @param where - String, where the check is made, printed if it fails.
+	 */
+	private static void checkWithoutKing(Board board, String color, String where)
+	{
+		ArrayList<ChessPiece> allyChessPieces = color.equals("White") ? board.getWhiteChessPieces() : board.getBlackChessPieces();
+		for (ChessPiece chessPiece : allyChessPieces)
+		{
+			if (chessPiece instanceof King && !chessPiece.getIsCaptured())
+			{
+				chessPiece.setIsCaptured(true);
+				noKingCheckNum += checkAllMoves(rebuild(board), color, where + " without the king");
+				chessPiece.setIsCaptured(false);
+			}
+		}
+	}
+
+	/**
+	 * Method to check the moves of a side with a piece moved onto the square of another, then move it back.
+	 * @param board - Board, the board.
+	 * @param color - String, the side.
+	 * @param random - Random, where the pieces come from.
+	 * @param where - String, where the check is made, printed if it fails.
+	 */
+	private static void checkWithSharedSquare(Board board, String color, Random random, String where)
+	{
+		ArrayList<ChessPiece> livePieces = new ArrayList<ChessPiece>();
+		for (ChessPiece chessPiece : board.getWhiteChessPieces())
+			if (!chessPiece.getIsCaptured())
+				livePieces.add(chessPiece);
+		for (ChessPiece chessPiece : board.getBlackChessPieces())
+			if (!chessPiece.getIsCaptured())
+				livePieces.add(chessPiece);
+
+		//A pawn or king moved somewhere else could stand where it never can, so only other pieces are moved.
+		ChessPiece moved = livePieces.get(random.nextInt(livePieces.size()));
+		ChessPiece under = livePieces.get(random.nextInt(livePieces.size()));
+		if (moved == under || moved instanceof Pawn || moved instanceof King)
+			return;
+
+		int row = moved.getPosRow();
+		int col = moved.getPosCol();
+		moved.setPosRow(under.getPosRow());
+		moved.setPosCol(under.getPosCol());
+		sharedSquareCheckNum += checkAllMoves(rebuild(board), color, where + " with " + moved + " on " + under);
+		moved.setPosRow(row);
+		moved.setPosCol(col);
+	}
+
+	/**
+	 * Method to buy a random available upgrade for a random piece of a side.
+	 * @param chessPieces - ArrayList<ChessPiece>, pieces of the side.
+	 * @param random - Random, where the upgrade comes from.
+	 * @return - boolean, whether an upgrade was bought.
+	 */
+	private static boolean buyRandomUpgrade(ArrayList<ChessPiece> chessPieces, Random random)
+	{
+		ChessPiece chessPiece = chessPieces.get(random.nextInt(chessPieces.size()));
+		int upgradeNum = chessPiece.getAvailableUpgrades().size();
+		if (chessPiece.getIsCaptured() || upgradeNum == 0)
+			return false;
+		chessPiece.upgrade(random.nextInt(upgradeNum));
+		return true;
+	}
+
+	/**
+	 * Method to build a board from scratch from the pieces of another.
+	 * @param board - Board, the board.
+	 * @return - Board, the new board, which shares the pieces.
+	 */
+	private static Board rebuild(Board board)
+	{
+		Board rebuilt = new Board(board.getWhiteChessPieces(), board.getBlackChessPieces());
+		rebuilt.setSideToMove(board.getSideToMove());
+		return rebuilt;
+	}
+
+	/**
+	 * Method to count a check and print it if it failed.
+	 * @param passed - boolean, whether the check passed.
+	 * @param description - String, what was checked.
+	 */
+	private static void check(boolean passed, String description)
+	{
+		checkNum++;
+		if (passed)
+			return;
+		if (++failureNum <= maxPrintedFailures)
+			System.out.println("FAILED " + description);
+	}
+}
@@ -0,0 +1,89 @@
+package Engine;
+
+import ChessGameClasses.Board;
+import ChessPieces.ChessPiece;
+import Movements.MovementBuffer;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * The MovementAllocationBenchmark class compares the two ways to calculate the potential movements of a piece: the
+ * board of ArrayLists returned by calculatePotentialMovements and the movement buffer filled by its byte[] version.
+ * For each, it calculates the movements of every piece of the SearchBenchmark positions many times and prints the
+ * time and the bytes allocated per call, read from the allocation counter of the thread.
+ *
+ * Usage: MovementAllocationBenchmark [iterations] [positionNum]
+ */
+public class MovementAllocationBenchmark
+{
+	/**
+	 * Run the benchmark.
+	 * @param args - String[], optional number of iterations and positions.
+	 */
+	public static void main(String[] args)
+	{
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int positionNum = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean)
+				|| !threadBean.isThreadAllocatedMemorySupported())
+		{
+			System.out.println("This JVM can't count allocated bytes");
+			return;
+		}
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		ArrayList<Board> positions = SearchBenchmark.createPositions(positionNum, 1);
+		byte[] movementBuffer = MovementBuffer.create();
+
+		//Warm up both versions first, so the measured runs are compiled code.
+		run(positions, iterations / 10, null);
+		run(positions, iterations / 10, movementBuffer);
+
+		for (int version = 0; version < 2; version++)
+		{
+			byte[] buffer = version == 0 ? null : movementBuffer;
+			long threadId = Thread.currentThread().threadId();
+			long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+			long startTime = System.nanoTime();
+			long calls = run(positions, iterations, buffer);
+			long nanos = System.nanoTime() - startTime;
+			long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+			System.out.printf("%-14s calls %10d  %8.1f ns/call  %10.1f bytes/call%n", version == 0 ? "ArrayList" : "buffer",
+					calls, (double) nanos / calls, (double) bytes / calls);
+		}
+	}
+
+	/**
+	 * Method to calculate the potential movements of every piece of the positions.
+	 * @param positions - ArrayList<Board>, the positions.
+	 * @param iterations - int, times each position is calculated.
+	 * @param buffer - byte[], movement buffer to fill, or null to create a board of ArrayLists for every piece.
+	 * @return - long, number of pieces calculated.
+	 */
+	private static long run(ArrayList<Board> positions, int iterations, byte[] buffer)
+	{
+		long calls = 0;
+		for (int iteration = 0; iteration < iterations; iteration++)
+		{
+			for (Board position : positions)
+			{
+				ArrayList<ChessPiece> whiteChessPieces = position.getWhiteChessPieces();
+				ArrayList<ChessPiece> blackChessPieces = position.getBlackChessPieces();
+				for (int i = 0; i < whiteChessPieces.size() + blackChessPieces.size(); i++)
+				{
+					ChessPiece chessPiece = i < whiteChessPieces.size() ? whiteChessPieces.get(i) : blackChessPieces.get(i - whiteChessPieces.size());
+					if (chessPiece.getIsCaptured())
+						continue;
+					if (buffer == null)
+						chessPiece.calculatePotentialMovements(position);
+					else
+						chessPiece.calculatePotentialMovements(position, buffer);
+					calls++;
+				}
+			}
+		}
+		return calls;
+	}
+}
@@ -0,0 +1,58 @@
+package Engine;
+
+import ChessGameClasses.Board;
+
+import java.util.ArrayList;
+
+/**
+ * The ParallelSearchBenchmark class measures how Lazy-SMP search scales. It searches the SearchBenchmark
+ * positions to a fixed depth with 1, 2, 4, 8 and 16 threads and prints the time to depth of each thread count
+ * and its speedup over one thread. Each thread count starts with an empty transposition table.
+ *
+ * Usage: ParallelSearchBenchmark [depth] [positionNum] [tableSizeInMB]
+ */
+public class ParallelSearchBenchmark
+{
+	/**
+	 * Thread counts to measure
+	 */
+	private static final int[] threadNums = {1, 2, 4, 8, 16};
+
+	/**
+	 * Run the benchmark.
+	 * @param args - String[], optional depth, number of positions and table size.
+	 */
+	public static void main(String[] args)
+	{
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		int positionNum = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		int tableSizeInMB = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+		ArrayList<Board> positions = SearchBenchmark.createPositions(positionNum, 1);
+		System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+		long oneThreadNanos = 0;
+		for (int threadNum : threadNums)
+		{
+			long totalNanos = 0;
+			long totalNodes = 0;
+			try (TranspositionTable transpositionTable = new TranspositionTable(tableSizeInMB, ReplacementPolicy.AGED_DEPTH_PREFERRED);
+					ParallelSearch parallelSearch = new ParallelSearch(threadNum, transpositionTable))
+			{
+				for (Board position : positions)
+				{
+					transpositionTable.clear();
+					long startTime = System.nanoTime();
+					parallelSearch.search(position, position.getSideToMove(), depth, 0, 0, null, 0);
+					totalNanos += System.nanoTime() - startTime;
+					totalNodes += parallelSearch.getNodes();
+				}
+			}
+
+			if (threadNum == 1)
+				oneThreadNanos = totalNanos;
+			System.out.printf("threads %2d  time to depth %d  %9.1f ms  speedup %5.2f  nodes %10d  %10d nodes/s%n", threadNum,
+					depth, totalNanos / 1e6, (double) oneThreadNanos / totalNanos, totalNodes, totalNodes * 1000000000L / totalNanos);
+		}
+	}
+}
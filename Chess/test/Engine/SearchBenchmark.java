@@ -0,0 +1,84 @@
+package Engine;
+
+import ChessGameClasses.Board;
+import ChessGameClasses.ChessGameRunner;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * The SearchBenchmark class measures search speed. It searches a fixed set of positions to a fixed depth and
+ * prints the node count, time and nodes per second of each, then the totals.
+ *
+ * The positions are the starting position and the positions reached from it by seeded random legal moves, so
+ * every run searches the same positions.
+ *
+ * Usage: SearchBenchmark [depth] [positionNum] [seed]
+ */
+public class SearchBenchmark
+{
+	/**
+	 * Random plies played between two benchmark positions
+	 */
+	private static final int pliesBetweenPositions = 6;
+
+	/**
+	 * Run the benchmark.
+	 * @param args - String[], optional depth, number of positions and seed.
+	 */
+	public static void main(String[] args)
+	{
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		int positionNum = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+		ArrayList<Board> positions = createPositions(positionNum, seed);
+
+		long totalNodes = 0;
+		long totalNanos = 0;
+		for (int i = 0; i < positions.size(); i++)
+		{
+			Search search = new Search(positions.get(i), null);
+			search.search(depth, 0, 0);
+			totalNodes += search.getNodes();
+			totalNanos += search.getElapsedNanos();
+			System.out.printf("position %2d  depth %d  score %6d  nodes %10d  %8.1f ms  %10d nodes/s%n", i,
+					search.getCompletedDepth(), search.getBestScore(), search.getNodes(),
+					search.getElapsedNanos() / 1e6, search.getNodesPerSecond());
+		}
+		System.out.printf("total        nodes %10d  %8.1f ms  %10d nodes/s%n", totalNodes, totalNanos / 1e6,
+				totalNanos == 0 ? 0 : totalNodes * 1000000000L / totalNanos);
+	}
+
+	/**
+	 * Method to create the benchmark positions.
+	 * @param positionNum - int, number of positions.
+	 * @param seed - long, seed of the random moves.
+	 * @return - ArrayList<Board>, the positions.
+	 */
+	public static ArrayList<Board> createPositions(int positionNum, long seed)
+	{
+		Random random = new Random(seed);
+		ArrayList<Board> positions = new ArrayList<Board>();
+
+		Board board = new Board(ChessGameRunner.createWhiteChessSet(), ChessGameRunner.createBlackChessSet());
+		Search search = new Search(board, null);
+		while (positions.size() < positionNum)
+		{
+			positions.add(Search.copyBoard(search.getBoard()));
+			for (int ply = 0; ply < pliesBetweenPositions; ply++)
+			{
+				int[] moves = search.getLegalMoves();
+				if (moves.length == 0)
+				{
+					//The game is over, start again from the starting position.
+					board = new Board(ChessGameRunner.createWhiteChessSet(), ChessGameRunner.createBlackChessSet());
+					search = new Search(board, null);
+					break;
+				}
+				search.getBoard().makeMove(moves[random.nextInt(moves.length)]);
+			}
+		}
+		return positions;
+	}
+}
@@ -0,0 +1,256 @@
+package Server;
+
+import ChessGameClasses.BitBoard;
+import ChessGameClasses.ChessGameRunner;
+import ChessGameClasses.Move;
+import ChessGameClasses.MoveList;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The BroadcastBenchmark class measures how long the game's thread takes per turn as the number of spectators grows.
+ * A turn is the clicks of a random legal move, the StateTracker update and the hand-off of the update; the game plays
+ * one turn every turnMicros, as a session with players would.
+ *
+ * It runs the same game twice for every number of spectators: once with the update sent to every spectator on the
+ * game's thread, the way connections were StateListeners of the session, and once through a StateBroadcaster. One
+ * spectator in a hundred never asks for more than its first updates, to show the slow ones being resynced and dropped.
+ *
+ * Usage: BroadcastBenchmark [turnNum] [turnMicros] [maxSpectatorNum] [seed]
+ */
+public class BroadcastBenchmark
+{
+	/**
+	 * Updates a spectator asks for at first, then one more for every update it gets
+	 */
+	private static final int window = 16;
+
+	/**
+	 * One spectator in slowSpectatorRatio never asks for more
+	 */
+	private static final int slowSpectatorRatio = 100;
+
+	/**
+	 * Updates delivered to the spectators of the last run
+	 */
+	private static final AtomicLong deliveredNum = new AtomicLong();
+
+	/**
+	 * A spectator of the StateBroadcaster that counts the updates it gets.
+	 */
+	private static class CountingSpectator implements Flow.Subscriber<StateUpdate>
+	{
+		/**
+		 * Whether the spectator never asks for more than its first updates
+		 */
+		private final boolean slow;
+
+		/**
+		 * Counted down when the spectator is completed or dropped
+		 */
+		private final CountDownLatch ended;
+
+		/**
+		 * The subscription
+		 */
+		private Flow.Subscription subscription;
+
+		/**
+		 * Class constructor.
+		 * @param slow - boolean, whether the spectator never asks for more than its first updates.
+		 * @param ended - CountDownLatch, counted down when the spectator is completed or dropped.
+		 */
+		private CountingSpectator(boolean slow, CountDownLatch ended)
+		{
+			this.slow = slow;
+			this.ended = ended;
+		}
+
+		@Override
+		/**
+		 * Ask for the first updates.
+		 */
+		public void onSubscribe(Flow.Subscription subscription)
+		{
+			this.subscription = subscription;
+			subscription.request(window);
+		}
+
+		@Override
+		/**
+		 * Count the update and ask for the next one.
+		 */
+		public void onNext(StateUpdate stateUpdate)
+		{
+			deliveredNum.incrementAndGet();
+			if (!slow)
+				subscription.request(1);
+		}
+
+		@Override
+		/**
+		 * The spectator was dropped.
+		 */
+		public void onError(Throwable throwable) { ended.countDown(); }
+
+		@Override
+		/**
+		 * The broadcaster was closed.
+		 */
+		public void onComplete() { ended.countDown(); }
+	}
+
+	/**
+	 * Run the benchmark.
+	 * @param args - String[], optional number of turns, time between turns, most spectators and seed.
+	 * @throws InterruptedException if the benchmark was interrupted.
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		int turnNum = args.length > 0 ? Integer.parseInt(args[0]) : 150;
+		int turnMicros = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+		int maxSpectatorNum = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+		//Warm up both ways before measuring.
+		run(false, 100, turnNum, 0, seed);
+		run(true, 100, turnNum, 0, seed);
+
+		System.out.printf("%11s %22s %22s %12s %9s %7s%n", "spectators", "inline p50 / p99 us", "broadcast p50 / p99 us",
+				"delivered", "resyncs", "drops");
+		for (int spectatorNum = 1; spectatorNum <= maxSpectatorNum; spectatorNum *= 10)
+		{
+			long[] inline = run(false, spectatorNum, turnNum, turnMicros, seed);
+			StateBroadcaster stateBroadcaster = new StateBroadcaster("broadcast-benchmark");
+			long[] broadcast = run(stateBroadcaster, spectatorNum, turnNum, turnMicros, seed);
+			System.out.printf("%11d %10.1f / %9.1f %10.1f / %9.1f %12d %9d %7d%n", spectatorNum, inline[inline.length / 2] / 1e3,
+					inline[(int) (inline.length * 0.99)] / 1e3, broadcast[broadcast.length / 2] / 1e3,
+					broadcast[(int) (broadcast.length * 0.99)] / 1e3, deliveredNum.get(), stateBroadcaster.getResyncNum(),
+					stateBroadcaster.getDropNum());
+		}
+	}
+
+	/**
+	 * Method to run one game, with the updates sent to the spectators on the game's thread or through a new
+	 * StateBroadcaster.
+	 * @param broadcast - boolean, whether the updates go through a StateBroadcaster.
+	 * @param spectatorNum - int, number of spectators.
+	 * @param turnNum - int, number of turns.
+	 * @param turnMicros - int, time between turns in microseconds.
+	 * @param seed - long, seed of the moves.
+	 * @return - long[], time of every turn on the game's thread in nanoseconds, sorted.
+	 * @throws InterruptedException if the run was interrupted.
+	 */
+	private static long[] run(boolean broadcast, int spectatorNum, int turnNum, int turnMicros, long seed) throws InterruptedException
+	{
+		if (broadcast)
+			return run(new StateBroadcaster("broadcast-benchmark"), spectatorNum, turnNum, turnMicros, seed);
+		ArrayList<StateListener> stateListeners = new ArrayList<StateListener>(spectatorNum);
+		for (int i = 0; i < spectatorNum; i++)
+		{
+			//What a connection did with an update: queue a duplicate of the frame for the selector thread.
+			ConcurrentLinkedQueue<ByteBuffer> outbox = new ConcurrentLinkedQueue<ByteBuffer>();
+			stateListeners.add(stateUpdate -> outbox.add(stateUpdate.getFrame()));
+		}
+		return playGame(stateUpdate ->
+		{
+			for (StateListener stateListener : stateListeners)
+				stateListener.onStateUpdate(stateUpdate);
+		}, turnNum, turnMicros, seed);
+	}
+
+	/**
+	 * Method to run one game through a StateBroadcaster, and wait until the spectators got every update.
+	 * @param stateBroadcaster - StateBroadcaster, the broadcaster.
+	 * @param spectatorNum - int, number of spectators.
+	 * @param turnNum - int, number of turns.
+	 * @param turnMicros - int, time between turns in microseconds.
+	 * @param seed - long, seed of the moves.
+	 * @return - long[], time of every turn on the game's thread in nanoseconds, sorted.
+	 * @throws InterruptedException if the run was interrupted.
+	 */
+	private static long[] run(StateBroadcaster stateBroadcaster, int spectatorNum, int turnNum, int turnMicros, long seed)
+			throws InterruptedException
+	{
+		deliveredNum.set(0);
+		CountDownLatch ended = new CountDownLatch(spectatorNum);
+		for (int i = 0; i < spectatorNum; i++)
+			stateBroadcaster.subscribe(new CountingSpectator(i % slowSpectatorRatio == slowSpectatorRatio - 1, ended));
+
+		long[] latencies = playGame(stateBroadcaster, turnNum, turnMicros, seed);
+		stateBroadcaster.close();
+		if (!ended.await(1, TimeUnit.MINUTES))
+			System.out.println("Some spectators never got to the end");
+		return latencies;
+	}
+
+	/**
+	 * Method to play random legal moves and hand the update of every turn to a listener.
+	 * @param stateListener - StateListener, gets the updates on the game's thread.
+	 * @param turnNum - int, number of turns.
+	 * @param turnMicros - int, time between turns in microseconds.
+	 * @param seed - long, seed of the moves.
+	 * @return - long[], time of every turn on the game's thread in nanoseconds, sorted.
+	 */
+	private static long[] playGame(StateListener stateListener, int turnNum, int turnMicros, long seed)
+	{
+		ChessGameRunner game = new ChessGameRunner(1000, 300, 50);
+		game.setTextBasedDisplay(false);
+		StateTracker stateTracker = new StateTracker(game);
+		for (StateUpdate stateUpdate : stateTracker.getSyncUpdates())
+			stateListener.onStateUpdate(stateUpdate);
+
+		Random random = new Random(seed);
+		MoveList moves = new MoveList();
+		long[] latencies = new long[turnNum];
+		int latencyNum = 0;
+		long nextTurn = System.nanoTime();
+		while (latencyNum < turnNum && !game.getGameOver())
+		{
+			moves.clear();
+			game.getBoard().generateMoves(game.getCurrentPlayer().getColor(), moves);
+			if (moves.isEmpty())
+				break;
+			int move = moves.get(random.nextInt(moves.size()));
+
+			long start = System.nanoTime();
+			if (game.getSelectedChessPiece() != game.getBoard().getChessPieceOnSquare(Move.getFromSquare(move)))
+				click(game, BitBoard.toRow(Move.getFromSquare(move)), BitBoard.toCol(Move.getFromSquare(move)));
+			click(game, Move.getToRow(move), Move.getToCol(move));
+			if (game.isMoveWasMade())
+				click(game, -3, random.nextInt(GameSession.promotionNum));
+			stateListener.onStateUpdate(stateTracker.update(new int[] {move}));
+			latencies[latencyNum++] = System.nanoTime() - start;
+
+			nextTurn += turnMicros * 1000L;
+			LockSupport.parkNanos(nextTurn - System.nanoTime());
+		}
+
+		latencies = Arrays.copyOf(latencies, latencyNum);
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	/**
+	 * Method to click on the game.
+	 * @param game - ChessGameRunner, the game.
+	 * @param row - int, board row, or -3 for a promotion.
+	 * @param col - int, board column, or the promotion choice.
+	 */
+	private static void click(ChessGameRunner game, int row, int col)
+	{
+		ArrayList<Integer> input = new ArrayList<Integer>(2);
+		input.add(row);
+		input.add(col);
+		game.runGame(input);
+	}
+}
@@ -0,0 +1,433 @@
+package Server;
+
+import ChessGameClasses.BitBoard;
+import ChessGameClasses.ChessGameRunner;
+import ChessGameClasses.Move;
+import ChessGameClasses.MoveList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ProtocolSoakTest class plays many games at once over the binary protocol. It starts a ProtocolServer on the
+ * loopback address, and for every game one bot creates it as White and another joins it as Black, each with its own
+ * ProtocolClient on its own virtual thread, so there are two connections per game.
+ *
+ * A bot knows the game only from the state updates: it replays the moves of the deltas on its own ChessGameRunner and
+ * picks a random legal move from it when it is its turn. The server checks every move against its Board, so a bot
+ * whose copy drifted from the server gets its moves refused. After every update the test also checks that the
+ * GameState the client built from the changed squares matches the bot's copy, square by square, and counts the
+ * updates that don't. After turnNum turns the bot to move resigns. Every game can also have spectators, each with
+ * its own connection, that watch it to the end and must finish with the same state as White.
+ *
+ * Before a move a bot thinks for a random time up to twice the think time, as in ServerLoadTest. It prints the
+ * number of connections, the moves per second, the latency of a move as the bot sees it and the bytes of the updates.
+ *
+ * The server has room for gameNum games. Once they are over and their bots gone, the test creates twice as many more
+ * one after another, each resigned and dropped at once, to check that finished games give their room back, then as
+ * many again that are left with a leaveFrame before they are over. It prints the games the server refused and the
+ * sessions still open at the end.
+ *
+ * Usage: ProtocolSoakTest [gameNum] [turnNum] [thinkMillis] [spectatorNum] [seed]
+ */
+public class ProtocolSoakTest
+{
+	/**
+	 * Moves refused by the server
+	 */
+	private static final AtomicInteger refusedMoveNum = new AtomicInteger();
+
+	/**
+	 * Updates that didn't match the bot's copy of the game
+	 */
+	private static final AtomicInteger desyncNum = new AtomicInteger();
+
+	/**
+	 * Spectators that were dropped before the end of their game
+	 */
+	private static final AtomicInteger droppedNum = new AtomicInteger();
+
+	/**
+	 * Games the server refused to create
+	 */
+	private static final AtomicInteger refusedCreateNum = new AtomicInteger();
+
+	/**
+	 * Longest wait for the server to close the sessions of games that are over, in milliseconds
+	 */
+	private static final long closeWaitMillis = 5000;
+
+	/**
+	 * Deltas received by the bots
+	 */
+	private static final AtomicLong deltaNum = new AtomicLong();
+
+	/**
+	 * Bytes of the frames of the deltas received by the bots
+	 */
+	private static final AtomicLong deltaBytes = new AtomicLong();
+
+	/**
+	 * Run the soak test.
+	 * @param args - String[], optional number of games, turns of each game, think time, spectators of each game and seed.
+	 * @throws Exception if the server can't be started or a bot fails.
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		int gameNum = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int turnNum = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+		int thinkMillis = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		int spectatorNum = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+
+		try (GameServer gameServer = new GameServer(1000, 300, 50, gameNum);
+				ProtocolServer server = new ProtocolServer(gameServer, 0))
+		{
+			int port = server.getPort();
+			CountDownLatch joined = new CountDownLatch((2 + spectatorNum) * gameNum);
+			ArrayList<Future<long[]>> bots = new ArrayList<Future<long[]>>();
+
+			long start = System.nanoTime();
+			int connectionNum;
+			try (ExecutorService botThreads = Executors.newVirtualThreadPerTaskExecutor())
+			{
+				for (int game = 0; game < gameNum; game++)
+				{
+					CompletableFuture<Long> id = new CompletableFuture<Long>();
+					CompletableFuture<GameState> whiteState = new CompletableFuture<GameState>();
+					CountDownLatch blackJoined = new CountDownLatch(1);
+					Random whiteRandom = new Random(seed + 2L * game);
+					Random blackRandom = new Random(seed + 2L * game + 1);
+					bots.add(botThreads.submit(() ->
+					{
+						ProtocolClient client = new ProtocolClient(port);
+						id.complete(client.createSession(Protocol.whiteSide));
+						joined.countDown();
+						//Black must be in the game before the first delta, or it would miss it.
+						blackJoined.await();
+						try
+						{
+							return playGame(client, "White", turnNum, thinkMillis, whiteRandom);
+						}
+						finally
+						{
+							whiteState.complete(client.getGameState());
+						}
+					}));
+					bots.add(botThreads.submit(() ->
+					{
+						ProtocolClient client = new ProtocolClient(port);
+						if (!client.joinSession(id.get(), Protocol.blackSide))
+							throw new IllegalStateException("Game " + id.get() + " was lost");
+						joined.countDown();
+						blackJoined.countDown();
+						return playGame(client, "Black", turnNum, thinkMillis, blackRandom);
+					}));
+					for (int spectator = 0; spectator < spectatorNum; spectator++)
+					{
+						bots.add(botThreads.submit(() ->
+						{
+							ProtocolClient client = new ProtocolClient(port);
+							if (!client.spectate(id.get()))
+								throw new IllegalStateException("Game " + id.get() + " was lost");
+							joined.countDown();
+							watchGame(client, whiteState);
+							return new long[0];
+						}));
+					}
+				}
+				joined.await();
+				connectionNum = server.getConnectionNum();
+			}
+			long elapsed = System.nanoTime() - start;
+
+			long[] latencies = new long[0];
+			for (Future<long[]> bot : bots)
+			{
+				long[] botLatencies = bot.get();
+				int length = latencies.length;
+				latencies = Arrays.copyOf(latencies, length + botLatencies.length);
+				System.arraycopy(botLatencies, 0, latencies, length, botLatencies.length);
+			}
+			Arrays.sort(latencies);
+
+			System.out.printf("games %d  connections %d  moves %d  %8.1f ms  %8d moves/s%n", gameNum, connectionNum,
+					latencies.length, elapsed / 1e6, latencies.length * 1000000000L / elapsed);
+			System.out.printf("move latency  p50 %8.1f us  p99 %8.1f us  max %8.1f us%n",
+					latencies[latencies.length / 2] / 1e3, latencies[(int) (latencies.length * 0.99)] / 1e3,
+					latencies[latencies.length - 1] / 1e3);
+			System.out.printf("deltas %d  %5.1f bytes per delta%n", deltaNum.get(), (double) deltaBytes.get() / deltaNum.get());
+			System.out.printf("refused moves %d  desyncs %d  dropped spectators %d%n", refusedMoveNum.get(), desyncNum.get(),
+					droppedNum.get());
+
+			//The games are over and their connections closed, so the server gives their room back.
+			waitForNoSession(gameServer);
+			int churnNum = 2 * gameNum;
+			for (int game = 0; game < churnNum; game++)
+				createAndDrop(port);
+			try (ProtocolClient client = new ProtocolClient(port))
+			{
+				for (int game = 0; game < churnNum; game++)
+					createAndLeave(client);
+			}
+			int openNum = waitForNoSession(gameServer);
+			System.out.printf("games created after the first %d  refused %d  sessions left open %d%n", 2 * churnNum,
+					refusedCreateNum.get(), openNum);
+		}
+	}
+
+	/**
+	 * Method to create a game and leave it for good before it is over.
+	 * @param client - ProtocolClient, the connection to create the game on.
+	 * @throws IOException if the connection broke.
+	 */
+	private static void createAndLeave(ProtocolClient client) throws IOException
+	{
+		try
+		{
+			client.createSession(Protocol.blackSide);
+		}
+		catch (IllegalStateException e)
+		{
+			refusedCreateNum.incrementAndGet();
+			return;
+		}
+		if (!client.leaveSession())
+			throw new IllegalStateException("The server refused to leave game " + client.getSessionId());
+	}
+
+	/**
+	 * Method to create a game, resign it and close the connection.
+	 * @param port - int, port of the server.
+	 * @throws IOException if the connection broke.
+	 */
+	private static void createAndDrop(int port) throws IOException
+	{
+		try (ProtocolClient client = new ProtocolClient(port))
+		{
+			try
+			{
+				client.createSession(Protocol.whiteSide);
+			}
+			catch (IllegalStateException e)
+			{
+				refusedCreateNum.incrementAndGet();
+				return;
+			}
+			client.resign();
+		}
+	}
+
+	/**
+	 * Method to wait until the server closed every session, or closeWaitMillis went by.
+	 * @param gameServer - GameServer, the server.
+	 * @return - int, number of sessions still open.
+	 * @throws InterruptedException if the wait was interrupted.
+	 */
+	private static int waitForNoSession(GameServer gameServer) throws InterruptedException
+	{
+		long deadline = System.nanoTime() + closeWaitMillis * 1000000L;
+		while (gameServer.getSessionNum() > 0 && System.nanoTime() < deadline)
+			Thread.sleep(10);
+		return gameServer.getSessionNum();
+	}
+
+	/**
+	 * Method run by a bot: play its side until the game is over.
+	 * @param client - ProtocolClient, client in the game.
+	 * @param color - String, side the bot plays.
+	 * @param turnNum - int, turn after which the bot to move resigns.
+	 * @param thinkMillis - int, average time before a move in milliseconds.
+	 * @param random - Random, where the moves come from.
+	 * @return - long[], the latency of every move in nanoseconds.
+	 * @throws IOException if the connection broke.
+	 * @throws InterruptedException if the bot was interrupted while thinking.
+	 */
+	private static long[] playGame(ProtocolClient client, String color, int turnNum, int thinkMillis, Random random)
+			throws IOException, InterruptedException
+	{
+		ChessGameRunner game = new ChessGameRunner(1000, 300, 50);
+		game.setTextBasedDisplay(false);
+		MoveList moves = new MoveList();
+		long[] squares = new long[SquareState.squareNum];
+		long[] latencies = new long[turnNum];
+		int latencyNum = 0;
+		try (client)
+		{
+			//The snapshot the client was sent when it joined is already in its state.
+			while (client.pollStateUpdate() != null)
+				continue;
+			if (!isInStep(game, client.getGameState(), squares))
+			{
+				desyncNum.incrementAndGet();
+				return new long[0];
+			}
+
+			while (!game.getGameOver())
+			{
+				if (game.getCurrentPlayer().getColor().equals(color))
+				{
+					moves.clear();
+					game.getBoard().generateMoves(color, moves);
+					if (game.getTurn() > turnNum || moves.isEmpty())
+						client.resign();
+					else
+					{
+						if (thinkMillis > 0)
+							Thread.sleep(random.nextInt(2 * thinkMillis));
+						int move = moves.get(random.nextInt(moves.size()));
+						long start = System.nanoTime();
+						boolean played = client.play(Move.getFromSquare(move), Move.getToSquare(move));
+						if (latencyNum < latencies.length)
+							latencies[latencyNum++] = System.nanoTime() - start;
+						if (!played)
+						{
+							refusedMoveNum.incrementAndGet();
+							client.resign();
+						}
+						else if (client.isMoveWasMade())
+							client.promote(random.nextInt(GameSession.promotionNum));
+					}
+				}
+
+				//Without items the board never changes enough for a snapshot, and a snapshot has no moves to replay.
+				StateUpdate stateUpdate = client.waitForStateUpdate();
+				if (!(stateUpdate instanceof StateDelta))
+				{
+					desyncNum.incrementAndGet();
+					break;
+				}
+				deltaNum.incrementAndGet();
+				deltaBytes.addAndGet(stateUpdate.getFrame().remaining());
+
+				applyStateDelta(game, (StateDelta) stateUpdate);
+				if (!isInStep(game, client.getGameState(), squares))
+				{
+					desyncNum.incrementAndGet();
+					break;
+				}
+			}
+		}
+		return Arrays.copyOf(latencies, latencyNum);
+	}
+
+	/**
+	 * Method run by a spectator: read the updates until the game is over, then compare the state with White's.
+	 * @param client - ProtocolClient, client watching the game.
+	 * @param whiteState - CompletableFuture<GameState>, completed with the state of White's client at the end.
+	 * @throws Exception if the connection broke or White failed.
+	 */
+	private static void watchGame(ProtocolClient client, CompletableFuture<GameState> whiteState) throws Exception
+	{
+		try (client)
+		{
+			StateUpdate stateUpdate;
+			do
+				stateUpdate = client.waitForStateUpdate();
+			while (stateUpdate != null && !stateUpdate.isGameOver());
+
+			if (stateUpdate == null)
+				droppedNum.incrementAndGet();
+			else if (!isSameState(client.getGameState(), whiteState.get()))
+				desyncNum.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Method to compare two states built from updates.
+	 * @param gameState - GameState, one state.
+	 * @param other - GameState, the other state.
+	 * @return - boolean, whether the version, turn, money and every square are the same.
+	 */
+	private static boolean isSameState(GameState gameState, GameState other)
+	{
+		if (gameState.getVersion() != other.getVersion() || gameState.getTurn() != other.getTurn()
+				|| gameState.getWhiteMoney() != other.getWhiteMoney() || gameState.getBlackMoney() != other.getBlackMoney())
+			return false;
+		for (int square = 0; square < SquareState.squareNum; square++)
+			if (gameState.getSquare(square) != other.getSquare(square))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Method to check that the state a client built from the updates matches a copy of the game.
+	 * @param game - ChessGameRunner, the copy of the game.
+	 * @param gameState - GameState, state built from the updates.
+	 * @param squares - long[], squareNum states, overwritten with the squares of the copy.
+	 * @return - boolean, whether the squares, turn, money and end of the game are the same.
+	 */
+	private static boolean isInStep(ChessGameRunner game, GameState gameState, long[] squares)
+	{
+		SquareState.readBoard(game.getBoard(), squares);
+		return gameState.matches(squares) && game.getTurn() == gameState.getTurn()
+				&& game.getWhitePlayer().getMoney() == gameState.getWhiteMoney()
+				&& game.getBlackPlayer().getMoney() == gameState.getBlackMoney() && game.getGameOver() == gameState.isGameOver();
+	}
+
+	/**
+	 * Method to replay the moves of a delta on a copy of the game, with the clicks that make them.
+	 * @param game - ChessGameRunner, the copy of the game.
+	 * @param stateDelta - StateDelta, the delta.
+	 */
+	public static void applyStateDelta(ChessGameRunner game, StateDelta stateDelta)
+	{
+		for (int move : stateDelta.getMoves())
+		{
+			switch (Move.getKind(move))
+			{
+				case Move.promotionKind:
+					click(game, -3, Move.getIndex(move));
+					break;
+				case Move.itemKind:
+					click(game, -1, Move.getIndex(move));
+					break;
+				case Move.upgradeKind:
+					select(game, Move.getFromSquare(move));
+					click(game, -2, Move.getIndex(move));
+					break;
+				default:
+					select(game, Move.getFromSquare(move));
+					click(game, Move.getToRow(move), Move.getToCol(move));
+			}
+		}
+
+		//A resignation has no move.
+		if (stateDelta.isGameOver() && !game.getGameOver())
+			game.setGameOver(true);
+	}
+
+	/**
+	 * Method to select the piece on a square, unless it is already selected.
+	 * @param game - ChessGameRunner, the copy of the game.
+	 * @param square - int, square of the piece.
+	 */
+	private static void select(ChessGameRunner game, int square)
+	{
+		if (game.getSelectedChessPiece() != game.getBoard().getChessPieceOnSquare(square))
+			click(game, BitBoard.toRow(square), BitBoard.toCol(square));
+	}
+
+	/**
+	 * Method to click on a copy of the game.
+	 * @param game - ChessGameRunner, the copy of the game.
+	 * @param row - int, board row, or -1 for an item, -2 for an upgrade and -3 for a promotion.
+	 * @param col - int, board column, or the index of the item, upgrade or promotion.
+	 */
+	private static void click(ChessGameRunner game, int row, int col)
+	{
+		ArrayList<Integer> input = new ArrayList<Integer>(2);
+		input.add(row);
+		input.add(col);
+		game.runGame(input);
+	}
+}
@@ -0,0 +1,216 @@
+package Server;
+
+import ChessGameClasses.Board;
+import Players.MoveEventKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * The ServerLoadTest class measures the GameServer without the network, which ProtocolSoakTest covers. It creates
+ * the games of a server and plays each with one simulated player on its own virtual thread, clicking through the
+ * mailbox of the session. A player clicks random squares, promotes when it has to and now and then buys an upgrade,
+ * and finds its session again by number halfway. Between two clicks a player thinks for a random time up to twice the
+ * think time, so the server sees the load of people playing rather than players that click as fast as the server
+ * answers, which only measures how long the queue is.
+ *
+ * It prints the latency of a click as the player sees it (the wait in the mailbox and the runGame call), the clicks
+ * per second of the whole server, and the heap each open game takes, as games per GB of heap.
+ * Items are never bought: their random effects would make two runs play different games.
+ *
+ * It then fills a small server whose idle time is short, lets its games go idle and creates as many again, to check
+ * that the sweep of idle games gives their room back. It prints the games the server refused.
+ *
+ * Usage: ServerLoadTest [gameNum] [clickNum] [thinkMillis] [seed]
+ */
+public class ServerLoadTest
+{
+	/**
+	 * Chance in 100 that a simulated player buys the first upgrade of the selected piece instead of clicking a square
+	 */
+	private static final int upgradeChance = 2;
+
+	/**
+	 * Games of the server used to check the sweep of idle games
+	 */
+	private static final int sweepGameNum = 20;
+
+	/**
+	 * Idle time of the server used to check the sweep of idle games, in milliseconds
+	 */
+	private static final long sweepIdleMillis = 50;
+
+	/**
+	 * Bytes in a GB
+	 */
+	private static final long gigabyte = 1L << 30;
+
+	/**
+	 * Run the load test.
+	 * @param args - String[], optional number of games, clicks of each game, think time and seed.
+	 * @throws Exception if a player fails.
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		int gameNum = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int clickNum = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int thinkMillis = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+		long baseHeap = getUsedHeap();
+		try (GameServer server = new GameServer(1000, 300, 50, gameNum))
+		{
+			long start = System.nanoTime();
+			ArrayList<Future<long[]>> players = new ArrayList<Future<long[]>>();
+			try (ExecutorService playerThreads = Executors.newVirtualThreadPerTaskExecutor())
+			{
+				for (int game = 0; game < gameNum; game++)
+				{
+					Random random = new Random(seed + game);
+					players.add(playerThreads.submit(() -> playGame(server, clickNum, thinkMillis, random)));
+				}
+			}
+			long elapsed = System.nanoTime() - start;
+
+			long[] latencies = new long[gameNum * clickNum];
+			int latencyNum = 0;
+			for (Future<long[]> player : players)
+			{
+				long[] playerLatencies = player.get();
+				System.arraycopy(playerLatencies, 0, latencies, latencyNum, playerLatencies.length);
+				latencyNum += playerLatencies.length;
+			}
+			Arrays.sort(latencies, 0, latencyNum);
+
+			//The players are done but their sessions are still open, so the heap holds every game.
+			long bytesPerGame = (getUsedHeap() - baseHeap) / server.getSessionNum();
+
+			System.out.printf("games %d  clicks %d  %8.1f ms  %10d clicks/s%n", server.getSessionNum(), latencyNum,
+					elapsed / 1e6, latencyNum * 1000000000L / elapsed);
+			System.out.printf("click latency  p50 %8.1f us  p99 %8.1f us  p99.9 %8.1f us  max %8.1f us%n",
+					getPercentile(latencies, latencyNum, 50) / 1e3, getPercentile(latencies, latencyNum, 99) / 1e3,
+					getPercentile(latencies, latencyNum, 99.9) / 1e3, latencies[latencyNum - 1] / 1e3);
+			System.out.printf("heap per game %6.1f KB  %10d games/GB%n", bytesPerGame / 1024.0,
+					bytesPerGame > 0 ? gigabyte / bytesPerGame : 0);
+		}
+
+		System.out.printf("games created %d on a server with room for %d  refused %d%n", 2 * sweepGameNum,
+				sweepGameNum, checkIdleSweep());
+	}
+
+	/**
+	 * Method to fill a server whose idle time is short, wait for its games to go idle and fill it again.
+	 * @return - int, number of games the server refused to create.
+	 * @throws InterruptedException if the wait was interrupted.
+	 */
+	private static int checkIdleSweep() throws InterruptedException
+	{
+		int refusedNum = 0;
+		try (GameServer server = new GameServer(1000, 300, 50, sweepGameNum, sweepIdleMillis))
+		{
+			for (int round = 0; round < 2; round++)
+			{
+				for (int game = 0; game < sweepGameNum; game++)
+				{
+					try
+					{
+						server.createSession();
+					}
+					catch (IllegalStateException e)
+					{
+						refusedNum++;
+					}
+				}
+				//The sweep runs every quarter of the idle time, so after twice the idle time every game is gone.
+				Thread.sleep(2 * sweepIdleMillis);
+			}
+		}
+		return refusedNum;
+	}
+
+	/**
+	 * Method run by a simulated player: create a game and click on it.
+	 * @param server - GameServer, the server.
+	 * @param clickNum - int, number of clicks.
+	 * @param thinkMillis - int, average time between two clicks in milliseconds.
+	 * @param random - Random, where the clicks come from.
+	 * @return - long[], the latency of every click in nanoseconds.
+	 * @throws ExecutionException if the session refused a click.
+	 * @throws InterruptedException if the player was interrupted while thinking or waiting.
+	 */
+	private static long[] playGame(GameServer server, int clickNum, int thinkMillis, Random random)
+			throws ExecutionException, InterruptedException
+	{
+		long[] latencies = new long[clickNum];
+		GameSession session = server.createSession();
+		long id = session.getId();
+		ClickResult result = null;
+		for (int click = 0; click < clickNum; click++)
+		{
+			if (thinkMillis > 0)
+				Thread.sleep(random.nextInt(2 * thinkMillis));
+
+			if (click == clickNum / 2)
+			{
+				//Come back to the game by number, it must still be there.
+				session = server.getSession(id);
+				if (session == null)
+					throw new IllegalStateException("Session " + id + " was lost");
+			}
+
+			int row;
+			int col;
+			if (result != null && result.getMoveWasMade())
+			{
+				row = -3;
+				col = random.nextInt(GameSession.promotionNum);
+			}
+			else if (result != null && result.getEvent() != null && result.getEvent().getKind() == MoveEventKind.SELECT
+					&& random.nextInt(100) < upgradeChance)
+			{
+				row = -2;
+				col = 0;
+			}
+			else
+			{
+				row = random.nextInt(Board.rowNum);
+				col = random.nextInt(Board.colNum);
+			}
+
+			long start = System.nanoTime();
+			result = session.click(row, col).get();
+			latencies[click] = System.nanoTime() - start;
+		}
+		return latencies;
+	}
+
+	/**
+	 * Method to read a percentile of sorted values.
+	 * @param sorted - long[], values sorted in increasing order.
+	 * @param length - int, number of values.
+	 * @param percentile - double, the percentile, 0 to 100.
+	 * @return - long, the value.
+	 */
+	private static long getPercentile(long[] sorted, int length, double percentile)
+	{
+		int index = (int) Math.ceil(percentile / 100 * length) - 1;
+		return sorted[Math.max(0, Math.min(length - 1, index))];
+	}
+
+	/**
+	 * Method to measure the heap in use after a garbage collection.
+	 * @return - long, bytes of heap in use.
+	 */
+	private static long getUsedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}